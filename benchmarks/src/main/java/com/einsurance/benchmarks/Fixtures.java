@@ -0,0 +1,114 @@
+package com.einsurance.benchmarks;
+
+import com.einsurance.claims.entity.Claim;
+import com.einsurance.payment.entity.Transaction;
+import com.einsurance.policy.entity.CustomerPolicy;
+import com.einsurance.policy.entity.PolicyTemplate;
+import com.einsurance.user.entity.User;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.IntFunction;
+
+/**
+ * Fully populated entities, shaped like rows read by the services
+ */
+final class Fixtures {
+
+    private static final LocalDateTime CREATED = LocalDateTime.of(2025, 3, 14, 9, 30);
+
+    private Fixtures() {
+    }
+
+    static <T> List<T> listOf(int size, IntFunction<T> factory) {
+        List<T> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(factory.apply(i));
+        }
+        return list;
+    }
+
+    static Claim claim(int n) {
+        return Claim.builder()
+                .id(UUID.randomUUID())
+                .claimNumber("CLM-2025-" + String.format("%06d", n))
+                .userId(UUID.randomUUID())
+                .customerPolicyId(UUID.randomUUID())
+                .amount(new BigDecimal("1250.00").add(BigDecimal.valueOf(n)))
+                .description("Rear bumper damaged in a parking lot collision, repair estimate attached")
+                .incidentDate(LocalDate.of(2025, 3, 1))
+                .status(Claim.ClaimStatus.values()[n % Claim.ClaimStatus.values().length])
+                .submittedDate(CREATED)
+                .reviewedDate(CREATED.plusDays(2))
+                .reviewedBy(UUID.randomUUID())
+                .adminNotes("Estimate verified with the garage")
+                .createdAt(CREATED)
+                .updatedAt(CREATED.plusDays(2))
+                .build();
+    }
+
+    static CustomerPolicy customerPolicy(int n) {
+        PolicyTemplate template = PolicyTemplate.builder()
+                .id(UUID.randomUUID())
+                .name("Comprehensive Auto")
+                .type(PolicyTemplate.PolicyType.AUTO)
+                .description("Full cover for private vehicles")
+                .price(new BigDecimal("480.00"))
+                .coverageAmount(new BigDecimal("50000.00"))
+                .durationMonths(12)
+                .createdAt(CREATED)
+                .build();
+        return CustomerPolicy.builder()
+                .id(UUID.randomUUID())
+                .policyNumber("POL-" + String.format("%08d", n))
+                .userId(UUID.randomUUID())
+                .policyTemplate(template)
+                .purchaseDate(CREATED)
+                .startDate(LocalDate.now().minusMonths(3))
+                .expiryDate(LocalDate.now().plusMonths(9))
+                .status(CustomerPolicy.PolicyStatus.ACTIVE)
+                .paymentTransactionId(UUID.randomUUID())
+                .totalAmount(new BigDecimal("480.00"))
+                .createdAt(CREATED)
+                .updatedAt(CREATED)
+                .build();
+    }
+
+    static Transaction transaction(int n) {
+        return Transaction.builder()
+                .id(UUID.randomUUID())
+                .userId(UUID.randomUUID())
+                .customerPolicyId(UUID.randomUUID())
+                .amount(new BigDecimal("480.00"))
+                .paymentMethod("card")
+                .stripePaymentIntentId("pi_3Pq" + n)
+                .stripeSessionId("cs_test_a1" + n)
+                .stripeChargeId("ch_3Pq" + n)
+                .status(Transaction.TransactionStatus.COMPLETED)
+                .metadata(Map.of("policyTemplateId", UUID.randomUUID().toString(), "channel", "web"))
+                .createdAt(CREATED)
+                .updatedAt(CREATED)
+                .completedAt(CREATED.plusMinutes(1))
+                .build();
+    }
+
+    static User user(int n) {
+        return User.builder()
+                .id(UUID.randomUUID())
+                .keycloakId(UUID.randomUUID().toString())
+                .email("customer" + n + "@example.com")
+                .firstName("Jane")
+                .lastName("Doe")
+                .phone("+38761" + String.format("%07d", n))
+                .address("Obala Kulina bana 7, Sarajevo")
+                .dateOfBirth(LocalDate.of(1990, 5, 17))
+                .createdAt(CREATED)
+                .updatedAt(CREATED)
+                .build();
+    }
+}
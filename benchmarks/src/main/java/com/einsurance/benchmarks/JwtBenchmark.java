@@ -0,0 +1,132 @@
+package com.einsurance.benchmarks;
+
+import com.einsurance.common.security.JwtAuthenticationFilter;
+import com.einsurance.common.security.JwtUtil;
+import com.sun.net.httpserver.HttpServer;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of authenticating one request in the services.
+ * A Keycloak-shaped RS256 token is verified against a key served by a local
+ * JWKS stub; the key is fetched once and then cached by JwtUtil, as in
+ * production. extractAllClaims is a single signature check and parse;
+ * authenticateRequest runs JwtAuthenticationFilter end to end, which parses
+ * the token once per extracted claim.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    private static final String REALM = "einsurance";
+
+    private HttpServer jwks;
+    private JwtUtil jwtUtil;
+    private JwtAuthenticationFilter filter;
+    private String token;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private FilterChain chain;
+
+    @Setup
+    public void setUp() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        KeyPair keyPair = generator.generateKeyPair();
+
+        jwks = startJwks((RSAPublicKey) keyPair.getPublic());
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "keycloakUrl", "http://localhost:" + jwks.getAddress().getPort());
+        ReflectionTestUtils.setField(jwtUtil, "realm", REALM);
+        filter = new JwtAuthenticationFilter(jwtUtil);
+
+        Instant now = Instant.now();
+        token = Jwts.builder()
+                .subject(UUID.randomUUID().toString())
+                .issuer("http://localhost/realms/" + REALM)
+                .issuedAt(Date.from(now))
+                .expiration(Date.from(now.plusSeconds(3600)))
+                .claim("preferred_username", "jane.doe")
+                .claim("email", "jane.doe@example.com")
+                .claim("realm_access", Map.of("roles", List.of("CUSTOMER", "offline_access", "uma_authorization")))
+                .signWith(keyPair.getPrivate())
+                .compact();
+
+        request = new MockHttpServletRequest("GET", "/api/claims/my-claims");
+        request.addHeader("Authorization", "Bearer " + token);
+        response = new MockHttpServletResponse();
+        chain = (req, res) -> { };
+
+        // Fetch and cache the signing key outside the measurement
+        jwtUtil.extractAllClaims(token);
+    }
+
+    @TearDown
+    public void tearDown() {
+        jwks.stop(0);
+    }
+
+    @Benchmark
+    public Claims extractAllClaims() {
+        return jwtUtil.extractAllClaims(token);
+    }
+
+    @Benchmark
+    public Authentication authenticateRequest() throws Exception {
+        filter.doFilter(request, response, chain);
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+
+    private static HttpServer startJwks(RSAPublicKey key) throws Exception {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        String body = "{\"keys\":[{\"kty\":\"RSA\",\"alg\":\"RS256\",\"use\":\"sig\",\"kid\":\"bench\","
+                + "\"n\":\"" + encoder.encodeToString(unsigned(key.getModulus())) + "\","
+                + "\"e\":\"" + encoder.encodeToString(unsigned(key.getPublicExponent())) + "\"}]}";
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/realms/" + REALM + "/protocol/openid-connect/certs", exchange -> {
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        });
+        server.start();
+        return server;
+    }
+
+    private static byte[] unsigned(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        return bytes[0] == 0 ? Arrays.copyOfRange(bytes, 1, bytes.length) : bytes;
+    }
+}
@@ -0,0 +1,100 @@
+package com.einsurance.benchmarks;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import ch.qos.logback.core.encoder.Encoder;
+import com.einsurance.common.logging.HotPathLogFilter;
+import net.logstash.logback.encoder.LogstashEncoder;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request-path logging cost, before and after the common-lib logging setup.
+ * Logs JwtAuthenticationFilter's per-request line into a discarding stream:
+ * - syncDebug: the previous default, com.einsurance at DEBUG with a
+ *   synchronous pattern console appender
+ * - asyncJson: DEBUG enabled, async appender with JSON output
+ * - asyncJsonSampled: as asyncJson, with the shipped 1% sampling of the
+ *   filter's logger
+ * - info: the shipped level, the debug call is disabled
+ * The async worker only encodes; when it falls behind, the appender drops
+ * DEBUG events as configured in production, so asyncJson measures what the
+ * request thread pays. Run with -t 4 to see contention on the synchronous
+ * appender.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoggingBenchmark {
+
+    @Param({"syncDebug", "asyncJson", "asyncJsonSampled", "info"})
+    private String setup;
+
+    private final List<String> roles = List.of("CUSTOMER", "offline_access");
+    private LoggerContext context;
+    private Logger logger;
+
+    @Setup
+    public void setUp() {
+        context = new LoggerContext();
+        logger = context.getLogger("com.einsurance.common.security.JwtAuthenticationFilter");
+        Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.setLevel(setup.equals("info") ? Level.INFO : Level.DEBUG);
+
+        if (setup.equals("syncDebug") || setup.equals("info")) {
+            PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+            encoder.setPattern("%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p --- [%15.15t] %-40.40logger{39} : %m%n");
+            root.addAppender(discarding(encoder));
+            return;
+        }
+
+        if (setup.equals("asyncJsonSampled")) {
+            HotPathLogFilter filter = new HotPathLogFilter();
+            filter.setContext(context);
+            filter.setSampling("com.einsurance.common.security.JwtAuthenticationFilter=0.01");
+            filter.start();
+            context.addTurboFilter(filter);
+        }
+        AsyncAppender async = new AsyncAppender();
+        async.setContext(context);
+        async.setQueueSize(8192);
+        async.setNeverBlock(true);
+        async.addAppender(discarding(new LogstashEncoder()));
+        async.start();
+        root.addAppender(async);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.stop();
+    }
+
+    @Benchmark
+    public void authenticatedUser() {
+        logger.debug("Authenticated user: {} (ID: {}, Email: {}, Roles: {})",
+                "jane.doe", "3f1c2a8e-6b7d-4e21-9a0f-5c4d3b2a1e0f", "jane.doe@example.com", roles);
+    }
+
+    private Appender<ILoggingEvent> discarding(Encoder<ILoggingEvent> encoder) {
+        encoder.setContext(context);
+        encoder.start();
+        OutputStreamAppender<ILoggingEvent> appender = new OutputStreamAppender<>();
+        appender.setContext(context);
+        appender.setEncoder(encoder);
+        appender.setOutputStream(OutputStream.nullOutputStream());
+        appender.start();
+        return appender;
+    }
+}
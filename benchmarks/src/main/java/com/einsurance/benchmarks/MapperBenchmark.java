@@ -0,0 +1,73 @@
+package com.einsurance.benchmarks;
+
+import com.einsurance.claims.entity.Claim;
+import com.einsurance.claims.mapper.ClaimMapper;
+import com.einsurance.common.dto.ClaimDto;
+import com.einsurance.common.dto.CustomerPolicyDto;
+import com.einsurance.common.dto.TransactionDto;
+import com.einsurance.common.dto.UserDto;
+import com.einsurance.payment.entity.Transaction;
+import com.einsurance.payment.mapper.TransactionMapper;
+import com.einsurance.policy.entity.CustomerPolicy;
+import com.einsurance.policy.mapper.CustomerPolicyMapper;
+import com.einsurance.user.entity.User;
+import com.einsurance.user.mapper.UserMapper;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO list mapping as done by every list endpoint.
+ * Scores are per list; divide by size for the per-element cost.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int size;
+
+    private final ClaimMapper claimMapper = Mappers.getMapper(ClaimMapper.class);
+    private final CustomerPolicyMapper customerPolicyMapper = Mappers.getMapper(CustomerPolicyMapper.class);
+    private final TransactionMapper transactionMapper = Mappers.getMapper(TransactionMapper.class);
+    private final UserMapper userMapper = Mappers.getMapper(UserMapper.class);
+
+    private List<Claim> claims;
+    private List<CustomerPolicy> policies;
+    private List<Transaction> transactions;
+    private List<User> users;
+
+    @Setup
+    public void setUp() {
+        claims = Fixtures.listOf(size, Fixtures::claim);
+        policies = Fixtures.listOf(size, Fixtures::customerPolicy);
+        transactions = Fixtures.listOf(size, Fixtures::transaction);
+        users = Fixtures.listOf(size, Fixtures::user);
+    }
+
+    @Benchmark
+    public List<ClaimDto> claims() {
+        return claimMapper.toDtoList(claims);
+    }
+
+    @Benchmark
+    public List<CustomerPolicyDto> customerPolicies() {
+        return customerPolicyMapper.toDtoList(policies);
+    }
+
+    @Benchmark
+    public List<TransactionDto> transactions() {
+        return transactionMapper.toDtoList(transactions);
+    }
+
+    @Benchmark
+    public List<UserDto> users() {
+        return userMapper.toDtoList(users);
+    }
+}
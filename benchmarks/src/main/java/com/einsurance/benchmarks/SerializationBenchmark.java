@@ -0,0 +1,62 @@
+package com.einsurance.benchmarks;
+
+import com.einsurance.claims.mapper.ClaimMapper;
+import com.einsurance.common.dto.ApiResponse;
+import com.einsurance.common.dto.ClaimDto;
+import com.einsurance.common.dto.PageResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Response body serialization with the ObjectMapper defaults Spring Boot
+ * configures for the controllers (JavaTimeModule, ISO dates). Covers a single
+ * wrapped DTO and a wrapped page of claims.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private ApiResponse<ClaimDto> single;
+    private ApiResponse<PageResponse<ClaimDto>> page;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        List<ClaimDto> claims = Mappers.getMapper(ClaimMapper.class)
+                .toDtoList(Fixtures.listOf(size, Fixtures::claim));
+
+        single = ApiResponse.success(claims.get(0));
+        page = ApiResponse.success(PageResponse.<ClaimDto>builder()
+                .content(claims)
+                .page(0)
+                .size(size)
+                .totalElements(size * 10L)
+                .totalPages(10)
+                .isLast(false)
+                .build());
+    }
+
+    @Benchmark
+    public byte[] apiResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(single);
+    }
+
+    @Benchmark
+    public byte[] pageResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
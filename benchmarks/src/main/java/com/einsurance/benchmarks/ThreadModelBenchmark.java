@@ -0,0 +1,85 @@
+package com.einsurance.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request threads of the virtual-threads profile against Tomcat's default
+ * pool. Each operation is a burst of concurrent requests that block for
+ * blockMillis, standing in for a JDBC query or an inter-service call:
+ * - platform: a fixed pool of 200 threads, Tomcat's default max-threads,
+ *   so requests beyond 200 queue for a thread
+ * - virtual: one virtual thread per request, what
+ *   spring.threads.virtual.enabled gives Tomcat
+ * The virtual model needs a Java 21 runtime; on older JVMs its setup fails
+ * and JMH reports the error for that parameter only. Example:
+ *   java -jar benchmarks/target/benchmarks.jar ThreadModelBenchmark -p requests=200,2000
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ThreadModelBenchmark {
+
+    private static final int PLATFORM_THREADS = 200;
+
+    @Param({"platform", "virtual"})
+    private String model;
+
+    @Param({"2000"})
+    private int requests;
+
+    @Param({"100"})
+    private long blockMillis;
+
+    private ExecutorService executor;
+
+    @Setup
+    public void setUp() throws Throwable {
+        executor = model.equals("virtual") ? virtualThreadPerTaskExecutor() : Executors.newFixedThreadPool(PLATFORM_THREADS);
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+    }
+
+    @Benchmark
+    public void burst() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(requests);
+        for (int i = 0; i < requests; i++) {
+            executor.execute(() -> {
+                try {
+                    Thread.sleep(blockMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+    }
+
+    /**
+     * Looked up at run time, the build targets Java 17
+     */
+    private static ExecutorService virtualThreadPerTaskExecutor() throws Throwable {
+        try {
+            return (ExecutorService) MethodHandles.publicLookup()
+                    .findStatic(Executors.class, "newVirtualThreadPerTaskExecutor", MethodType.methodType(ExecutorService.class))
+                    .invoke();
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("The virtual model needs Java 21+, running on " + Runtime.version(), e);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.einsurance.benchmarks;
+
+import com.einsurance.common.exception.ValidationException;
+import com.einsurance.common.util.ValidationUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ValidationUtil's email and phone regexes, on valid input and on input
+ * that fails and throws ValidationException (rejected registrations).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValidationBenchmark {
+
+    private String validEmail = "jane.doe+claims@mail.example.com";
+    private String invalidEmail = "jane.doe@example";
+    private String validPhone = "+387612345678";
+    private String invalidPhone = "061-234-5678";
+
+    @Benchmark
+    public void validEmail() {
+        ValidationUtil.validateEmail(validEmail);
+    }
+
+    @Benchmark
+    public ValidationException invalidEmail() {
+        try {
+            ValidationUtil.validateEmail(invalidEmail);
+            return null;
+        } catch (ValidationException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public void validPhone() {
+        ValidationUtil.validatePhone(validPhone);
+    }
+
+    @Benchmark
+    public ValidationException invalidPhone() {
+        try {
+            ValidationUtil.validatePhone(invalidPhone);
+            return null;
+        } catch (ValidationException e) {
+            return e;
+        }
+    }
+}
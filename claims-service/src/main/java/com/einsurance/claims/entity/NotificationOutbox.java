@@ -0,0 +1,120 @@
+package com.einsurance.claims.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Outbox entry for a claim notification
+ * Written in the claim transaction and delivered asynchronously by the dispatcher
+ */
+@Entity
+@Table(name = "notification_outbox")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    @Column(columnDefinition = "UUID")
+    private UUID id;
+
+    @Column(name = "event_type", nullable = false, length = 50)
+    @Enumerated(EnumType.STRING)
+    private EventType eventType;
+
+    @Column(name = "claim_id", nullable = false, columnDefinition = "UUID")
+    private UUID claimId;
+
+    @Column(name = "recipient_user_id", nullable = false, columnDefinition = "UUID")
+    private UUID recipientUserId;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(nullable = false, columnDefinition = "jsonb")
+    private Map<String, Object> payload;
+
+    @Column(nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    @Builder.Default
+    private OutboxStatus status = OutboxStatus.PENDING;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private int attempts = 0;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * Notification event enumeration
+     */
+    public enum EventType {
+        CLAIM_SUBMITTED,
+        CLAIM_REVIEWED
+    }
+
+    /**
+     * Delivery status enumeration
+     */
+    public enum OutboxStatus {
+        PENDING,
+        SENT,
+        DEAD_LETTER
+    }
+
+    /**
+     * Mark as delivered
+     */
+    public void markSent() {
+        this.status = OutboxStatus.SENT;
+        this.sentAt = LocalDateTime.now();
+        this.lastError = null;
+    }
+
+    /**
+     * Record a failed attempt and schedule the next one
+     */
+    public void scheduleRetry(LocalDateTime nextAttemptAt, String error) {
+        this.nextAttemptAt = nextAttemptAt;
+        this.lastError = error;
+    }
+
+    /**
+     * Give up on delivery after the last allowed attempt
+     */
+    public void markDeadLetter(String error) {
+        this.status = OutboxStatus.DEAD_LETTER;
+        this.lastError = error;
+    }
+
+    @PrePersist
+    public void prePersist() {
+        if (status == null) {
+            status = OutboxStatus.PENDING;
+        }
+        if (nextAttemptAt == null) {
+            nextAttemptAt = LocalDateTime.now();
+        }
+    }
+}
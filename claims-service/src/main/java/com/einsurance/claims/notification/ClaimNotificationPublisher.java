@@ -0,0 +1,82 @@
+package com.einsurance.claims.notification;
+
+import com.einsurance.claims.entity.Claim;
+import com.einsurance.claims.entity.NotificationOutbox;
+import com.einsurance.claims.entity.NotificationOutbox.EventType;
+import com.einsurance.claims.repository.NotificationOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Records claim notifications in the outbox.
+ * Must run inside the claim transaction: the notification is committed
+ * (or rolled back) together with the claim change, and delivery happens
+ * later in NotificationDispatcher, off the request path.
+ * <p>
+ * This is deliberately separate from the ClaimEvent published to the domain
+ * event log in the same transaction. The outbox tracks each customer
+ * notification on its own row, with per-message retry, backoff and dead
+ * letters, and carries notification-only fields such as admin notes. The
+ * event log is an ordered integration stream whose consumers advance per
+ * batch, so one undeliverable notification there would hold back every
+ * later claim event for that consumer.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ClaimNotificationPublisher {
+
+    private final NotificationOutboxRepository outboxRepository;
+
+    /**
+     * Queue the "claim received" notification
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void claimSubmitted(Claim claim) {
+        enqueue(EventType.CLAIM_SUBMITTED, claim);
+    }
+
+    /**
+     * Queue the review decision notification
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void claimReviewed(Claim claim) {
+        enqueue(EventType.CLAIM_REVIEWED, claim);
+    }
+
+    private void enqueue(EventType eventType, Claim claim) {
+        NotificationOutbox entry = NotificationOutbox.builder()
+                .eventType(eventType)
+                .claimId(claim.getId())
+                .recipientUserId(claim.getUserId())
+                .payload(buildPayload(claim))
+                .build();
+
+        outboxRepository.save(entry);
+        log.debug("Queued {} notification for claim: {}", eventType, claim.getClaimNumber());
+    }
+
+    /**
+     * Snapshot of the claim as it was when the event happened
+     */
+    private Map<String, Object> buildPayload(Claim claim) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("claimNumber", claim.getClaimNumber());
+        payload.put("status", claim.getStatus().name());
+        payload.put("amount", claim.getAmount().toPlainString());
+        payload.put("incidentDate", String.valueOf(claim.getIncidentDate()));
+        if (claim.getReviewedDate() != null) {
+            payload.put("reviewedDate", claim.getReviewedDate().toString());
+        }
+        if (claim.getAdminNotes() != null) {
+            payload.put("adminNotes", claim.getAdminNotes());
+        }
+        return payload;
+    }
+}
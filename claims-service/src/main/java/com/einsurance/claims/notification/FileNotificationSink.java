@@ -0,0 +1,55 @@
+package com.einsurance.claims.notification;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Appends notifications to a file as one JSON document per line, a batch per write.
+ * Meant for local runs and tests that assert on what would have been sent.
+ */
+@Slf4j
+public class FileNotificationSink implements NotificationSink {
+
+    private final Path file;
+    private final ObjectMapper objectMapper;
+
+    public FileNotificationSink(Path file, ObjectMapper objectMapper) {
+        this.file = file;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public synchronized Map<UUID, String> send(List<NotificationMessage> messages) {
+        StringBuilder lines = new StringBuilder();
+        for (NotificationMessage message : messages) {
+            try {
+                lines.append(objectMapper.writeValueAsString(message)).append(System.lineSeparator());
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Failed to serialize notification " + message.getId(), e);
+            }
+        }
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Files.writeString(file, lines, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            log.debug("Wrote {} notifications to {}", messages.size(), file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write notifications to " + file, e);
+        }
+        return Map.of();
+    }
+}
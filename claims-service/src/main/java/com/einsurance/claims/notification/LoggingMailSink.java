@@ -0,0 +1,40 @@
+package com.einsurance.claims.notification;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * SMTP stand-in that renders the email and writes it to the log.
+ * For local runs without a notification service.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class LoggingMailSink implements NotificationSink {
+
+    private final String from;
+
+    @Override
+    public Map<UUID, String> send(List<NotificationMessage> messages) {
+        for (NotificationMessage message : messages) {
+            log.info("MAIL from={} to=user:{} subject=\"{}\" id={} attempt={}",
+                    from, message.getRecipientUserId(), subject(message), message.getId(), message.getAttempt());
+        }
+        return Map.of();
+    }
+
+    /**
+     * Build the email subject for a notification
+     */
+    static String subject(NotificationMessage message) {
+        Object claimNumber = message.getPayload().get("claimNumber");
+        return switch (message.getEventType()) {
+            case CLAIM_SUBMITTED -> "Claim " + claimNumber + " received";
+            case CLAIM_REVIEWED -> "Claim " + claimNumber + " " +
+                    String.valueOf(message.getPayload().get("status")).toLowerCase();
+        };
+    }
+}
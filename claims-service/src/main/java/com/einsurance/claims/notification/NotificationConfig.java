@@ -0,0 +1,38 @@
+package com.einsurance.claims.notification;
+
+import com.einsurance.common.client.NotificationServiceClient;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+/**
+ * Claim notification wiring.
+ * Selects the delivery sink from notifications.sink.type unless the
+ * application provides its own NotificationSink bean.
+ */
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(NotificationProperties.class)
+public class NotificationConfig {
+
+    @Bean
+    @ConditionalOnMissingBean(NotificationSink.class)
+    public NotificationSink notificationSink(NotificationProperties properties, ObjectMapper objectMapper,
+                                             ObjectProvider<NotificationServiceClient> notificationServiceClient) {
+        NotificationProperties.Sink sink = properties.getSink();
+        log.info("Claim notifications will be delivered through the '{}' sink", sink.getType());
+
+        return switch (sink.getType()) {
+            case "notification-service" -> new NotificationServiceSink(notificationServiceClient.getObject());
+            case "log" -> new LoggingMailSink(sink.getFrom());
+            case "file" -> new FileNotificationSink(Path.of(sink.getFile()), objectMapper);
+            default -> throw new IllegalStateException("Unknown notification sink type: " + sink.getType());
+        };
+    }
+}
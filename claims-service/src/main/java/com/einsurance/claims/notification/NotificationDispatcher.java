@@ -0,0 +1,153 @@
+package com.einsurance.claims.notification;
+
+import com.einsurance.claims.entity.NotificationOutbox;
+import com.einsurance.claims.repository.NotificationOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+/**
+ * Background dispatcher for the claim notification outbox.
+ * Each batch is locked and leased in a short transaction, handed to the sink
+ * in one call with no transaction or row lock held, and its outcome written
+ * back in a second transaction. Failures are retried with exponential backoff and
+ * jitter; after the last attempt the row is dead-lettered.
+ * Delivery is at-least-once: a crash between send and write-back resends the
+ * batch when the lease expires.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "notifications.dispatcher", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class NotificationDispatcher {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final NotificationOutboxRepository outboxRepository;
+    private final NotificationSink notificationSink;
+    private final NotificationProperties properties;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Drain due notifications, batch by batch
+     */
+    @Scheduled(fixedDelayString = "${notifications.dispatcher.poll-interval-ms:2000}")
+    public void dispatchPending() {
+        NotificationProperties.Dispatcher dispatcher = properties.getDispatcher();
+
+        for (int i = 0; i < dispatcher.getMaxBatchesPerPoll(); i++) {
+            if (dispatchBatch() < dispatcher.getBatchSize()) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Lock, deliver and settle one batch
+     * @return number of notifications attempted
+     */
+    public int dispatchBatch() {
+        List<NotificationOutbox> batch = transactionTemplate.execute(status -> lockAndLease());
+        if (batch == null || batch.isEmpty()) {
+            return 0;
+        }
+
+        Map<UUID, String> failures;
+        try {
+            failures = notificationSink.send(batch.stream().map(this::toMessage).toList());
+        } catch (RuntimeException e) {
+            String error = e.getClass().getSimpleName() + ": " + e.getMessage();
+            failures = batch.stream().collect(Collectors.toMap(NotificationOutbox::getId, entry -> error));
+        }
+
+        int sent = 0;
+        for (NotificationOutbox entry : batch) {
+            String error = failures.get(entry.getId());
+            if (error == null) {
+                entry.markSent();
+                sent++;
+            } else {
+                handleFailure(entry, truncate(error));
+            }
+        }
+
+        transactionTemplate.execute(status -> outboxRepository.saveAll(batch));
+        log.debug("Dispatched notification batch: {} sent, {} failed", sent, batch.size() - sent);
+        return batch.size();
+    }
+
+    /**
+     * Lock due rows and push them out of reach of other dispatchers for the lease period
+     */
+    private List<NotificationOutbox> lockAndLease() {
+        NotificationProperties.Dispatcher dispatcher = properties.getDispatcher();
+        LocalDateTime now = LocalDateTime.now();
+
+        List<NotificationOutbox> batch = outboxRepository.lockDueBatch(now, dispatcher.getBatchSize());
+        LocalDateTime leaseUntil = now.plus(dispatcher.getLease());
+        for (NotificationOutbox entry : batch) {
+            entry.setAttempts(entry.getAttempts() + 1);
+            entry.setNextAttemptAt(leaseUntil);
+        }
+        return batch;
+    }
+
+    private void handleFailure(NotificationOutbox entry, String error) {
+
+        if (entry.getAttempts() >= properties.getDispatcher().getMaxAttempts()) {
+            entry.markDeadLetter(error);
+            log.error("Dead-lettered {} notification {} for claim {} after {} attempts: {}",
+                    entry.getEventType(), entry.getId(), entry.getClaimId(), entry.getAttempts(), error);
+            return;
+        }
+
+        Duration backoff = backoffFor(entry.getAttempts());
+        entry.scheduleRetry(LocalDateTime.now().plus(backoff), error);
+        log.warn("Notification {} failed (attempt {}), retrying in {}s: {}",
+                entry.getId(), entry.getAttempts(), backoff.toSeconds(), error);
+    }
+
+    /**
+     * Exponential backoff capped at maxBackoff, with "equal jitter":
+     * half the delay is fixed, the other half random, so retries from a
+     * burst of failures spread out instead of hitting the sink together.
+     */
+    Duration backoffFor(int attempt) {
+        NotificationProperties.Dispatcher dispatcher = properties.getDispatcher();
+        long initialMillis = dispatcher.getInitialBackoff().toMillis();
+        long maxMillis = dispatcher.getMaxBackoff().toMillis();
+
+        int exponent = Math.min(Math.max(attempt - 1, 0), 30);
+        long delay = Math.min(maxMillis, initialMillis << exponent);
+
+        long half = delay / 2;
+        return Duration.ofMillis(half + ThreadLocalRandom.current().nextLong(delay - half + 1));
+    }
+
+    private NotificationMessage toMessage(NotificationOutbox entry) {
+        return NotificationMessage.builder()
+                .id(entry.getId())
+                .eventType(entry.getEventType())
+                .claimId(entry.getClaimId())
+                .recipientUserId(entry.getRecipientUserId())
+                .payload(entry.getPayload())
+                .attempt(entry.getAttempts())
+                .createdAt(entry.getCreatedAt())
+                .build();
+    }
+
+    private static String truncate(String value) {
+        return value.length() <= MAX_ERROR_LENGTH ? value : value.substring(0, MAX_ERROR_LENGTH);
+    }
+}
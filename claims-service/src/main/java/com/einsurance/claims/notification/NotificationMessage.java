@@ -0,0 +1,30 @@
+package com.einsurance.claims.notification;
+
+import com.einsurance.claims.entity.NotificationOutbox.EventType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Notification handed to a NotificationSink.
+ * The id is stable across retries so sinks can de-duplicate redeliveries.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationMessage {
+
+    private UUID id;
+    private EventType eventType;
+    private UUID claimId;
+    private UUID recipientUserId;
+    private Map<String, Object> payload;
+    private int attempt;
+    private LocalDateTime createdAt;
+}
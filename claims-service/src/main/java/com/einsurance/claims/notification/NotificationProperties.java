@@ -0,0 +1,73 @@
+package com.einsurance.claims.notification;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Claim notification settings, bound from notifications.*
+ */
+@Data
+@ConfigurationProperties(prefix = "notifications")
+public class NotificationProperties {
+
+    private final Dispatcher dispatcher = new Dispatcher();
+
+    private final Sink sink = new Sink();
+
+    @Data
+    public static class Dispatcher {
+
+        /**
+         * Run the background dispatcher in this instance
+         */
+        private boolean enabled = true;
+
+        /**
+         * Delay between polls of the outbox, in milliseconds
+         */
+        private long pollIntervalMs = 2000;
+
+        /**
+         * Rows locked and delivered per batch
+         */
+        private int batchSize = 50;
+
+        /**
+         * Upper bound on batches drained per poll, so a large backlog cannot hog the scheduler thread
+         */
+        private int maxBatchesPerPoll = 20;
+
+        /**
+         * Attempts before a notification is dead-lettered
+         */
+        private int maxAttempts = 8;
+
+        private Duration initialBackoff = Duration.ofSeconds(5);
+
+        private Duration maxBackoff = Duration.ofMinutes(30);
+
+        /**
+         * How long a locked batch is hidden from other dispatchers while it is being delivered.
+         * If this instance dies mid-batch, the rows become due again once the lease expires.
+         */
+        private Duration lease = Duration.ofMinutes(2);
+    }
+
+    @Data
+    public static class Sink {
+
+        /**
+         * Delivery channel: "notification-service", "log" (SMTP stand-in) or "file"
+         */
+        private String type = "notification-service";
+
+        private String from = "no-reply@e-insurance.com";
+
+        /**
+         * Target of the file sink, one JSON document per line
+         */
+        private String file = "notifications/claims-outbox.jsonl";
+    }
+}
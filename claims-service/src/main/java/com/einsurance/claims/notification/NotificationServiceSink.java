@@ -0,0 +1,48 @@
+package com.einsurance.claims.notification;
+
+import com.einsurance.common.client.NotificationServiceClient;
+import com.einsurance.common.dto.NotificationEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Hands claim notifications to the notification service, which renders and
+ * delivers them. The outbox row id becomes the eventId, so a notification
+ * resent after a lost response is recognised there as a duplicate.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class NotificationServiceSink implements NotificationSink {
+
+    private final NotificationServiceClient notificationServiceClient;
+
+    /**
+     * One call for the whole batch; if any event is rejected the call throws and the
+     * batch is resent, which the notification service de-duplicates
+     */
+    @Override
+    public Map<UUID, String> send(List<NotificationMessage> messages) {
+        notificationServiceClient.publish(messages.stream().map(NotificationServiceSink::toEvent).toList());
+        log.debug("Submitted {} notifications to notification-service", messages.size());
+        return Map.of();
+    }
+
+    static NotificationEvent toEvent(NotificationMessage message) {
+        Map<String, String> payload = new LinkedHashMap<>();
+        if (message.getPayload() != null) {
+            message.getPayload().forEach((key, value) -> payload.put(key, String.valueOf(value)));
+        }
+        return NotificationEvent.builder()
+                .eventId(message.getId())
+                .eventType(NotificationEvent.EventType.valueOf(message.getEventType().name()))
+                .recipientUserId(message.getRecipientUserId())
+                .occurredAt(message.getCreatedAt())
+                .payload(payload)
+                .build();
+    }
+}
@@ -0,0 +1,21 @@
+package com.einsurance.claims.notification;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Delivery channel for claim notifications.
+ * The dispatcher hands over each leased batch in one call and handles retry
+ * and dead-lettering of whatever failed.
+ * Declaring a NotificationSink bean replaces the configured default.
+ */
+public interface NotificationSink {
+
+    /**
+     * Deliver a batch of notifications
+     * @return reason per message id for the ones that failed, empty if all were delivered
+     * @throws RuntimeException if the batch as a whole could not be delivered
+     */
+    Map<UUID, String> send(List<NotificationMessage> messages);
+}
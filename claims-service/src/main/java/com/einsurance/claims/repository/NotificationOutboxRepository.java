@@ -0,0 +1,42 @@
+package com.einsurance.claims.repository;
+
+import com.einsurance.claims.entity.NotificationOutbox;
+import com.einsurance.claims.entity.NotificationOutbox.OutboxStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository for NotificationOutbox entity
+ */
+@Repository
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutbox, UUID> {
+
+    /**
+     * Lock the next batch of due notifications.
+     * SKIP LOCKED lets several claims-service instances dispatch concurrently
+     * without handing the same row to two of them.
+     */
+    @Query(value = "SELECT * FROM notification_outbox " +
+           "WHERE status = 'PENDING' AND next_attempt_at <= :now " +
+           "ORDER BY next_attempt_at " +
+           "LIMIT :limit " +
+           "FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<NotificationOutbox> lockDueBatch(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    /**
+     * Find dead-lettered notifications for a claim
+     */
+    List<NotificationOutbox> findByClaimIdAndStatus(UUID claimId, OutboxStatus status);
+
+    /**
+     * Count notifications by delivery status
+     */
+    long countByStatus(OutboxStatus status);
+}
@@ -3,12 +3,18 @@ package com.einsurance.claims.service;
 import com.einsurance.claims.entity.Claim;
 import com.einsurance.claims.entity.Claim.ClaimStatus;
 import com.einsurance.claims.mapper.ClaimMapper;
+import com.einsurance.claims.notification.ClaimNotificationPublisher;
 import com.einsurance.claims.repository.ClaimRepository;
+import com.einsurance.common.client.PolicyServiceClient;
 import com.einsurance.common.dto.ClaimDto;
 import com.einsurance.common.dto.ClaimReviewRequest;
 import com.einsurance.common.dto.ClaimSubmissionRequest;
+import com.einsurance.common.dto.CustomerPolicyDto;
 import com.einsurance.common.dto.PageResponse;
+import com.einsurance.common.event.ClaimEvent;
+import com.einsurance.common.event.DomainEventPublisher;
 import com.einsurance.common.exception.ClaimException;
+import com.einsurance.common.exception.DependencyUnavailableException;
 import com.einsurance.common.exception.ResourceNotFoundException;
 import com.einsurance.common.exception.ValidationException;
 import com.einsurance.common.security.SecurityUtil;
@@ -20,7 +26,6 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.reactive.function.client.WebClient;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -38,7 +43,9 @@ public class ClaimsService {
 
     private final ClaimRepository claimRepository;
     private final ClaimMapper claimMapper;
-    private final WebClient.Builder webClientBuilder;
+    private final PolicyServiceClient policyServiceClient;
+    private final ClaimNotificationPublisher claimNotificationPublisher;
+    private final DomainEventPublisher domainEventPublisher;
 
     /**
      * Submit a new claim
@@ -75,7 +82,8 @@ public class ClaimsService {
         log.info("Claim submitted successfully: {}", savedClaim.getClaimNumber());
 
         // Notify user via email (async)
-        notifyClaimSubmitted(savedClaim);
+        claimNotificationPublisher.claimSubmitted(savedClaim);
+        domainEventPublisher.publish(claimEvent(ClaimEvent.Type.SUBMITTED, savedClaim));
 
         return claimMapper.toDto(savedClaim);
     }
@@ -220,7 +228,10 @@ public class ClaimsService {
         Claim reviewedClaim = claimRepository.save(claim);
 
         // Notify user via email
-        notifyClaimReviewed(reviewedClaim);
+        claimNotificationPublisher.claimReviewed(reviewedClaim);
+        domainEventPublisher.publish(claimEvent(
+                reviewedClaim.getStatus() == ClaimStatus.APPROVED ? ClaimEvent.Type.APPROVED : ClaimEvent.Type.REJECTED,
+                reviewedClaim));
 
         return claimMapper.toDto(reviewedClaim);
     }
@@ -244,6 +255,7 @@ public class ClaimsService {
 
         claim.markAsUnderReview(adminId);
         claimRepository.save(claim);
+        domainEventPublisher.publish(claimEvent(ClaimEvent.Type.UNDER_REVIEW, claim));
 
         log.info("Claim marked as under review: {}", claim.getClaimNumber());
     }
@@ -260,6 +272,7 @@ public class ClaimsService {
 
         claim.markAsPaid();
         claimRepository.save(claim);
+        domainEventPublisher.publish(claimEvent(ClaimEvent.Type.PAID, claim));
 
         log.info("Claim marked as paid: {}", claim.getClaimNumber());
     }
@@ -290,6 +303,22 @@ public class ClaimsService {
                 .build();
     }
 
+    /**
+     * Build the lifecycle event for a claim's current state
+     */
+    private ClaimEvent claimEvent(ClaimEvent.Type type, Claim claim) {
+        return ClaimEvent.builder()
+                .type(type)
+                .claimId(claim.getId())
+                .claimNumber(claim.getClaimNumber())
+                .userId(claim.getUserId())
+                .customerPolicyId(claim.getCustomerPolicyId())
+                .amount(claim.getAmount())
+                .status(claim.getStatus().name())
+                .reviewedBy(claim.getReviewedBy())
+                .build();
+    }
+
     /**
      * Generate unique claim number
      */
@@ -306,66 +335,34 @@ public class ClaimsService {
         log.debug("Validating policy {} for user {}", policyId, userId);
 
         try {
-            // Call Policy Service to verify policy
-            WebClient webClient = webClientBuilder.baseUrl("lb://policy-service").build();
-
-            // Fetch policy details
-            Map<String, Object> policyResponse = webClient.get()
-                    .uri("/api/policies/{id}", policyId)
-                    .retrieve()
-                    .bodyToMono(Map.class)
-                    .block();
-
-            if (policyResponse == null) {
+            CustomerPolicyDto policy = policyServiceClient.getCustomerPolicy(policyId);
+            if (policy == null) {
                 throw new ClaimException("Policy not found");
             }
 
-            // Extract policy data from response
-            Map<String, Object> policyData = (Map<String, Object>) policyResponse.get("data");
-            if (policyData == null) {
-                throw new ClaimException("Invalid policy response");
-            }
-
             // Verify user owns the policy
-            String policyUserId = (String) policyData.get("userId");
-            if (!userId.toString().equals(policyUserId)) {
+            if (!userId.equals(policy.getUserId())) {
                 throw new ClaimException("Policy does not belong to the current user");
             }
 
             // Verify policy is active
-            String policyStatus = (String) policyData.get("status");
-            if (!"ACTIVE".equals(policyStatus)) {
-                throw new ClaimException("Policy is not active. Current status: " + policyStatus);
+            if (!"ACTIVE".equals(policy.getStatus())) {
+                throw new ClaimException("Policy is not active. Current status: " + policy.getStatus());
             }
 
             log.debug("Policy validation successful for policy: {}", policyId);
 
         } catch (ClaimException e) {
             throw e;
+        } catch (DependencyUnavailableException e) {
+            // Shed by the bulkhead or circuit breaker: surface as 503 so the caller retries later
+            throw e;
         } catch (Exception e) {
             log.error("Failed to validate policy: {}", policyId, e);
             throw new ClaimException("Failed to validate policy. Please ensure the policy is valid and active.");
         }
     }
 
-    /**
-     * Notify user about claim submission
-     */
-    private void notifyClaimSubmitted(Claim claim) {
-        log.info("Sending claim submission notification for: {}", claim.getClaimNumber());
-        // Call Notification Service (async)
-        // Implementation in Phase 5
-    }
-
-    /**
-     * Notify user about claim review decision
-     */
-    private void notifyClaimReviewed(Claim claim) {
-        log.info("Sending claim review notification for: {}", claim.getClaimNumber());
-        // Call Notification Service (async)
-        // Implementation in Phase 5
-    }
-
     /**
      * Helper method to build PageResponse
      */
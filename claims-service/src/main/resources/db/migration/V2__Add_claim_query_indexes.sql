@@ -0,0 +1,24 @@
+-- Claims Service - Composite and partial indexes for hot queries
+-- File location: claims-service/src/main/resources/db/migration/V2__Add_claim_query_indexes.sql
+
+-- hasPendingClaimForPolicy: user_id + customer_policy_id with status IN ('PENDING', 'UNDER_REVIEW').
+-- Only open claims are ever checked, so the index skips the (much larger) closed history.
+CREATE INDEX idx_claims_open_user_policy
+    ON claims(user_id, customer_policy_id)
+    WHERE status IN ('PENDING', 'UNDER_REVIEW');
+
+-- findPendingClaims / findClaimsRequiringAttention: status = 'PENDING' ORDER BY submitted_date ASC.
+-- Serves the filter and the sort in one ordered scan, no separate sort step.
+CREATE INDEX idx_claims_pending_submitted_date
+    ON claims(submitted_date ASC)
+    WHERE status = 'PENDING';
+
+-- findByUserIdAndStatus / findByUserId(page) sorted by submission date
+CREATE INDEX idx_claims_user_status_submitted
+    ON claims(user_id, status, submitted_date DESC);
+
+-- Superseded by the composite indexes above
+DROP INDEX IF EXISTS idx_claims_user_id;
+
+COMMENT ON INDEX idx_claims_open_user_policy IS 'Partial index for open-claim lookups per policy';
+COMMENT ON INDEX idx_claims_pending_submitted_date IS 'Partial index for the admin pending-claims queue';
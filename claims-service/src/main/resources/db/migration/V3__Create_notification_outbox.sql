@@ -0,0 +1,37 @@
+-- Claims Service - Transactional outbox for claim notifications
+-- File location: claims-service/src/main/resources/db/migration/V3__Create_notification_outbox.sql
+
+-- Rows are written in the same transaction as the claim change and delivered
+-- later by NotificationDispatcher, so email never sits on the request path.
+CREATE TABLE notification_outbox (
+    id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
+    event_type VARCHAR(50) NOT NULL,
+    claim_id UUID NOT NULL,
+    recipient_user_id UUID NOT NULL,
+    payload JSONB NOT NULL,
+
+    -- Delivery state
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    attempts INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    last_error TEXT,
+    sent_at TIMESTAMP,
+
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT chk_outbox_status CHECK (status IN ('PENDING', 'SENT', 'DEAD_LETTER')),
+    CONSTRAINT chk_outbox_attempts CHECK (attempts >= 0)
+);
+
+-- Dispatcher poll: status = 'PENDING' AND next_attempt_at <= now ORDER BY next_attempt_at.
+-- Delivered rows drop out of the index, so it stays as small as the backlog.
+CREATE INDEX idx_notification_outbox_due
+    ON notification_outbox(next_attempt_at)
+    WHERE status = 'PENDING';
+
+-- Dead letters are inspected and replayed per claim
+CREATE INDEX idx_notification_outbox_dead_letter
+    ON notification_outbox(claim_id)
+    WHERE status = 'DEAD_LETTER';
+
+COMMENT ON TABLE notification_outbox IS 'Claim notifications awaiting asynchronous delivery';
@@ -0,0 +1,32 @@
+-- Claims Service - Domain event log (common-lib JdbcDomainEventStore)
+-- File location: claims-service/src/main/resources/db/migration/V4__Create_domain_events.sql
+
+-- Not a replacement for notification_outbox (V3): that table tracks customer
+-- notifications one row at a time with retries and dead letters, while this
+-- log is the ordered stream of claim changes for other consumers.
+
+-- Events are appended in the transaction of the change they describe.
+-- global_offset orders events for consumers; transaction_id records the writing
+-- transaction so readers can wait until every lower offset has committed.
+CREATE TABLE domain_events (
+    global_offset BIGSERIAL PRIMARY KEY,
+    event_id UUID NOT NULL UNIQUE,
+    topic VARCHAR(50) NOT NULL,
+    event_type VARCHAR(50) NOT NULL,
+    aggregate_id UUID,
+    payload JSONB NOT NULL,
+    transaction_id XID8 NOT NULL DEFAULT pg_current_xact_id(),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Consumers of a single topic: topic = ? AND global_offset > ? ORDER BY global_offset
+CREATE INDEX idx_domain_events_topic_offset ON domain_events(topic, global_offset);
+
+-- Position of each consumer group; advanced in the same transaction as the batch it consumed
+CREATE TABLE domain_event_offsets (
+    consumer_group VARCHAR(100) PRIMARY KEY,
+    last_offset BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+COMMENT ON TABLE domain_events IS 'Domain events published by this service, read by consumer groups in offset order';
@@ -0,0 +1,200 @@
+package com.einsurance.claims.notification;
+
+import com.einsurance.claims.entity.NotificationOutbox;
+import com.einsurance.claims.entity.NotificationOutbox.EventType;
+import com.einsurance.claims.entity.NotificationOutbox.OutboxStatus;
+import com.einsurance.claims.repository.NotificationOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for NotificationDispatcher
+ */
+@ExtendWith(MockitoExtension.class)
+class NotificationDispatcherTest {
+
+    @Mock
+    private NotificationOutboxRepository outboxRepository;
+
+    @Mock
+    private NotificationSink notificationSink;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private NotificationProperties properties;
+    private NotificationDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        properties = new NotificationProperties();
+        properties.getDispatcher().setMaxAttempts(3);
+        properties.getDispatcher().setInitialBackoff(Duration.ofSeconds(5));
+        properties.getDispatcher().setMaxBackoff(Duration.ofMinutes(1));
+
+        dispatcher = new NotificationDispatcher(outboxRepository, notificationSink, properties, transactionTemplate);
+
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    void dispatchBatch_MarksSent_WhenSinkSucceeds() {
+        // Given
+        NotificationOutbox entry = outboxEntry(0);
+        when(outboxRepository.lockDueBatch(any(LocalDateTime.class), eq(50))).thenReturn(List.of(entry));
+        when(notificationSink.send(anyList())).thenReturn(Map.of());
+
+        // When
+        int dispatched = dispatcher.dispatchBatch();
+
+        // Then
+        assertEquals(1, dispatched);
+        assertEquals(OutboxStatus.SENT, entry.getStatus());
+        assertEquals(1, entry.getAttempts());
+        assertNotNull(entry.getSentAt());
+        verify(notificationSink, times(1)).send(anyList());
+        verify(outboxRepository, times(1)).saveAll(List.of(entry));
+    }
+
+    @Test
+    void dispatchBatch_SchedulesRetry_WhenSinkFails() {
+        // Given
+        NotificationOutbox entry = outboxEntry(0);
+        when(outboxRepository.lockDueBatch(any(LocalDateTime.class), anyInt())).thenReturn(List.of(entry));
+        doThrow(new IllegalStateException("SMTP unavailable")).when(notificationSink).send(anyList());
+
+        // When
+        dispatcher.dispatchBatch();
+
+        // Then
+        assertEquals(OutboxStatus.PENDING, entry.getStatus());
+        assertEquals(1, entry.getAttempts());
+        assertTrue(entry.getNextAttemptAt().isAfter(LocalDateTime.now()));
+        assertTrue(entry.getLastError().contains("SMTP unavailable"));
+        verify(outboxRepository, times(1)).saveAll(List.of(entry));
+    }
+
+    @Test
+    void dispatchBatch_DeadLetters_AfterMaxAttempts() {
+        // Given
+        NotificationOutbox entry = outboxEntry(2);
+        when(outboxRepository.lockDueBatch(any(LocalDateTime.class), anyInt())).thenReturn(List.of(entry));
+        doThrow(new IllegalStateException("Mailbox rejected")).when(notificationSink).send(anyList());
+
+        // When
+        dispatcher.dispatchBatch();
+
+        // Then
+        assertEquals(OutboxStatus.DEAD_LETTER, entry.getStatus());
+        assertEquals(3, entry.getAttempts());
+        assertTrue(entry.getLastError().contains("Mailbox rejected"));
+    }
+
+    @Test
+    void dispatchBatch_SendsWholeBatchInOneCall() {
+        // Given
+        NotificationOutbox first = outboxEntry(0);
+        NotificationOutbox second = outboxEntry(0);
+        when(outboxRepository.lockDueBatch(any(LocalDateTime.class), anyInt())).thenReturn(List.of(first, second));
+        when(notificationSink.send(anyList())).thenReturn(Map.of());
+
+        // When
+        int dispatched = dispatcher.dispatchBatch();
+
+        // Then
+        assertEquals(2, dispatched);
+        verify(notificationSink, times(1)).send(argThat(messages -> messages.size() == 2
+                && messages.get(0).getId().equals(first.getId())
+                && messages.get(1).getId().equals(second.getId())));
+    }
+
+    @Test
+    void dispatchBatch_RetriesOnlyFailedNotifications_WhenSinkReportsThem() {
+        // Given
+        NotificationOutbox failing = outboxEntry(0);
+        NotificationOutbox healthy = outboxEntry(0);
+        when(outboxRepository.lockDueBatch(any(LocalDateTime.class), anyInt())).thenReturn(List.of(failing, healthy));
+        when(notificationSink.send(anyList())).thenReturn(Map.of(failing.getId(), "Bad recipient"));
+
+        // When
+        dispatcher.dispatchBatch();
+
+        // Then
+        assertEquals(OutboxStatus.PENDING, failing.getStatus());
+        assertEquals("Bad recipient", failing.getLastError());
+        assertEquals(OutboxStatus.SENT, healthy.getStatus());
+    }
+
+    @Test
+    void dispatchBatch_RetriesWholeBatch_WhenSinkThrows() {
+        // Given
+        NotificationOutbox first = outboxEntry(0);
+        NotificationOutbox second = outboxEntry(0);
+        when(outboxRepository.lockDueBatch(any(LocalDateTime.class), anyInt())).thenReturn(List.of(first, second));
+        doThrow(new IllegalStateException("queue full")).when(notificationSink).send(anyList());
+
+        // When
+        int dispatched = dispatcher.dispatchBatch();
+
+        // Then
+        assertEquals(2, dispatched);
+        assertEquals(OutboxStatus.PENDING, first.getStatus());
+        assertEquals(OutboxStatus.PENDING, second.getStatus());
+        verify(outboxRepository, times(1)).saveAll(List.of(first, second));
+    }
+
+    @Test
+    void dispatchPending_DoesNothing_WhenOutboxEmpty() {
+        // Given
+        when(outboxRepository.lockDueBatch(any(LocalDateTime.class), anyInt())).thenReturn(List.of());
+
+        // When
+        dispatcher.dispatchPending();
+
+        // Then
+        verify(notificationSink, never()).send(anyList());
+        verify(outboxRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void backoffFor_GrowsExponentiallyWithinCap() {
+        // When / Then
+        for (int i = 0; i < 100; i++) {
+            Duration first = dispatcher.backoffFor(1);
+            Duration third = dispatcher.backoffFor(3);
+            Duration tenth = dispatcher.backoffFor(10);
+
+            assertTrue(first.toMillis() >= 2_500 && first.toMillis() <= 5_000, first::toString);
+            assertTrue(third.toMillis() >= 10_000 && third.toMillis() <= 20_000, third::toString);
+            assertTrue(tenth.toMillis() >= 30_000 && tenth.toMillis() <= 60_000, tenth::toString);
+        }
+    }
+
+    private NotificationOutbox outboxEntry(int attempts) {
+        return NotificationOutbox.builder()
+                .id(UUID.randomUUID())
+                .eventType(EventType.CLAIM_SUBMITTED)
+                .claimId(UUID.randomUUID())
+                .recipientUserId(UUID.randomUUID())
+                .payload(Map.of("claimNumber", "CLM-2025-ABC123", "status", "PENDING"))
+                .attempts(attempts)
+                .nextAttemptAt(LocalDateTime.now().minusSeconds(1))
+                .build();
+    }
+}
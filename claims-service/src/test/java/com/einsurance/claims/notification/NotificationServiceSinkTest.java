@@ -0,0 +1,82 @@
+package com.einsurance.claims.notification;
+
+import com.einsurance.claims.entity.NotificationOutbox.EventType;
+import com.einsurance.common.client.NotificationServiceClient;
+import com.einsurance.common.dto.NotificationEvent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for NotificationServiceSink
+ */
+@ExtendWith(MockitoExtension.class)
+class NotificationServiceSinkTest {
+
+    @Mock
+    private NotificationServiceClient notificationServiceClient;
+
+    @InjectMocks
+    private NotificationServiceSink sink;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void send_SubmitsBatchInOneCallKeyedByOutboxId() {
+        // Given
+        NotificationMessage message = NotificationMessage.builder()
+                .id(UUID.randomUUID())
+                .eventType(EventType.CLAIM_REVIEWED)
+                .claimId(UUID.randomUUID())
+                .recipientUserId(UUID.randomUUID())
+                .payload(Map.of("claimNumber", "CLM-2026-000001", "status", "APPROVED"))
+                .attempt(2)
+                .createdAt(LocalDateTime.now())
+                .build();
+        NotificationMessage other = NotificationMessage.builder()
+                .id(UUID.randomUUID())
+                .eventType(EventType.CLAIM_SUBMITTED)
+                .recipientUserId(UUID.randomUUID())
+                .payload(Map.of("claimNumber", "CLM-2026-000002"))
+                .build();
+
+        // When
+        Map<UUID, String> failures = sink.send(List.of(message, other));
+
+        // Then
+        assertTrue(failures.isEmpty());
+        ArgumentCaptor<List<NotificationEvent>> events = ArgumentCaptor.forClass(List.class);
+        verify(notificationServiceClient, times(1)).publish(events.capture());
+        assertEquals(2, events.getValue().size());
+        NotificationEvent event = events.getValue().get(0);
+        assertEquals(message.getId(), event.getEventId());
+        assertEquals(NotificationEvent.EventType.CLAIM_REVIEWED, event.getEventType());
+        assertEquals(message.getRecipientUserId(), event.getRecipientUserId());
+        assertEquals("APPROVED", event.getPayload().get("status"));
+    }
+
+    @Test
+    void send_Throws_WhenNotificationServiceRejects() {
+        // Given
+        NotificationMessage message = NotificationMessage.builder()
+                .id(UUID.randomUUID())
+                .eventType(EventType.CLAIM_SUBMITTED)
+                .recipientUserId(UUID.randomUUID())
+                .payload(Map.of())
+                .build();
+        doThrow(new IllegalStateException("queue full")).when(notificationServiceClient).publish(anyList());
+
+        // When / Then
+        assertThrows(IllegalStateException.class, () -> sink.send(List.of(message)));
+    }
+}
@@ -0,0 +1,210 @@
+package com.einsurance.claims.repository;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Query plan tests for ClaimRepository and NotificationOutboxRepository hot queries.
+ * Runs the Flyway migrations against an embedded PostgreSQL, seeds a realistic
+ * status distribution and fails if a query falls back to a sequential scan.
+ * The SQL mirrors the JPQL in ClaimRepository.
+ */
+class ClaimQueryPlanTest {
+
+    private static final int CLAIM_ROWS = 50_000;
+    private static final int DISTINCT_USERS = 5_000;
+
+    private static EmbeddedPostgres postgres;
+    private static DataSource dataSource;
+
+    @BeforeAll
+    static void startDatabase() throws Exception {
+        postgres = EmbeddedPostgres.start();
+        dataSource = postgres.getPostgresDatabase();
+
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            // Mirrors database-scripts/init_databases.sql
+            statement.execute("CREATE EXTENSION IF NOT EXISTS \"uuid-ossp\"");
+            statement.execute("""
+                    CREATE OR REPLACE FUNCTION update_updated_at_column()
+                    RETURNS TRIGGER AS $$
+                    BEGIN
+                        NEW.updated_at = CURRENT_TIMESTAMP;
+                        RETURN NEW;
+                    END;
+                    $$ LANGUAGE plpgsql""");
+        }
+
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                .baselineOnMigrate(true)
+                .baselineVersion("0")
+                .load()
+                .migrate();
+
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            // ~5% PENDING, ~5% UNDER_REVIEW, the rest closed
+            statement.execute("""
+                    INSERT INTO claims (claim_number, user_id, customer_policy_id, amount, description,
+                                        incident_date, status, submitted_date)
+                    SELECT 'CLM-TEST-' || i,
+                           ('00000000-0000-0000-0000-' || lpad((i %% %d)::text, 12, '0'))::uuid,
+                           uuid_generate_v4(),
+                           100 + (i %% 900),
+                           'Seeded claim',
+                           CURRENT_DATE - (i %% 365),
+                           CASE WHEN i %% 20 = 0 THEN 'PENDING'
+                                WHEN i %% 20 = 1 THEN 'UNDER_REVIEW'
+                                WHEN i %% 20 < 8 THEN 'REJECTED'
+                                WHEN i %% 20 < 14 THEN 'APPROVED'
+                                ELSE 'PAID' END,
+                           CURRENT_TIMESTAMP - (i || ' minutes')::interval
+                    FROM generate_series(1, %d) AS i""".formatted(DISTINCT_USERS, CLAIM_ROWS));
+            statement.execute("ANALYZE claims");
+
+            // Outbox history is almost entirely delivered; ~1% still pending
+            statement.execute("""
+                    INSERT INTO notification_outbox (event_type, claim_id, recipient_user_id, payload,
+                                                     status, attempts, next_attempt_at, sent_at)
+                    SELECT 'CLAIM_SUBMITTED', uuid_generate_v4(), uuid_generate_v4(), '{}'::jsonb,
+                           CASE WHEN i %% 100 = 0 THEN 'PENDING' ELSE 'SENT' END,
+                           1,
+                           CURRENT_TIMESTAMP - (i || ' seconds')::interval,
+                           CASE WHEN i %% 100 = 0 THEN NULL ELSE CURRENT_TIMESTAMP END
+                    FROM generate_series(1, %d) AS i""".formatted(CLAIM_ROWS));
+            statement.execute("ANALYZE notification_outbox");
+        }
+    }
+
+    @AfterAll
+    static void stopDatabase() throws Exception {
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @Test
+    void hasPendingClaimForPolicy_UsesIndex() throws Exception {
+        // Given
+        String sql = "SELECT COUNT(c.id) > 0 FROM claims c " +
+                "WHERE c.user_id = ? AND c.customer_policy_id = ? " +
+                "AND c.status IN ('PENDING', 'UNDER_REVIEW')";
+
+        // When
+        String plan = explain(sql, userId(42), UUID.randomUUID());
+
+        // Then
+        assertNoSequentialScan(plan);
+        assertTrue(plan.contains("idx_claims_open_user_policy"), plan);
+    }
+
+    @Test
+    void findPendingClaims_UsesIndex() throws Exception {
+        // Given
+        String sql = "SELECT * FROM claims c WHERE c.status = 'PENDING' " +
+                "ORDER BY c.submitted_date ASC";
+
+        // When
+        String plan = explain(sql);
+
+        // Then
+        assertNoSequentialScan(plan);
+        assertFalse(plan.contains("\"Node Type\": \"Sort\""), plan);
+    }
+
+    @Test
+    void findPendingClaimsPage_UsesIndex() throws Exception {
+        // Given
+        String sql = "SELECT * FROM claims c WHERE c.status = 'PENDING' " +
+                "ORDER BY c.submitted_date ASC LIMIT 20 OFFSET 0";
+
+        // When
+        String plan = explain(sql);
+
+        // Then
+        assertNoSequentialScan(plan);
+        assertTrue(plan.contains("idx_claims_pending_submitted_date"), plan);
+    }
+
+    @Test
+    void findClaimsRequiringAttention_UsesIndex() throws Exception {
+        // Given
+        String sql = "SELECT * FROM claims c WHERE c.status = 'PENDING' " +
+                "AND c.submitted_date < ? ORDER BY c.submitted_date ASC";
+
+        // When
+        String plan = explain(sql, Timestamp.valueOf(LocalDateTime.now().minusDays(7)));
+
+        // Then
+        assertNoSequentialScan(plan);
+    }
+
+    @Test
+    void findByUserIdAndStatus_UsesIndex() throws Exception {
+        // Given
+        String sql = "SELECT * FROM claims c WHERE c.user_id = ? AND c.status = ?";
+
+        // When
+        String plan = explain(sql, userId(7), "APPROVED");
+
+        // Then
+        assertNoSequentialScan(plan);
+    }
+
+    @Test
+    void lockDueNotificationBatch_UsesIndex() throws Exception {
+        // Given
+        String sql = "SELECT * FROM notification_outbox " +
+                "WHERE status = 'PENDING' AND next_attempt_at <= ? " +
+                "ORDER BY next_attempt_at LIMIT 50 FOR UPDATE SKIP LOCKED";
+
+        // When
+        String plan = explain(sql, Timestamp.valueOf(LocalDateTime.now()));
+
+        // Then
+        assertNoSequentialScan(plan);
+        assertTrue(plan.contains("idx_notification_outbox_due"), plan);
+    }
+
+    private static UUID userId(int index) {
+        return UUID.fromString(String.format("00000000-0000-0000-0000-%012d", index));
+    }
+
+    private static String explain(String sql, Object... parameters) throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("EXPLAIN (FORMAT JSON) " + sql)) {
+            for (int i = 0; i < parameters.length; i++) {
+                statement.setObject(i + 1, parameters[i]);
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                StringBuilder plan = new StringBuilder();
+                while (resultSet.next()) {
+                    plan.append(resultSet.getString(1));
+                }
+                return plan.toString();
+            }
+        }
+    }
+
+    private static void assertNoSequentialScan(String plan) {
+        assertFalse(plan.contains("\"Node Type\": \"Seq Scan\""),
+                () -> "Query regressed to a sequential scan:\n" + plan);
+    }
+}
@@ -3,22 +3,30 @@ package com.einsurance.claims.service;
 import com.einsurance.claims.entity.Claim;
 import com.einsurance.claims.entity.Claim.ClaimStatus;
 import com.einsurance.claims.mapper.ClaimMapper;
+import com.einsurance.claims.notification.ClaimNotificationPublisher;
 import com.einsurance.claims.repository.ClaimRepository;
+import com.einsurance.common.client.PolicyServiceClient;
 import com.einsurance.common.dto.ClaimDto;
 import com.einsurance.common.dto.ClaimReviewRequest;
 import com.einsurance.common.dto.ClaimSubmissionRequest;
+import com.einsurance.common.event.DomainEventPublisher;
 import com.einsurance.common.exception.ClaimException;
 import com.einsurance.common.exception.ResourceNotFoundException;
+import com.einsurance.common.security.UserPrincipal;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -39,7 +47,13 @@ class ClaimsServiceTest {
     private ClaimMapper claimMapper;
 
     @Mock
-    private WebClient.Builder webClientBuilder;
+    private PolicyServiceClient policyServiceClient;
+
+    @Mock
+    private ClaimNotificationPublisher claimNotificationPublisher;
+
+    @Mock
+    private DomainEventPublisher domainEventPublisher;
 
     @InjectMocks
     private ClaimsService claimsService;
@@ -49,6 +63,11 @@ class ClaimsServiceTest {
     private UUID userId;
     private UUID policyId;
 
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
     @BeforeEach
     void setUp() {
         userId = UUID.randomUUID();
@@ -79,7 +98,8 @@ class ClaimsServiceTest {
 
     @Test
     void getClaimById_Success() {
-        // Given
+        // Given - the claimant is signed in
+        authenticateAs(userId, "CUSTOMER");
         UUID claimId = testClaim.getId();
         when(claimRepository.findById(claimId)).thenReturn(Optional.of(testClaim));
         when(claimMapper.toDto(any(Claim.class))).thenReturn(testClaimDto);
@@ -105,7 +125,8 @@ class ClaimsServiceTest {
 
     @Test
     void markAsUnderReview_Success() {
-        // Given
+        // Given - an admin is signed in
+        authenticateAs(UUID.randomUUID(), "ADMIN");
         UUID claimId = testClaim.getId();
         when(claimRepository.findById(claimId)).thenReturn(Optional.of(testClaim));
         when(claimRepository.save(any(Claim.class))).thenReturn(testClaim);
@@ -120,7 +141,8 @@ class ClaimsServiceTest {
 
     @Test
     void markAsUnderReview_ThrowsException_WhenNotPending() {
-        // Given
+        // Given - an admin is signed in
+        authenticateAs(UUID.randomUUID(), "ADMIN");
         testClaim.setStatus(ClaimStatus.APPROVED);
         UUID claimId = testClaim.getId();
         when(claimRepository.findById(claimId)).thenReturn(Optional.of(testClaim));
@@ -184,4 +206,13 @@ class ClaimsServiceTest {
         assertEquals(5L, stats.getPaidClaims());
         assertEquals(45000.0, stats.getTotalApprovedAmount());
     }
-}
\ No newline at end of file
+
+    private static void authenticateAs(UUID userId, String role) {
+        UserPrincipal principal = UserPrincipal.builder()
+                .userId(userId.toString())
+                .roles(List.of(role))
+                .build();
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                principal, null, List.of(new SimpleGrantedAuthority("ROLE_" + role))));
+    }
+}
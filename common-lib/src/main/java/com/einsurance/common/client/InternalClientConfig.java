@@ -0,0 +1,66 @@
+package com.einsurance.common.client;
+
+import com.einsurance.common.client.resilience.ResilienceEndpoint;
+import com.einsurance.common.client.resilience.ResilienceRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Inter-service clients for services that have WebFlux's WebClient on the classpath
+ */
+@Configuration
+@ConditionalOnClass(name = "org.springframework.web.reactive.function.client.WebClient")
+@EnableConfigurationProperties(InternalClientProperties.class)
+public class InternalClientConfig {
+
+    @Bean
+    public InternalServiceClient internalServiceClient(InternalClientProperties properties,
+                                                       ObjectProvider<ObservationRegistry> observationRegistry) {
+        return new InternalServiceClient(properties, observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP));
+    }
+
+    @Bean
+    public ResilienceRegistry resilienceRegistry(Environment environment, ObjectProvider<MeterRegistry> meterRegistry) {
+        return new ResilienceRegistry(Binder.get(environment), meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+    }
+
+    @Bean
+    public PolicyServiceClient policyServiceClient(InternalServiceClient internalServiceClient,
+                                                   ResilienceRegistry resilienceRegistry) {
+        return new PolicyServiceClient(internalServiceClient, resilienceRegistry);
+    }
+
+    @Bean
+    public NotificationServiceClient notificationServiceClient(InternalServiceClient internalServiceClient,
+                                                               ResilienceRegistry resilienceRegistry) {
+        return new NotificationServiceClient(internalServiceClient, resilienceRegistry);
+    }
+
+    @Bean
+    public UserServiceClient userServiceClient(InternalServiceClient internalServiceClient,
+                                               ResilienceRegistry resilienceRegistry) {
+        return new UserServiceClient(internalServiceClient, resilienceRegistry);
+    }
+
+    /**
+     * Also picked up by component scanning on its own, so it repeats the WebClient condition
+     */
+    @Configuration
+    @ConditionalOnClass(name = {"org.springframework.boot.actuate.endpoint.annotation.Endpoint",
+            "org.springframework.web.reactive.function.client.WebClient"})
+    static class ResilienceEndpointConfig {
+
+        @Bean
+        public ResilienceEndpoint resilienceEndpoint(ResilienceRegistry resilienceRegistry) {
+            return new ResilienceEndpoint(resilienceRegistry);
+        }
+    }
+}
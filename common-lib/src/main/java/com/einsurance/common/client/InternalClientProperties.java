@@ -0,0 +1,151 @@
+package com.einsurance.common.client;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Inter-service HTTP client settings, bound from einsurance.clients.*
+ * Every key of einsurance.clients.defaults can be overridden per target
+ * under einsurance.clients.services.&lt;service-name&gt;.
+ */
+@Data
+@ConfigurationProperties(prefix = "einsurance.clients")
+public class InternalClientProperties {
+
+    private Target defaults = Target.defaults();
+
+    private Map<String, Target> services = new LinkedHashMap<>();
+
+    private ServiceAccount serviceAccount = new ServiceAccount();
+
+    /**
+     * Effective settings of a target: its own values, falling back to the defaults
+     */
+    public Target settingsFor(String service) {
+        Target own = services.getOrDefault(service, new Target());
+        Target merged = new Target();
+        merged.setUrl(own.getUrl() != null ? own.getUrl() : defaults.getUrl());
+        merged.setConnectTimeout(own.getConnectTimeout() != null ? own.getConnectTimeout() : defaults.getConnectTimeout());
+        merged.setResponseTimeout(own.getResponseTimeout() != null ? own.getResponseTimeout() : defaults.getResponseTimeout());
+        merged.setMaxConnections(own.getMaxConnections() != null ? own.getMaxConnections() : defaults.getMaxConnections());
+        merged.setPendingAcquireMaxCount(own.getPendingAcquireMaxCount() != null
+                ? own.getPendingAcquireMaxCount() : defaults.getPendingAcquireMaxCount());
+        merged.setPendingAcquireTimeout(own.getPendingAcquireTimeout() != null
+                ? own.getPendingAcquireTimeout() : defaults.getPendingAcquireTimeout());
+        merged.setMaxIdleTime(own.getMaxIdleTime() != null ? own.getMaxIdleTime() : defaults.getMaxIdleTime());
+        merged.setMaxLifeTime(own.getMaxLifeTime() != null ? own.getMaxLifeTime() : defaults.getMaxLifeTime());
+        merged.setHttp2(own.getHttp2() != null ? own.getHttp2() : defaults.getHttp2());
+        merged.setCompression(own.getCompression() != null ? own.getCompression() : defaults.getCompression());
+        merged.setPropagateAuthorization(own.getPropagateAuthorization() != null
+                ? own.getPropagateAuthorization() : defaults.getPropagateAuthorization());
+        merged.setServiceAccount(own.getServiceAccount() != null ? own.getServiceAccount() : defaults.getServiceAccount());
+        return merged;
+    }
+
+    /**
+     * Settings of one target; null means "use the default"
+     */
+    @Data
+    public static class Target {
+
+        /**
+         * Base URL, e.g. http://policy-service:8082
+         */
+        private String url;
+
+        private Duration connectTimeout;
+
+        /**
+         * Longest wait for response headers after the request is written
+         */
+        private Duration responseTimeout;
+
+        /**
+         * Connections kept per target; requests beyond it queue for a free connection
+         */
+        private Integer maxConnections;
+
+        /**
+         * Queued requests beyond which new ones fail fast instead of waiting
+         */
+        private Integer pendingAcquireMaxCount;
+
+        private Duration pendingAcquireTimeout;
+
+        /**
+         * Close idle connections before the server or a load balancer drops them
+         */
+        private Duration maxIdleTime;
+
+        /**
+         * Recycle connections periodically so new replicas receive traffic
+         */
+        private Duration maxLifeTime;
+
+        /**
+         * Offer HTTP/2 over cleartext (h2c) via upgrade, falling back to HTTP/1.1
+         */
+        private Boolean http2;
+
+        /**
+         * Accept gzip-compressed responses
+         */
+        private Boolean compression;
+
+        /**
+         * Forward the caller's bearer token from the current request
+         */
+        private Boolean propagateAuthorization;
+
+        /**
+         * Authenticate as this service's own account (einsurance.clients.service-account)
+         * when there is no caller token to forward, e.g. scheduled jobs and event consumers
+         */
+        private Boolean serviceAccount;
+
+        static Target defaults() {
+            Target target = new Target();
+            target.setConnectTimeout(Duration.ofSeconds(1));
+            target.setResponseTimeout(Duration.ofSeconds(3));
+            target.setMaxConnections(100);
+            target.setPendingAcquireMaxCount(500);
+            target.setPendingAcquireTimeout(Duration.ofSeconds(2));
+            target.setMaxIdleTime(Duration.ofSeconds(30));
+            target.setMaxLifeTime(Duration.ofMinutes(5));
+            target.setHttp2(false);
+            target.setCompression(true);
+            target.setPropagateAuthorization(true);
+            target.setServiceAccount(false);
+            return target;
+        }
+    }
+
+    /**
+     * OAuth2 client this service authenticates as, with the client credentials grant
+     */
+    @Data
+    public static class ServiceAccount {
+
+        /**
+         * Token endpoint, e.g. http://keycloak:8080/realms/e-insurance/protocol/openid-connect/token
+         */
+        private String tokenUri;
+
+        private String clientId;
+
+        private String clientSecret;
+
+        /**
+         * Request a new token this long before the current one expires
+         */
+        private Duration refreshMargin = Duration.ofSeconds(30);
+
+        public boolean isConfigured() {
+            return tokenUri != null && !tokenUri.isBlank() && clientId != null && !clientId.isBlank();
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.einsurance.common.client;
+
+import io.micrometer.observation.ObservationRegistry;
+import io.netty.channel.ChannelOption;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.util.context.Context;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Factory of WebClients for calls between services.
+ * One client and one connection pool per target service, built on first use
+ * and shared by every caller, with the timeouts, protocol and compression of
+ * einsurance.clients. Pools publish reactor.netty.connection.provider.* gauges
+ * (active, idle, pending connections) and requests are timed as
+ * http.client.requests per URI template.
+ */
+@Slf4j
+public class InternalServiceClient implements DisposableBean {
+
+    private static final String AUTHORIZATION_CONTEXT_KEY = InternalServiceClient.class.getName() + ".authorization";
+
+    private final InternalClientProperties properties;
+    private final ObservationRegistry observationRegistry;
+    private final Map<String, WebClient> clients = new ConcurrentHashMap<>();
+    private final Map<String, ConnectionProvider> pools = new ConcurrentHashMap<>();
+    private final ServiceAccountTokenProvider serviceAccountTokens;
+
+    public InternalServiceClient(InternalClientProperties properties, ObservationRegistry observationRegistry) {
+        this.properties = properties;
+        this.observationRegistry = observationRegistry;
+        this.serviceAccountTokens = properties.getServiceAccount().isConfigured()
+                ? new ServiceAccountTokenProvider(tokenClient(properties.getDefaults()), properties.getServiceAccount())
+                : null;
+    }
+
+    /**
+     * Shared client of a target service; build request URIs as templates
+     * ("/api/policies/{id}") so latency metrics group by route
+     * @throws IllegalStateException if no URL is configured for the service
+     */
+    public WebClient forService(String service) {
+        return clients.computeIfAbsent(service, this::create);
+    }
+
+    @Override
+    public void destroy() {
+        pools.values().forEach(ConnectionProvider::dispose);
+    }
+
+    private WebClient create(String service) {
+        InternalClientProperties.Target settings = properties.settingsFor(service);
+        if (settings.getUrl() == null) {
+            throw new IllegalStateException("No URL configured for internal service '" + service
+                    + "' (einsurance.clients.services." + service + ".url)");
+        }
+
+        ConnectionProvider pool = ConnectionProvider.builder("internal-" + service)
+                .maxConnections(settings.getMaxConnections())
+                .pendingAcquireMaxCount(settings.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(settings.getPendingAcquireTimeout())
+                .maxIdleTime(settings.getMaxIdleTime())
+                .maxLifeTime(settings.getMaxLifeTime())
+                .evictInBackground(Duration.ofSeconds(30))
+                .metrics(true)
+                .build();
+        pools.put(service, pool);
+
+        HttpClient httpClient = HttpClient.create(pool)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) settings.getConnectTimeout().toMillis())
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .responseTimeout(settings.getResponseTimeout())
+                .compress(settings.getCompression())
+                .protocol(settings.getHttp2()
+                        ? new HttpProtocol[] {HttpProtocol.HTTP11, HttpProtocol.H2C}
+                        : new HttpProtocol[] {HttpProtocol.HTTP11});
+
+        WebClient.Builder builder = WebClient.builder()
+                .baseUrl(settings.getUrl())
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .observationRegistry(observationRegistry);
+        if (settings.getPropagateAuthorization()) {
+            builder.filter(propagateAuthorization());
+        }
+        if (settings.getServiceAccount()) {
+            if (serviceAccountTokens == null) {
+                throw new IllegalStateException("Internal service '" + service + "' uses the service account, but "
+                        + "einsurance.clients.service-account.token-uri and client-id are not configured");
+            }
+            builder.filter(serviceAuthorization(serviceAccountTokens));
+        }
+
+        log.info("Internal client for {} at {} (pool {}, connect {}, response {}, h2c {})", service,
+                settings.getUrl(), settings.getMaxConnections(), settings.getConnectTimeout(),
+                settings.getResponseTimeout(), settings.getHttp2());
+        return builder.build();
+    }
+
+    /**
+     * Capture the Authorization header of the servlet request being served into
+     * the Reactor context. Apply with contextWrite before block(): it runs on the
+     * calling thread, while retries and hedges may run on other threads.
+     */
+    public static Function<Context, Context> callerAuthorization() {
+        return context -> {
+            String authorization = currentAuthorization();
+            return authorization != null ? context.put(AUTHORIZATION_CONTEXT_KEY, authorization) : context;
+        };
+    }
+
+    /**
+     * Add the caller's Authorization header, from the Reactor context or else the current thread's request
+     */
+    static ExchangeFilterFunction propagateAuthorization() {
+        return (request, next) -> Mono.deferContextual(context -> {
+            if (request.headers().containsKey(HttpHeaders.AUTHORIZATION)) {
+                return next.exchange(request);
+            }
+            String authorization = context.<String>getOrEmpty(AUTHORIZATION_CONTEXT_KEY).orElseGet(
+                    InternalServiceClient::currentAuthorization);
+            if (authorization == null) {
+                return next.exchange(request);
+            }
+            return next.exchange(ClientRequest.from(request)
+                    .header(HttpHeaders.AUTHORIZATION, authorization)
+                    .build());
+        });
+    }
+
+    /**
+     * Add the service account's bearer token to requests that carry no Authorization
+     * header, i.e. calls made outside a user request. A 401 drops the cached token,
+     * so the next call (or retry) requests a new one.
+     */
+    static ExchangeFilterFunction serviceAuthorization(ServiceAccountTokenProvider tokens) {
+        return (request, next) -> request.headers().containsKey(HttpHeaders.AUTHORIZATION)
+                ? next.exchange(request)
+                : tokens.token()
+                        .flatMap(token -> next.exchange(ClientRequest.from(request)
+                                .headers(headers -> headers.setBearerAuth(token))
+                                .build()))
+                        .doOnNext(response -> {
+                            if (response.statusCode().value() == HttpStatus.UNAUTHORIZED.value()) {
+                                tokens.invalidate();
+                            }
+                        });
+    }
+
+    /**
+     * Client of the token endpoint, outside the per-service pools
+     */
+    private static WebClient tokenClient(InternalClientProperties.Target defaults) {
+        HttpClient httpClient = HttpClient.create()
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) defaults.getConnectTimeout().toMillis())
+                .responseTimeout(defaults.getResponseTimeout());
+        return WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+
+    private static String currentAuthorization() {
+        return RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes
+                ? attributes.getRequest().getHeader(HttpHeaders.AUTHORIZATION)
+                : null;
+    }
+}
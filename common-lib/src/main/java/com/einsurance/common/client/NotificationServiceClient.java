@@ -0,0 +1,74 @@
+package com.einsurance.common.client;
+
+import com.einsurance.common.client.resilience.ResilienceRegistry;
+import com.einsurance.common.client.resilience.ServiceResilience;
+import com.einsurance.common.dto.ApiResponse;
+import com.einsurance.common.dto.NotificationBatchReceipt;
+import com.einsurance.common.dto.NotificationEvent;
+import com.einsurance.common.exception.ExternalServiceException;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.util.List;
+
+/**
+ * Typed client of notification-service for event producers.
+ * Submissions are retried like reads: the service drops events whose eventId
+ * it has already queued, so a resend after a lost response is harmless.
+ * Producers are expected to keep events until publish returns, typically in
+ * an outbox or the domain event log.
+ */
+public class NotificationServiceClient {
+
+    public static final String SERVICE = "notification-service";
+
+    private static final ParameterizedTypeReference<ApiResponse<NotificationBatchReceipt>> RECEIPT_RESPONSE =
+            new ParameterizedTypeReference<>() {};
+
+    private final InternalServiceClient internalServiceClient;
+    private final ResilienceRegistry resilienceRegistry;
+
+    public NotificationServiceClient(InternalServiceClient internalServiceClient, ResilienceRegistry resilienceRegistry) {
+        this.internalServiceClient = internalServiceClient;
+        this.resilienceRegistry = resilienceRegistry;
+    }
+
+    /**
+     * Queue a batch of events for delivery
+     * @throws ExternalServiceException if the call fails or any event was rejected because the queue is full
+     */
+    public NotificationBatchReceipt publish(List<NotificationEvent> events) {
+        if (events.isEmpty()) {
+            return NotificationBatchReceipt.builder().rejectedEventIds(List.of()).build();
+        }
+
+        ApiResponse<NotificationBatchReceipt> response = resilience().decorate(() -> webClient().post()
+                        .uri("/api/notifications/events")
+                        .bodyValue(events)
+                        .retrieve()
+                        .bodyToMono(RECEIPT_RESPONSE), true)
+                .contextWrite(InternalServiceClient.callerAuthorization())
+                .block();
+
+        NotificationBatchReceipt receipt = response != null ? response.getData() : null;
+        if (receipt == null) {
+            throw new ExternalServiceException(SERVICE, "empty response to notification batch");
+        }
+        if (receipt.getRejectedEventIds() != null && !receipt.getRejectedEventIds().isEmpty()) {
+            throw new ExternalServiceException(SERVICE,
+                    receipt.getRejectedEventIds().size() + " of " + events.size() + " notifications rejected, queue full");
+        }
+        return receipt;
+    }
+
+    /**
+     * Resolved per call so services that never notify need no URL for it
+     */
+    private WebClient webClient() {
+        return internalServiceClient.forService(SERVICE);
+    }
+
+    private ServiceResilience resilience() {
+        return resilienceRegistry.forService(SERVICE);
+    }
+}
@@ -0,0 +1,74 @@
+package com.einsurance.common.client;
+
+import com.einsurance.common.client.resilience.ResilienceRegistry;
+import com.einsurance.common.client.resilience.ServiceResilience;
+import com.einsurance.common.dto.ApiResponse;
+import com.einsurance.common.dto.CustomerPolicyDto;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * Typed client of policy-service for other services.
+ * Calls go through policy-service's bulkhead and circuit breaker; reads are
+ * retried (and hedged if enabled), the purchase confirmation only when the
+ * connection could not be opened.
+ */
+public class PolicyServiceClient {
+
+    public static final String SERVICE = "policy-service";
+
+    private static final ParameterizedTypeReference<ApiResponse<CustomerPolicyDto>> POLICY_RESPONSE =
+            new ParameterizedTypeReference<>() {};
+
+    private final InternalServiceClient internalServiceClient;
+    private final ResilienceRegistry resilienceRegistry;
+
+    public PolicyServiceClient(InternalServiceClient internalServiceClient, ResilienceRegistry resilienceRegistry) {
+        this.internalServiceClient = internalServiceClient;
+        this.resilienceRegistry = resilienceRegistry;
+    }
+
+    /**
+     * Fetch a customer policy
+     * @return the policy, or null if it does not exist
+     */
+    public CustomerPolicyDto getCustomerPolicy(UUID policyId) {
+        ApiResponse<CustomerPolicyDto> response = resilience().decorate(() -> webClient().get()
+                        .uri("/api/policies/{id}", policyId)
+                        .retrieve()
+                        .bodyToMono(POLICY_RESPONSE)
+                        .onErrorResume(WebClientResponseException.NotFound.class, e -> Mono.empty()), true)
+                .contextWrite(InternalServiceClient.callerAuthorization())
+                .block();
+        return response != null ? response.getData() : null;
+    }
+
+    /**
+     * Activate a pending policy after its payment succeeded
+     */
+    public CustomerPolicyDto confirmPurchase(UUID policyId, UUID transactionId) {
+        ApiResponse<CustomerPolicyDto> response = resilience().decorate(() -> webClient().post()
+                        .uri("/api/policies/purchase/confirm/{policyId}?transactionId={transactionId}",
+                                policyId, transactionId)
+                        .retrieve()
+                        .bodyToMono(POLICY_RESPONSE), false)
+                .contextWrite(InternalServiceClient.callerAuthorization())
+                .block();
+        return response != null ? response.getData() : null;
+    }
+
+    /**
+     * Resolved per call so services that never call policy-service need no URL for it
+     */
+    private WebClient webClient() {
+        return internalServiceClient.forService(SERVICE);
+    }
+
+    private ServiceResilience resilience() {
+        return resilienceRegistry.forService(SERVICE);
+    }
+}
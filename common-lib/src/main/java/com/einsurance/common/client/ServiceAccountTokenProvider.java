@@ -0,0 +1,76 @@
+package com.einsurance.common.client;
+
+import com.einsurance.common.exception.ExternalServiceException;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Access tokens of this service's own account, obtained with the OAuth2
+ * client credentials grant. A token is shared by all callers and reused
+ * until refresh-margin before it expires; concurrent callers during a
+ * refresh wait for the same token request. A failed request is not cached.
+ */
+public class ServiceAccountTokenProvider {
+
+    private static final String SERVICE_NAME = "token-endpoint";
+
+    private final WebClient webClient;
+    private final InternalClientProperties.ServiceAccount settings;
+    private final AtomicReference<Mono<String>> current = new AtomicReference<>();
+
+    public ServiceAccountTokenProvider(WebClient webClient, InternalClientProperties.ServiceAccount settings) {
+        this.webClient = webClient;
+        this.settings = settings;
+    }
+
+    /**
+     * Current access token, requesting a new one when the cached token is about to expire
+     */
+    public Mono<String> token() {
+        Mono<String> token = current.get();
+        if (token != null) {
+            return token;
+        }
+        Mono<String> fresh = request()
+                .cache(response -> timeToLive(response.expiresIn()), error -> Duration.ZERO, () -> Duration.ZERO)
+                .map(TokenResponse::accessToken);
+        return current.compareAndSet(null, fresh) ? fresh : current.get();
+    }
+
+    /**
+     * Drop the cached token, e.g. after it was refused
+     */
+    public void invalidate() {
+        current.set(null);
+    }
+
+    private Mono<TokenResponse> request() {
+        return webClient.post()
+                .uri(settings.getTokenUri())
+                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                .body(BodyInserters.fromFormData("grant_type", "client_credentials")
+                        .with("client_id", settings.getClientId())
+                        .with("client_secret", settings.getClientSecret()))
+                .retrieve()
+                .bodyToMono(TokenResponse.class)
+                .filter(response -> response.accessToken() != null)
+                .switchIfEmpty(Mono.error(() -> new ExternalServiceException(SERVICE_NAME, "empty token response")))
+                .onErrorMap(error -> !(error instanceof ExternalServiceException),
+                        error -> new ExternalServiceException(SERVICE_NAME, "failed to obtain a service account token", error));
+    }
+
+    private Duration timeToLive(long expiresInSeconds) {
+        Duration ttl = Duration.ofSeconds(expiresInSeconds).minus(settings.getRefreshMargin());
+        return ttl.isNegative() ? Duration.ZERO : ttl;
+    }
+
+    record TokenResponse(@JsonProperty("access_token") String accessToken,
+                         @JsonProperty("expires_in") long expiresIn) {
+    }
+}
@@ -0,0 +1,68 @@
+package com.einsurance.common.client;
+
+import com.einsurance.common.client.resilience.ResilienceRegistry;
+import com.einsurance.common.client.resilience.ServiceResilience;
+import com.einsurance.common.dto.ApiResponse;
+import com.einsurance.common.dto.UserContactDto;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Typed client of user-service for other services.
+ * The contact lookup is a read sent as POST so a whole batch of IDs fits in
+ * one call; it is retried (and hedged if enabled) like any other read.
+ */
+public class UserServiceClient {
+
+    public static final String SERVICE = "user-service";
+
+    private static final ParameterizedTypeReference<ApiResponse<List<UserContactDto>>> CONTACTS_RESPONSE =
+            new ParameterizedTypeReference<>() {};
+
+    private final InternalServiceClient internalServiceClient;
+    private final ResilienceRegistry resilienceRegistry;
+
+    public UserServiceClient(InternalServiceClient internalServiceClient, ResilienceRegistry resilienceRegistry) {
+        this.internalServiceClient = internalServiceClient;
+        this.resilienceRegistry = resilienceRegistry;
+    }
+
+    /**
+     * Contact details of the given users in one call
+     * @return contacts by user ID; unknown users are absent
+     */
+    public Map<UUID, UserContactDto> getContacts(Collection<UUID> userIds) {
+        if (userIds.isEmpty()) {
+            return Map.of();
+        }
+
+        ApiResponse<List<UserContactDto>> response = resilience().decorate(() -> webClient().post()
+                        .uri("/api/users/contacts")
+                        .bodyValue(userIds)
+                        .retrieve()
+                        .bodyToMono(CONTACTS_RESPONSE), true)
+                .contextWrite(InternalServiceClient.callerAuthorization())
+                .block();
+
+        List<UserContactDto> contacts = response != null && response.getData() != null ? response.getData() : List.of();
+        return contacts.stream().collect(Collectors.toMap(UserContactDto::getUserId, Function.identity(), (a, b) -> a));
+    }
+
+    /**
+     * Resolved per call so services that never call user-service need no URL for it
+     */
+    private WebClient webClient() {
+        return internalServiceClient.forService(SERVICE);
+    }
+
+    private ServiceResilience resilience() {
+        return resilienceRegistry.forService(SERVICE);
+    }
+}
@@ -0,0 +1,142 @@
+package com.einsurance.common.client.resilience;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Count-based circuit breaker.
+ * Closed: calls pass and their outcomes fill a ring buffer; once the failure
+ * rate reaches the threshold the breaker opens. Open: calls are rejected until
+ * openDuration has passed. Half-open: a fixed number of probe calls pass; if
+ * they all succeed the breaker closes, the first failure re-opens it.
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final ResiliencePolicy.CircuitBreaker settings;
+    private final LongSupplier nanoClock;
+    private final boolean[] window;
+
+    private State state = State.CLOSED;
+    private int windowIndex;
+    private int windowCount;
+    private int windowFailures;
+    private long openedAtNanos;
+    private int probesInFlight;
+    private int probeSuccesses;
+
+    public CircuitBreaker(ResiliencePolicy.CircuitBreaker settings) {
+        this(settings, System::nanoTime);
+    }
+
+    CircuitBreaker(ResiliencePolicy.CircuitBreaker settings, LongSupplier nanoClock) {
+        this.settings = settings;
+        this.nanoClock = nanoClock;
+        this.window = new boolean[settings.getSlidingWindowSize()];
+    }
+
+    /**
+     * Ask to make a call; every granted permission must be followed by
+     * onResult or onCancelled
+     */
+    public synchronized boolean tryAcquirePermission() {
+        if (state == State.OPEN) {
+            if (nanoClock.getAsLong() - openedAtNanos < settings.getOpenDuration().toNanos()) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            probesInFlight = 0;
+            probeSuccesses = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (probesInFlight >= settings.getHalfOpenProbes()) {
+                return false;
+            }
+            probesInFlight++;
+        }
+        return true;
+    }
+
+    /**
+     * Record the outcome of a permitted call
+     */
+    public synchronized void onResult(boolean failure) {
+        switch (state) {
+            case HALF_OPEN -> {
+                if (failure) {
+                    open();
+                } else if (++probeSuccesses >= settings.getHalfOpenProbes()) {
+                    close();
+                }
+            }
+            case CLOSED -> {
+                record(failure);
+                if (windowCount >= settings.getMinimumCalls()
+                        && windowFailures * 100 >= settings.getFailureRateThreshold() * windowCount) {
+                    open();
+                }
+            }
+            case OPEN -> {
+                // Call admitted before the breaker opened; its outcome no longer matters
+            }
+        }
+    }
+
+    /**
+     * A permitted call was abandoned without an outcome, e.g. a losing hedge
+     */
+    public synchronized void onCancelled() {
+        if (state == State.HALF_OPEN && probesInFlight > 0) {
+            probesInFlight--;
+        }
+    }
+
+    public synchronized State getState() {
+        if (state == State.OPEN && nanoClock.getAsLong() - openedAtNanos >= settings.getOpenDuration().toNanos()) {
+            return State.HALF_OPEN;
+        }
+        return state;
+    }
+
+    /**
+     * Failure percentage over the current window
+     */
+    public synchronized float getFailureRate() {
+        return windowCount == 0 ? 0f : windowFailures * 100f / windowCount;
+    }
+
+    public synchronized int getBufferedCalls() {
+        return windowCount;
+    }
+
+    private void record(boolean failure) {
+        if (windowCount == window.length) {
+            if (window[windowIndex]) {
+                windowFailures--;
+            }
+        } else {
+            windowCount++;
+        }
+        window[windowIndex] = failure;
+        if (failure) {
+            windowFailures++;
+        }
+        windowIndex = (windowIndex + 1) % window.length;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAtNanos = nanoClock.getAsLong();
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        windowIndex = 0;
+        windowCount = 0;
+        windowFailures = 0;
+    }
+}
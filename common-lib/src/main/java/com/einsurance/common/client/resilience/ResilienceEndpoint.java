@@ -0,0 +1,31 @@
+package com.einsurance.common.client.resilience;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+
+import java.util.Map;
+
+/**
+ * /actuator/resilience: circuit breaker state, bulkhead usage and rejection,
+ * retry and hedge counts per target service
+ */
+@Endpoint(id = "resilience")
+public class ResilienceEndpoint {
+
+    private final ResilienceRegistry registry;
+
+    public ResilienceEndpoint(ResilienceRegistry registry) {
+        this.registry = registry;
+    }
+
+    @ReadOperation
+    public Map<String, ServiceResilience.Snapshot> services() {
+        return registry.snapshot();
+    }
+
+    @ReadOperation
+    public ServiceResilience.Snapshot service(@Selector String service) {
+        return registry.snapshot().get(service);
+    }
+}
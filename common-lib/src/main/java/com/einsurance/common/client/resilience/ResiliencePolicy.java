@@ -0,0 +1,95 @@
+package com.einsurance.common.client.resilience;
+
+import lombok.Data;
+
+import java.time.Duration;
+
+/**
+ * Resilience settings of one target service.
+ * Bound from einsurance.resilience.defaults, then overlaid with
+ * einsurance.resilience.services.&lt;service-name&gt;, so a service only lists
+ * the keys it changes.
+ */
+@Data
+public class ResiliencePolicy {
+
+    private Bulkhead bulkhead = new Bulkhead();
+    private CircuitBreaker circuitBreaker = new CircuitBreaker();
+    private Retry retry = new Retry();
+    private Hedge hedge = new Hedge();
+
+    @Data
+    public static class Bulkhead {
+
+        /**
+         * Calls in flight to the target at once; further calls are rejected immediately
+         */
+        private int maxConcurrentCalls = 25;
+    }
+
+    @Data
+    public static class CircuitBreaker {
+
+        /**
+         * Failure percentage over the sliding window that opens the breaker
+         */
+        private int failureRateThreshold = 50;
+
+        /**
+         * Number of most recent calls the failure rate is computed over
+         */
+        private int slidingWindowSize = 20;
+
+        /**
+         * Calls needed in the window before the failure rate is evaluated
+         */
+        private int minimumCalls = 10;
+
+        /**
+         * Calls slower than this count as failures even if they succeed
+         */
+        private Duration slowCallThreshold = Duration.ofSeconds(2);
+
+        /**
+         * Time the breaker stays open before letting probe calls through
+         */
+        private Duration openDuration = Duration.ofSeconds(10);
+
+        /**
+         * Probe calls allowed while half-open; all must succeed to close the breaker
+         */
+        private int halfOpenProbes = 3;
+    }
+
+    @Data
+    public static class Retry {
+
+        /**
+         * Attempts including the first one
+         */
+        private int maxAttempts = 3;
+
+        private Duration initialBackoff = Duration.ofMillis(100);
+
+        private Duration maxBackoff = Duration.ofSeconds(1);
+
+        /**
+         * Total time for all attempts and backoffs; no retry starts after it runs out
+         */
+        private Duration budget = Duration.ofSeconds(5);
+    }
+
+    @Data
+    public static class Hedge {
+
+        /**
+         * Send a second copy of a slow idempotent GET and take whichever answers first
+         */
+        private boolean enabled = false;
+
+        /**
+         * Wait before hedging; about the target's p95 latency
+         */
+        private Duration delay = Duration.ofMillis(200);
+    }
+}
@@ -0,0 +1,51 @@
+package com.einsurance.common.client.resilience;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resilience state per target service, created on first use so every caller
+ * of a target shares its bulkhead and circuit breaker
+ */
+public class ResilienceRegistry {
+
+    private static final String PREFIX = "einsurance.resilience";
+
+    private final Binder binder;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, ServiceResilience> services = new ConcurrentHashMap<>();
+
+    public ResilienceRegistry(Binder binder, MeterRegistry meterRegistry) {
+        this.binder = binder;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public ServiceResilience forService(String service) {
+        return services.computeIfAbsent(service,
+                name -> new ServiceResilience(name, policyFor(name), meterRegistry));
+    }
+
+    /**
+     * Defaults first, then the service's own keys on top
+     */
+    ResiliencePolicy policyFor(String service) {
+        ResiliencePolicy policy = new ResiliencePolicy();
+        binder.bind(PREFIX + ".defaults", Bindable.ofInstance(policy));
+        binder.bind(PREFIX + ".services." + service, Bindable.ofInstance(policy));
+        return policy;
+    }
+
+    /**
+     * State of every target called so far, by service name
+     */
+    public Map<String, ServiceResilience.Snapshot> snapshot() {
+        Map<String, ServiceResilience.Snapshot> snapshot = new TreeMap<>();
+        services.forEach((name, resilience) -> snapshot.put(name, resilience.snapshot()));
+        return snapshot;
+    }
+}
@@ -0,0 +1,195 @@
+package com.einsurance.common.client.resilience;
+
+import com.einsurance.common.exception.DependencyUnavailableException;
+import com.einsurance.common.exception.ExternalServiceException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.retry.Retry;
+
+import java.net.ConnectException;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Bulkhead, circuit breaker, retries and hedging around calls to one target service.
+ * Each attempt needs a bulkhead permit and breaker permission, otherwise it
+ * fails fast with DependencyUnavailableException. Failed attempts are retried
+ * with jittered exponential backoff while the time budget lasts: idempotent
+ * calls on transport errors and 502/503/504, other calls only when the
+ * connection could not be opened (the request never reached the target).
+ */
+public class ServiceResilience {
+
+    private final String service;
+    private final ResiliencePolicy policy;
+    private final Semaphore bulkhead;
+    private final CircuitBreaker circuitBreaker;
+    private final Counter bulkheadRejections;
+    private final Counter circuitRejections;
+    private final Counter retries;
+    private final Counter hedges;
+
+    public ServiceResilience(String service, ResiliencePolicy policy, MeterRegistry meterRegistry) {
+        this.service = service;
+        this.policy = policy;
+        this.bulkhead = new Semaphore(policy.getBulkhead().getMaxConcurrentCalls());
+        this.circuitBreaker = new CircuitBreaker(policy.getCircuitBreaker());
+
+        this.bulkheadRejections = Counter.builder("internal.client.rejected")
+                .tag("service", service).tag("reason", "bulkhead_full").register(meterRegistry);
+        this.circuitRejections = Counter.builder("internal.client.rejected")
+                .tag("service", service).tag("reason", "circuit_open").register(meterRegistry);
+        this.retries = Counter.builder("internal.client.retries").tag("service", service).register(meterRegistry);
+        this.hedges = Counter.builder("internal.client.hedges").tag("service", service).register(meterRegistry);
+        Gauge.builder("internal.client.circuit.state", circuitBreaker, breaker -> breaker.getState().ordinal())
+                .description("0 closed, 1 open, 2 half-open")
+                .tag("service", service).register(meterRegistry);
+        Gauge.builder("internal.client.bulkhead.available", bulkhead, Semaphore::availablePermits)
+                .tag("service", service).register(meterRegistry);
+    }
+
+    /**
+     * Decorate a call; the supplier is invoked once per attempt
+     * @param idempotent the call may be retried after it reached the target, and hedged if enabled
+     */
+    public <T> Mono<T> decorate(Supplier<Mono<T>> call, boolean idempotent) {
+        ResiliencePolicy.Retry retry = policy.getRetry();
+        return Mono.defer(() -> {
+            long deadline = System.nanoTime() + retry.getBudget().toNanos();
+            Mono<T> attempt = Mono.defer(() -> guardedAttempt(call));
+            Mono<T> attempts = idempotent && policy.getHedge().isEnabled() ? hedged(attempt) : attempt;
+
+            return attempts
+                    .retryWhen(Retry.backoff(Math.max(0, retry.getMaxAttempts() - 1), retry.getInitialBackoff())
+                            .maxBackoff(retry.getMaxBackoff())
+                            .jitter(0.5)
+                            .filter(error -> isRetryable(error, idempotent) && System.nanoTime() < deadline)
+                            .doBeforeRetry(signal -> retries.increment())
+                            .onRetryExhaustedThrow((spec, signal) -> signal.failure()))
+                    .timeout(retry.getBudget())
+                    .onErrorMap(TimeoutException.class, e -> new ExternalServiceException(service,
+                            "no response within " + retry.getBudget().toMillis() + " ms", e));
+        });
+    }
+
+    /**
+     * One attempt, admitted by the bulkhead and the circuit breaker
+     */
+    private <T> Mono<T> guardedAttempt(Supplier<Mono<T>> call) {
+        if (!bulkhead.tryAcquire()) {
+            bulkheadRejections.increment();
+            return Mono.error(new DependencyUnavailableException(service, "too many concurrent calls"));
+        }
+        if (!circuitBreaker.tryAcquirePermission()) {
+            bulkhead.release();
+            circuitRejections.increment();
+            return Mono.error(new DependencyUnavailableException(service, "circuit breaker is open"));
+        }
+
+        long started = System.nanoTime();
+        AtomicBoolean settled = new AtomicBoolean();
+        return call.get()
+                .doOnSuccess(value -> {
+                    if (settled.compareAndSet(false, true)) {
+                        circuitBreaker.onResult(isSlow(started));
+                    }
+                })
+                .doOnError(error -> {
+                    if (settled.compareAndSet(false, true)) {
+                        circuitBreaker.onResult(countsAsFailure(error) || isSlow(started));
+                    }
+                })
+                .doOnCancel(() -> {
+                    if (settled.compareAndSet(false, true)) {
+                        circuitBreaker.onCancelled();
+                    }
+                })
+                .doFinally(signal -> bulkhead.release());
+    }
+
+    /**
+     * Start a second attempt if the first has not settled after the hedge delay;
+     * the first value wins and the other attempt is cancelled. Once the first
+     * attempt has terminated the pending timer is dropped, so an error or an
+     * empty result is passed on at once, unwrapped for the retry filter.
+     */
+    private <T> Mono<T> hedged(Mono<T> attempt) {
+        return Mono.defer(() -> {
+            Sinks.One<Boolean> primaryDone = Sinks.one();
+            Mono<T> primary = attempt.doFinally(signal -> primaryDone.tryEmitValue(true));
+            Mono<T> hedge = Mono.delay(policy.getHedge().getDelay())
+                    .takeUntilOther(primaryDone.asMono())
+                    .doOnNext(tick -> hedges.increment())
+                    .flatMap(tick -> attempt);
+            return Mono.firstWithValue(primary, hedge)
+                    .onErrorResume(NoSuchElementException.class, e -> {
+                        // Reactor reports each source's outcome in a composite cause,
+                        // an empty source as a NoSuchElementException of its own
+                        for (Throwable error : Exceptions.unwrapMultiple(e.getCause())) {
+                            if (!(error instanceof NoSuchElementException)) {
+                                return Mono.error(error);
+                            }
+                        }
+                        return Mono.empty();
+                    });
+        });
+    }
+
+    private boolean isSlow(long startedNanos) {
+        return System.nanoTime() - startedNanos > policy.getCircuitBreaker().getSlowCallThreshold().toNanos();
+    }
+
+    static boolean countsAsFailure(Throwable error) {
+        if (error instanceof WebClientResponseException response) {
+            return response.getStatusCode().is5xxServerError();
+        }
+        return error instanceof WebClientRequestException || error instanceof TimeoutException;
+    }
+
+    static boolean isRetryable(Throwable error, boolean idempotent) {
+        if (error instanceof DependencyUnavailableException) {
+            return false;
+        }
+        if (!idempotent) {
+            return error instanceof WebClientRequestException && error.getCause() instanceof ConnectException;
+        }
+        if (error instanceof WebClientResponseException response) {
+            int status = response.getStatusCode().value();
+            return status == 502 || status == 503 || status == 504;
+        }
+        return error instanceof WebClientRequestException;
+    }
+
+    public String getService() {
+        return service;
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    /**
+     * Current state, for the resilience actuator endpoint
+     */
+    public Snapshot snapshot() {
+        return new Snapshot(circuitBreaker.getState().name(), circuitBreaker.getFailureRate(),
+                circuitBreaker.getBufferedCalls(), bulkhead.availablePermits(),
+                policy.getBulkhead().getMaxConcurrentCalls(),
+                (long) bulkheadRejections.count(), (long) circuitRejections.count(),
+                (long) retries.count(), (long) hedges.count());
+    }
+
+    public record Snapshot(String circuitState, float failureRate, int bufferedCalls,
+                           int availableConcurrentCalls, int maxConcurrentCalls,
+                           long bulkheadRejections, long circuitRejections, long retries, long hedges) {
+    }
+}
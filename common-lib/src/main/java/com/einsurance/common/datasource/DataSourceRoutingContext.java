@@ -0,0 +1,25 @@
+package com.einsurance.common.datasource;
+
+/**
+ * Per-request routing state used for read-your-writes stickiness.
+ * Set by {@link ReadWriteRoutingDataSource} after a write, cleared by {@link ReadYourWritesFilter}.
+ */
+public final class DataSourceRoutingContext {
+
+    private static final ThreadLocal<Boolean> PINNED_TO_PRIMARY = new ThreadLocal<>();
+
+    private DataSourceRoutingContext() {
+    }
+
+    public static void pinToPrimary() {
+        PINNED_TO_PRIMARY.set(Boolean.TRUE);
+    }
+
+    public static boolean isPinnedToPrimary() {
+        return Boolean.TRUE.equals(PINNED_TO_PRIMARY.get());
+    }
+
+    public static void clear() {
+        PINNED_TO_PRIMARY.remove();
+    }
+}
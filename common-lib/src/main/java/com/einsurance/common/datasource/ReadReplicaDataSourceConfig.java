@@ -0,0 +1,95 @@
+package com.einsurance.common.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+
+/**
+ * Read replica routing for all services.
+ * Enabled with einsurance.datasource.replica.enabled=true; service code keeps using
+ * {@code @Transactional(readOnly = true)} and needs no changes. Only reads inside
+ * such a transaction reach the replica, see ReadWriteRoutingDataSource.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "einsurance.datasource.replica", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties({ReadReplicaProperties.class, DataSourceProperties.class})
+public class ReadReplicaDataSourceConfig {
+
+    @Value("${spring.application.name:application}")
+    private String applicationName;
+
+    @Bean
+    public ReadWriteRoutingDataSource readWriteRoutingDataSource(DataSourceProperties primaryProperties,
+                                                                 ReadReplicaProperties replicaProperties,
+                                                                 Environment environment,
+                                                                 ObjectProvider<MeterRegistry> meterRegistry) {
+        MeterRegistry registry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+        Binder binder = Binder.get(environment);
+
+        HikariDataSource primary = primaryProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        primary.setPoolName(applicationName + "-primary");
+        primary.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+
+        if (!StringUtils.hasText(replicaProperties.getUrl())) {
+            log.warn("Read replica routing is enabled but einsurance.datasource.replica.url is not set, "
+                    + "all transactions will use the primary: {}", primary.getJdbcUrl());
+            return new ReadWriteRoutingDataSource(primary, null, replicaProperties.isReadYourWrites(), registry);
+        }
+
+        HikariDataSource replica = new HikariDataSource();
+        replica.setJdbcUrl(replicaProperties.getUrl());
+        replica.setUsername(replicaProperties.getUsername() != null
+                ? replicaProperties.getUsername() : primaryProperties.determineUsername());
+        replica.setPassword(replicaProperties.getPassword() != null
+                ? replicaProperties.getPassword() : primaryProperties.determinePassword());
+        replica.setDriverClassName(replicaProperties.getDriverClassName() != null
+                ? replicaProperties.getDriverClassName() : primaryProperties.determineDriverClassName());
+        binder.bind("einsurance.datasource.replica.hikari", Bindable.ofInstance(replica));
+        replica.setPoolName(applicationName + "-replica");
+        replica.setReadOnly(true);
+        replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+
+        log.info("Read replica routing enabled - primary: {}, replica: {}", primary.getJdbcUrl(), replica.getJdbcUrl());
+        return new ReadWriteRoutingDataSource(primary, replica, replicaProperties.isReadYourWrites(), registry);
+    }
+
+    /**
+     * Lazy proxy so the routing decision happens on first statement, after
+     * the transaction manager has marked the transaction read-only
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource readWriteRoutingDataSource) {
+        return readWriteRoutingDataSource.lazyProxy();
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter() {
+        FilterRegistrationBean<ReadYourWritesFilter> registration =
+                new FilterRegistrationBean<>(new ReadYourWritesFilter());
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
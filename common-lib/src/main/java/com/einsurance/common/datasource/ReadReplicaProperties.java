@@ -0,0 +1,33 @@
+package com.einsurance.common.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Read replica settings, bound from einsurance.datasource.replica.*
+ * The primary pool keeps using spring.datasource.*; the replica pool is tuned
+ * through einsurance.datasource.replica.hikari.* (same keys as spring.datasource.hikari).
+ */
+@Data
+@ConfigurationProperties(prefix = "einsurance.datasource.replica")
+public class ReadReplicaProperties {
+
+    /**
+     * Route read-only transactions to the replica pool
+     */
+    private boolean enabled = false;
+
+    private String url;
+
+    private String username;
+
+    private String password;
+
+    private String driverClassName;
+
+    /**
+     * Once a request has run a read-write transaction, keep the rest of that
+     * request on the primary so it never reads data older than its own writes
+     */
+    private boolean readYourWrites = true;
+}
@@ -0,0 +1,129 @@
+package com.einsurance.common.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.io.Closeable;
+import java.sql.Connection;
+import java.util.Map;
+
+/**
+ * Routes read-only transactions to the replica pool and everything else to the primary.
+ * Must be wrapped in a LazyConnectionDataSourceProxy so the connection is fetched after
+ * the transaction's read-only flag has been set.
+ * Without a replica pool every transaction goes to the primary.
+ * Statements outside any transaction also go to the primary: a connection is
+ * fetched before its first statement, so nothing tells a read from a write
+ * (JdbcTemplate updates, NOTIFY and advisory locks run this way). Declared
+ * Spring Data query methods are not transactional by default, so a repository
+ * read outside a service transaction lands here too; annotate the service
+ * method or the repository with @Transactional(readOnly = true) to send it to
+ * the replica. These connections are counted with reason "non-transactional"
+ * and, like writes, pin the rest of the request to the primary.
+ */
+@Slf4j
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    public static final String PRIMARY = "primary";
+    public static final String REPLICA = "replica";
+
+    private final HikariDataSource primary;
+    private final HikariDataSource replica;
+    private final boolean readYourWrites;
+    private final Counter primaryRoutes;
+    private final Counter nonTransactionalRoutes;
+    private final Counter replicaRoutes;
+    private final Counter stickyRoutes;
+    private final Counter noReplicaRoutes;
+
+    /**
+     * @param replica replica pool, or null to send every transaction to the primary
+     */
+    public ReadWriteRoutingDataSource(HikariDataSource primary,
+                                      HikariDataSource replica,
+                                      boolean readYourWrites,
+                                      MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replica = replica;
+        this.readYourWrites = readYourWrites;
+        this.primaryRoutes = routingCounter(meterRegistry, PRIMARY, "write");
+        this.nonTransactionalRoutes = routingCounter(meterRegistry, PRIMARY, "non-transactional");
+        this.replicaRoutes = routingCounter(meterRegistry, REPLICA, "read-only");
+        this.stickyRoutes = routingCounter(meterRegistry, PRIMARY, "read-your-writes");
+        this.noReplicaRoutes = routingCounter(meterRegistry, PRIMARY, "no-replica");
+
+        setTargetDataSources(replica != null ? Map.of(PRIMARY, primary, REPLICA, replica) : Map.of(PRIMARY, primary));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    /**
+     * The lazy proxy this datasource must be used through. Its connection
+     * defaults come from the primary pool's settings; left unset, the proxy
+     * would open a connection at startup to read them, which goes through
+     * the routing and is counted like a statement.
+     */
+    public LazyConnectionDataSourceProxy lazyProxy() {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy();
+        proxy.setTargetDataSource(this);
+        proxy.setDefaultAutoCommit(primary.isAutoCommit());
+        if (primary.getTransactionIsolation() != null) {
+            proxy.setDefaultTransactionIsolationName(primary.getTransactionIsolation());
+        } else {
+            // PostgreSQL's default
+            proxy.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        }
+        proxy.afterPropertiesSet();
+        return proxy;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        boolean transactional = TransactionSynchronizationManager.isActualTransactionActive();
+        boolean readOnly = transactional && TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+
+        if (!readOnly) {
+            if (readYourWrites && RequestContextHolder.getRequestAttributes() != null) {
+                DataSourceRoutingContext.pinToPrimary();
+            }
+            (transactional ? primaryRoutes : nonTransactionalRoutes).increment();
+            return PRIMARY;
+        }
+
+        if (replica == null) {
+            noReplicaRoutes.increment();
+            return PRIMARY;
+        }
+
+        if (readYourWrites && DataSourceRoutingContext.isPinnedToPrimary()) {
+            stickyRoutes.increment();
+            return PRIMARY;
+        }
+
+        replicaRoutes.increment();
+        return REPLICA;
+    }
+
+    @Override
+    public void close() {
+        log.info("Closing primary and replica connection pools");
+        if (replica != null) {
+            replica.close();
+        }
+        primary.close();
+    }
+
+    private Counter routingCounter(MeterRegistry meterRegistry, String target, String reason) {
+        return Counter.builder("einsurance.datasource.routing")
+                .description("Connections handed out by the read/write routing datasource")
+                .tag("target", target)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
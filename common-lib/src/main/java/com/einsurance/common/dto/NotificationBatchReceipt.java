@@ -0,0 +1,23 @@
+package com.einsurance.common.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Outcome of submitting a batch of notification events.
+ * Rejected events were not queued (consumer at capacity) and should be resent.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationBatchReceipt {
+    private int accepted;
+    private int duplicates;
+    private List<UUID> rejectedEventIds;
+}
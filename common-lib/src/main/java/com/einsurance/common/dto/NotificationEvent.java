@@ -0,0 +1,51 @@
+package com.einsurance.common.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Domain event consumed by the notification service.
+ * eventId is set by the producer and stays the same across redeliveries,
+ * so the consumer can drop duplicates.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class NotificationEvent {
+
+    @NotNull(message = "Event ID is required")
+    private UUID eventId;
+
+    @NotNull(message = "Event type is required")
+    private EventType eventType;
+
+    @NotNull(message = "Recipient is required")
+    private UUID recipientUserId;
+
+    private String recipientEmail;
+    private String recipientName;
+    private LocalDateTime occurredAt;
+
+    /**
+     * Template variables, e.g. claimNumber, policyNumber, amount
+     */
+    private Map<String, String> payload;
+
+    public enum EventType {
+        CLAIM_SUBMITTED,
+        CLAIM_REVIEWED,
+        POLICY_PURCHASED,
+        POLICY_EXPIRING,
+        PAYMENT_FAILED
+    }
+}
@@ -0,0 +1,25 @@
+package com.einsurance.common.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * How to reach a user, keyed by the user ID other services know (the Keycloak subject).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class UserContactDto {
+    private UUID userId;
+    private String email;
+    private String firstName;
+    private String lastName;
+    private Boolean active;
+}
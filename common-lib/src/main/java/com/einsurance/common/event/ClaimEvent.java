@@ -0,0 +1,48 @@
+package com.einsurance.common.event;
+
+import com.fasterxml.jackson.annotation.JsonTypeName;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Claim lifecycle change
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@SuperBuilder
+@NoArgsConstructor
+@JsonTypeName("claim")
+public class ClaimEvent extends DomainEvent {
+
+    private Type type;
+    private UUID claimId;
+    private String claimNumber;
+    private UUID userId;
+    private UUID customerPolicyId;
+    private BigDecimal amount;
+    private String status;
+    private UUID reviewedBy;
+
+    public enum Type {
+        SUBMITTED,
+        UNDER_REVIEW,
+        APPROVED,
+        REJECTED,
+        PAID
+    }
+
+    @Override
+    public UUID getAggregateId() {
+        return claimId;
+    }
+
+    @Override
+    public String getEventName() {
+        return type.name();
+    }
+}
@@ -0,0 +1,67 @@
+package com.einsurance.common.event;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.annotation.JsonTypeName;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Base class of all domain events exchanged between services.
+ * The Jackson type name doubles as the topic events are stored and
+ * subscribed under, so a listener for PolicyEvent only reads "policy" rows.
+ */
+@Data
+@SuperBuilder
+@NoArgsConstructor
+@JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "topic")
+@JsonSubTypes({
+    @JsonSubTypes.Type(PolicyEvent.class),
+    @JsonSubTypes.Type(ClaimEvent.class),
+    @JsonSubTypes.Type(PaymentEvent.class),
+    @JsonSubTypes.Type(UserEvent.class)
+})
+public abstract class DomainEvent {
+
+    /**
+     * Unique per event and kept across redeliveries, so consumers can de-duplicate
+     */
+    @lombok.Builder.Default
+    private UUID eventId = UUID.randomUUID();
+
+    @lombok.Builder.Default
+    private LocalDateTime occurredAt = LocalDateTime.now();
+
+    /**
+     * ID of the entity the event is about
+     */
+    @JsonIgnore
+    public abstract UUID getAggregateId();
+
+    /**
+     * Name of the change, e.g. SUBMITTED or CANCELLED
+     */
+    @JsonIgnore
+    public abstract String getEventName();
+
+    /**
+     * Topic of this event
+     */
+    @JsonIgnore
+    public String getTopic() {
+        return topicOf(getClass());
+    }
+
+    /**
+     * Topic of an event class; null for DomainEvent itself, meaning all topics
+     */
+    public static String topicOf(Class<? extends DomainEvent> eventClass) {
+        JsonTypeName typeName = eventClass.getAnnotation(JsonTypeName.class);
+        return typeName != null ? typeName.value() : null;
+    }
+}
@@ -0,0 +1,80 @@
+package com.einsurance.common.event;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+
+/**
+ * Domain event bus for all services, selected with einsurance.events.backend.
+ * in-memory (default) needs nothing; jdbc stores events in the service's own
+ * primary database, next to the data they describe, in tables created by the
+ * service's Flyway migrations.
+ */
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(DomainEventProperties.class)
+public class DomainEventConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "einsurance.events", name = "backend", havingValue = "in-memory", matchIfMissing = true)
+    @ConditionalOnClass(name = "org.springframework.transaction.support.TransactionSynchronizationManager")
+    public InMemoryDomainEventBus inMemoryDomainEventBus(ObjectProvider<DomainEventListener<?>> listeners) {
+        return new InMemoryDomainEventBus(listeners);
+    }
+
+    @Configuration
+    @ConditionalOnProperty(prefix = "einsurance.events", name = "backend", havingValue = "jdbc")
+    static class JdbcBackendConfig {
+
+        /**
+         * Uses the service's transaction manager, so a listener's own writes commit
+         * atomically with its consumer offset
+         */
+        @Bean
+        public JdbcDomainEventStore localDomainEventStore(DataSource dataSource,
+                                                          ObjectProvider<PlatformTransactionManager> transactionManager,
+                                                          ObjectMapper objectMapper,
+                                                          DomainEventProperties properties) {
+            JdbcDomainEventStore store = new JdbcDomainEventStore(DomainEventProperties.LOCAL_SOURCE, dataSource,
+                    transactionManager.getIfAvailable(() -> new DataSourceTransactionManager(dataSource)),
+                    objectMapper, properties.getChannel());
+            log.info("Domain events backend: jdbc (channel {})", properties.getChannel());
+            return store;
+        }
+
+        @Bean
+        public JdbcDomainEventPublisher jdbcDomainEventPublisher(JdbcDomainEventStore localDomainEventStore,
+                                                                 ObjectProvider<MeterRegistry> meterRegistry) {
+            return new JdbcDomainEventPublisher(localDomainEventStore, meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+        }
+
+        @Bean
+        public DomainEventSources domainEventSources(JdbcDomainEventStore localDomainEventStore,
+                                                     DomainEventProperties properties,
+                                                     ObjectMapper objectMapper,
+                                                     ObjectProvider<MeterRegistry> meterRegistry) {
+            return new DomainEventSources(localDomainEventStore, properties, objectMapper,
+                    meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+        }
+
+        @Bean
+        public JdbcDomainEventConsumers jdbcDomainEventConsumers(ObjectProvider<DomainEventListener<?>> listeners,
+                                                                 DomainEventSources domainEventSources,
+                                                                 DomainEventProperties properties,
+                                                                 ObjectProvider<MeterRegistry> meterRegistry) {
+            return new JdbcDomainEventConsumers(listeners, domainEventSources::resolve, properties,
+                    meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.einsurance.common.event;
+
+import java.util.List;
+
+/**
+ * Subscriber to domain events; declare as a bean to subscribe.
+ * Events arrive in batches, in publication order per source. Delivery is
+ * at-least-once with the durable backend: a batch whose handler throws is
+ * delivered again, so handlers must be idempotent (DomainEvent.eventId).
+ */
+public interface DomainEventListener<E extends DomainEvent> {
+
+    /**
+     * Name the consumer offset is stored under; must be unique per listener and stable across releases
+     */
+    String consumerGroup();
+
+    /**
+     * Event class to receive; DomainEvent.class receives every topic
+     */
+    Class<E> eventType();
+
+    /**
+     * Event source to read from: "local" (this service's own events) or a
+     * name configured under einsurance.events.sources
+     */
+    default String source() {
+        return DomainEventProperties.LOCAL_SOURCE;
+    }
+
+    /**
+     * Handle a batch of events
+     */
+    void onEvents(List<E> events);
+}
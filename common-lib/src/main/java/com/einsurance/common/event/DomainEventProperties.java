@@ -0,0 +1,74 @@
+package com.einsurance.common.event;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Domain event bus settings, bound from einsurance.events.*
+ */
+@Data
+@ConfigurationProperties(prefix = "einsurance.events")
+public class DomainEventProperties {
+
+    public static final String LOCAL_SOURCE = "local";
+
+    /**
+     * in-memory: synchronous after-commit dispatch inside the JVM, for tests and local runs.
+     * jdbc: durable domain_events table in the service's own database.
+     */
+    private Backend backend = Backend.IN_MEMORY;
+
+    /**
+     * Postgres NOTIFY channel used to wake consumers up after a publish
+     */
+    private String channel = "domain_events";
+
+    private Consumer consumer = new Consumer();
+
+    /**
+     * Other services' event tables, by name, for listeners whose source() is not "local"
+     */
+    private Map<String, Source> sources = new LinkedHashMap<>();
+
+    public enum Backend {
+        IN_MEMORY,
+        JDBC
+    }
+
+    @Data
+    public static class Consumer {
+
+        private int batchSize = 100;
+
+        /**
+         * Poll interval when no NOTIFY arrives; the safety net if a notification is missed
+         */
+        private Duration pollInterval = Duration.ofSeconds(5);
+
+        /**
+         * Backoff before a failed batch is redelivered, doubling up to maxBackoff
+         */
+        private Duration initialBackoff = Duration.ofSeconds(1);
+
+        private Duration maxBackoff = Duration.ofMinutes(1);
+    }
+
+    @Data
+    public static class Source {
+
+        private String url;
+
+        private String username;
+
+        private String password;
+
+        /**
+         * One connection for LISTEN plus one per consumer polling this source
+         */
+        private int maxPoolSize = 3;
+    }
+}
@@ -0,0 +1,23 @@
+package com.einsurance.common.event;
+
+import java.util.List;
+
+/**
+ * Publishes domain events.
+ * Called inside a transaction, events become visible to listeners only
+ * if and when that transaction commits.
+ */
+public interface DomainEventPublisher {
+
+    /**
+     * Publish a single event
+     */
+    default void publish(DomainEvent event) {
+        publishAll(List.of(event));
+    }
+
+    /**
+     * Publish several events in one round trip
+     */
+    void publishAll(List<? extends DomainEvent> events);
+}
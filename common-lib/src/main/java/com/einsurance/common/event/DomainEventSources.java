@@ -0,0 +1,76 @@
+package com.einsurance.common.event;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Event stores by source name: "local" is this service's own database, any
+ * other name is another service's event table configured under
+ * einsurance.events.sources and opened on first use with a small dedicated pool.
+ */
+@Slf4j
+public class DomainEventSources implements DisposableBean {
+
+    private final JdbcDomainEventStore localStore;
+    private final DomainEventProperties properties;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, JdbcDomainEventStore> remoteStores = new ConcurrentHashMap<>();
+    private final Map<String, HikariDataSource> remotePools = new ConcurrentHashMap<>();
+
+    public DomainEventSources(JdbcDomainEventStore localStore, DomainEventProperties properties,
+                              ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.localStore = localStore;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Store for a listener's source name
+     * @throws IllegalStateException if the source is not configured
+     */
+    public JdbcDomainEventStore resolve(String source) {
+        if (DomainEventProperties.LOCAL_SOURCE.equals(source)) {
+            return localStore;
+        }
+        return remoteStores.computeIfAbsent(source, this::openRemote);
+    }
+
+    @Override
+    public void destroy() {
+        remotePools.values().forEach(HikariDataSource::close);
+    }
+
+    private JdbcDomainEventStore openRemote(String source) {
+        DomainEventProperties.Source settings = properties.getSources().get(source);
+        if (settings == null || settings.getUrl() == null) {
+            throw new IllegalStateException("No URL configured for domain event source '" + source
+                    + "' (einsurance.events.sources." + source + ".url)");
+        }
+
+        HikariDataSource pool = new HikariDataSource();
+        pool.setPoolName("events-" + source);
+        pool.setJdbcUrl(settings.getUrl());
+        pool.setUsername(settings.getUsername());
+        pool.setPassword(settings.getPassword());
+        pool.setMaximumPoolSize(settings.getMaxPoolSize());
+        pool.setMinimumIdle(1);
+        // Do not fail startup when the other service's database is down; consumers retry
+        pool.setInitializationFailTimeout(-1);
+        pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        remotePools.put(source, pool);
+
+        log.info("Consuming domain events from source {} at {}", source, settings.getUrl());
+        return new JdbcDomainEventStore(source, pool, new DataSourceTransactionManager(pool),
+                objectMapper, properties.getChannel());
+    }
+}
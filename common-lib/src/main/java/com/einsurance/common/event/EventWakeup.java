@@ -0,0 +1,39 @@
+package com.einsurance.common.event;
+
+/**
+ * Wakes consumer threads of one store when a NOTIFY arrives.
+ * A consumer reads the generation before polling and waits only if it is
+ * unchanged, so a notification that lands mid-poll is never lost.
+ */
+final class EventWakeup {
+
+    private final Object monitor = new Object();
+    private long generation;
+
+    long generation() {
+        synchronized (monitor) {
+            return generation;
+        }
+    }
+
+    void signal() {
+        synchronized (monitor) {
+            generation++;
+            monitor.notifyAll();
+        }
+    }
+
+    /**
+     * Wait until a signal newer than the given generation, or the timeout
+     */
+    void awaitAfter(long seenGeneration, long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        synchronized (monitor) {
+            long remaining = timeoutMillis;
+            while (generation == seenGeneration && remaining > 0) {
+                monitor.wait(remaining);
+                remaining = deadline - System.currentTimeMillis();
+            }
+        }
+    }
+}
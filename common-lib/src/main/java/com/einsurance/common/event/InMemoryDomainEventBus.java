@@ -0,0 +1,68 @@
+package com.einsurance.common.event;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * In-JVM event bus for tests and local runs.
+ * Listeners are called synchronously on the publishing thread after the
+ * surrounding transaction commits (immediately if there is none). Nothing is
+ * persisted and listener failures are only logged, so delivery is at-most-once.
+ */
+@Slf4j
+public class InMemoryDomainEventBus implements DomainEventPublisher {
+
+    private final ObjectProvider<DomainEventListener<?>> listeners;
+
+    public InMemoryDomainEventBus(ObjectProvider<DomainEventListener<?>> listeners) {
+        this.listeners = listeners;
+    }
+
+    @Override
+    public void publishAll(List<? extends DomainEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        List<DomainEvent> snapshot = List.copyOf(events);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dispatch(snapshot);
+                }
+            });
+        } else {
+            dispatch(snapshot);
+        }
+    }
+
+    /**
+     * Hand each listener the events of its type, in publication order
+     */
+    private void dispatch(List<DomainEvent> events) {
+        // Resolved per dispatch so listeners may depend on services that publish
+        listeners.orderedStream().forEach(listener -> deliver(listener, events));
+    }
+
+    private <E extends DomainEvent> void deliver(DomainEventListener<E> listener, List<DomainEvent> events) {
+        List<E> matching = new ArrayList<>(events.size());
+        for (DomainEvent event : events) {
+            if (listener.eventType().isInstance(event)) {
+                matching.add(listener.eventType().cast(event));
+            }
+        }
+        if (matching.isEmpty()) {
+            return;
+        }
+        try {
+            listener.onEvents(matching);
+        } catch (RuntimeException e) {
+            log.error("Domain event listener {} failed on {} events", listener.consumerGroup(), matching.size(), e);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.einsurance.common.event;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.SmartLifecycle;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+/**
+ * Runs one polling thread per DomainEventListener bean against its source store.
+ * A thread consumes batches back to back while they come back full, then
+ * sleeps until a NOTIFY or the poll interval. A failed batch is redelivered
+ * after a jittered exponential backoff, which gives at-least-once delivery.
+ * Replicas of the same service share the work per consumer group: only the
+ * replica holding the group's advisory lock consumes a given batch.
+ */
+@Slf4j
+public class JdbcDomainEventConsumers implements SmartLifecycle {
+
+    private final ObjectProvider<DomainEventListener<?>> listeners;
+    private final Function<String, JdbcDomainEventStore> storeResolver;
+    private final DomainEventProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, JdbcDomainEventStore> stores = new LinkedHashMap<>();
+    private final List<PostgresNotificationListener> notificationListeners = new ArrayList<>();
+    private final List<Thread> threads = new ArrayList<>();
+    private volatile boolean running;
+
+    /**
+     * @param storeResolver store for a listener's source() name
+     */
+    public JdbcDomainEventConsumers(ObjectProvider<DomainEventListener<?>> listeners,
+                                    Function<String, JdbcDomainEventStore> storeResolver,
+                                    DomainEventProperties properties,
+                                    MeterRegistry meterRegistry) {
+        this.listeners = listeners;
+        this.storeResolver = storeResolver;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        listeners.orderedStream().forEach(listener -> {
+            JdbcDomainEventStore store = stores.computeIfAbsent(listener.source(), this::openStore);
+            store.registerConsumer(listener.consumerGroup());
+            Gauge.builder("domain.events.consumer.lag", store, s -> s.lag(listener.consumerGroup()))
+                    .tag("group", listener.consumerGroup())
+                    .register(meterRegistry);
+            startThread("domain-events-" + listener.consumerGroup(), () -> consumeLoop(store, listener));
+        });
+        if (!threads.isEmpty()) {
+            log.info("Started {} domain event consumers on stores {}", threads.size(), stores.keySet());
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        notificationListeners.forEach(PostgresNotificationListener::stop);
+        threads.forEach(Thread::interrupt);
+        for (Thread thread : threads) {
+            try {
+                thread.join(5_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        threads.clear();
+        notificationListeners.clear();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Poll loop of one consumer group
+     */
+    private <E extends DomainEvent> void consumeLoop(JdbcDomainEventStore store, DomainEventListener<E> listener) {
+        String group = listener.consumerGroup();
+        String topic = DomainEvent.topicOf(listener.eventType());
+        int batchSize = properties.getConsumer().getBatchSize();
+        long pollIntervalMillis = properties.getConsumer().getPollInterval().toMillis();
+        Counter consumed = Counter.builder("domain.events.consumed").tag("group", group).register(meterRegistry);
+        Counter failed = Counter.builder("domain.events.consumer.failures").tag("group", group).register(meterRegistry);
+        int failures = 0;
+
+        while (running) {
+            long generation = store.getWakeup().generation();
+            try {
+                int count = store.consumeBatch(group, topic, batchSize,
+                        events -> listener.onEvents(events.stream().map(listener.eventType()::cast).toList()));
+                consumed.increment(count);
+                failures = 0;
+                if (count < batchSize) {
+                    store.getWakeup().awaitAfter(generation, pollIntervalMillis);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                failed.increment();
+                long delay = backoffFor(++failures);
+                log.warn("Domain event consumer {} failed (attempt {}), redelivering in {} ms",
+                        group, failures, delay, e);
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Exponential backoff with equal jitter, capped at maxBackoff
+     */
+    long backoffFor(int failures) {
+        long initial = properties.getConsumer().getInitialBackoff().toMillis();
+        long max = properties.getConsumer().getMaxBackoff().toMillis();
+        long delay = Math.min(max, initial << Math.min(failures - 1, 20));
+        long half = delay / 2;
+        return half + ThreadLocalRandom.current().nextLong(half + 1);
+    }
+
+    private JdbcDomainEventStore openStore(String source) {
+        JdbcDomainEventStore store = storeResolver.apply(source);
+        PostgresNotificationListener notificationListener = new PostgresNotificationListener(store);
+        notificationListeners.add(notificationListener);
+        startThread("domain-events-listen-" + source, notificationListener);
+        return store;
+    }
+
+    private void startThread(String name, Runnable task) {
+        Thread thread = new Thread(task, name);
+        thread.setDaemon(true);
+        thread.start();
+        threads.add(thread);
+    }
+}
@@ -0,0 +1,34 @@
+package com.einsurance.common.event;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Publishes into the service's own durable event store.
+ * Call it inside the transaction that makes the change: the events then
+ * commit or roll back together with it (transactional outbox).
+ */
+public class JdbcDomainEventPublisher implements DomainEventPublisher {
+
+    private final JdbcDomainEventStore store;
+    private final MeterRegistry meterRegistry;
+
+    public JdbcDomainEventPublisher(JdbcDomainEventStore store, MeterRegistry meterRegistry) {
+        this.store = store;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void publishAll(List<? extends DomainEvent> events) {
+        store.append(events);
+        events.stream()
+                .collect(Collectors.groupingBy(DomainEvent::getTopic, Collectors.counting()))
+                .forEach((topic, count) -> Counter.builder("domain.events.published")
+                        .tag("topic", topic)
+                        .register(meterRegistry)
+                        .increment(count));
+    }
+}
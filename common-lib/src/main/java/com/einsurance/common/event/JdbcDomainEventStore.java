@@ -0,0 +1,205 @@
+package com.einsurance.common.event;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * Durable event log in one Postgres database.
+ * Events are appended to domain_events in the publisher's transaction and read
+ * back by global_offset; each consumer group keeps its position in
+ * domain_event_offsets. Offsets are BIGSERIAL and therefore assigned in insert
+ * order, not commit order, so a reader only takes rows written by transactions
+ * older than every transaction still running (pg_snapshot_xmin). A later
+ * commit of a lower offset can then never be skipped.
+ * The tables are created by each service's own Flyway migration
+ * (V*__Create_domain_events.sql).
+ */
+@Slf4j
+public class JdbcDomainEventStore {
+
+    /**
+     * First key of the two-key advisory lock taken per consumer group, so the
+     * lock cannot collide with single-key advisory locks used elsewhere
+     */
+    private static final int CONSUMER_LOCK_CLASS = 0x45564e54;
+
+    private static final Pattern CHANNEL_NAME = Pattern.compile("[a-z_][a-z0-9_]*");
+
+    private final String name;
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader eventReader;
+    private final String channel;
+    private final EventWakeup wakeup = new EventWakeup();
+
+    public JdbcDomainEventStore(String name, DataSource dataSource, PlatformTransactionManager transactionManager,
+                                ObjectMapper objectMapper, String channel) {
+        if (!CHANNEL_NAME.matcher(channel).matches()) {
+            throw new IllegalArgumentException("Invalid event channel name: " + channel);
+        }
+        this.name = name;
+        this.dataSource = dataSource;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        // Rows of topics this release does not know yet are skipped instead of blocking the consumer
+        this.eventReader = objectMapper.readerFor(DomainEvent.class)
+                .without(DeserializationFeature.FAIL_ON_INVALID_SUBTYPE)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.channel = channel;
+    }
+
+    /**
+     * Append events and notify listeners; joins the caller's transaction if there is one,
+     * in which case both take effect only on commit
+     */
+    public void append(List<? extends DomainEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        List<Object[]> rows = new ArrayList<>(events.size());
+        Set<String> topics = new LinkedHashSet<>();
+        for (DomainEvent event : events) {
+            rows.add(new Object[] {
+                    event.getEventId(), event.getTopic(), event.getEventName(), event.getAggregateId(), toJson(event)});
+            topics.add(event.getTopic());
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO domain_events (event_id, topic, event_type, aggregate_id, payload) " +
+                "VALUES (?, ?, ?, ?, ?::jsonb)",
+                rows);
+        for (String topic : topics) {
+            jdbcTemplate.query("SELECT pg_notify(?, ?)", rs -> null, channel, topic);
+        }
+    }
+
+    /**
+     * Create the offset row of a consumer group; a new group starts from the oldest retained event
+     */
+    public void registerConsumer(String consumerGroup) {
+        jdbcTemplate.update(
+                "INSERT INTO domain_event_offsets (consumer_group) VALUES (?) ON CONFLICT DO NOTHING",
+                consumerGroup);
+    }
+
+    /**
+     * Deliver the next batch of a consumer group and move its offset past it, in one transaction.
+     * If the handler throws, the transaction rolls back and the same batch is delivered next time.
+     * @param topic topic to read, or null for all topics
+     * @return number of rows consumed; 0 if nothing is due or another replica holds the group
+     */
+    public int consumeBatch(String consumerGroup, String topic, int limit, Consumer<List<DomainEvent>> handler) {
+        Integer consumed = transactionTemplate.execute(status -> {
+            Boolean locked = jdbcTemplate.queryForObject(
+                    "SELECT pg_try_advisory_xact_lock(?, hashtext(?))",
+                    Boolean.class, CONSUMER_LOCK_CLASS, consumerGroup);
+            if (!Boolean.TRUE.equals(locked)) {
+                return 0;
+            }
+
+            Long lastOffset = jdbcTemplate.queryForObject(
+                    "SELECT last_offset FROM domain_event_offsets WHERE consumer_group = ?",
+                    Long.class, consumerGroup);
+            List<StoredEvent> rows = topic != null
+                    ? jdbcTemplate.query(
+                            "SELECT global_offset, payload FROM domain_events " +
+                            "WHERE topic = ? AND global_offset > ? " +
+                            "AND transaction_id < pg_snapshot_xmin(pg_current_snapshot()) " +
+                            "ORDER BY global_offset LIMIT ?",
+                            (rs, rowNum) -> new StoredEvent(rs.getLong(1), rs.getString(2)),
+                            topic, lastOffset, limit)
+                    : jdbcTemplate.query(
+                            "SELECT global_offset, payload FROM domain_events " +
+                            "WHERE global_offset > ? " +
+                            "AND transaction_id < pg_snapshot_xmin(pg_current_snapshot()) " +
+                            "ORDER BY global_offset LIMIT ?",
+                            (rs, rowNum) -> new StoredEvent(rs.getLong(1), rs.getString(2)),
+                            lastOffset, limit);
+            if (rows.isEmpty()) {
+                return 0;
+            }
+
+            List<DomainEvent> events = new ArrayList<>(rows.size());
+            for (StoredEvent row : rows) {
+                DomainEvent event = fromJson(row.payload());
+                if (event != null) {
+                    events.add(event);
+                }
+            }
+            if (!events.isEmpty()) {
+                handler.accept(events);
+            }
+
+            jdbcTemplate.update(
+                    "UPDATE domain_event_offsets SET last_offset = ?, updated_at = CURRENT_TIMESTAMP " +
+                    "WHERE consumer_group = ?",
+                    rows.get(rows.size() - 1).globalOffset(), consumerGroup);
+            return rows.size();
+        });
+        return consumed != null ? consumed : 0;
+    }
+
+    /**
+     * Events published since a consumer group's offset, across all topics;
+     * an upper bound for groups reading a single topic
+     */
+    public long lag(String consumerGroup) {
+        Long lag = jdbcTemplate.queryForObject(
+                "SELECT GREATEST(COALESCE((SELECT MAX(global_offset) FROM domain_events), 0) - last_offset, 0) " +
+                "FROM domain_event_offsets WHERE consumer_group = ?",
+                Long.class, consumerGroup);
+        return lag != null ? lag : 0;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    DataSource getDataSource() {
+        return dataSource;
+    }
+
+    EventWakeup getWakeup() {
+        return wakeup;
+    }
+
+    private String toJson(DomainEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot serialize domain event " + event.getEventId(), e);
+        }
+    }
+
+    private DomainEvent fromJson(String payload) {
+        try {
+            return eventReader.readValue(payload);
+        } catch (JsonProcessingException e) {
+            // Poison row: fail the batch so it is retried and surfaced, rather than silently skipped
+            throw new IllegalStateException("Cannot deserialize domain event in store " + name, e);
+        }
+    }
+
+    private record StoredEvent(long globalOffset, String payload) {
+    }
+}
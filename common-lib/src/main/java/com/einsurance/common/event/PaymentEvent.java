@@ -0,0 +1,48 @@
+package com.einsurance.common.event;
+
+import com.fasterxml.jackson.annotation.JsonTypeName;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Payment transaction lifecycle change
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@SuperBuilder
+@NoArgsConstructor
+@JsonTypeName("payment")
+public class PaymentEvent extends DomainEvent {
+
+    private Type type;
+    private UUID transactionId;
+    private UUID userId;
+    private UUID customerPolicyId;
+    private String policyName;
+    private BigDecimal amount;
+    private String currency;
+    private String status;
+    private String failureReason;
+
+    public enum Type {
+        INITIATED,
+        COMPLETED,
+        FAILED,
+        REFUNDED
+    }
+
+    @Override
+    public UUID getAggregateId() {
+        return transactionId;
+    }
+
+    @Override
+    public String getEventName() {
+        return type.name();
+    }
+}
@@ -0,0 +1,52 @@
+package com.einsurance.common.event;
+
+import com.fasterxml.jackson.annotation.JsonTypeName;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Customer policy lifecycle change
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@SuperBuilder
+@NoArgsConstructor
+@JsonTypeName("policy")
+public class PolicyEvent extends DomainEvent {
+
+    private Type type;
+    private UUID policyId;
+    private String policyNumber;
+    private UUID userId;
+    private UUID policyTemplateId;
+    private String policyName;
+    private String status;
+    private LocalDate startDate;
+    private LocalDate expiryDate;
+    private BigDecimal totalAmount;
+
+    public enum Type {
+        PURCHASE_INITIATED,
+        ACTIVATED,
+        CANCELLED,
+        SUSPENDED,
+        REACTIVATED,
+        EXPIRED
+    }
+
+    @Override
+    public UUID getAggregateId() {
+        return policyId;
+    }
+
+    @Override
+    public String getEventName() {
+        return type.name();
+    }
+}
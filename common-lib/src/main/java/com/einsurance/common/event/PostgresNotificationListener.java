@@ -0,0 +1,70 @@
+package com.einsurance.common.event;
+
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Holds one connection in LISTEN on the store's channel and wakes its
+ * consumers when an event is committed. Reconnects after failures; while
+ * disconnected, consumers fall back to their poll interval.
+ */
+@Slf4j
+class PostgresNotificationListener implements Runnable {
+
+    private static final int RECEIVE_TIMEOUT_MILLIS = 1_000;
+    private static final long RECONNECT_DELAY_MILLIS = 5_000;
+
+    private final JdbcDomainEventStore store;
+    private volatile boolean running = true;
+
+    PostgresNotificationListener(JdbcDomainEventStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public void run() {
+        while (running) {
+            try (Connection connection = store.getDataSource().getConnection()) {
+                if (!connection.isWrapperFor(PGConnection.class)) {
+                    log.info("Event store {} is not PostgreSQL; consumers will poll only", store.getName());
+                    return;
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + store.getChannel());
+                }
+                log.debug("Listening for domain events on {}/{}", store.getName(), store.getChannel());
+                // Anything committed while we were not listening is picked up by this first poll
+                store.getWakeup().signal();
+
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(RECEIVE_TIMEOUT_MILLIS);
+                    if (notifications != null && notifications.length > 0) {
+                        store.getWakeup().signal();
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("LISTEN connection to event store {} failed, reconnecting in {} ms: {}",
+                        store.getName(), RECONNECT_DELAY_MILLIS, e.getMessage());
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MILLIS);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    void stop() {
+        running = false;
+    }
+}
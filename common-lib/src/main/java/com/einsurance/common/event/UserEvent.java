@@ -0,0 +1,43 @@
+package com.einsurance.common.event;
+
+import com.fasterxml.jackson.annotation.JsonTypeName;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+
+import java.util.UUID;
+
+/**
+ * User account lifecycle change
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@SuperBuilder
+@NoArgsConstructor
+@JsonTypeName("user")
+public class UserEvent extends DomainEvent {
+
+    private Type type;
+    private UUID userId;
+    private String keycloakId;
+    private String email;
+
+    public enum Type {
+        REGISTERED,
+        UPDATED,
+        ACTIVATED,
+        DEACTIVATED,
+        DELETED
+    }
+
+    @Override
+    public UUID getAggregateId() {
+        return userId;
+    }
+
+    @Override
+    public String getEventName() {
+        return type.name();
+    }
+}
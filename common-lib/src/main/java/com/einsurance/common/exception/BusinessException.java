@@ -4,24 +4,36 @@ import lombok.Getter;
 
 /**
  * Base exception for all business logic errors within the platform.
+ * Business errors are expected outcomes (not found, not yours, wrong state)
+ * answered with a fixed error code, so by default they skip stack trace
+ * capture, which is most of the cost of throwing. Exceptions wrapping a
+ * cause keep their stack trace, as do subclasses passing captureStackTrace;
+ * -Deinsurance.exceptions.capture-stack-traces=true restores it for all.
  */
 @Getter
 public class BusinessException extends RuntimeException {
 
+    private static final boolean CAPTURE_ALWAYS = Boolean.getBoolean("einsurance.exceptions.capture-stack-traces");
+
     private final String errorCode;
 
     public BusinessException(String message) {
-        super(message);
-        this.errorCode = "BUSINESS_ERROR";
+        this(message, "BUSINESS_ERROR", null, false);
     }
 
     public BusinessException(String message, String errorCode) {
-        super(message);
-        this.errorCode = errorCode;
+        this(message, errorCode, null, false);
     }
 
     public BusinessException(String message, Throwable cause) {
-        super(message, cause);
-        this.errorCode = "BUSINESS_ERROR";
+        this(message, "BUSINESS_ERROR", cause, true);
+    }
+
+    /**
+     * @param captureStackTrace true for errors that are unexpected and worth a stack trace in the log
+     */
+    protected BusinessException(String message, String errorCode, Throwable cause, boolean captureStackTrace) {
+        super(message, cause, true, captureStackTrace || CAPTURE_ALWAYS);
+        this.errorCode = errorCode;
     }
 }
@@ -0,0 +1,12 @@
+package com.einsurance.common.exception;
+
+/**
+ * Thrown without calling an upstream dependency because its circuit breaker is
+ * open or its bulkhead is full; the caller should back off and retry later.
+ */
+public class DependencyUnavailableException extends ExternalServiceException {
+
+    public DependencyUnavailableException(String serviceName, String message) {
+        super(serviceName, message, "DEPENDENCY_UNAVAILABLE");
+    }
+}
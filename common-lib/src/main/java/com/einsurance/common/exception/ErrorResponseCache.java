@@ -0,0 +1,57 @@
+package com.einsurance.common.exception;
+
+import com.einsurance.common.dto.ApiResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Pre-built error responses per status, error code and message.
+ * Only for responses whose message is a constant (the default unauthorized
+ * and unauthenticated messages, access denied, the generic 500): the
+ * response is built once and shared, and rebuilt when its timestamp is more
+ * than a second old, which keeps the timestamp accurate to the second.
+ * Messages that carry ids or caller input are built per request instead, so
+ * the cache holds a handful of entries and never one request's details.
+ * Cached responses are shared between requests and must not be modified.
+ */
+class ErrorResponseCache {
+
+    private static final long REFRESH_MILLIS = 1000;
+
+    private final Map<Key, Cached> responses = new ConcurrentHashMap<>();
+    private final LongSupplier millisClock;
+
+    ErrorResponseCache() {
+        this(System::currentTimeMillis);
+    }
+
+    ErrorResponseCache(LongSupplier millisClock) {
+        this.millisClock = millisClock;
+    }
+
+    ResponseEntity<ApiResponse<Object>> get(HttpStatus status, String errorCode, String message) {
+        Key key = new Key(status, errorCode, message);
+        long now = millisClock.getAsLong();
+        Cached cached = responses.get(key);
+        if (cached != null && now - cached.builtAt() < REFRESH_MILLIS) {
+            return cached.response();
+        }
+        ResponseEntity<ApiResponse<Object>> response = new ResponseEntity<>(ApiResponse.error(message, errorCode), status);
+        responses.put(key, new Cached(now, response));
+        return response;
+    }
+
+    int size() {
+        return responses.size();
+    }
+
+    private record Key(HttpStatus status, String errorCode, String message) {
+    }
+
+    private record Cached(long builtAt, ResponseEntity<ApiResponse<Object>> response) {
+    }
+}
@@ -12,6 +12,11 @@ public class ExternalServiceException extends BusinessException {
         this.serviceName = serviceName;
     }
 
+    protected ExternalServiceException(String serviceName, String message, String errorCode) {
+        super(String.format("External service '%s' error: %s", serviceName, message), errorCode);
+        this.serviceName = serviceName;
+    }
+
     public ExternalServiceException(String serviceName, String message, Throwable cause) {
         super(String.format("External service '%s' error: %s", serviceName, message), cause);
         this.serviceName = serviceName;
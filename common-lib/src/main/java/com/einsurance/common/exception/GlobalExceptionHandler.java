@@ -1,7 +1,13 @@
 package com.einsurance.common.exception;
 
 import com.einsurance.common.dto.ApiResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -10,22 +16,48 @@ import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.HandlerMapping;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Global exception handler for all microservices.
  * Provides a consistent error response format.
+ * Every handled error is counted in http.server.errors by error code,
+ * status and endpoint (the matched route pattern). Responses whose message
+ * is a constant come from an ErrorResponseCache, all others are built per
+ * request; routine client errors (not found, forbidden, unauthenticated) are
+ * logged at debug only, the counter is the place to watch them. Business
+ * errors are logged without a stack trace unless they wrap a cause.
  */
 @Slf4j
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    private static final String UNKNOWN = "UNKNOWN";
+
+    private final MeterRegistry meterRegistry;
+    private final ErrorResponseCache responses = new ErrorResponseCache();
+    private final Map<CounterKey, Counter> counters = new ConcurrentHashMap<>();
+
+    @Autowired
+    public GlobalExceptionHandler(ObjectProvider<MeterRegistry> meterRegistry) {
+        this(meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+    }
+
+    GlobalExceptionHandler(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
     @ExceptionHandler(ResourceNotFoundException.class)
     public ResponseEntity<ApiResponse<Object>> handleResourceNotFound(ResourceNotFoundException ex, WebRequest request) {
-        log.error("Resource not found: {}", ex.getMessage());
+        log.debug("Resource not found: {}", ex.getMessage());
+        count(ex.getErrorCode(), HttpStatus.NOT_FOUND, request);
         ApiResponse<Object> response = ApiResponse.error(ex.getMessage(), ex.getErrorCode());
         return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
     }
@@ -33,47 +65,47 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(ResourceAlreadyExistsException.class)
     public ResponseEntity<ApiResponse<Object>> handleResourceAlreadyExists(ResourceAlreadyExistsException ex,
                                                                            WebRequest request) {
-        log.error("Resource already exists: {}", ex.getMessage());
+        logBusinessError("Resource already exists", ex);
+        count(ex.getErrorCode(), HttpStatus.CONFLICT, request);
         ApiResponse<Object> response = ApiResponse.error(ex.getMessage(), ex.getErrorCode());
         return new ResponseEntity<>(response, HttpStatus.CONFLICT);
     }
 
     @ExceptionHandler(UnauthorizedException.class)
     public ResponseEntity<ApiResponse<Object>> handleUnauthorized(UnauthorizedException ex, WebRequest request) {
-        log.error("Unauthorized access: {}", ex.getMessage());
-        ApiResponse<Object> response = ApiResponse.error(ex.getMessage(), ex.getErrorCode());
-        return new ResponseEntity<>(response, HttpStatus.FORBIDDEN);
+        log.debug("Unauthorized access: {}", ex.getMessage());
+        return UnauthorizedException.DEFAULT_MESSAGE.equals(ex.getMessage())
+                ? cached(HttpStatus.FORBIDDEN, ex.getErrorCode(), ex.getMessage(), request)
+                : respond(HttpStatus.FORBIDDEN, ex.getErrorCode(), ex.getMessage(), request);
     }
 
     @ExceptionHandler(UnauthenticatedException.class)
     public ResponseEntity<ApiResponse<Object>> handleUnauthenticated(UnauthenticatedException ex, WebRequest request) {
-        log.error("Authentication required: {}", ex.getMessage());
-        ApiResponse<Object> response = ApiResponse.error(ex.getMessage(), ex.getErrorCode());
-        return new ResponseEntity<>(response, HttpStatus.UNAUTHORIZED);
+        log.debug("Authentication required: {}", ex.getMessage());
+        return UnauthenticatedException.DEFAULT_MESSAGE.equals(ex.getMessage())
+                ? cached(HttpStatus.UNAUTHORIZED, ex.getErrorCode(), ex.getMessage(), request)
+                : respond(HttpStatus.UNAUTHORIZED, ex.getErrorCode(), ex.getMessage(), request);
     }
 
     @ExceptionHandler(AuthenticationException.class)
     public ResponseEntity<ApiResponse<Object>> handleAuthenticationException(AuthenticationException ex,
                                                                               WebRequest request) {
-        log.error("Authentication failed: {}", ex.getMessage());
-        ApiResponse<Object> response = ApiResponse.error("Authentication failed: " + ex.getMessage(),
-                "AUTHENTICATION_ERROR");
-        return new ResponseEntity<>(response, HttpStatus.UNAUTHORIZED);
+        log.debug("Authentication failed: {}", ex.getMessage());
+        return respond(HttpStatus.UNAUTHORIZED, "AUTHENTICATION_ERROR", "Authentication failed: " + ex.getMessage(),
+                request);
     }
 
     @ExceptionHandler(AccessDeniedException.class)
     public ResponseEntity<ApiResponse<Object>> handleAccessDenied(AccessDeniedException ex, WebRequest request) {
-        log.error("Access denied: {}", ex.getMessage());
-        ApiResponse<Object> response = ApiResponse.error(
-                "Access denied: You don't have permission to access this resource", "ACCESS_DENIED");
-        return new ResponseEntity<>(response, HttpStatus.FORBIDDEN);
+        log.debug("Access denied: {}", ex.getMessage());
+        return cached(HttpStatus.FORBIDDEN, "ACCESS_DENIED",
+                "Access denied: You don't have permission to access this resource", request);
     }
 
     @ExceptionHandler(ValidationException.class)
     public ResponseEntity<ApiResponse<Object>> handleValidation(ValidationException ex, WebRequest request) {
-        log.error("Validation error: {}", ex.getMessage());
-        ApiResponse<Object> response = ApiResponse.error(ex.getMessage(), ex.getErrorCode());
-        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+        logBusinessError("Validation error", ex);
+        return respond(HttpStatus.BAD_REQUEST, ex.getErrorCode(), ex.getMessage(), request);
     }
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
@@ -96,58 +128,113 @@ public class GlobalExceptionHandler {
             }
         });
 
+        count("VALIDATION_FAILED", HttpStatus.BAD_REQUEST, request);
         ApiResponse<Object> response = ApiResponse.error("Validation failed", errors);
         return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
     }
 
     @ExceptionHandler(PaymentException.class)
     public ResponseEntity<ApiResponse<Object>> handlePaymentException(PaymentException ex, WebRequest request) {
-        log.error("Payment error: {}", ex.getMessage(), ex);
+        logBusinessError("Payment error", ex);
+        return respond(HttpStatus.PAYMENT_REQUIRED, ex.getErrorCode(), ex.getMessage(), request);
+    }
+
+    @ExceptionHandler(DependencyUnavailableException.class)
+    public ResponseEntity<ApiResponse<Object>> handleDependencyUnavailable(DependencyUnavailableException ex,
+                                                                           WebRequest request) {
+        log.warn("Dependency unavailable: {}", ex.getMessage());
+        count(ex.getErrorCode(), HttpStatus.SERVICE_UNAVAILABLE, request);
         ApiResponse<Object> response = ApiResponse.error(ex.getMessage(), ex.getErrorCode());
-        return new ResponseEntity<>(response, HttpStatus.PAYMENT_REQUIRED);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .body(response);
     }
 
     @ExceptionHandler(ExternalServiceException.class)
     public ResponseEntity<ApiResponse<Object>> handleExternalServiceException(ExternalServiceException ex,
                                                                               WebRequest request) {
         log.error("External service error: {}", ex.getMessage(), ex);
+        count(ex.getErrorCode(), HttpStatus.BAD_GATEWAY, request);
         ApiResponse<Object> response = ApiResponse.error(ex.getMessage(), ex.getErrorCode());
         return new ResponseEntity<>(response, HttpStatus.BAD_GATEWAY);
     }
 
     @ExceptionHandler(PolicyException.class)
     public ResponseEntity<ApiResponse<Object>> handlePolicyException(PolicyException ex, WebRequest request) {
-        log.error("Policy error: {}", ex.getMessage());
-        ApiResponse<Object> response = ApiResponse.error(ex.getMessage(), ex.getErrorCode());
-        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+        logBusinessError("Policy error", ex);
+        return respond(HttpStatus.BAD_REQUEST, ex.getErrorCode(), ex.getMessage(), request);
     }
 
     @ExceptionHandler(ClaimException.class)
     public ResponseEntity<ApiResponse<Object>> handleClaimException(ClaimException ex, WebRequest request) {
-        log.error("Claim error: {}", ex.getMessage());
-        ApiResponse<Object> response = ApiResponse.error(ex.getMessage(), ex.getErrorCode());
-        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+        logBusinessError("Claim error", ex);
+        return respond(HttpStatus.BAD_REQUEST, ex.getErrorCode(), ex.getMessage(), request);
     }
 
     @ExceptionHandler(BusinessException.class)
     public ResponseEntity<ApiResponse<Object>> handleBusinessException(BusinessException ex, WebRequest request) {
-        log.error("Business error: {}", ex.getMessage(), ex);
-        ApiResponse<Object> response = ApiResponse.error(ex.getMessage(), ex.getErrorCode());
-        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+        logBusinessError("Business error", ex);
+        return respond(HttpStatus.BAD_REQUEST, ex.getErrorCode(), ex.getMessage(), request);
     }
 
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<ApiResponse<Object>> handleIllegalArgument(IllegalArgumentException ex, WebRequest request) {
         log.error("Illegal argument: {}", ex.getMessage());
-        ApiResponse<Object> response = ApiResponse.error(ex.getMessage(), "INVALID_ARGUMENT");
-        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+        return respond(HttpStatus.BAD_REQUEST, "INVALID_ARGUMENT", ex.getMessage(), request);
     }
 
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiResponse<Object>> handleGlobalException(Exception ex, WebRequest request) {
         log.error("Unexpected error occurred", ex);
-        ApiResponse<Object> response = ApiResponse.error(
-                "An unexpected error occurred. Please try again later.", "INTERNAL_SERVER_ERROR");
-        return new ResponseEntity<>(response, HttpStatus.INTERNAL_SERVER_ERROR);
+        return cached(HttpStatus.INTERNAL_SERVER_ERROR, "INTERNAL_SERVER_ERROR",
+                "An unexpected error occurred. Please try again later.", request);
+    }
+
+    /**
+     * For constant messages only, see ErrorResponseCache
+     */
+    private ResponseEntity<ApiResponse<Object>> cached(HttpStatus status, String errorCode, String message,
+                                                       WebRequest request) {
+        count(errorCode, status, request);
+        return responses.get(status, errorCode, message);
+    }
+
+    private ResponseEntity<ApiResponse<Object>> respond(HttpStatus status, String errorCode, String message,
+                                                        WebRequest request) {
+        count(errorCode, status, request);
+        return new ResponseEntity<>(ApiResponse.error(message, errorCode), status);
+    }
+
+    /**
+     * Code and message at warn; the stack trace only when the error wraps a
+     * cause, the only case in which BusinessException captures one
+     */
+    private void logBusinessError(String label, BusinessException ex) {
+        if (ex.getCause() != null) {
+            log.warn("{} [{}]: {}", label, ex.getErrorCode(), ex.getMessage(), ex);
+        } else {
+            log.warn("{} [{}]: {}", label, ex.getErrorCode(), ex.getMessage());
+        }
+    }
+
+    private void count(String errorCode, HttpStatus status, WebRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE,
+                RequestAttributes.SCOPE_REQUEST);
+        String method = request instanceof ServletWebRequest servletRequest
+                ? servletRequest.getRequest().getMethod()
+                : UNKNOWN;
+        CounterKey key = new CounterKey(errorCode != null ? errorCode : UNKNOWN, status.value(), method,
+                pattern != null ? pattern.toString() : UNKNOWN);
+        counters.computeIfAbsent(key, k -> Counter.builder("http.server.errors")
+                .description("Errors answered by GlobalExceptionHandler")
+                .tag("code", k.errorCode())
+                .tag("status", String.valueOf(k.status()))
+                .tag("method", k.method())
+                .tag("endpoint", k.endpoint())
+                .register(meterRegistry))
+                .increment();
+    }
+
+    private record CounterKey(String errorCode, int status, String method, String endpoint) {
     }
 }
@@ -5,11 +5,13 @@ package com.einsurance.common.exception;
  */
 public class UnauthenticatedException extends BusinessException {
 
+    public static final String DEFAULT_MESSAGE = "Authentication required";
+
     public UnauthenticatedException(String message) {
         super(message, "UNAUTHENTICATED");
     }
 
     public UnauthenticatedException() {
-        super("Authentication required", "UNAUTHENTICATED");
+        super(DEFAULT_MESSAGE, "UNAUTHENTICATED");
     }
 }
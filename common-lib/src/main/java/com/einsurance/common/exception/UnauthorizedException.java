@@ -5,11 +5,13 @@ package com.einsurance.common.exception;
  */
 public class UnauthorizedException extends BusinessException {
 
+    public static final String DEFAULT_MESSAGE = "You are not authorized to perform this action";
+
     public UnauthorizedException(String message) {
         super(message, "UNAUTHORIZED");
     }
 
     public UnauthorizedException() {
-        super("You are not authorized to perform this action", "UNAUTHORIZED");
+        super(DEFAULT_MESSAGE, "UNAUTHORIZED");
     }
 }
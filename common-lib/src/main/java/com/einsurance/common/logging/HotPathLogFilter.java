@@ -0,0 +1,155 @@
+package com.einsurance.common.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Sampling and per-logger rate limiting for high-frequency log statements.
+ * Runs before the message is formatted, so a dropped event costs a map
+ * lookup. Both settings take comma-separated logger=value pairs; the
+ * longest matching logger name prefix wins:
+ * - sampling: fraction of DEBUG and INFO events kept, e.g.
+ *   com.einsurance.common.security.JwtAuthenticationFilter=0.01
+ * - rateLimits: DEBUG to WARN events per second and logger, e.g.
+ *   com.einsurance=200
+ * ERROR events always pass. isDebugEnabled() and friends are not affected,
+ * only actual logging calls are sampled and counted.
+ */
+public class HotPathLogFilter extends TurboFilter {
+
+    private static final Rule NONE = new Rule(1.0, 0);
+
+    private final LongSupplier nanoClock;
+    private final Map<String, Double> sampling = new LinkedHashMap<>();
+    private final Map<String, Integer> rateLimits = new LinkedHashMap<>();
+    /**
+     * Resolved rule per logger name; logger names are a small, fixed set
+     */
+    private final Map<String, Rule> rules = new ConcurrentHashMap<>();
+    private final LongAdder dropped = new LongAdder();
+
+    public HotPathLogFilter() {
+        this(System::nanoTime);
+    }
+
+    HotPathLogFilter(LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+    }
+
+    public void setSampling(String sampling) {
+        parse(sampling, this.sampling, Double::parseDouble);
+        rules.clear();
+    }
+
+    public void setRateLimits(String rateLimits) {
+        parse(rateLimits, this.rateLimits, Integer::parseInt);
+        rules.clear();
+    }
+
+    /**
+     * Events dropped by sampling or rate limiting since startup
+     */
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (format == null || level.levelInt >= Level.ERROR_INT
+                || !level.isGreaterOrEqual(logger.getEffectiveLevel())) {
+            return FilterReply.NEUTRAL;
+        }
+        Rule rule = rules.computeIfAbsent(logger.getName(), this::resolve);
+        if (rule == NONE) {
+            return FilterReply.NEUTRAL;
+        }
+        if (level.levelInt <= Level.INFO_INT && rule.keep < 1.0
+                && ThreadLocalRandom.current().nextDouble() >= rule.keep) {
+            dropped.increment();
+            return FilterReply.DENY;
+        }
+        if (rule.perSecond > 0 && !rule.tryAcquire(nanoClock.getAsLong())) {
+            dropped.increment();
+            return FilterReply.DENY;
+        }
+        return FilterReply.NEUTRAL;
+    }
+
+    private Rule resolve(String loggerName) {
+        Double keep = longestMatch(sampling, loggerName);
+        Integer perSecond = longestMatch(rateLimits, loggerName);
+        if (keep == null && perSecond == null) {
+            return NONE;
+        }
+        return new Rule(keep != null ? keep : 1.0, perSecond != null ? perSecond : 0);
+    }
+
+    private static <T> T longestMatch(Map<String, T> settings, String loggerName) {
+        T match = null;
+        int matchLength = -1;
+        for (Map.Entry<String, T> entry : settings.entrySet()) {
+            String prefix = entry.getKey();
+            boolean matches = loggerName.equals(prefix)
+                    || (loggerName.startsWith(prefix) && loggerName.charAt(prefix.length()) == '.');
+            if (matches && prefix.length() > matchLength) {
+                match = entry.getValue();
+                matchLength = prefix.length();
+            }
+        }
+        return match;
+    }
+
+    private static <T> void parse(String value, Map<String, T> target, Function<String, T> parser) {
+        target.clear();
+        if (value == null || value.isBlank()) {
+            return;
+        }
+        for (String pair : value.split(",")) {
+            int eq = pair.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("Expected logger=value, got '" + pair.trim() + "'");
+            }
+            target.put(pair.substring(0, eq).trim(), parser.apply(pair.substring(eq + 1).trim()));
+        }
+    }
+
+    /**
+     * Sampling fraction and a fixed one-second window counter
+     */
+    static final class Rule {
+        private final double keep;
+        private final int perSecond;
+        private final AtomicInteger count = new AtomicInteger();
+        private volatile long window = Long.MIN_VALUE;
+
+        Rule(double keep, int perSecond) {
+            this.keep = keep;
+            this.perSecond = perSecond;
+        }
+
+        boolean tryAcquire(long nowNanos) {
+            long current = nowNanos / 1_000_000_000L;
+            if (current != window) {
+                synchronized (this) {
+                    if (current != window) {
+                        count.set(0);
+                        window = current;
+                    }
+                }
+            }
+            return count.incrementAndGet() <= perSecond;
+        }
+    }
+}
@@ -13,8 +13,10 @@ import java.math.BigInteger;
 import java.security.KeyFactory;
 import java.security.PublicKey;
 import java.security.spec.RSAPublicKeySpec;
-import java.time.LocalDateTime;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Function;
 
 /**
@@ -31,9 +33,15 @@ public class JwtUtil {
     @Value("${keycloak.realm:todoapp-realm}")
     private String realm;
 
-    private PublicKey cachedPublicKey;
-    private LocalDateTime lastKeyFetch;
-    private static final int KEY_CACHE_HOURS = 24;
+    private static final Duration KEY_CACHE_TTL = Duration.ofHours(24);
+
+    /**
+     * Key and fetch time published together so readers never see a torn pair.
+     * Refreshes take a ReentrantLock rather than synchronized: the JWKS call
+     * blocks on I/O and must not pin a carrier thread when running on virtual threads.
+     */
+    private volatile CachedKey cachedKey;
+    private final ReentrantLock keyRefreshLock = new ReentrantLock();
 
     private RestTemplate restTemplate;
     private ObjectMapper objectMapper;
@@ -49,13 +57,31 @@ public class JwtUtil {
      * Fetches from JWKS endpoint and caches for 24 hours
      */
     private PublicKey getPublicKey() {
-        if (cachedPublicKey != null && lastKeyFetch != null) {
-            if (lastKeyFetch.plusHours(KEY_CACHE_HOURS).isAfter(LocalDateTime.now())) {
-                log.debug("Using cached public key");
-                return cachedPublicKey;
+        CachedKey current = cachedKey;
+        if (current != null && current.isFresh()) {
+            return current.publicKey();
+        }
+
+        keyRefreshLock.lock();
+        try {
+            // Another thread may have refreshed the key while we were waiting
+            current = cachedKey;
+            if (current != null && current.isFresh()) {
+                return current.publicKey();
             }
+
+            PublicKey publicKey = fetchPublicKey();
+            cachedKey = new CachedKey(publicKey, Instant.now());
+            return publicKey;
+        } finally {
+            keyRefreshLock.unlock();
         }
+    }
 
+    /**
+     * Fetch the signing key from the Keycloak JWKS endpoint
+     */
+    private PublicKey fetchPublicKey() {
         log.info("Fetching public key from Keycloak JWKS endpoint");
         try {
             String jwksUrl = keycloakUrl + "/realms/" + realm + "/protocol/openid-connect/certs";
@@ -81,11 +107,9 @@ public class JwtUtil {
                 RSAPublicKeySpec spec = new RSAPublicKeySpec(modulus, exponent);
                 KeyFactory factory = KeyFactory.getInstance("RSA");
 
-                cachedPublicKey = factory.generatePublic(spec);
-                lastKeyFetch = LocalDateTime.now();
-
+                PublicKey publicKey = factory.generatePublic(spec);
                 log.info("Successfully fetched and cached Keycloak public key");
-                return cachedPublicKey;
+                return publicKey;
             }
 
             throw new RuntimeException("No keys found in JWKS endpoint");
@@ -270,4 +294,11 @@ public class JwtUtil {
         }
         return null;
     }
-}
\ No newline at end of file
+
+    private record CachedKey(PublicKey publicKey, Instant fetchedAt) {
+
+        boolean isFresh() {
+            return fetchedAt.plus(KEY_CACHE_TTL).isAfter(Instant.now());
+        }
+    }
+}
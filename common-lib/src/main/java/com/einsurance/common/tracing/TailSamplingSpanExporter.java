@@ -0,0 +1,236 @@
+package com.einsurance.common.tracing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.springframework.util.AntPathMatcher;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Tail-style sampling in front of the real exporter.
+ * Spans of a trace are held until its local root span (no parent, or a
+ * parent in another service) ends; the whole trace is then kept if it has
+ * an error, if the root was slower than slow-threshold, or else with the
+ * probability of the first rule matching the root's path. The probability
+ * draw is derived from the trace id, so every service makes the same draw
+ * for one trace. Spans ending after their root follow the recorded decision.
+ * Called by the single BatchSpanProcessor worker; synchronized for safety only.
+ */
+public class TailSamplingSpanExporter implements SpanExporter {
+
+    private static final List<AttributeKey<String>> PATH_ATTRIBUTES = List.of(
+            AttributeKey.stringKey("http.url"),
+            AttributeKey.stringKey("url.path"),
+            AttributeKey.stringKey("http.route"),
+            AttributeKey.stringKey("uri"));
+    private static final AttributeKey<String> OUTCOME = AttributeKey.stringKey("outcome");
+    private static final int MAX_DECISIONS = 10_000;
+
+    private final SpanExporter delegate;
+    private final TracingProperties.Sampling settings;
+    private final LongSupplier nanoClock;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    /**
+     * In arrival order, so the oldest waiting traces come first
+     */
+    private final Map<String, Pending> pending = new LinkedHashMap<>();
+    private final Map<String, Boolean> decisions = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+            return size() > MAX_DECISIONS;
+        }
+    };
+    private final Counter kept;
+    private final Counter dropped;
+    private final Counter overflow;
+
+    public TailSamplingSpanExporter(SpanExporter delegate, TracingProperties.Sampling settings,
+                                    MeterRegistry meterRegistry) {
+        this(delegate, settings, meterRegistry, System::nanoTime);
+    }
+
+    TailSamplingSpanExporter(SpanExporter delegate, TracingProperties.Sampling settings,
+                             MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.delegate = delegate;
+        this.settings = settings;
+        this.nanoClock = nanoClock;
+        this.kept = Counter.builder("tracing.tail.traces").tag("decision", "kept").register(meterRegistry);
+        this.dropped = Counter.builder("tracing.tail.traces").tag("decision", "dropped").register(meterRegistry);
+        this.overflow = Counter.builder("tracing.tail.traces").tag("decision", "overflow").register(meterRegistry);
+    }
+
+    @Override
+    public synchronized CompletableResultCode export(Collection<SpanData> spans) {
+        long now = nanoClock.getAsLong();
+        List<SpanData> ready = new ArrayList<>();
+        for (SpanData span : spans) {
+            String traceId = span.getTraceId();
+            Boolean decided = decisions.get(traceId);
+            if (decided != null) {
+                if (decided) {
+                    ready.add(span);
+                }
+            } else if (isLocalRoot(span)) {
+                Pending trace = pending.remove(traceId);
+                List<SpanData> all = trace != null ? trace.spans : new ArrayList<>();
+                all.add(span);
+                decide(traceId, all, span, ready);
+            } else {
+                pending.computeIfAbsent(traceId, id -> new Pending(now)).spans.add(span);
+            }
+        }
+        expire(now, ready);
+        return ready.isEmpty() ? CompletableResultCode.ofSuccess() : delegate.export(ready);
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return delegate.flush();
+    }
+
+    /**
+     * Decide the traces still waiting for their root, then shut the delegate down
+     */
+    @Override
+    public CompletableResultCode shutdown() {
+        List<SpanData> ready = new ArrayList<>();
+        synchronized (this) {
+            pending.forEach((traceId, trace) -> decide(traceId, trace.spans, null, ready));
+            pending.clear();
+        }
+        if (!ready.isEmpty()) {
+            delegate.export(ready);
+        }
+        return delegate.shutdown();
+    }
+
+    synchronized int pendingTraces() {
+        return pending.size();
+    }
+
+    private void decide(String traceId, List<SpanData> spans, SpanData root, List<SpanData> ready) {
+        boolean keep = shouldKeep(traceId, spans, root);
+        decisions.put(traceId, keep);
+        if (keep) {
+            kept.increment();
+            ready.addAll(spans);
+        } else {
+            dropped.increment();
+        }
+    }
+
+    boolean shouldKeep(String traceId, List<SpanData> spans, SpanData root) {
+        if (settings.isKeepErrors() && spans.stream().anyMatch(TailSamplingSpanExporter::isError)) {
+            return true;
+        }
+        if (root != null && root.getEndEpochNanos() - root.getStartEpochNanos() >= settings.getSlowThreshold().toNanos()) {
+            return true;
+        }
+        return sampled(traceId, probabilityFor(root));
+    }
+
+    private double probabilityFor(SpanData root) {
+        if (root == null) {
+            return settings.getDefaultProbability();
+        }
+        String route = routeOf(root);
+        for (TracingProperties.Rule rule : settings.getRules()) {
+            if (rule.getMatch() != null && pathMatcher.match(rule.getMatch(), route)) {
+                return rule.getProbability();
+            }
+        }
+        return settings.getDefaultProbability();
+    }
+
+    /**
+     * Request path of an HTTP root span, otherwise its name
+     */
+    static String routeOf(SpanData root) {
+        for (AttributeKey<String> key : PATH_ATTRIBUTES) {
+            String value = root.getAttributes().get(key);
+            if (value != null && !value.isBlank() && !"UNKNOWN".equals(value)) {
+                return value.startsWith("/") ? stripQuery(value) : pathOf(value);
+            }
+        }
+        return root.getName();
+    }
+
+    /**
+     * Same draw for a trace id in every service, as the trace id ratio sampler does
+     */
+    static boolean sampled(String traceId, double probability) {
+        if (probability >= 1.0) {
+            return true;
+        }
+        if (probability <= 0.0) {
+            return false;
+        }
+        long lower = Long.parseUnsignedLong(traceId.substring(16), 16) >>> 1;
+        return lower < (long) (probability * Long.MAX_VALUE);
+    }
+
+    private void expire(long now, List<SpanData> ready) {
+        long timeout = settings.getPendingTimeout().toNanos();
+        Iterator<Map.Entry<String, Pending>> it = pending.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, Pending> entry = it.next();
+            if (now - entry.getValue().firstSeenNanos < timeout) {
+                break;
+            }
+            decide(entry.getKey(), entry.getValue().spans, null, ready);
+            it.remove();
+        }
+        it = pending.entrySet().iterator();
+        while (pending.size() > settings.getMaxPendingTraces() && it.hasNext()) {
+            it.next();
+            it.remove();
+            overflow.increment();
+        }
+    }
+
+    private static boolean isLocalRoot(SpanData span) {
+        SpanContext parent = span.getParentSpanContext();
+        return !parent.isValid() || parent.isRemote();
+    }
+
+    private static boolean isError(SpanData span) {
+        return span.getStatus().getStatusCode() == StatusCode.ERROR
+                || "SERVER_ERROR".equals(span.getAttributes().get(OUTCOME));
+    }
+
+    private static String stripQuery(String path) {
+        int query = path.indexOf('?');
+        return query >= 0 ? path.substring(0, query) : path;
+    }
+
+    private static String pathOf(String url) {
+        try {
+            String path = URI.create(url).getPath();
+            return path != null ? path : url;
+        } catch (IllegalArgumentException e) {
+            return url;
+        }
+    }
+
+    private static final class Pending {
+        private final long firstSeenNanos;
+        private final List<SpanData> spans = new ArrayList<>();
+
+        private Pending(long firstSeenNanos) {
+            this.firstSeenNanos = firstSeenNanos;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.einsurance.common.tracing;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.opentelemetry.exporter.otlp.http.trace.OtlpHttpSpanExporter;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
+
+import java.nio.file.Path;
+
+/**
+ * Span export for Micrometer Tracing's OpenTelemetry bridge.
+ * Spring Boot creates the tracer, instruments HTTP servers, WebClient and
+ * RestTemplate calls and @Scheduled methods, and hands finished spans to
+ * every SpanExporter bean; this adds the exporter chosen by
+ * einsurance.tracing.exporter behind tail sampling. JDBC spans come from
+ * datasource-micrometer. The task decorator carries the trace (and MDC)
+ * into @Async methods; spring.reactor.context-propagation=auto does the
+ * same across Reactor thread hops.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnClass(name = "io.opentelemetry.sdk.trace.export.SpanExporter")
+@ConditionalOnProperty(prefix = "einsurance.tracing", name = "enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(TracingProperties.class)
+public class TracingConfig {
+
+    @Bean
+    public SpanExporter einsuranceSpanExporter(TracingProperties properties,
+                                               ObjectProvider<MeterRegistry> meterRegistry) {
+        SpanExporter exporter = switch (properties.getExporter()) {
+            case FILE -> new FileSpanExporter(Path.of(properties.getFile().getPath()),
+                    properties.getFile().getMaxSize().toBytes());
+            case OTLP -> OtlpHttpSpanExporter.builder()
+                    .setEndpoint(properties.getOtlp().getEndpoint())
+                    .setTimeout(properties.getOtlp().getTimeout())
+                    .build();
+            case NONE -> SpanExporter.composite();
+        };
+        log.info("Exporting spans via {} (tail sampling {})", properties.getExporter(),
+                properties.getSampling().isTailEnabled() ? "on" : "off");
+        if (!properties.getSampling().isTailEnabled()) {
+            return exporter;
+        }
+        return new TailSamplingSpanExporter(exporter, properties.getSampling(),
+                meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+    }
+
+    /**
+     * Applied by Spring Boot to the executor behind @Async methods
+     */
+    @Bean
+    public TaskDecorator contextPropagatingTaskDecorator() {
+        return new ContextPropagatingTaskDecorator();
+    }
+}
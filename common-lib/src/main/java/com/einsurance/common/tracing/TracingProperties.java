@@ -0,0 +1,91 @@
+package com.einsurance.common.tracing;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Span export and sampling, bound from einsurance.tracing.*
+ * Head sampling is Spring Boot's management.tracing.sampling.probability,
+ * decided where a trace starts and followed by every service downstream.
+ * The sampling rules below then run on each service's finished traces.
+ */
+@Data
+@ConfigurationProperties(prefix = "einsurance.tracing")
+public class TracingProperties {
+
+    public enum Exporter { FILE, OTLP, NONE }
+
+    private boolean enabled = true;
+
+    /**
+     * FILE writes OTLP/JSON lines locally and needs no collector
+     */
+    private Exporter exporter = Exporter.FILE;
+
+    private File file = new File();
+
+    private Otlp otlp = new Otlp();
+
+    private Sampling sampling = new Sampling();
+
+    @Data
+    public static class File {
+        /**
+         * One ExportTraceServiceRequest per line, readable by the collector's otlpjsonfile receiver
+         */
+        private String path = "traces/spans.jsonl";
+        /**
+         * Beyond this size the file is rotated to path.1
+         */
+        private DataSize maxSize = DataSize.ofMegabytes(50);
+    }
+
+    @Data
+    public static class Otlp {
+        private String endpoint = "http://localhost:4318/v1/traces";
+        private Duration timeout = Duration.ofSeconds(10);
+    }
+
+    @Data
+    public static class Sampling {
+        /**
+         * Buffer each trace until its local root span ends and decide then; off exports every span
+         */
+        private boolean tailEnabled = true;
+        /**
+         * Share of traces kept when no rule matches
+         */
+        private double defaultProbability = 1.0;
+        /**
+         * Traces whose root took at least this long are always kept
+         */
+        private Duration slowThreshold = Duration.ofSeconds(1);
+        /**
+         * Traces with an error span are always kept
+         */
+        private boolean keepErrors = true;
+        private int maxPendingTraces = 10_000;
+        /**
+         * Traces whose root has not ended within this time are decided without it
+         */
+        private Duration pendingTimeout = Duration.ofSeconds(30);
+        /**
+         * Per-route share of traces kept, first match wins
+         */
+        private List<Rule> rules = new ArrayList<>();
+    }
+
+    @Data
+    public static class Rule {
+        /**
+         * Ant-style pattern on the request path ("/api/claims/**"), or on the span name for non-HTTP roots
+         */
+        private String match;
+        private double probability = 1.0;
+    }
+}
@@ -0,0 +1,264 @@
+package com.einsurance.common.client;
+
+import com.einsurance.common.client.resilience.ResilienceRegistry;
+import com.einsurance.common.dto.CustomerPolicyDto;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests InternalServiceClient and PolicyServiceClient against a local HTTP server
+ */
+class InternalServiceClientTest {
+
+    private HttpServer server;
+    private InternalClientProperties properties;
+    private InternalServiceClient client;
+    private ResilienceRegistry resilienceRegistry;
+    private final AtomicReference<String> receivedAuthorization = new AtomicReference<>();
+    private final AtomicInteger tokenGrants = new AtomicInteger();
+    private volatile long tokenLifetimeSeconds = 300;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/gzip", exchange -> {
+            String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+            if (acceptEncoding == null || !acceptEncoding.contains("gzip")) {
+                respond(exchange, 400, "gzip not offered");
+                return;
+            }
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write("compressed payload".getBytes(StandardCharsets.UTF_8));
+            }
+            exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+            exchange.sendResponseHeaders(200, compressed.size());
+            try (OutputStream body = exchange.getResponseBody()) {
+                compressed.writeTo(body);
+            }
+        });
+        server.createContext("/slow", exchange -> {
+            try {
+                Thread.sleep(2_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            respond(exchange, 200, "late");
+        });
+        server.createContext("/api/policies/", exchange -> {
+            receivedAuthorization.set(exchange.getRequestHeaders().getFirst("Authorization"));
+            if (exchange.getRequestURI().getPath().endsWith("00000000-0000-0000-0000-000000000000")) {
+                respond(exchange, 404, "{\"success\":false,\"message\":\"not found\"}");
+                return;
+            }
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            respond(exchange, 200, """
+                    {"success":true,"data":{"id":"4f8f2b1e-2c8a-4a44-9b1e-3f2f8f0c1a11",
+                     "userId":"9a1c6c0e-7a3b-4d43-8b3e-1d2f3a4b5c6d","status":"ACTIVE",
+                     "policyNumber":"POL-2025-ABC123"},"timestamp":"2025-03-01T10:15:30"}""");
+        });
+        server.createContext("/token", exchange -> {
+            String form = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            if (!form.contains("grant_type=client_credentials") || !form.contains("client_id=claims-service")) {
+                respond(exchange, 400, "{\"error\":\"invalid_request\"}");
+                return;
+            }
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            respond(exchange, 200, "{\"access_token\":\"service-token-" + tokenGrants.incrementAndGet()
+                    + "\",\"expires_in\":" + tokenLifetimeSeconds + "}");
+        });
+        server.start();
+
+        properties = new InternalClientProperties();
+        InternalClientProperties.Target target = new InternalClientProperties.Target();
+        target.setUrl("http://127.0.0.1:" + server.getAddress().getPort());
+        target.setResponseTimeout(Duration.ofMillis(300));
+        properties.getServices().put("policy-service", target);
+        client = new InternalServiceClient(properties, ObservationRegistry.NOOP);
+        resilienceRegistry = new ResilienceRegistry(new Binder(new MapConfigurationPropertySource()),
+                new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        client.destroy();
+        server.stop(0);
+    }
+
+    @Test
+    void forService_ReusesOneClientPerService() {
+        // When
+        WebClient first = client.forService("policy-service");
+        WebClient second = client.forService("policy-service");
+
+        // Then
+        assertSame(first, second);
+    }
+
+    @Test
+    void forService_Throws_WhenNoUrlConfigured() {
+        // When / Then
+        assertThrows(IllegalStateException.class, () -> client.forService("unknown-service"));
+    }
+
+    @Test
+    void settingsFor_FallsBackToDefaults() {
+        // When
+        InternalClientProperties.Target settings = properties.settingsFor("policy-service");
+
+        // Then
+        assertEquals(Duration.ofMillis(300), settings.getResponseTimeout());
+        assertEquals(Duration.ofSeconds(1), settings.getConnectTimeout());
+        assertEquals(100, settings.getMaxConnections());
+        assertTrue(settings.getCompression());
+    }
+
+    @Test
+    void request_DecompressesGzipResponse() {
+        // When
+        String body = client.forService("policy-service").get()
+                .uri("/gzip")
+                .retrieve()
+                .bodyToMono(String.class)
+                .block();
+
+        // Then
+        assertEquals("compressed payload", body);
+    }
+
+    @Test
+    void request_FailsFast_WhenResponseTimeoutExceeded() {
+        // Given - a warm client, so connection setup is not part of the measurement
+        WebClient policyService = client.forService("policy-service");
+        policyService.get().uri("/gzip").retrieve().bodyToMono(String.class).block();
+
+        // When
+        long started = System.nanoTime();
+        assertThrows(WebClientRequestException.class, () -> policyService.get()
+                .uri("/slow")
+                .retrieve()
+                .bodyToMono(String.class)
+                .block());
+
+        // Then
+        assertTrue(Duration.ofNanos(System.nanoTime() - started).toMillis() < 1_500);
+    }
+
+    @Test
+    void policyServiceClient_ReadsPolicyAndForwardsBearerToken() {
+        // Given
+        MockHttpServletRequest incoming = new MockHttpServletRequest();
+        incoming.addHeader("Authorization", "Bearer user-token");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(incoming));
+        PolicyServiceClient policyServiceClient = new PolicyServiceClient(client, resilienceRegistry);
+
+        // When
+        CustomerPolicyDto policy = policyServiceClient.getCustomerPolicy(UUID.randomUUID());
+
+        // Then
+        assertEquals("ACTIVE", policy.getStatus());
+        assertEquals(UUID.fromString("9a1c6c0e-7a3b-4d43-8b3e-1d2f3a4b5c6d"), policy.getUserId());
+        assertEquals("Bearer user-token", receivedAuthorization.get());
+    }
+
+    @Test
+    void policyServiceClient_ReturnsNull_WhenPolicyNotFound() {
+        // Given
+        PolicyServiceClient policyServiceClient = new PolicyServiceClient(client, resilienceRegistry);
+
+        // When
+        CustomerPolicyDto policy = policyServiceClient.getCustomerPolicy(new UUID(0L, 0L));
+
+        // Then
+        assertNull(policy);
+    }
+
+    @Test
+    void serviceAccount_SendsClientCredentialsToken_WhenThereIsNoCallerToken() {
+        // Given
+        PolicyServiceClient policyServiceClient = new PolicyServiceClient(serviceAccountClient(), resilienceRegistry);
+
+        // When
+        policyServiceClient.getCustomerPolicy(UUID.randomUUID());
+        policyServiceClient.getCustomerPolicy(UUID.randomUUID());
+
+        // Then - one grant, reused while it is valid
+        assertEquals("Bearer service-token-1", receivedAuthorization.get());
+        assertEquals(1, tokenGrants.get());
+    }
+
+    @Test
+    void serviceAccount_RequestsNewToken_WhenCachedTokenIsAboutToExpire() {
+        // Given - tokens live no longer than the refresh margin
+        tokenLifetimeSeconds = 30;
+        PolicyServiceClient policyServiceClient = new PolicyServiceClient(serviceAccountClient(), resilienceRegistry);
+
+        // When
+        policyServiceClient.getCustomerPolicy(UUID.randomUUID());
+        policyServiceClient.getCustomerPolicy(UUID.randomUUID());
+
+        // Then
+        assertEquals("Bearer service-token-2", receivedAuthorization.get());
+        assertEquals(2, tokenGrants.get());
+    }
+
+    @Test
+    void serviceAccount_ForwardsCallerTokenInstead_DuringUserRequest() {
+        // Given
+        MockHttpServletRequest incoming = new MockHttpServletRequest();
+        incoming.addHeader("Authorization", "Bearer user-token");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(incoming));
+        PolicyServiceClient policyServiceClient = new PolicyServiceClient(serviceAccountClient(), resilienceRegistry);
+
+        // When
+        policyServiceClient.getCustomerPolicy(UUID.randomUUID());
+
+        // Then
+        assertEquals("Bearer user-token", receivedAuthorization.get());
+        assertEquals(0, tokenGrants.get());
+    }
+
+    private InternalServiceClient serviceAccountClient() {
+        properties.getServiceAccount().setTokenUri("http://127.0.0.1:" + server.getAddress().getPort() + "/token");
+        properties.getServiceAccount().setClientId("claims-service");
+        properties.getServiceAccount().setClientSecret("secret");
+        properties.getServices().get("policy-service").setServiceAccount(true);
+        client.destroy();
+        client = new InternalServiceClient(properties, ObservationRegistry.NOOP);
+        return client;
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
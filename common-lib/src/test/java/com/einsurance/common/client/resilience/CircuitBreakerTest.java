@@ -0,0 +1,121 @@
+package com.einsurance.common.client.resilience;
+
+import com.einsurance.common.client.resilience.CircuitBreaker.State;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CircuitBreaker
+ */
+class CircuitBreakerTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private CircuitBreaker breaker;
+
+    @BeforeEach
+    void setUp() {
+        ResiliencePolicy.CircuitBreaker settings = new ResiliencePolicy.CircuitBreaker();
+        settings.setSlidingWindowSize(10);
+        settings.setMinimumCalls(4);
+        settings.setFailureRateThreshold(50);
+        settings.setOpenDuration(Duration.ofSeconds(10));
+        settings.setHalfOpenProbes(2);
+        breaker = new CircuitBreaker(settings, clock::get);
+    }
+
+    @Test
+    void staysClosed_UntilMinimumCallsRecorded() {
+        // When
+        record(true, true, true);
+
+        // Then
+        assertEquals(State.CLOSED, breaker.getState());
+        assertTrue(breaker.tryAcquirePermission());
+    }
+
+    @Test
+    void opens_WhenFailureRateReachesThreshold() {
+        // When
+        record(false, true, false, true);
+
+        // Then
+        assertEquals(State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquirePermission());
+    }
+
+    @Test
+    void slidingWindow_ForgetsOldOutcomes() {
+        // Given - two early failures out of the first ten calls
+        record(false, false, false, true, false, false, false, true, false, false);
+        assertEquals(State.CLOSED, breaker.getState());
+        assertEquals(20f, breaker.getFailureRate());
+
+        // When - ten successes push the failures out of the window
+        for (int i = 0; i < 10; i++) {
+            record(false);
+        }
+
+        // Then
+        assertEquals(0f, breaker.getFailureRate());
+    }
+
+    @Test
+    void halfOpen_ClosesAfterAllProbesSucceed() {
+        // Given
+        record(true, true, true, true);
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        // When
+        assertTrue(breaker.tryAcquirePermission());
+        assertTrue(breaker.tryAcquirePermission());
+        assertFalse(breaker.tryAcquirePermission(), "only two probes while half-open");
+        breaker.onResult(false);
+        breaker.onResult(false);
+
+        // Then
+        assertEquals(State.CLOSED, breaker.getState());
+        assertEquals(0, breaker.getBufferedCalls());
+    }
+
+    @Test
+    void halfOpen_ReopensOnProbeFailure() {
+        // Given
+        record(true, true, true, true);
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        // When
+        assertTrue(breaker.tryAcquirePermission());
+        breaker.onResult(true);
+
+        // Then
+        assertEquals(State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquirePermission());
+    }
+
+    @Test
+    void halfOpen_CancelledProbeFreesItsSlot() {
+        // Given
+        record(true, true, true, true);
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+        assertTrue(breaker.tryAcquirePermission());
+        assertTrue(breaker.tryAcquirePermission());
+
+        // When
+        breaker.onCancelled();
+
+        // Then
+        assertTrue(breaker.tryAcquirePermission());
+    }
+
+    private void record(boolean... failures) {
+        for (boolean failure : failures) {
+            assertTrue(breaker.tryAcquirePermission());
+            breaker.onResult(failure);
+        }
+    }
+}
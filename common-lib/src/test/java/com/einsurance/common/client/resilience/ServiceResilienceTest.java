@@ -0,0 +1,246 @@
+package com.einsurance.common.client.resilience;
+
+import com.einsurance.common.exception.DependencyUnavailableException;
+import com.einsurance.common.exception.ExternalServiceException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ServiceResilience
+ */
+class ServiceResilienceTest {
+
+    private ResiliencePolicy policy;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        policy = new ResiliencePolicy();
+        policy.getRetry().setMaxAttempts(3);
+        policy.getRetry().setInitialBackoff(Duration.ofMillis(10));
+        policy.getRetry().setMaxBackoff(Duration.ofMillis(20));
+        policy.getBulkhead().setMaxConcurrentCalls(2);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void decorate_RetriesIdempotentCall_OnTransportError() {
+        // Given
+        ServiceResilience resilience = new ServiceResilience("policy-service", policy, meterRegistry);
+        AtomicInteger attempts = new AtomicInteger();
+
+        // When
+        String result = resilience.decorate(() -> attempts.incrementAndGet() < 3
+                ? Mono.error(transportError(new IOException("connection reset")))
+                : Mono.just("ok"), true).block();
+
+        // Then
+        assertEquals("ok", result);
+        assertEquals(3, attempts.get());
+        assertEquals(2, resilience.snapshot().retries());
+    }
+
+    @Test
+    void decorate_DoesNotRetryNonIdempotentCall_OnceRequestWasSent() {
+        // Given
+        ServiceResilience resilience = new ServiceResilience("policy-service", policy, meterRegistry);
+        AtomicInteger attempts = new AtomicInteger();
+
+        // When / Then
+        assertThrows(WebClientResponseException.class, () -> resilience.decorate(() -> {
+            attempts.incrementAndGet();
+            return Mono.error(WebClientResponseException.create(503, "Service Unavailable", null, null, null));
+        }, false).block());
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    void decorate_RetriesNonIdempotentCall_WhenConnectionWasRefused() {
+        // Given
+        ServiceResilience resilience = new ServiceResilience("policy-service", policy, meterRegistry);
+        AtomicInteger attempts = new AtomicInteger();
+
+        // When
+        String result = resilience.decorate(() -> attempts.incrementAndGet() == 1
+                ? Mono.error(transportError(new ConnectException("Connection refused")))
+                : Mono.just("confirmed"), false).block();
+
+        // Then
+        assertEquals("confirmed", result);
+        assertEquals(2, attempts.get());
+    }
+
+    @Test
+    void decorate_DoesNotRetryClientErrors() {
+        // Given
+        ServiceResilience resilience = new ServiceResilience("policy-service", policy, meterRegistry);
+        AtomicInteger attempts = new AtomicInteger();
+
+        // When / Then
+        assertThrows(WebClientResponseException.class, () -> resilience.decorate(() -> {
+            attempts.incrementAndGet();
+            return Mono.error(WebClientResponseException.create(400, "Bad Request", null, null, null));
+        }, true).block());
+        assertEquals(1, attempts.get());
+        assertEquals(0f, resilience.getCircuitBreaker().getFailureRate());
+    }
+
+    @Test
+    void decorate_RejectsImmediately_WhenBulkheadFull() {
+        // Given
+        ServiceResilience resilience = new ServiceResilience("policy-service", policy, meterRegistry);
+        Disposable first = resilience.decorate(Mono::never, true).subscribe();
+        Disposable second = resilience.decorate(Mono::never, true).subscribe();
+
+        // When / Then
+        try {
+            assertThrows(DependencyUnavailableException.class,
+                    () -> resilience.decorate(() -> Mono.just("third"), true).block());
+            assertEquals(1, resilience.snapshot().bulkheadRejections());
+        } finally {
+            first.dispose();
+            second.dispose();
+        }
+        assertEquals(2, resilience.snapshot().availableConcurrentCalls());
+    }
+
+    @Test
+    void decorate_FailsFastWithoutCalling_WhenCircuitOpen() {
+        // Given
+        policy.getRetry().setMaxAttempts(1);
+        policy.getCircuitBreaker().setMinimumCalls(2);
+        ServiceResilience resilience = new ServiceResilience("policy-service", policy, meterRegistry);
+        for (int i = 0; i < 2; i++) {
+            assertThrows(WebClientRequestException.class, () -> resilience.decorate(
+                    () -> Mono.error(transportError(new IOException("timeout"))), true).block());
+        }
+        AtomicInteger attempts = new AtomicInteger();
+
+        // When / Then
+        assertThrows(DependencyUnavailableException.class, () -> resilience.decorate(() -> {
+            attempts.incrementAndGet();
+            return Mono.just("never");
+        }, true).block());
+        assertEquals(0, attempts.get());
+        assertEquals("OPEN", resilience.snapshot().circuitState());
+    }
+
+    @Test
+    void decorate_HedgesSlowIdempotentCall() {
+        // Given
+        policy.getHedge().setEnabled(true);
+        policy.getHedge().setDelay(Duration.ofMillis(50));
+        ServiceResilience resilience = new ServiceResilience("policy-service", policy, meterRegistry);
+        AtomicInteger attempts = new AtomicInteger();
+
+        // When - the first copy hangs, the hedge answers
+        String result = resilience.decorate(() -> attempts.incrementAndGet() == 1
+                ? Mono.never()
+                : Mono.just("hedged"), true).block(Duration.ofSeconds(2));
+
+        // Then
+        assertEquals("hedged", result);
+        assertEquals(1, resilience.snapshot().hedges());
+        // The loser is cancelled on the hedge timer thread just after the value is delivered
+        long deadline = System.nanoTime() + Duration.ofSeconds(1).toNanos();
+        while (resilience.snapshot().availableConcurrentCalls() < 2 && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertEquals(2, resilience.snapshot().availableConcurrentCalls(), "losing copy released its permit");
+    }
+
+    @Test
+    void decorate_DoesNotHedge_WhenCallAnswersInTime() {
+        // Given
+        policy.getHedge().setEnabled(true);
+        policy.getHedge().setDelay(Duration.ofMillis(200));
+        ServiceResilience resilience = new ServiceResilience("policy-service", policy, meterRegistry);
+        AtomicInteger attempts = new AtomicInteger();
+
+        // When
+        String result = resilience.decorate(() -> {
+            attempts.incrementAndGet();
+            return Mono.just("fast");
+        }, true).block();
+
+        // Then
+        assertEquals("fast", result);
+        assertEquals(1, attempts.get());
+        assertEquals(0, resilience.snapshot().hedges());
+    }
+
+    @Test
+    void decorate_RetriesHedgedCall_OnTheOriginalError() {
+        // Given
+        policy.getHedge().setEnabled(true);
+        policy.getHedge().setDelay(Duration.ofSeconds(1));
+        ServiceResilience resilience = new ServiceResilience("policy-service", policy, meterRegistry);
+        AtomicInteger attempts = new AtomicInteger();
+        long started = System.nanoTime();
+
+        // When
+        String result = resilience.decorate(() -> attempts.incrementAndGet() == 1
+                ? Mono.error(WebClientResponseException.create(503, "Service Unavailable", null, null, null))
+                : Mono.just("ok"), true).block(Duration.ofSeconds(2));
+
+        // Then - the 503 reaches the retry filter and nobody waits for the hedge timer
+        assertEquals("ok", result);
+        assertEquals(2, attempts.get());
+        assertEquals(1, resilience.snapshot().retries());
+        assertEquals(0, resilience.snapshot().hedges());
+        assertTrue(Duration.ofNanos(System.nanoTime() - started).compareTo(Duration.ofMillis(500)) < 0);
+    }
+
+    @Test
+    void decorate_CompletesHedgedCallEmpty_WhenTargetReturnsNothing() {
+        // Given
+        policy.getHedge().setEnabled(true);
+        policy.getHedge().setDelay(Duration.ofSeconds(1));
+        ServiceResilience resilience = new ServiceResilience("policy-service", policy, meterRegistry);
+        AtomicInteger attempts = new AtomicInteger();
+        long started = System.nanoTime();
+
+        // When
+        String result = resilience.decorate(() -> {
+            attempts.incrementAndGet();
+            return Mono.<String>empty();
+        }, true).block(Duration.ofSeconds(2));
+
+        // Then
+        assertNull(result);
+        assertEquals(1, attempts.get());
+        assertEquals(0, resilience.snapshot().hedges());
+        assertTrue(Duration.ofNanos(System.nanoTime() - started).compareTo(Duration.ofMillis(500)) < 0);
+    }
+
+    @Test
+    void decorate_GivesUp_WhenTimeBudgetExhausted() {
+        // Given
+        policy.getRetry().setBudget(Duration.ofMillis(100));
+        ServiceResilience resilience = new ServiceResilience("policy-service", policy, meterRegistry);
+
+        // When / Then
+        assertThrows(ExternalServiceException.class, () -> resilience.decorate(
+                () -> Mono.delay(Duration.ofSeconds(5)).thenReturn("late"), true).block());
+    }
+
+    private static WebClientRequestException transportError(Exception cause) {
+        return new WebClientRequestException(cause, HttpMethod.GET, URI.create("http://policy-service/api/policies/1"),
+                new HttpHeaders());
+    }
+}
@@ -0,0 +1,158 @@
+package com.einsurance.common.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests ReadWriteRoutingDataSource against two databases of an embedded
+ * PostgreSQL standing in for the primary and the replica
+ */
+class ReadWriteRoutingDataSourceTest {
+
+    private static EmbeddedPostgres postgres;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ReadWriteRoutingDataSource routingDataSource;
+    private TransactionTemplate transactionTemplate;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void startDatabase() throws Exception {
+        postgres = EmbeddedPostgres.start();
+        JdbcTemplate admin = new JdbcTemplate(postgres.getPostgresDatabase());
+        admin.execute("CREATE DATABASE primary_db");
+        admin.execute("CREATE DATABASE replica_db");
+    }
+
+    @AfterAll
+    static void stopDatabase() throws Exception {
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        DataSourceRoutingContext.clear();
+        if (routingDataSource != null) {
+            routingDataSource.close();
+        }
+    }
+
+    @Test
+    void readOnlyTransaction_RoutesToReplica() {
+        // Given
+        useRouting(pool("replica_db"));
+
+        // When
+        String database = currentDatabase(true);
+
+        // Then
+        assertEquals("replica_db", database);
+    }
+
+    @Test
+    void readWriteTransaction_RoutesToPrimary() {
+        // Given
+        useRouting(pool("replica_db"));
+
+        // When
+        String database = currentDatabase(false);
+
+        // Then
+        assertEquals("primary_db", database);
+    }
+
+    @Test
+    void readOnlyTransaction_WithoutReplica_FallsBackToPrimary() {
+        // Given
+        useRouting(null);
+
+        // When
+        String database = currentDatabase(true);
+
+        // Then
+        assertEquals("primary_db", database);
+    }
+
+    @Test
+    void readOnlyTransaction_AfterWriteInSameRequest_StaysOnPrimary() {
+        // Given
+        useRouting(pool("replica_db"));
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        currentDatabase(false);
+
+        // When
+        String database = currentDatabase(true);
+
+        // Then
+        assertEquals("primary_db", database);
+    }
+
+    @Test
+    void nonTransactionalRead_RoutesToPrimary() {
+        // Given
+        useRouting(pool("replica_db"));
+
+        // When
+        String database = jdbcTemplate.queryForObject("SELECT current_database()", String.class);
+
+        // Then
+        assertEquals("primary_db", database);
+        assertEquals(1.0, meterRegistry.get("einsurance.datasource.routing")
+                .tags("target", ReadWriteRoutingDataSource.PRIMARY, "reason", "non-transactional")
+                .counter().count());
+    }
+
+    @Test
+    void readOnlyTransaction_AfterNonTransactionalReadOutsideRequest_RoutesToReplica() {
+        // Given
+        useRouting(pool("replica_db"));
+        jdbcTemplate.queryForObject("SELECT current_database()", String.class);
+
+        // When
+        String database = currentDatabase(true);
+
+        // Then
+        assertEquals("replica_db", database);
+    }
+
+    private void useRouting(HikariDataSource replica) {
+        meterRegistry = new SimpleMeterRegistry();
+        routingDataSource = new ReadWriteRoutingDataSource(pool("primary_db"), replica, true, meterRegistry);
+        DataSource dataSource = routingDataSource.lazyProxy();
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    private String currentDatabase(boolean readOnly) {
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate.execute(status ->
+                jdbcTemplate.queryForObject("SELECT current_database()", String.class));
+    }
+
+    private static HikariDataSource pool(String database) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(postgres.getJdbcUrl("postgres", database));
+        dataSource.setUsername("postgres");
+        dataSource.setMaximumPoolSize(2);
+        dataSource.setPoolName(database);
+        return dataSource;
+    }
+}
@@ -0,0 +1,155 @@
+package com.einsurance.common.event;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for InMemoryDomainEventBus
+ */
+class InMemoryDomainEventBusTest {
+
+    private RecordingListener<PolicyEvent> policyListener;
+    private RecordingListener<DomainEvent> allListener;
+    private InMemoryDomainEventBus bus;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        policyListener = new RecordingListener<>("policy-projection", PolicyEvent.class);
+        allListener = new RecordingListener<>("audit-log", DomainEvent.class);
+        ObjectProvider<DomainEventListener<?>> listeners = mock(ObjectProvider.class);
+        when(listeners.orderedStream()).thenAnswer(invocation -> Stream.of(policyListener, allListener));
+        bus = new InMemoryDomainEventBus(listeners);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void publish_DispatchesImmediately_WithoutTransaction() {
+        // Given
+        PolicyEvent event = policyEvent(PolicyEvent.Type.ACTIVATED);
+
+        // When
+        bus.publish(event);
+
+        // Then
+        assertEquals(List.of(event), policyListener.received);
+        assertEquals(List.of(event), allListener.received);
+    }
+
+    @Test
+    void publishAll_DeliversOnlyEventsOfListenerType() {
+        // Given
+        PolicyEvent policy = policyEvent(PolicyEvent.Type.CANCELLED);
+        ClaimEvent claim = ClaimEvent.builder()
+                .type(ClaimEvent.Type.SUBMITTED)
+                .claimId(UUID.randomUUID())
+                .build();
+
+        // When
+        bus.publishAll(List.of(claim, policy));
+
+        // Then
+        assertEquals(List.of(policy), policyListener.received);
+        assertEquals(List.of(claim, policy), allListener.received);
+    }
+
+    @Test
+    void publish_DispatchesOnlyAfterCommit() {
+        // Given
+        TransactionSynchronizationManager.initSynchronization();
+        PolicyEvent event = policyEvent(PolicyEvent.Type.ACTIVATED);
+
+        // When
+        bus.publish(event);
+
+        // Then
+        assertTrue(policyListener.received.isEmpty());
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertEquals(List.of(event), policyListener.received);
+    }
+
+    @Test
+    void publish_DropsEvents_WhenTransactionRollsBack() {
+        // Given
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When
+        bus.publish(policyEvent(PolicyEvent.Type.ACTIVATED));
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        // Then
+        assertTrue(policyListener.received.isEmpty());
+        assertTrue(allListener.received.isEmpty());
+    }
+
+    @Test
+    void publish_ContinuesWithOtherListeners_WhenOneFails() {
+        // Given
+        policyListener.failure = new IllegalStateException("projection down");
+        PolicyEvent event = policyEvent(PolicyEvent.Type.EXPIRED);
+
+        // When
+        bus.publish(event);
+
+        // Then
+        assertEquals(List.of(event), allListener.received);
+    }
+
+    private PolicyEvent policyEvent(PolicyEvent.Type type) {
+        return PolicyEvent.builder()
+                .type(type)
+                .policyId(UUID.randomUUID())
+                .policyNumber("POL-2025-000001")
+                .build();
+    }
+
+    static class RecordingListener<E extends DomainEvent> implements DomainEventListener<E> {
+
+        private final String group;
+        private final Class<E> type;
+        private final List<E> received = new ArrayList<>();
+        private RuntimeException failure;
+
+        RecordingListener(String group, Class<E> type) {
+            this.group = group;
+            this.type = type;
+        }
+
+        @Override
+        public String consumerGroup() {
+            return group;
+        }
+
+        @Override
+        public Class<E> eventType() {
+            return type;
+        }
+
+        @Override
+        public void onEvents(List<E> events) {
+            if (failure != null) {
+                throw failure;
+            }
+            received.addAll(events);
+        }
+    }
+}
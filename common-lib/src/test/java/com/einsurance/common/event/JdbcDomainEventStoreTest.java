@@ -0,0 +1,229 @@
+package com.einsurance.common.event;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests JdbcDomainEventStore against an embedded PostgreSQL
+ */
+class JdbcDomainEventStoreTest {
+
+    private static final String GROUP = "test-consumer";
+
+    private static EmbeddedPostgres postgres;
+    private static DataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private JdbcDomainEventStore store;
+
+    @BeforeAll
+    static void startDatabase() throws Exception {
+        postgres = EmbeddedPostgres.start();
+        dataSource = postgres.getPostgresDatabase();
+    }
+
+    @AfterAll
+    static void stopDatabase() throws Exception {
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        store = new JdbcDomainEventStore(DomainEventProperties.LOCAL_SOURCE, dataSource, transactionManager,
+                new ObjectMapper().findAndRegisterModules(), "domain_events");
+        new ResourceDatabasePopulator(new ClassPathResource("db/events/schema-postgresql.sql")).execute(dataSource);
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("TRUNCATE domain_events, domain_event_offsets");
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        store.registerConsumer(GROUP);
+    }
+
+    @Test
+    void consumeBatch_DeliversInOrderAndAdvancesOffset() {
+        // Given
+        ClaimEvent submitted = claimEvent(ClaimEvent.Type.SUBMITTED);
+        ClaimEvent approved = claimEvent(ClaimEvent.Type.APPROVED);
+        ClaimEvent paid = claimEvent(ClaimEvent.Type.PAID);
+        store.append(List.of(submitted, approved, paid));
+
+        // When
+        List<DomainEvent> firstBatch = new ArrayList<>();
+        int first = store.consumeBatch(GROUP, "claim", 2, firstBatch::addAll);
+        List<DomainEvent> secondBatch = new ArrayList<>();
+        int second = store.consumeBatch(GROUP, "claim", 2, secondBatch::addAll);
+        int third = store.consumeBatch(GROUP, "claim", 2, events -> fail("nothing left to consume"));
+
+        // Then
+        assertEquals(2, first);
+        assertEquals(List.of(submitted, approved), firstBatch);
+        assertEquals(1, second);
+        assertEquals(List.of(paid), secondBatch);
+        assertEquals(0, third);
+        assertEquals(0, store.lag(GROUP));
+    }
+
+    @Test
+    void consumeBatch_RedeliversBatch_WhenHandlerFails() {
+        // Given
+        ClaimEvent event = claimEvent(ClaimEvent.Type.SUBMITTED);
+        store.append(List.of(event));
+
+        // When
+        assertThrows(IllegalStateException.class, () -> store.consumeBatch(GROUP, "claim", 10, events -> {
+            throw new IllegalStateException("handler down");
+        }));
+        List<DomainEvent> redelivered = new ArrayList<>();
+        store.consumeBatch(GROUP, "claim", 10, redelivered::addAll);
+
+        // Then
+        assertEquals(List.of(event), redelivered);
+    }
+
+    @Test
+    void consumeBatch_ReadsOnlyRequestedTopic() {
+        // Given
+        PolicyEvent policy = PolicyEvent.builder()
+                .type(PolicyEvent.Type.ACTIVATED)
+                .policyId(UUID.randomUUID())
+                .build();
+        ClaimEvent claim = claimEvent(ClaimEvent.Type.SUBMITTED);
+        store.append(List.of(policy, claim));
+
+        // When
+        List<DomainEvent> claims = new ArrayList<>();
+        store.consumeBatch(GROUP, "claim", 10, claims::addAll);
+        List<DomainEvent> all = new ArrayList<>();
+        store.registerConsumer("audit");
+        store.consumeBatch("audit", null, 10, all::addAll);
+
+        // Then
+        assertEquals(List.of(claim), claims);
+        assertEquals(List.of(policy, claim), all);
+    }
+
+    @Test
+    void append_IsDiscarded_WhenPublishingTransactionRollsBack() {
+        // Given
+        transactionTemplate.executeWithoutResult(status -> {
+            store.append(List.of(claimEvent(ClaimEvent.Type.SUBMITTED)));
+            status.setRollbackOnly();
+        });
+
+        // When
+        int consumed = store.consumeBatch(GROUP, "claim", 10, events -> fail("rolled back event delivered"));
+
+        // Then
+        assertEquals(0, consumed);
+    }
+
+    @Test
+    void consumeBatch_WaitsForOlderTransaction_InsteadOfSkippingItsOffset() throws Exception {
+        // Given - an older transaction takes a lower offset but commits after a newer one
+        ClaimEvent slow = claimEvent(ClaimEvent.Type.SUBMITTED);
+        ClaimEvent fast = claimEvent(ClaimEvent.Type.APPROVED);
+        int whileOpen;
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO domain_events (event_id, topic, event_type, aggregate_id, payload) " +
+                    "VALUES (?, 'claim', 'SUBMITTED', ?, ?::jsonb)")) {
+                insert.setObject(1, slow.getEventId());
+                insert.setObject(2, slow.getClaimId());
+                insert.setString(3, new ObjectMapper().findAndRegisterModules().writeValueAsString(slow));
+                insert.executeUpdate();
+            }
+            store.append(List.of(fast));
+
+            // When
+            whileOpen = store.consumeBatch(GROUP, "claim", 10, events -> fail("delivered past an open transaction"));
+            connection.commit();
+        }
+        List<DomainEvent> delivered = new ArrayList<>();
+        store.consumeBatch(GROUP, "claim", 10, delivered::addAll);
+
+        // Then
+        assertEquals(0, whileOpen);
+        assertEquals(List.of(slow, fast), delivered);
+    }
+
+    @Test
+    void consumeBatch_SkipsGroup_WhenAnotherReplicaHoldsIt() throws Exception {
+        // Given
+        store.append(List.of(claimEvent(ClaimEvent.Type.SUBMITTED)));
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement lock = connection.prepareStatement(
+                    "SELECT pg_advisory_xact_lock(?, hashtext(?))")) {
+                lock.setInt(1, 0x45564e54);
+                lock.setString(2, GROUP);
+                lock.execute();
+            }
+
+            // When
+            int consumed = store.consumeBatch(GROUP, "claim", 10, events -> fail("group is held elsewhere"));
+
+            // Then
+            assertEquals(0, consumed);
+            connection.rollback();
+        }
+        assertEquals(1, store.consumeBatch(GROUP, "claim", 10, events -> { }));
+    }
+
+    @Test
+    void notificationListener_WakesConsumers_OnCommit() throws Exception {
+        // Given
+        PostgresNotificationListener listener = new PostgresNotificationListener(store);
+        Thread thread = new Thread(listener, "test-listen");
+        thread.start();
+        try {
+            // Wait for the initial signal sent once LISTEN is active
+            store.getWakeup().awaitAfter(0, 10_000);
+            long generation = store.getWakeup().generation();
+
+            // When
+            store.append(List.of(claimEvent(ClaimEvent.Type.SUBMITTED)));
+            store.getWakeup().awaitAfter(generation, 10_000);
+
+            // Then
+            assertTrue(store.getWakeup().generation() > generation);
+        } finally {
+            listener.stop();
+            thread.join(5_000);
+        }
+    }
+
+    private ClaimEvent claimEvent(ClaimEvent.Type type) {
+        return ClaimEvent.builder()
+                .type(type)
+                .claimId(UUID.randomUUID())
+                .claimNumber("CLM-2025-" + type.ordinal())
+                .userId(UUID.randomUUID())
+                .amount(new BigDecimal("1250.00"))
+                .status(type.name())
+                .build();
+    }
+}
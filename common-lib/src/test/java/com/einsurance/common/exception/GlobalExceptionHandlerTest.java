@@ -0,0 +1,142 @@
+package com.einsurance.common.exception;
+
+import com.einsurance.common.dto.ApiResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for GlobalExceptionHandler, ErrorResponseCache and stackless business exceptions
+ */
+class GlobalExceptionHandlerTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private GlobalExceptionHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        handler = new GlobalExceptionHandler(meterRegistry);
+    }
+
+    @Test
+    void businessException_SkipsStackTrace() {
+        assertEquals(0, new UnauthorizedException("You don't have permission to view this claim").getStackTrace().length);
+        assertEquals(0, new ResourceNotFoundException("Claim", "id", 42).getStackTrace().length);
+    }
+
+    @Test
+    void businessException_WithCause_KeepsStackTrace() {
+        PaymentException ex = new PaymentException("Stripe call failed", new IllegalStateException("timeout"));
+
+        assertTrue(ex.getStackTrace().length > 0);
+    }
+
+    @Test
+    void handleUnauthorized_ReusesResponseAndCountsPerEndpoint() {
+        // Given
+        UnauthorizedException ex = new UnauthorizedException();
+
+        // When
+        ResponseEntity<ApiResponse<Object>> first = handler.handleUnauthorized(ex, request("GET", "/api/claims/{id}"));
+        ResponseEntity<ApiResponse<Object>> second = handler.handleUnauthorized(ex, request("GET", "/api/claims/{id}"));
+
+        // Then
+        assertSame(first, second);
+        assertEquals(HttpStatus.FORBIDDEN, first.getStatusCode());
+        assertEquals("UNAUTHORIZED", first.getBody().getErrorCode());
+        assertEquals(2, counter("UNAUTHORIZED", "403", "/api/claims/{id}").count());
+    }
+
+    @Test
+    void handleUnauthorized_BuildsCustomMessagePerRequest() {
+        // Given
+        UnauthorizedException ex = new UnauthorizedException("You don't have permission to view claim 42");
+
+        // When
+        ResponseEntity<ApiResponse<Object>> first = handler.handleUnauthorized(ex, request("GET", "/api/claims/{id}"));
+        ResponseEntity<ApiResponse<Object>> second = handler.handleUnauthorized(ex, request("GET", "/api/claims/{id}"));
+
+        // Then
+        assertNotSame(first, second);
+        assertEquals("You don't have permission to view claim 42", second.getBody().getMessage());
+    }
+
+    @Test
+    void handleValidation_BuildsResponsePerRequest() {
+        // Given
+        ValidationException ex = new ValidationException("size", "Page size must be between 1 and 100");
+
+        // When
+        ResponseEntity<ApiResponse<Object>> first = handler.handleValidation(ex, request("GET", "/api/users/search"));
+        ResponseEntity<ApiResponse<Object>> second = handler.handleValidation(ex, request("GET", "/api/users/search"));
+
+        // Then
+        assertNotSame(first, second);
+        assertEquals(HttpStatus.BAD_REQUEST, second.getStatusCode());
+    }
+
+    @Test
+    void handleResourceNotFound_CountsWithoutCaching() {
+        // When
+        handler.handleResourceNotFound(new ResourceNotFoundException("Claim", "id", 1), request("GET", "/api/claims/{id}"));
+        ResponseEntity<ApiResponse<Object>> response = handler.handleResourceNotFound(
+                new ResourceNotFoundException("Claim", "id", 2), request("GET", "/api/claims/{id}"));
+
+        // Then
+        assertEquals("Claim not found with id: '2'", response.getBody().getMessage());
+        assertEquals(2, counter("RESOURCE_NOT_FOUND", "404", "/api/claims/{id}").count());
+    }
+
+    @Test
+    void count_WithoutMatchedRoute_UsesUnknownEndpoint() {
+        // When
+        handler.handleGlobalException(new IllegalStateException("boom"),
+                new ServletWebRequest(new MockHttpServletRequest("POST", "/nowhere")));
+
+        // Then
+        assertEquals(1, counter("INTERNAL_SERVER_ERROR", "500", "UNKNOWN").count());
+    }
+
+    @Test
+    void errorResponseCache_RebuildsAfterOneSecond() {
+        // Given
+        AtomicLong clock = new AtomicLong(10_000);
+        ErrorResponseCache cache = new ErrorResponseCache(clock::get);
+        ResponseEntity<ApiResponse<Object>> first = cache.get(HttpStatus.FORBIDDEN, "UNAUTHORIZED", "No");
+
+        // When
+        clock.addAndGet(999);
+        ResponseEntity<ApiResponse<Object>> withinSecond = cache.get(HttpStatus.FORBIDDEN, "UNAUTHORIZED", "No");
+        clock.addAndGet(1);
+        ResponseEntity<ApiResponse<Object>> afterSecond = cache.get(HttpStatus.FORBIDDEN, "UNAUTHORIZED", "No");
+
+        // Then
+        assertSame(first, withinSecond);
+        assertNotSame(first, afterSecond);
+    }
+
+    private Counter counter(String code, String status, String endpoint) {
+        return meterRegistry.get("http.server.errors")
+                .tag("code", code)
+                .tag("status", status)
+                .tag("endpoint", endpoint)
+                .counter();
+    }
+
+    private static ServletWebRequest request(String method, String pattern) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, pattern);
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+        return new ServletWebRequest(request);
+    }
+}
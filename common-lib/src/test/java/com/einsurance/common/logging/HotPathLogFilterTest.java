@@ -0,0 +1,105 @@
+package com.einsurance.common.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for HotPathLogFilter
+ */
+class HotPathLogFilterTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private LoggerContext context;
+    private HotPathLogFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        context = new LoggerContext();
+        context.getLogger(Logger.ROOT_LOGGER_NAME).setLevel(Level.DEBUG);
+        filter = new HotPathLogFilter(clock::get);
+    }
+
+    @Test
+    void rateLimit_DropsEventsBeyondLimitWithinOneSecond() {
+        // Given
+        filter.setRateLimits("com.einsurance=3");
+        Logger logger = context.getLogger("com.einsurance.claims.service.ClaimsService");
+
+        // When / Then
+        for (int i = 0; i < 3; i++) {
+            assertEquals(FilterReply.NEUTRAL, decide(logger, Level.INFO));
+        }
+        assertEquals(FilterReply.DENY, decide(logger, Level.WARN));
+        assertEquals(1, filter.getDropped());
+
+        clock.addAndGet(1_000_000_000L);
+        assertEquals(FilterReply.NEUTRAL, decide(logger, Level.INFO));
+    }
+
+    @Test
+    void errors_AreNeverDropped() {
+        // Given
+        filter.setRateLimits("com.einsurance=0");
+        filter.setSampling("com.einsurance=0.0");
+        Logger logger = context.getLogger("com.einsurance.claims.service.ClaimsService");
+
+        // When / Then
+        assertEquals(FilterReply.NEUTRAL, decide(logger, Level.ERROR));
+    }
+
+    @Test
+    void sampling_ZeroDropsDebugAndInfoButNotWarn() {
+        // Given
+        filter.setSampling("com.einsurance.common.security.JwtAuthenticationFilter=0.0");
+        Logger logger = context.getLogger("com.einsurance.common.security.JwtAuthenticationFilter");
+
+        // When / Then
+        assertEquals(FilterReply.DENY, decide(logger, Level.DEBUG));
+        assertEquals(FilterReply.DENY, decide(logger, Level.INFO));
+        assertEquals(FilterReply.NEUTRAL, decide(logger, Level.WARN));
+    }
+
+    @Test
+    void longestPrefix_Wins_AndPrefixMatchesWholeNameSegments() {
+        // Given
+        filter.setSampling("com.einsurance=0.0, com.einsurance.claims=1.0");
+
+        // When / Then
+        assertEquals(FilterReply.NEUTRAL, decide(context.getLogger("com.einsurance.claims.ClaimsService"), Level.INFO));
+        assertEquals(FilterReply.DENY, decide(context.getLogger("com.einsurance.policy.PolicyService"), Level.INFO));
+        assertEquals(FilterReply.NEUTRAL, decide(context.getLogger("com.einsurancex.Other"), Level.INFO));
+    }
+
+    @Test
+    void levelChecksAndDisabledLevels_AreNotCounted() {
+        // Given
+        filter.setRateLimits("com.einsurance=1");
+        Logger logger = context.getLogger("com.einsurance.user.UserService");
+        logger.setLevel(Level.INFO);
+
+        // When - isInfoEnabled() passes no format, debug is below the logger's level
+        assertEquals(FilterReply.NEUTRAL, filter.decide(null, logger, Level.INFO, null, null, null));
+        assertEquals(FilterReply.NEUTRAL, decide(logger, Level.DEBUG));
+
+        // Then - the one permitted event of this second is still available
+        assertEquals(FilterReply.NEUTRAL, decide(logger, Level.INFO));
+        assertEquals(FilterReply.DENY, decide(logger, Level.INFO));
+    }
+
+    @Test
+    void malformedSetting_IsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> filter.setSampling("com.einsurance"));
+    }
+
+    private FilterReply decide(Logger logger, Level level) {
+        return filter.decide(null, logger, level, "message {}", new Object[]{"arg"}, null);
+    }
+}
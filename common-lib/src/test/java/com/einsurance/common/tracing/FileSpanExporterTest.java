@@ -0,0 +1,76 @@
+package com.einsurance.common.tracing;
+
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.sdk.testing.trace.TestSpanData;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.data.StatusData;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for FileSpanExporter
+ */
+class FileSpanExporterTest {
+
+    private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void export_WritesOneOtlpJsonLinePerBatch() throws Exception {
+        // Given
+        Path file = dir.resolve("traces/spans.jsonl");
+        FileSpanExporter exporter = new FileSpanExporter(file, 1024 * 1024);
+
+        // When
+        assertTrue(exporter.export(List.of(span("GET /api/claims"))).isSuccess());
+        assertTrue(exporter.export(List.of(span("SELECT claims"))).isSuccess());
+        exporter.shutdown();
+
+        // Then
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(0).startsWith("{\"resourceSpans\""));
+        assertTrue(lines.get(0).contains(TRACE_ID));
+        assertTrue(lines.get(1).contains("SELECT claims"));
+    }
+
+    @Test
+    void export_RotatesFile_BeyondMaxSize() throws Exception {
+        // Given
+        Path file = dir.resolve("spans.jsonl");
+        FileSpanExporter exporter = new FileSpanExporter(file, 100);
+
+        // When
+        exporter.export(List.of(span("first")));
+        exporter.export(List.of(span("second")));
+        exporter.shutdown();
+
+        // Then
+        assertTrue(Files.readString(dir.resolve("spans.jsonl.1")).contains("first"));
+        assertTrue(Files.readString(file).contains("second"));
+    }
+
+    private static SpanData span(String name) {
+        return TestSpanData.builder()
+                .setSpanContext(SpanContext.create(TRACE_ID, "00f067aa0ba902b7", TraceFlags.getSampled(),
+                        TraceState.getDefault()))
+                .setName(name)
+                .setKind(SpanKind.SERVER)
+                .setStatus(StatusData.unset())
+                .setStartEpochNanos(0)
+                .setEndEpochNanos(1_000_000)
+                .setHasEnded(true)
+                .build();
+    }
+}
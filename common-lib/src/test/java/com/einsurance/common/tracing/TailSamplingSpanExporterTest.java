@@ -0,0 +1,203 @@
+package com.einsurance.common.tracing;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.testing.trace.TestSpanData;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.data.StatusData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TailSamplingSpanExporter
+ */
+class TailSamplingSpanExporterTest {
+
+    private static final long MILLIS = 1_000_000L;
+
+    private final InMemorySpanExporter delegate = InMemorySpanExporter.create();
+    private final AtomicLong nanos = new AtomicLong();
+    private TracingProperties.Sampling settings;
+    private TailSamplingSpanExporter exporter;
+
+    @BeforeEach
+    void setUp() {
+        settings = new TracingProperties.Sampling();
+        settings.setDefaultProbability(0.0);
+        settings.setSlowThreshold(Duration.ofMillis(500));
+        TracingProperties.Rule claims = new TracingProperties.Rule();
+        claims.setMatch("/api/claims/**");
+        claims.setProbability(1.0);
+        settings.getRules().add(claims);
+        exporter = new TailSamplingSpanExporter(delegate, settings, new SimpleMeterRegistry(), nanos::get);
+    }
+
+    @Test
+    void export_HoldsChildSpans_UntilLocalRootEnds() {
+        // Given
+        String traceId = traceId(1);
+        SpanData root = root(traceId, "/api/claims/42", 10, StatusCode.UNSET);
+
+        // When
+        exporter.export(List.of(child(traceId, root, "SELECT claims")));
+
+        // Then
+        assertTrue(delegate.getFinishedSpanItems().isEmpty());
+        assertEquals(1, exporter.pendingTraces());
+
+        // When
+        exporter.export(List.of(root));
+
+        // Then - kept by the claims rule, with its child
+        assertEquals(2, delegate.getFinishedSpanItems().size());
+        assertEquals(0, exporter.pendingTraces());
+    }
+
+    @Test
+    void export_DropsTrace_WhenNoRuleKeepsIt() {
+        // Given
+        String traceId = traceId(2);
+        SpanData root = root(traceId, "/api/policies/templates", 10, StatusCode.UNSET);
+
+        // When
+        exporter.export(List.of(child(traceId, root, "SELECT templates"), root));
+
+        // Then
+        assertTrue(delegate.getFinishedSpanItems().isEmpty());
+    }
+
+    @Test
+    void export_KeepsErrorAndSlowTraces_RegardlessOfRules() {
+        // Given
+        String failing = traceId(3);
+        SpanData failingRoot = root(failing, "/api/policies/1", 10, StatusCode.UNSET);
+        String slow = traceId(4);
+
+        // When
+        exporter.export(List.of(child(failing, failingRoot, "SELECT policy", StatusCode.ERROR), failingRoot));
+        exporter.export(List.of(root(slow, "/api/policies/2", 800, StatusCode.UNSET)));
+
+        // Then
+        assertEquals(3, delegate.getFinishedSpanItems().size());
+    }
+
+    @Test
+    void export_LateSpans_FollowRecordedDecision() {
+        // Given
+        String kept = traceId(5);
+        SpanData keptRoot = root(kept, "/api/claims", 10, StatusCode.UNSET);
+        String dropped = traceId(6);
+        SpanData droppedRoot = root(dropped, "/api/users/me", 10, StatusCode.UNSET);
+        exporter.export(List.of(keptRoot, droppedRoot));
+
+        // When - async work finishing after the request
+        exporter.export(List.of(child(kept, keptRoot, "notify"), child(dropped, droppedRoot, "notify")));
+
+        // Then
+        assertEquals(2, delegate.getFinishedSpanItems().size());
+        assertTrue(delegate.getFinishedSpanItems().stream().allMatch(span -> span.getTraceId().equals(kept)));
+        assertEquals(0, exporter.pendingTraces());
+    }
+
+    @Test
+    void export_DecidesWithoutRoot_AfterPendingTimeout() {
+        // Given
+        settings.setDefaultProbability(1.0);
+        String traceId = traceId(7);
+        SpanData root = root(traceId, "/api/claims", 10, StatusCode.UNSET);
+        exporter.export(List.of(child(traceId, root, "SELECT claims")));
+
+        // When
+        nanos.addAndGet(settings.getPendingTimeout().toNanos());
+        exporter.export(List.of());
+
+        // Then
+        assertEquals(1, delegate.getFinishedSpanItems().size());
+        assertEquals(0, exporter.pendingTraces());
+    }
+
+    @Test
+    void sampled_DrawsFromLowerTraceIdBits() {
+        // When / Then
+        assertTrue(TailSamplingSpanExporter.sampled("0af7651916cd43dd0000000000000001", 0.5));
+        assertTrue(TailSamplingSpanExporter.sampled("ffffffffffffffff0000000000000001", 0.5));
+        assertFalse(TailSamplingSpanExporter.sampled("0af7651916cd43ddffffffffffffffff", 0.5));
+        assertTrue(TailSamplingSpanExporter.sampled("0af7651916cd43ddffffffffffffffff", 1.0));
+    }
+
+    @Test
+    void routeOf_UsesRequestPath_ElseSpanName() {
+        // Given
+        SpanData http = TestSpanData.builder()
+                .setSpanContext(context(traceId(8), 1))
+                .setName("http get")
+                .setKind(SpanKind.SERVER)
+                .setAttributes(Attributes.builder().put("http.url", "http://gateway/api/claims/7?page=2").build())
+                .setStatus(StatusData.unset())
+                .setStartEpochNanos(0).setEndEpochNanos(1).setHasEnded(true)
+                .build();
+        SpanData job = TestSpanData.builder()
+                .setSpanContext(context(traceId(9), 1))
+                .setName("expiry-reminder-job")
+                .setKind(SpanKind.INTERNAL)
+                .setStatus(StatusData.unset())
+                .setStartEpochNanos(0).setEndEpochNanos(1).setHasEnded(true)
+                .build();
+
+        // When / Then
+        assertEquals("/api/claims/7", TailSamplingSpanExporter.routeOf(http));
+        assertEquals("expiry-reminder-job", TailSamplingSpanExporter.routeOf(job));
+    }
+
+    private static SpanData root(String traceId, String path, long durationMillis, StatusCode status) {
+        return TestSpanData.builder()
+                .setSpanContext(context(traceId, 1))
+                .setParentSpanContext(SpanContext.getInvalid())
+                .setName("http get")
+                .setKind(SpanKind.SERVER)
+                .setAttributes(Attributes.builder().put("http.url", path).build())
+                .setStatus(StatusData.create(status, null))
+                .setStartEpochNanos(0)
+                .setEndEpochNanos(durationMillis * MILLIS)
+                .setHasEnded(true)
+                .build();
+    }
+
+    private static SpanData child(String traceId, SpanData parent, String name) {
+        return child(traceId, parent, name, StatusCode.UNSET);
+    }
+
+    private static SpanData child(String traceId, SpanData parent, String name, StatusCode status) {
+        return TestSpanData.builder()
+                .setSpanContext(context(traceId, 2))
+                .setParentSpanContext(parent.getSpanContext())
+                .setName(name)
+                .setKind(SpanKind.CLIENT)
+                .setStatus(StatusData.create(status, null))
+                .setStartEpochNanos(MILLIS)
+                .setEndEpochNanos(2 * MILLIS)
+                .setHasEnded(true)
+                .build();
+    }
+
+    private static SpanContext context(String traceId, long spanId) {
+        return SpanContext.create(traceId, String.format("%016x", spanId), TraceFlags.getSampled(),
+                TraceState.getDefault());
+    }
+
+    private static String traceId(int n) {
+        return String.format("%032x", n);
+    }
+}
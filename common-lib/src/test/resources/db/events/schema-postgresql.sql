@@ -0,0 +1,23 @@
+-- Domain event tables for the common-lib tests. Services create them with their
+-- own Flyway migration (V*__Create_domain_events.sql); keep the two in step.
+-- global_offset orders events for consumers; transaction_id records the writing
+-- transaction so readers can wait until every lower offset has committed.
+CREATE TABLE IF NOT EXISTS domain_events (
+    global_offset BIGSERIAL PRIMARY KEY,
+    event_id UUID NOT NULL UNIQUE,
+    topic VARCHAR(50) NOT NULL,
+    event_type VARCHAR(50) NOT NULL,
+    aggregate_id UUID,
+    payload JSONB NOT NULL,
+    transaction_id XID8 NOT NULL DEFAULT pg_current_xact_id(),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_domain_events_topic_offset ON domain_events(topic, global_offset);
+
+-- Position of each consumer group; advanced in the same transaction as the batch it consumed
+CREATE TABLE IF NOT EXISTS domain_event_offsets (
+    consumer_group VARCHAR(100) PRIMARY KEY,
+    last_offset BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
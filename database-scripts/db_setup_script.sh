@@ -61,7 +61,7 @@ echo ""
 echo -e "${YELLOW}Testing database connections...${NC}"
 
 # Test each database
-databases=("user_service_db" "policy_service_db" "payment_service_db" "claims_service_db")
+databases=("user_service_db" "policy_service_db" "payment_service_db" "claims_service_db" "notification_service_db")
 
 for db in "${databases[@]}"; do
     if PGPASSWORD=$DB_PASSWORD psql -h $DB_HOST -p $DB_PORT -U $DB_USER -d $db -c "SELECT 1;" > /dev/null 2>&1; then
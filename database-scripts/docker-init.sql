@@ -6,6 +6,7 @@ CREATE DATABASE user_service_db;
 CREATE DATABASE policy_service_db;
 CREATE DATABASE payment_service_db;
 CREATE DATABASE claims_service_db;
+CREATE DATABASE notification_service_db;
 
 -- Connect to each database and enable UUID extension
 \c user_service_db
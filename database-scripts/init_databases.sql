@@ -36,6 +36,13 @@ CREATE DATABASE claims_service_db
     LC_CTYPE = 'en_US.UTF-8'
     TEMPLATE = template0;
 
+CREATE DATABASE notification_service_db
+    WITH 
+    ENCODING = 'UTF8'
+    LC_COLLATE = 'en_US.UTF-8'
+    LC_CTYPE = 'en_US.UTF-8'
+    TEMPLATE = template0;
+
 -- Create application user (optional, for better security)
 -- CREATE USER einsurance_user WITH PASSWORD 'your_secure_password';
 
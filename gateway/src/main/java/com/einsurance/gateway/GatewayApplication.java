@@ -1,9 +1,12 @@
 package com.einsurance.gateway;
 
+import com.einsurance.common.tracing.TracingConfig;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Import;
 
 @SpringBootApplication
+@Import(TracingConfig.class)
 public class GatewayApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,22 @@
+package com.einsurance.gateway.coalescing;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Wires request coalescing; disabled with gateway.coalescing.enabled=false
+ */
+@Configuration
+@EnableConfigurationProperties(CoalescingProperties.class)
+@ConditionalOnProperty(prefix = "gateway.coalescing", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class CoalescingConfig {
+
+    @Bean
+    public RequestCoalescingFilter requestCoalescingFilter(CoalescingProperties properties,
+                                                           MeterRegistry meterRegistry) {
+        return new RequestCoalescingFilter(properties, meterRegistry);
+    }
+}
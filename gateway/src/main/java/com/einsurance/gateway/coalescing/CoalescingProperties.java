@@ -0,0 +1,43 @@
+package com.einsurance.gateway.coalescing;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Request coalescing, bound from gateway.coalescing.*
+ * Only routes listed under routes coalesce, optionally restricted to some paths.
+ */
+@Data
+@ConfigurationProperties(prefix = "gateway.coalescing")
+public class CoalescingProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Larger responses are streamed to the first caller only; the others make their own call
+     */
+    private DataSize maxBodySize = DataSize.ofKilobytes(512);
+
+    /**
+     * How long a waiting request follows an in-flight call before making its own
+     */
+    private Duration waitTimeout = Duration.ofSeconds(10);
+
+    private Map<String, RouteSettings> routes = new LinkedHashMap<>();
+
+    @Data
+    public static class RouteSettings {
+        private boolean enabled = true;
+        /**
+         * Path patterns to coalesce, every GET of the route if empty
+         */
+        private List<String> paths = new ArrayList<>();
+    }
+}
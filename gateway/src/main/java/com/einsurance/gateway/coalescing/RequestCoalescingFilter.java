@@ -0,0 +1,277 @@
+package com.einsurance.gateway.coalescing;
+
+import com.einsurance.gateway.filter.TokenRelayFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Single-flights identical in-flight GETs, the way TokenRelayFilter
+ * single-flights token refreshes.
+ * The first request for a key (route, path, query, credentials and the
+ * content negotiation headers) is routed as usual while its response is
+ * captured; requests arriving before it completes wait and receive a copy
+ * instead of calling upstream. Nothing is kept after the call completes, so
+ * this is not a cache. If the first call fails, is cancelled or its body is
+ * too large to copy, the waiting requests make their own calls.
+ */
+@Slf4j
+public class RequestCoalescingFilter implements GlobalFilter, Ordered {
+
+    private static final List<String> KEY_HEADERS = List.of(
+            HttpHeaders.AUTHORIZATION, HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING, HttpHeaders.ACCEPT_LANGUAGE);
+
+    private final CoalescingProperties properties;
+    private final Map<String, List<PathPattern>> routePaths = new HashMap<>();
+    private final ConcurrentHashMap<String, Flight> inFlight = new ConcurrentHashMap<>();
+    private final Counter fallbacks;
+    private final AtomicLong leaders = new AtomicLong();
+    private final AtomicLong followers = new AtomicLong();
+
+    public RequestCoalescingFilter(CoalescingProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        properties.getRoutes().forEach((routeId, settings) -> routePaths.put(routeId,
+                settings.getPaths().stream().map(PathPatternParser.defaultInstance::parse).toList()));
+
+        FunctionCounter.builder("gateway.coalescing.upstream.calls", leaders, AtomicLong::get)
+                .description("Coalescable requests that went upstream")
+                .register(meterRegistry);
+        FunctionCounter.builder("gateway.coalescing.coalesced", followers, AtomicLong::get)
+                .description("Requests answered with a copy of an in-flight response")
+                .register(meterRegistry);
+        Gauge.builder("gateway.coalescing.ratio", this, RequestCoalescingFilter::coalescingRatio)
+                .description("Share of coalescable requests answered without an upstream call")
+                .register(meterRegistry);
+        Gauge.builder("gateway.coalescing.in.flight", inFlight, Map::size)
+                .register(meterRegistry);
+        this.fallbacks = Counter.builder("gateway.coalescing.fallbacks")
+                .description("Waiting requests that called upstream because the shared call gave no usable response")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!properties.isEnabled() || !isCoalescable(exchange)) {
+            return chain.filter(exchange);
+        }
+
+        String key = keyOf(exchange);
+        Flight flight = new Flight();
+        Flight existing = inFlight.putIfAbsent(key, flight);
+        if (existing == null) {
+            leaders.incrementAndGet();
+            return lead(exchange, chain, key, flight);
+        }
+        followers.incrementAndGet();
+        return follow(exchange, chain, existing);
+    }
+
+    @Override
+    public int getOrder() {
+        // After the rate limiter, so every waiting request still spends its own token,
+        // and after the token relay, so the key includes the relayed credentials
+        return TokenRelayFilter.ORDER + 10;
+    }
+
+    double coalescingRatio() {
+        long coalesced = followers.get();
+        long total = coalesced + leaders.get();
+        return total == 0 ? 0.0 : (double) coalesced / total;
+    }
+
+    private boolean isCoalescable(ServerWebExchange exchange) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (request.getMethod() != HttpMethod.GET || request.getHeaders().containsKey(HttpHeaders.RANGE)) {
+            return false;
+        }
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (route == null) {
+            return false;
+        }
+        CoalescingProperties.RouteSettings settings = properties.getRoutes().get(route.getId());
+        if (settings == null || !settings.isEnabled()) {
+            return false;
+        }
+        List<PathPattern> paths = routePaths.getOrDefault(route.getId(), List.of());
+        return paths.isEmpty() || paths.stream()
+                .anyMatch(pattern -> pattern.matches(request.getPath().pathWithinApplication()));
+    }
+
+    /**
+     * Route, raw path and query, plus a digest of the credentials and content
+     * negotiation headers; the raw token never becomes part of the key
+     */
+    private String keyOf(ServerWebExchange exchange) {
+        ServerHttpRequest request = exchange.getRequest();
+        Route route = exchange.getRequiredAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String header : KEY_HEADERS) {
+                digest.update(String.valueOf(request.getHeaders().get(header)).getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+            return route.getId() + ' ' + request.getURI().getRawPath() + '?' + request.getURI().getRawQuery()
+                    + ' ' + HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private Mono<Void> lead(ServerWebExchange exchange, GatewayFilterChain chain, String key, Flight flight) {
+        Set<String> gatewayHeaders = new HashSet<>(exchange.getResponse().getHeaders().keySet());
+        CapturingResponse response = new CapturingResponse(exchange.getResponse(), gatewayHeaders,
+                (int) properties.getMaxBodySize().toBytes(), captured -> {
+                    inFlight.remove(key, flight);
+                    if (captured != null) {
+                        flight.result.tryEmitValue(captured);
+                    } else {
+                        flight.result.tryEmitEmpty();
+                    }
+                });
+        return chain.filter(exchange.mutate().response(response).build())
+                .doFinally(signal -> {
+                    inFlight.remove(key, flight);
+                    flight.result.tryEmitEmpty();
+                });
+    }
+
+    private Mono<Void> follow(ServerWebExchange exchange, GatewayFilterChain chain, Flight flight) {
+        return flight.result.asMono()
+                .timeout(properties.getWaitTimeout())
+                .onErrorResume(e -> Mono.empty())
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(captured -> {
+                    if (captured.isPresent()) {
+                        return write(exchange.getResponse(), captured.get());
+                    }
+                    fallbacks.increment();
+                    log.debug("In-flight call for {} did not produce a shareable response, calling upstream",
+                            exchange.getRequest().getPath());
+                    return chain.filter(exchange);
+                });
+    }
+
+    private Mono<Void> write(ServerHttpResponse response, CapturedResponse captured) {
+        response.setStatusCode(captured.status());
+        captured.headers().forEach((name, values) -> response.getHeaders().put(name, values));
+        response.getHeaders().remove(HttpHeaders.TRANSFER_ENCODING);
+        response.getHeaders().setContentLength(captured.body().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(captured.body())));
+    }
+
+    private static final class Flight {
+        private final Sinks.One<CapturedResponse> result = Sinks.one();
+    }
+
+    record CapturedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body) {
+    }
+
+    /**
+     * Passes the upstream body through to the first caller while copying it,
+     * up to a size limit, for the waiting ones
+     */
+    private static final class CapturingResponse extends ServerHttpResponseDecorator {
+
+        private final Set<String> gatewayHeaders;
+        private final int maxBytes;
+        /**
+         * Receives the copy, or null if the response cannot be shared
+         */
+        private final Consumer<CapturedResponse> onCaptured;
+
+        CapturingResponse(ServerHttpResponse delegate, Set<String> gatewayHeaders, int maxBytes,
+                          Consumer<CapturedResponse> onCaptured) {
+            super(delegate);
+            this.gatewayHeaders = gatewayHeaders;
+            this.maxBytes = maxBytes;
+            this.onCaptured = onCaptured;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            ByteArrayOutputStream copy = new ByteArrayOutputStream();
+            AtomicBoolean overflow = new AtomicBoolean();
+            Flux<? extends DataBuffer> copying = Flux.from(body)
+                    .doOnNext(buffer -> {
+                        int length = buffer.readableByteCount();
+                        if (overflow.get()) {
+                            return;
+                        }
+                        if (copy.size() + length > maxBytes) {
+                            // Release the waiting requests now rather than when this one finishes
+                            overflow.set(true);
+                            onCaptured.accept(null);
+                            return;
+                        }
+                        ByteBuffer bytes = ByteBuffer.allocate(length);
+                        buffer.toByteBuffer(buffer.readPosition(), bytes, 0, length);
+                        copy.write(bytes.array(), 0, length);
+                    })
+                    .doOnComplete(() -> {
+                        if (!overflow.get()) {
+                            onCaptured.accept(capture(copy.toByteArray()));
+                        }
+                    });
+            return super.writeWith(copying);
+        }
+
+        @Override
+        public Mono<Void> setComplete() {
+            return super.setComplete().doOnSuccess(done -> onCaptured.accept(capture(new byte[0])));
+        }
+
+        /**
+         * Status and the headers set upstream; headers the gateway added for
+         * this caller before routing (refreshed cookies, rate limit) stay with it
+         */
+        private CapturedResponse capture(byte[] body) {
+            HttpHeaders headers = new HttpHeaders();
+            getHeaders().forEach((name, values) -> {
+                if (!gatewayHeaders.contains(name) && !HttpHeaders.SET_COOKIE.equalsIgnoreCase(name)) {
+                    headers.put(name, List.copyOf(values));
+                }
+            });
+            HttpStatusCode status = getStatusCode() != null ? getStatusCode() : HttpStatusCode.valueOf(200);
+            return new CapturedResponse(status, headers, body);
+        }
+    }
+}
@@ -43,6 +43,10 @@ public class AuthController {
     public Mono<ResponseEntity<Void>> newAccessToken(
             @CookieValue(value = "RT", required = false) String refreshToken,
             ServerWebExchange exchange) {
+        if (authService.usesServerSessions()) {
+            return authService.refreshSession(exchange)
+                    .map(result -> ResponseEntity.status(result.getStatus()).headers(result.getHeaders()).build());
+        }
         return authService.refreshAccessToken(refreshToken, exchange)
                 .map(result -> ResponseEntity.status(result.getStatus()).headers(result.getHeaders()).build());
     }
@@ -1,12 +1,22 @@
 package com.einsurance.gateway.filter;
 
 import com.einsurance.gateway.dto.TokenDto;
+import com.einsurance.gateway.metrics.LatencyRecorder;
 import com.einsurance.gateway.service.AuthService;
 import com.einsurance.gateway.service.AuthServiceResult;
+import com.einsurance.gateway.session.SessionManager;
+import com.einsurance.gateway.session.TokenSession;
 import com.einsurance.gateway.utils.CookieUtils;
+import com.einsurance.gateway.utils.JwtUtils;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
 import org.springframework.core.Ordered;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
@@ -15,14 +25,29 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
+import java.util.Optional;
 
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class TokenRelayFilter implements GlobalFilter, Ordered {
 
+    public static final int ORDER = -100;
+
+    /**
+     * Time spent per auth phase: reading the cookies or session, refreshing on
+     * the request path or in the background, and relaying to the route
+     */
+    static final String PHASE_TIMER = "gateway.auth.phase";
+    private static final String PHASE = "phase";
+    private static final String PHASE_COOKIE_READ = "cookie-read";
+    private static final String PHASE_REFRESH = "refresh";
+    private static final String PHASE_BACKGROUND_REFRESH = "background-refresh";
+    private static final String PHASE_RELAY = "relay";
+
     private static final List<String> PUBLIC_PATHS = List.of(
             "/api/v1/bff/login",
             "/api/v1/bff/callback",
@@ -33,8 +58,24 @@ public class TokenRelayFilter implements GlobalFilter, Ordered {
 
     private final AuthService authService;
     private final CookieUtils cookieUtils;
-
-    private static final ConcurrentMap<String, Mono<String>> refreshInFlight = new ConcurrentHashMap<>();
+    private final JwtUtils jwtUtils;
+    private final SessionManager sessionManager;
+    private final LatencyRecorder latencyRecorder;
+
+    /**
+     * Access tokens expiring within this window are refreshed in the background
+     */
+    @Value("${gateway.token-refresh.proactive-window:30s}")
+    private Duration proactiveRefreshWindow;
+
+    /**
+     * How long a proxied response may wait for a background refresh to attach
+     * the new cookies. Every wait is added to the latency of a request that
+     * needed no refresh; if it runs out, the next request picks the tokens up
+     * from the refresh coordinator instead
+     */
+    @Value("${gateway.token-refresh.proactive-max-wait:100ms}")
+    private Duration proactiveRefreshMaxWait;
 
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
@@ -42,46 +83,114 @@ public class TokenRelayFilter implements GlobalFilter, Ordered {
         if (isPublicPath(path)) {
             return chain.filter(exchange);
         }
+        if (sessionManager.isEnabled()) {
+            return relaySession(exchange, chain);
+        }
 
+        Timer.Sample cookieRead = latencyRecorder.start();
         var cookies = exchange.getRequest().getCookies();
         var accessCookie = cookies.getFirst("AT");
         var refreshCookie = cookies.getFirst("RT");
 
+        boolean canRefresh = refreshCookie != null && !refreshCookie.getValue().isBlank();
         if (accessCookie != null && !accessCookie.getValue().isBlank()) {
-            return continueWithAccessToken(exchange, chain, accessCookie.getValue());
+            String accessToken = accessCookie.getValue();
+            Instant expiresAt = jwtUtils.expiresAt(accessToken);
+            Instant now = Instant.now();
+            boolean expired = expiresAt != null && !expiresAt.isAfter(now);
+            if (!expired || !canRefresh) {
+                if (canRefresh && expiresAt != null && expiresAt.isBefore(now.plus(proactiveRefreshWindow))) {
+                    stopPhase(cookieRead, PHASE_COOKIE_READ, "expiring");
+                    refreshInBackground(exchange, refreshCookie.getValue());
+                } else {
+                    stopPhase(cookieRead, PHASE_COOKIE_READ, expired ? "expired" : "valid");
+                }
+                return continueWithAccessToken(exchange, chain, accessToken);
+            }
+            // Cookie outlived its token (clock skew): refresh on the request path below
         }
 
-        if (refreshCookie == null || refreshCookie.getValue().isBlank()) {
-            cookieUtils.clearCookies(exchange.getResponse());
-            exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
-            return exchange.getResponse().setComplete();
+        if (!canRefresh) {
+            stopPhase(cookieRead, PHASE_COOKIE_READ, "missing");
+            return unauthorized(exchange);
         }
-
-        String refreshToken = refreshCookie.getValue();
-        Mono<String> refresher = refreshInFlight.computeIfAbsent(refreshToken, key ->
-                authService.refreshAccessToken(refreshToken, exchange)
-                        .flatMap(result -> handleRefreshResult(result, exchange))
-                        .doFinally(signal -> refreshInFlight.remove(key))
-                        .cache()
-        );
-
-        return refresher.flatMap(token -> {
-            if (token == null || token.isBlank()) {
-                cookieUtils.clearCookies(exchange.getResponse());
-                exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
-                return exchange.getResponse().setComplete();
-            }
-            return continueWithAccessToken(exchange, chain, token);
-        }).switchIfEmpty(Mono.defer(() -> {
-            cookieUtils.clearCookies(exchange.getResponse());
-            exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
-            return exchange.getResponse().setComplete();
-        }));
+        stopPhase(cookieRead, PHASE_COOKIE_READ, "expired");
+
+        // Concurrent refreshes of one session are de-duplicated by AuthService
+        return latencyRecorder.time(PHASE_TIMER, Tags.of(PHASE, PHASE_REFRESH),
+                        authService.refreshAccessToken(refreshCookie.getValue(), exchange)
+                                .flatMap(result -> handleRefreshResult(result, exchange)))
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(token -> token.isPresent()
+                        ? continueWithAccessToken(exchange, chain, token.get())
+                        : unauthorized(exchange));
     }
 
     @Override
     public int getOrder() {
-        return -100;
+        return ORDER;
+    }
+
+    /**
+     * Server-session mode: resolve the session id cookie to the stored
+     * tokens. The browser never sees a token, so a refresh only updates the
+     * store and a proactive refresh needs nothing added to the response.
+     */
+    private Mono<Void> relaySession(ServerWebExchange exchange, GatewayFilterChain chain) {
+        String sessionId = sessionManager.readSessionId(exchange);
+        return latencyRecorder.time(PHASE_TIMER, Tags.of(PHASE, PHASE_COOKIE_READ), sessionManager.find(sessionId))
+                .flatMap(session -> {
+                    Instant now = Instant.now();
+                    if (session.accessTokenValidAt(now)) {
+                        if (!session.accessTokenValidAt(now.plus(proactiveRefreshWindow))) {
+                            latencyRecorder.time(PHASE_TIMER, Tags.of(PHASE, PHASE_BACKGROUND_REFRESH),
+                                            authService.refreshSession(sessionId, session, exchange))
+                                    .subscribe(null, error -> log.debug("Proactive session refresh failed: {}",
+                                            error.getMessage()));
+                        }
+                        return Mono.just(session.tokens().accessToken());
+                    }
+                    return latencyRecorder.time(PHASE_TIMER, Tags.of(PHASE, PHASE_REFRESH),
+                            authService.refreshSession(sessionId, session, exchange).map(TokenSession::accessToken));
+                })
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(token -> token.isPresent()
+                        ? continueWithAccessToken(exchange, chain, token.get())
+                        : unauthorized(exchange));
+    }
+
+    /**
+     * Start refreshing a soon-to-expire access token while the request is
+     * proxied with the current one; the new cookies are added to this
+     * response just before it is committed. If the refresh is not done within
+     * the max wait, the response goes without them and the refreshed tokens are
+     * picked up from the refresh coordinator by the next request.
+     */
+    private void refreshInBackground(ServerWebExchange exchange, String refreshToken) {
+        Mono<List<String>> cookies = latencyRecorder.time(PHASE_TIMER, Tags.of(PHASE, PHASE_BACKGROUND_REFRESH),
+                        authService.refreshAccessToken(refreshToken, exchange)
+                                .filter(result -> result.getStatus().is2xxSuccessful() && result.getBody() != null)
+                                .mapNotNull(result -> result.getHeaders().get(HttpHeaders.SET_COOKIE)))
+                .cache();
+        cookies.subscribe(null, error -> log.debug("Proactive token refresh failed: {}", error.getMessage()));
+
+        exchange.getResponse().beforeCommit(() -> cookies
+                .timeout(proactiveRefreshMaxWait)
+                .doOnNext(setCookies -> exchange.getResponse().getHeaders().addAll(HttpHeaders.SET_COOKIE, setCookies))
+                .onErrorResume(error -> Mono.empty())
+                .then());
+    }
+
+    private Mono<Void> unauthorized(ServerWebExchange exchange) {
+        cookieUtils.clearCookies(exchange.getResponse());
+        if (sessionManager.isEnabled()) {
+            exchange.getResponse().getHeaders().add(HttpHeaders.SET_COOKIE,
+                    cookieUtils.deleteCookie(sessionManager.cookieName()).toString());
+        }
+        exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
+        return exchange.getResponse().setComplete();
     }
 
     private boolean isPublicPath(String path) {
@@ -98,7 +207,7 @@ public class TokenRelayFilter implements GlobalFilter, Ordered {
         if (headers != null && !headers.isEmpty()) {
             exchange.getResponse().getHeaders().putAll(headers);
         }
-        return Mono.justOrEmpty(result.getBody().getAccessToken());
+        return Mono.justOrEmpty(result.getBody().getAccessToken()).filter(token -> !token.isBlank());
     }
 
     private Mono<Void> continueWithAccessToken(ServerWebExchange exchange,
@@ -110,6 +219,20 @@ public class TokenRelayFilter implements GlobalFilter, Ordered {
                     headers.set(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken);
                 })
                 .build();
-        return chain.filter(exchange.mutate().request(mutated).build());
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        Tags tags = Tags.of(PHASE, PHASE_RELAY, "route", route != null ? route.getId() : "none");
+        Timer.Sample relay = latencyRecorder.start();
+        return chain.filter(exchange.mutate().request(mutated).build())
+                .doFinally(signal -> latencyRecorder.stop(relay, PHASE_TIMER, tags, switch (signal) {
+                    case ON_ERROR -> LatencyRecorder.ERROR;
+                    case CANCEL -> LatencyRecorder.CANCELLED;
+                    default -> exchange.getResponse().getStatusCode() != null
+                            ? LatencyRecorder.outcomeOf(exchange.getResponse().getStatusCode())
+                            : LatencyRecorder.SUCCESS;
+                }));
+    }
+
+    private void stopPhase(Timer.Sample sample, String phase, String outcome) {
+        latencyRecorder.stop(sample, PHASE_TIMER, Tags.of(PHASE, phase), outcome);
     }
 }
@@ -0,0 +1,72 @@
+package com.einsurance.gateway.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Records gateway latencies as Micrometer timers tagged with an outcome.
+ * SLO buckets and histograms are not set here but by name prefix in
+ * management.metrics.distribution, so every gateway.* timer shares them.
+ */
+@Component
+public class LatencyRecorder {
+
+    public static final String SUCCESS = "success";
+    public static final String EMPTY = "empty";
+    public static final String ERROR = "error";
+    public static final String CANCELLED = "cancelled";
+
+    private final MeterRegistry meterRegistry;
+
+    public LatencyRecorder(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public Timer.Sample start() {
+        return Timer.start(meterRegistry);
+    }
+
+    public void stop(Timer.Sample sample, String name, Tags tags, String outcome) {
+        sample.stop(Timer.builder(name).tags(tags).tag("outcome", outcome).register(meterRegistry));
+    }
+
+    /**
+     * Time a Mono from subscription to termination; a value is a success
+     */
+    public <T> Mono<T> time(String name, Tags tags, Mono<T> mono) {
+        return time(name, tags, mono, value -> SUCCESS);
+    }
+
+    /**
+     * Time a Mono from subscription to termination, classifying the emitted value
+     */
+    public <T> Mono<T> time(String name, Tags tags, Mono<T> mono, Function<T, String> outcomeOf) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = start();
+            AtomicReference<String> outcome = new AtomicReference<>(EMPTY);
+            return mono
+                    .doOnNext(value -> outcome.set(outcomeOf.apply(value)))
+                    .doOnError(error -> outcome.set(ERROR))
+                    .doFinally(signal -> stop(sample, name, tags,
+                            signal == SignalType.CANCEL ? CANCELLED : outcome.get()));
+        });
+    }
+
+    /**
+     * Outcome of an HTTP call by status class: success, client_error or server_error
+     */
+    public static String outcomeOf(HttpStatusCode status) {
+        if (status.is2xxSuccessful() || status.is3xxRedirection()) {
+            return SUCCESS;
+        }
+        return status.is4xxClientError() ? "client_error" : "server_error";
+    }
+}
@@ -0,0 +1,65 @@
+package com.einsurance.gateway.ratelimit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.cloud.client.discovery.ReactiveDiscoveryClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.function.IntSupplier;
+
+/**
+ * Number of gateway replicas sharing each rate limit.
+ * Refreshed periodically from discovery when a discovery client is present,
+ * otherwise the configured expected replica count is used.
+ */
+@Slf4j
+public class ClusterShare implements IntSupplier, InitializingBean, DisposableBean {
+
+    private final RateLimitProperties.ClusterSync settings;
+    private final ReactiveDiscoveryClient discoveryClient;
+    private volatile int replicas;
+    private Disposable refresh;
+
+    public ClusterShare(RateLimitProperties.ClusterSync settings, ReactiveDiscoveryClient discoveryClient) {
+        this.settings = settings;
+        this.discoveryClient = discoveryClient;
+        this.replicas = Math.max(1, settings.getExpectedReplicas());
+    }
+
+    @Override
+    public int getAsInt() {
+        return replicas;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (discoveryClient == null) {
+            log.debug("No discovery client, rate limits are shared by {} configured replica(s)", replicas);
+            return;
+        }
+        refresh = Flux.interval(Duration.ZERO, settings.getRefreshInterval())
+                .concatMap(tick -> discoveryClient.getInstances(settings.getServiceId()).count()
+                        .onErrorResume(e -> {
+                            log.warn("Could not count {} replicas: {}", settings.getServiceId(), e.getMessage());
+                            return Mono.empty();
+                        }))
+                .subscribe(count -> {
+                    int next = (int) Math.max(1, count);
+                    if (next != replicas) {
+                        log.info("Rate limits now shared by {} gateway replica(s)", next);
+                        replicas = next;
+                    }
+                });
+    }
+
+    @Override
+    public void destroy() {
+        if (refresh != null) {
+            refresh.dispose();
+        }
+    }
+}
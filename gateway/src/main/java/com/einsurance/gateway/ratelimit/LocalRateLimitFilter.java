@@ -0,0 +1,51 @@
+package com.einsurance.gateway.ratelimit;
+
+import org.springframework.core.Ordered;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Applies the rate limits to the endpoints the gateway answers itself: BFF
+ * login, callback, token refresh and logout, and Turnstile verification.
+ * Controllers serve them, not routes, so global filters and with them
+ * RateLimitFilter never see these requests. Policies select them with
+ * route-id "gateway". Runs ahead of the Spring Security filter chain, so
+ * rejected requests do no other work.
+ */
+public class LocalRateLimitFilter implements WebFilter, Ordered {
+
+    public static final String ROUTE_ID = "gateway";
+
+    public static final int ORDER = -200;
+
+    private final RateLimitFilter rateLimitFilter;
+    private final List<PathPattern> paths;
+
+    public LocalRateLimitFilter(RateLimitProperties properties, RateLimitFilter rateLimitFilter) {
+        this.rateLimitFilter = rateLimitFilter;
+        this.paths = properties.getLocalPaths().stream()
+                .map(PathPatternParser.defaultInstance::parse)
+                .toList();
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        PathContainer path = exchange.getRequest().getPath().pathWithinApplication();
+        if (paths.stream().noneMatch(pattern -> pattern.matches(path))) {
+            return chain.filter(exchange);
+        }
+        return rateLimitFilter.limit(exchange, ROUTE_ID, chain::filter);
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+}
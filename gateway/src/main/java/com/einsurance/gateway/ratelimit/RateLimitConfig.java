@@ -0,0 +1,49 @@
+package com.einsurance.gateway.ratelimit;
+
+import com.einsurance.gateway.utils.JwtUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.client.discovery.ReactiveDiscoveryClient;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Wires the gateway rate limiter; disabled with gateway.rate-limit.enabled=false
+ */
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+@ConditionalOnProperty(prefix = "gateway.rate-limit", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitConfig {
+
+    @Bean
+    public ClusterShare rateLimitClusterShare(RateLimitProperties properties,
+                                              ObjectProvider<ReactiveDiscoveryClient> discoveryClient) {
+        RateLimitProperties.ClusterSync clusterSync = properties.getClusterSync();
+        if (!clusterSync.isEnabled()) {
+            // Single replica: every limit applies in full
+            RateLimitProperties.ClusterSync standalone = new RateLimitProperties.ClusterSync();
+            standalone.setExpectedReplicas(1);
+            return new ClusterShare(standalone, null);
+        }
+        return new ClusterShare(clusterSync, discoveryClient.getIfAvailable());
+    }
+
+    @Bean
+    public RateLimiter rateLimiter(RateLimitProperties properties, ClusterShare rateLimitClusterShare,
+                                   MeterRegistry meterRegistry) {
+        return new RateLimiter(properties, rateLimitClusterShare, meterRegistry);
+    }
+
+    @Bean
+    public RateLimitFilter rateLimitFilter(RateLimitProperties properties, RateLimiter rateLimiter,
+                                           JwtUtils jwtUtils, MeterRegistry meterRegistry) {
+        return new RateLimitFilter(properties, rateLimiter, jwtUtils, meterRegistry);
+    }
+
+    @Bean
+    public LocalRateLimitFilter localRateLimitFilter(RateLimitProperties properties, RateLimitFilter rateLimitFilter) {
+        return new LocalRateLimitFilter(properties, rateLimitFilter);
+    }
+}
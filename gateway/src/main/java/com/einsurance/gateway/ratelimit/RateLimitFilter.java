@@ -0,0 +1,230 @@
+package com.einsurance.gateway.ratelimit;
+
+import com.einsurance.gateway.filter.TokenRelayFilter;
+import com.einsurance.gateway.ratelimit.RateLimitProperties.Bandwidth;
+import com.einsurance.gateway.ratelimit.RateLimitProperties.Policy;
+import com.einsurance.gateway.ratelimit.TokenBucket.Probe;
+import com.einsurance.gateway.utils.JwtUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpCookie;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Rejects requests over their rate limits with 429 and a Retry-After header.
+ * Runs right before TokenRelayFilter, so a rejected request never costs a
+ * Keycloak refresh. The user is identified by the subject of the bearer
+ * token, or of the AT cookie the relay would turn into one (expired or not);
+ * in server-session mode there is no token to read and only the IP and
+ * route limits apply. The token is only decoded here, not verified: a forged
+ * subject buys a separate user bucket but is still subject to the per-IP and
+ * per-route limits, and is rejected downstream.
+ * LocalRateLimitFilter applies the same limits to the gateway's own endpoints.
+ */
+@Slf4j
+public class RateLimitFilter implements GlobalFilter, Ordered {
+
+    public static final int ORDER = TokenRelayFilter.ORDER - 10;
+
+    static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+
+    private static final String DEFAULT_POLICY = "default";
+    private static final String BEARER_PREFIX = "Bearer ";
+    private static final String ACCESS_TOKEN_COOKIE = "AT";
+
+    enum Scope { IP, USER, ROUTE }
+
+    private final RateLimitProperties properties;
+    private final RateLimiter rateLimiter;
+    private final JwtUtils jwtUtils;
+    private final MeterRegistry meterRegistry;
+    private final List<CompiledPolicy> policies;
+    private final CompiledPolicy defaultPolicy;
+
+    public RateLimitFilter(RateLimitProperties properties, RateLimiter rateLimiter,
+                           JwtUtils jwtUtils, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.rateLimiter = rateLimiter;
+        this.jwtUtils = jwtUtils;
+        this.meterRegistry = meterRegistry;
+        this.defaultPolicy = CompiledPolicy.of(DEFAULT_POLICY, properties.getDefaults());
+        this.policies = new ArrayList<>();
+        for (Map.Entry<String, Policy> entry : properties.getPolicies().entrySet()) {
+            policies.add(CompiledPolicy.of(entry.getKey(), entry.getValue()));
+        }
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        return limit(exchange, route != null ? route.getId() : null, chain::filter);
+    }
+
+    /**
+     * Check the request against the default and first matching policy
+     * @param routeId route the request is served by, matched against policy route ids
+     * @param next continues the chain when every limit allows the request
+     */
+    Mono<Void> limit(ServerWebExchange exchange, String routeId, Function<ServerWebExchange, Mono<Void>> next) {
+        if (!properties.isEnabled()) {
+            return next.apply(exchange);
+        }
+
+        ServerHttpRequest request = exchange.getRequest();
+        PathContainer path = request.getPath().pathWithinApplication();
+        String method = request.getMethod().name();
+
+        CompiledPolicy matching = matchingPolicy(routeId, method, path);
+        List<CompiledPolicy> applicable = matching != null ? List.of(defaultPolicy, matching) : List.of(defaultPolicy);
+
+        long remaining = Long.MAX_VALUE;
+        for (CompiledPolicy policy : applicable) {
+            for (Scope scope : Scope.values()) {
+                Bandwidth limit = policy.limitFor(scope);
+                if (limit == null) {
+                    continue;
+                }
+                String identity = identify(scope, request, routeId);
+                if (identity == null) {
+                    continue;
+                }
+                Probe probe = rateLimiter.tryConsume(policy.name() + '|' + scope + '|' + identity, limit);
+                if (!probe.allowed()) {
+                    return reject(exchange, policy, scope, probe);
+                }
+                remaining = Math.min(remaining, probe.remaining());
+            }
+        }
+
+        if (remaining != Long.MAX_VALUE) {
+            exchange.getResponse().getHeaders().set(REMAINING_HEADER, String.valueOf(remaining));
+        }
+        return next.apply(exchange);
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    private CompiledPolicy matchingPolicy(String routeId, String method, PathContainer path) {
+        for (CompiledPolicy policy : policies) {
+            if (policy.matches(routeId, method, path)) {
+                return policy;
+            }
+        }
+        return null;
+    }
+
+    private String identify(Scope scope, ServerHttpRequest request, String routeId) {
+        return switch (scope) {
+            case IP -> clientIp(request);
+            case USER -> user(request);
+            case ROUTE -> routeId != null ? routeId : "*";
+        };
+    }
+
+    private String clientIp(ServerHttpRequest request) {
+        if (properties.isTrustForwardedFor()) {
+            String forwardedFor = request.getHeaders().getFirst("X-Forwarded-For");
+            if (forwardedFor != null && !forwardedFor.isBlank()) {
+                int comma = forwardedFor.indexOf(',');
+                return (comma < 0 ? forwardedFor : forwardedFor.substring(0, comma)).trim();
+            }
+        }
+        InetSocketAddress remoteAddress = request.getRemoteAddress();
+        if (remoteAddress == null) {
+            return "unknown";
+        }
+        return remoteAddress.getAddress() != null
+                ? remoteAddress.getAddress().getHostAddress()
+                : remoteAddress.getHostString();
+    }
+
+    /**
+     * Subject of the bearer token, else of the access token cookie
+     */
+    private String user(ServerHttpRequest request) {
+        String subject = subject(request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION));
+        if (subject != null) {
+            return subject;
+        }
+        HttpCookie accessCookie = request.getCookies().getFirst(ACCESS_TOKEN_COOKIE);
+        return accessCookie != null && !accessCookie.getValue().isBlank()
+                ? jwtUtils.subject(accessCookie.getValue())
+                : null;
+    }
+
+    /**
+     * Subject claim of a bearer JWT, or null for anonymous or malformed tokens
+     */
+    String subject(String authorization) {
+        if (authorization == null || !authorization.startsWith(BEARER_PREFIX)) {
+            return null;
+        }
+        return jwtUtils.subject(authorization.substring(BEARER_PREFIX.length()));
+    }
+
+    private Mono<Void> reject(ServerWebExchange exchange, CompiledPolicy policy, Scope scope, Probe probe) {
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(probe.nanosToWait() + 999_999_999L));
+        meterRegistry.counter("gateway.ratelimit.rejected",
+                "policy", policy.name(), "scope", scope.name().toLowerCase()).increment();
+        log.debug("Rate limited {} {} by policy {} ({})", exchange.getRequest().getMethod(),
+                exchange.getRequest().getPath(), policy.name(), scope);
+
+        exchange.getResponse().setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        exchange.getResponse().getHeaders().set(REMAINING_HEADER, "0");
+        return exchange.getResponse().setComplete();
+    }
+
+    /**
+     * A policy with its path patterns parsed once
+     */
+    private record CompiledPolicy(String name, Policy policy, List<PathPattern> paths) {
+
+        static CompiledPolicy of(String name, Policy policy) {
+            return new CompiledPolicy(name, policy, policy.getPaths().stream()
+                    .map(PathPatternParser.defaultInstance::parse)
+                    .toList());
+        }
+
+        boolean matches(String routeId, String method, PathContainer path) {
+            if (policy.getRouteId() != null && !policy.getRouteId().equals(routeId)) {
+                return false;
+            }
+            if (!policy.getMethods().isEmpty()
+                    && policy.getMethods().stream().noneMatch(method::equalsIgnoreCase)) {
+                return false;
+            }
+            return paths.isEmpty() || paths.stream().anyMatch(pattern -> pattern.matches(path));
+        }
+
+        Bandwidth limitFor(Scope scope) {
+            return switch (scope) {
+                case IP -> policy.getIp();
+                case USER -> policy.getUser();
+                case ROUTE -> policy.getRoute();
+            };
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.einsurance.gateway.ratelimit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Gateway rate limiting, bound from gateway.rate-limit.*
+ * The default policy applies to every routed request and to the gateway's own
+ * endpoints under local-paths; in addition, the first entry of policies
+ * matching the request (route id, method and path) applies.
+ * Each policy may limit per user (token subject), per client IP and per route
+ * as a whole; an absent limit is not enforced.
+ */
+@Data
+@ConfigurationProperties(prefix = "gateway.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Upper bound on buckets held in memory; least recently used ones are evicted beyond it
+     */
+    private int maxKeys = 100_000;
+
+    /**
+     * Take the client IP from the first X-Forwarded-For entry (only behind a trusted proxy)
+     */
+    private boolean trustForwardedFor = false;
+
+    private Policy defaults = new Policy();
+
+    /**
+     * Paths answered by the gateway's controllers rather than routes, limited under route id "gateway"
+     */
+    private List<String> localPaths = new ArrayList<>(List.of("/api/v1/bff/**", "/api/turnstile/**"));
+
+    private Map<String, Policy> policies = new LinkedHashMap<>();
+
+    private ClusterSync clusterSync = new ClusterSync();
+
+    @Data
+    public static class Policy {
+        /**
+         * Gateway route id the policy is restricted to, any route if empty
+         */
+        private String routeId;
+        private List<String> methods = new ArrayList<>();
+        private List<String> paths = new ArrayList<>();
+        private Bandwidth user;
+        private Bandwidth ip;
+        private Bandwidth route;
+    }
+
+    /**
+     * Token bucket: holds up to capacity tokens, refilled continuously
+     * at refillTokens per refillPeriod; one request costs one token
+     */
+    @Data
+    public static class Bandwidth {
+        private long capacity;
+        /**
+         * Defaults to capacity, i.e. a full bucket per period
+         */
+        private long refillTokens;
+        private Duration refillPeriod = Duration.ofSeconds(1);
+
+        double tokensPerNano() {
+            long tokens = refillTokens > 0 ? refillTokens : capacity;
+            return (double) tokens / refillPeriod.toNanos();
+        }
+    }
+
+    /**
+     * Cluster mode: replicas do not exchange counters, each one enforces its
+     * share of every limit, i.e. the limit divided by the number of gateway replicas
+     */
+    @Data
+    public static class ClusterSync {
+        private boolean enabled = false;
+        /**
+         * Service id the replicas register under in discovery
+         */
+        private String serviceId = "gateway";
+        /**
+         * Replica count used when discovery is unavailable
+         */
+        private int expectedReplicas = 1;
+        private Duration refreshInterval = Duration.ofSeconds(30);
+    }
+}
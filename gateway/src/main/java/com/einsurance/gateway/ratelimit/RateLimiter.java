@@ -0,0 +1,96 @@
+package com.einsurance.gateway.ratelimit;
+
+import com.einsurance.gateway.ratelimit.RateLimitProperties.Bandwidth;
+import com.einsurance.gateway.ratelimit.TokenBucket.Probe;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * In-memory token bucket engine keyed by arbitrary strings.
+ * Lookups are plain ConcurrentHashMap reads and buckets are lock-free. The map
+ * is bounded: once it exceeds maxKeys, one caller evicts the least recently
+ * used buckets down to 90% of the bound while the others carry on. A bucket
+ * idle long enough to be evicted has usually refilled, so eviction rarely
+ * changes a decision.
+ */
+@Slf4j
+public class RateLimiter {
+
+    private final ConcurrentHashMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+    private final int maxKeys;
+    private final IntSupplier replicas;
+    private final LongSupplier nanoClock;
+    private final Counter evictions;
+
+    public RateLimiter(RateLimitProperties properties, IntSupplier replicas, MeterRegistry meterRegistry) {
+        this(properties, replicas, meterRegistry, System::nanoTime);
+    }
+
+    RateLimiter(RateLimitProperties properties, IntSupplier replicas, MeterRegistry meterRegistry,
+                LongSupplier nanoClock) {
+        this.maxKeys = properties.getMaxKeys();
+        this.replicas = replicas;
+        this.nanoClock = nanoClock;
+        this.evictions = Counter.builder("gateway.ratelimit.evictions")
+                .description("Rate limit buckets evicted to keep the key space bounded")
+                .register(meterRegistry);
+        Gauge.builder("gateway.ratelimit.buckets", buckets, Map::size)
+                .description("Rate limit buckets held in memory")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Take one token from the bucket of a key, creating a full bucket on first use
+     */
+    public Probe tryConsume(String key, Bandwidth limit) {
+        long now = nanoClock.getAsLong();
+        int share = Math.max(1, replicas.getAsInt());
+        double capacity = Math.max(1.0, (double) limit.getCapacity() / share);
+        double tokensPerNano = limit.tokensPerNano() / share;
+
+        TokenBucket bucket = buckets.get(key);
+        if (bucket == null) {
+            bucket = buckets.computeIfAbsent(key, k -> new TokenBucket(capacity, now));
+            if (buckets.size() > maxKeys) {
+                evictLeastRecentlyUsed();
+            }
+        }
+        return bucket.tryConsume(capacity, tokensPerNano, now);
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    private void evictLeastRecentlyUsed() {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            int excess = buckets.size() - maxKeys * 9 / 10;
+            if (excess <= 0) {
+                return;
+            }
+            List<Map.Entry<String, TokenBucket>> oldest = buckets.entrySet().stream()
+                    .sorted(Comparator.comparingLong(entry -> entry.getValue().lastAccessNanos()))
+                    .limit(excess)
+                    .toList();
+            oldest.forEach(entry -> buckets.remove(entry.getKey(), entry.getValue()));
+            evictions.increment(oldest.size());
+            log.debug("Evicted {} idle rate limit buckets", oldest.size());
+        } finally {
+            evicting.set(false);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.einsurance.gateway.ratelimit;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Lock-free token bucket.
+ * The state (tokens, last update) is swapped atomically; tokens are refilled
+ * lazily from the elapsed time on each probe, so an idle bucket costs nothing.
+ * Capacity and rate are passed per probe so a policy change or a new cluster
+ * share takes effect without rebuilding buckets.
+ */
+final class TokenBucket {
+
+    private final AtomicReference<State> state;
+
+    TokenBucket(double initialTokens, long nowNanos) {
+        this.state = new AtomicReference<>(new State(initialTokens, nowNanos));
+    }
+
+    /**
+     * Take one token if available
+     */
+    Probe tryConsume(double capacity, double tokensPerNano, long nowNanos) {
+        while (true) {
+            State current = state.get();
+            long now = Math.max(nowNanos, current.updatedNanos());
+            double available = Math.min(capacity,
+                    current.tokens() + (now - current.updatedNanos()) * tokensPerNano);
+
+            State next;
+            Probe probe;
+            if (available >= 1) {
+                next = new State(available - 1, now);
+                probe = new Probe(true, (long) (available - 1), 0);
+            } else {
+                next = new State(available, now);
+                probe = new Probe(false, 0, (long) Math.ceil((1 - available) / tokensPerNano));
+            }
+            if (state.compareAndSet(current, next)) {
+                return probe;
+            }
+        }
+    }
+
+    long lastAccessNanos() {
+        return state.get().updatedNanos();
+    }
+
+    private record State(double tokens, long updatedNanos) {
+    }
+
+    /**
+     * Outcome of a probe
+     * @param remaining whole tokens left after an allowed request
+     * @param nanosToWait until the next token is available, for rejected requests
+     */
+    record Probe(boolean allowed, long remaining, long nanosToWait) {
+    }
+}
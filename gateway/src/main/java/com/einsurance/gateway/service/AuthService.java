@@ -3,13 +3,19 @@ package com.einsurance.gateway.service;
 import com.einsurance.gateway.dto.ClientInfoDto;
 import com.einsurance.gateway.dto.LoginRedirectDto;
 import com.einsurance.gateway.dto.TokenDto;
+import com.einsurance.gateway.metrics.LatencyRecorder;
+import com.einsurance.gateway.session.SessionManager;
+import com.einsurance.gateway.session.SessionManager.LoadedSession;
+import com.einsurance.gateway.session.TokenSession;
 import com.einsurance.gateway.utils.CookieUtils;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Tags;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
@@ -38,6 +44,9 @@ public class AuthService {
     private final WebClient webClient;
     private final CookieUtils cookieUtils;
     private final ObjectMapper objectMapper;
+    private final RefreshCoordinator refreshCoordinator;
+    private final SessionManager sessionManager;
+    private final LatencyRecorder latencyRecorder;
 
     @Value("${keycloak.url}")
     private String keycloakBaseUrl;
@@ -110,35 +119,74 @@ public class AuthService {
             form.add("code_verifier", codeVerifier);
         }
 
-        return webClient.post()
+        return keycloakCall("code-exchange", webClient.post()
                 .uri(tokenEndpoint)
                 .contentType(MediaType.APPLICATION_FORM_URLENCODED)
                 .body(BodyInserters.fromFormData(form))
-                .exchangeToMono(response -> response.toEntity(String.class))
+                .exchangeToMono(response -> response.toEntity(String.class)))
                 .flatMap(entity -> {
                     if (!entity.getStatusCode().is2xxSuccessful()) {
                         return Mono.just(new AuthServiceResult<>(cookieUtils.clearCookiesHeaders(), null,
                                 HttpStatus.UNAUTHORIZED));
                     }
+                    TokenDto tokenDto;
                     try {
-                        TokenDto tokenDto = objectMapper.readValue(entity.getBody(), TokenDto.class);
-                        HttpHeaders headers = createTokenCookies(tokenDto);
-                        headers.add(HttpHeaders.SET_COOKIE, cookieUtils.deleteCookie(STATE_COOKIE).toString());
-                        headers.add(HttpHeaders.SET_COOKIE, cookieUtils.deleteCookie(PKCE_COOKIE).toString());
-                        headers.setLocation(URI.create(clientInfo.getRedirectUrl()));
-                        return Mono.just(new AuthServiceResult<>(headers, null, HttpStatus.FOUND));
+                        tokenDto = objectMapper.readValue(entity.getBody(), TokenDto.class);
                     } catch (Exception ex) {
                         return Mono.just(new AuthServiceResult<>(cookieUtils.clearCookiesHeaders(), null,
                                 HttpStatus.INTERNAL_SERVER_ERROR));
                     }
+                    return loginCookies(tokenDto).map(headers -> {
+                        headers.add(HttpHeaders.SET_COOKIE, cookieUtils.deleteCookie(STATE_COOKIE).toString());
+                        headers.add(HttpHeaders.SET_COOKIE, cookieUtils.deleteCookie(PKCE_COOKIE).toString());
+                        headers.setLocation(URI.create(clientInfo.getRedirectUrl()));
+                        return new AuthServiceResult<Void>(headers, null, HttpStatus.FOUND);
+                    });
                 });
     }
 
+    /**
+     * Whether tokens are kept in a server-side session rather than in cookies
+     */
+    public boolean usesServerSessions() {
+        return sessionManager.isEnabled();
+    }
+
+    /**
+     * Refresh the tokens of a server-side session (atomically across replicas)
+     * @return the renewed session, empty if it cannot be renewed
+     */
+    public Mono<TokenSession> refreshSession(String sessionId, LoadedSession current, ServerWebExchange exchange) {
+        return sessionManager.refresh(sessionId, current, refreshToken -> refreshAccessToken(refreshToken, exchange)
+                .filter(result -> result.getStatus().is2xxSuccessful() && result.getBody() != null)
+                .map(AuthServiceResult::getBody));
+    }
+
+    /**
+     * Server-session counterpart of refreshAccessToken for the newaccesstoken endpoint
+     */
+    public Mono<AuthServiceResult<Void>> refreshSession(ServerWebExchange exchange) {
+        String sessionId = sessionManager.readSessionId(exchange);
+        return sessionManager.find(sessionId)
+                .flatMap(current -> refreshSession(sessionId, current, exchange))
+                .map(session -> new AuthServiceResult<Void>(new HttpHeaders(), null, HttpStatus.OK))
+                .defaultIfEmpty(new AuthServiceResult<>(clearAuthCookies(), null, HttpStatus.UNAUTHORIZED));
+    }
+
+    /**
+     * Exchange a refresh token for new tokens; concurrent and just-repeated
+     * refreshes of the same token share one Keycloak call, across replicas
+     * when they share a RefreshStore
+     */
     public Mono<AuthServiceResult<TokenDto>> refreshAccessToken(String refreshToken, ServerWebExchange exchange) {
         if (refreshToken == null || refreshToken.isBlank()) {
             return Mono.just(new AuthServiceResult<>(cookieUtils.clearCookiesHeaders(), null, HttpStatus.UNAUTHORIZED));
         }
+        return refreshCoordinator.refresh(refreshToken, () -> requestRefreshGrant(refreshToken, exchange),
+                this::createTokenCookies);
+    }
 
+    private Mono<AuthServiceResult<TokenDto>> requestRefreshGrant(String refreshToken, ServerWebExchange exchange) {
         ClientInfoDto clientInfo = resolveClient(exchange, null);
         String tokenEndpoint = keycloakBaseUrl + "/token";
 
@@ -148,11 +196,11 @@ public class AuthService {
         form.add("client_id", clientInfo.getClientId());
         form.add("client_secret", clientInfo.getClientSecret());
 
-        return webClient.post()
+        return keycloakCall("refresh", webClient.post()
                 .uri(tokenEndpoint)
                 .contentType(MediaType.APPLICATION_FORM_URLENCODED)
                 .body(BodyInserters.fromFormData(form))
-                .exchangeToMono(response -> response.toEntity(String.class))
+                .exchangeToMono(response -> response.toEntity(String.class)))
                 .flatMap(entity -> {
                     if (!entity.getStatusCode().is2xxSuccessful()) {
                         return Mono.just(new AuthServiceResult<>(cookieUtils.clearCookiesHeaders(), null,
@@ -170,6 +218,18 @@ public class AuthService {
     }
 
     public Mono<AuthServiceResult<Void>> logout(ServerWebExchange exchange, String idToken) {
+        if (!sessionManager.isEnabled()) {
+            return endKeycloakSession(exchange, idToken);
+        }
+        String sessionId = sessionManager.readSessionId(exchange);
+        return sessionManager.find(sessionId)
+                .mapNotNull(session -> session.tokens().idToken())
+                .defaultIfEmpty("")
+                .flatMap(sessionIdToken -> sessionManager.delete(sessionId)
+                        .then(endKeycloakSession(exchange, sessionIdToken)));
+    }
+
+    private Mono<AuthServiceResult<Void>> endKeycloakSession(ServerWebExchange exchange, String idToken) {
         ClientInfoDto clientInfo = resolveClient(exchange, null);
         URI logoutUri = UriComponentsBuilder.fromHttpUrl(keycloakBaseUrl + "/logout")
                 .queryParam("post_logout_redirect_uri", clientInfo.getRedirectUrl())
@@ -178,23 +238,31 @@ public class AuthService {
                 .build(true)
                 .toUri();
 
-        return webClient.get()
+        return keycloakCall("logout", webClient.get()
                 .uri(logoutUri)
                 .retrieve()
-                .toBodilessEntity()
+                .toBodilessEntity())
                 .map(responseEntity -> {
-                    HttpHeaders headers = cookieUtils.clearCookiesHeaders();
+                    HttpHeaders headers = clearAuthCookies();
                     headers.setLocation(URI.create(clientInfo.getRedirectUrl()));
                     AuthServiceResult<Void> result = new AuthServiceResult<>(headers, null, HttpStatus.FOUND);
                     return result;
                 })
                 .onErrorResume(ex -> {
-                    HttpHeaders headers = cookieUtils.clearCookiesHeaders();
+                    HttpHeaders headers = clearAuthCookies();
                     AuthServiceResult<Void> result = new AuthServiceResult<>(headers, null, HttpStatus.OK);
                     return Mono.just(result);
                 });
     }
 
+    /**
+     * Time a Keycloak call as gateway.keycloak.requests, tagged by operation and outcome
+     */
+    private <T> Mono<ResponseEntity<T>> keycloakCall(String operation, Mono<ResponseEntity<T>> call) {
+        return latencyRecorder.time("gateway.keycloak.requests", Tags.of("operation", operation), call,
+                entity -> LatencyRecorder.outcomeOf(entity.getStatusCode()));
+    }
+
     private ClientInfoDto resolveClient(ServerWebExchange exchange, String clientParam) {
         String host = exchange.getRequest().getHeaders().getHost() != null
                 ? exchange.getRequest().getHeaders().getHost().getHostName()
@@ -207,6 +275,26 @@ public class AuthService {
         return new ClientInfoDto(userClientId, userClientSecret, userFrontendUrl);
     }
 
+    /**
+     * Cookies set after login: the session id in server-session mode, the tokens otherwise
+     */
+    private Mono<HttpHeaders> loginCookies(TokenDto tokenDto) {
+        if (!sessionManager.isEnabled()) {
+            return Mono.just(createTokenCookies(tokenDto));
+        }
+        return sessionManager.create(tokenDto).map(cookie -> {
+            HttpHeaders headers = new HttpHeaders();
+            headers.add(HttpHeaders.SET_COOKIE, cookie.toString());
+            return headers;
+        });
+    }
+
+    private HttpHeaders clearAuthCookies() {
+        return sessionManager.isEnabled()
+                ? cookieUtils.clearCookiesHeaders(sessionManager.cookieName())
+                : cookieUtils.clearCookiesHeaders();
+    }
+
     private HttpHeaders createTokenCookies(TokenDto tokenDto) {
         HttpHeaders headers = new HttpHeaders();
         if (tokenDto.getAccessToken() != null) {
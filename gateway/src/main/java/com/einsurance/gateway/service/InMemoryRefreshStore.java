@@ -0,0 +1,103 @@
+package com.einsurance.gateway.service;
+
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+/**
+ * Refresh store local to one gateway replica.
+ * Bounded like the session store: beyond maxEntries, expired entries and
+ * then the ones closest to expiry are evicted by a single caller.
+ */
+public class InMemoryRefreshStore implements RefreshStore {
+
+    private final ConcurrentHashMap<String, Slot> slots = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+    private final int maxEntries;
+    private final LongSupplier nanoClock;
+
+    public InMemoryRefreshStore(int maxEntries) {
+        this(maxEntries, System::nanoTime);
+    }
+
+    InMemoryRefreshStore(int maxEntries, LongSupplier nanoClock) {
+        this.maxEntries = maxEntries;
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    public Mono<Boolean> acquire(String key, Duration lease) {
+        return Mono.fromSupplier(() -> {
+            long now = nanoClock.getAsLong();
+            boolean[] acquired = new boolean[1];
+            slots.compute(key, (k, existing) -> {
+                if (existing != null && !existing.isExpired(now)) {
+                    return existing;
+                }
+                acquired[0] = true;
+                return new Slot(null, now + lease.toNanos());
+            });
+            if (acquired[0] && slots.size() > maxEntries) {
+                evict(now);
+            }
+            return acquired[0];
+        });
+    }
+
+    @Override
+    public Mono<Void> release(String key) {
+        return Mono.fromRunnable(() -> slots.computeIfPresent(key, (k, slot) -> slot.sealed == null ? null : slot));
+    }
+
+    @Override
+    public Mono<Void> publish(String key, byte[] sealed, Duration ttl) {
+        return Mono.fromRunnable(() -> slots.put(key, new Slot(sealed, nanoClock.getAsLong() + ttl.toNanos())));
+    }
+
+    @Override
+    public Mono<byte[]> result(String key) {
+        return Mono.fromSupplier(() -> {
+            Slot slot = slots.get(key);
+            return slot != null && slot.sealed != null && !slot.isExpired(nanoClock.getAsLong()) ? slot.sealed : null;
+        });
+    }
+
+    public int size() {
+        return slots.size();
+    }
+
+    private void evict(long now) {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            slots.entrySet().removeIf(entry -> entry.getValue().isExpired(now));
+            int excess = slots.size() - maxEntries * 9 / 10;
+            if (excess > 0) {
+                List<Map.Entry<String, Slot>> soonest = slots.entrySet().stream()
+                        .sorted(Comparator.comparingLong(entry -> entry.getValue().expiresAtNanos))
+                        .limit(excess)
+                        .toList();
+                soonest.forEach(entry -> slots.remove(entry.getKey(), entry.getValue()));
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    /**
+     * A lease while sealed is null, a published result otherwise
+     */
+    private record Slot(byte[] sealed, long expiresAtNanos) {
+
+        boolean isExpired(long now) {
+            return now - expiresAtNanos >= 0;
+        }
+    }
+}
@@ -0,0 +1,307 @@
+package com.einsurance.gateway.service;
+
+import com.einsurance.gateway.dto.TokenDto;
+import com.einsurance.gateway.session.SessionCipher;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * De-duplicates refresh token grants so a burst of requests arriving after
+ * the access token expired costs one Keycloak call per session.
+ * Entries are keyed by a SHA-256 of the refresh token, never the token itself.
+ * A successful result is kept for result-ttl after the call completes, so
+ * requests still carrying the old refresh token (Keycloak may already have
+ * rotated it) reuse the new tokens instead of being rejected. Failed or
+ * empty results are shared only with callers that were already waiting.
+ * The map is bounded: beyond max-entries, expired entries and then the
+ * oldest ones are evicted.
+ * Across replicas the RefreshStore decides: the replica that takes the
+ * lease calls Keycloak and publishes the tokens, sealed with a key derived
+ * from the refresh token, for result-ttl; the others poll until the tokens
+ * appear or the lease is released. If the store is unreachable each
+ * replica refreshes on its own. That needs a shared RefreshStore, which the
+ * gateway does not ship: with the default in-memory store, de-duplication
+ * stops at the replica boundary.
+ */
+@Slf4j
+@Component
+public class RefreshCoordinator {
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+    private final int maxEntries;
+    private final long resultTtlNanos;
+    private final Duration resultTtl;
+    private final Duration timeout;
+    private final Duration pollInterval;
+    private final RefreshStore store;
+    private final ObjectMapper objectMapper;
+    private final LongSupplier nanoClock;
+    private final Counter refreshes;
+    private final Counter failures;
+    private final Counter joinedInFlight;
+    private final Counter reusedResult;
+    private final Counter otherReplica;
+    private final Counter evictions;
+
+    @Autowired
+    public RefreshCoordinator(@Value("${gateway.token-refresh.max-entries:10000}") int maxEntries,
+                              @Value("${gateway.token-refresh.result-ttl:15s}") Duration resultTtl,
+                              @Value("${gateway.token-refresh.timeout:10s}") Duration timeout,
+                              @Value("${gateway.token-refresh.poll-interval:100ms}") Duration pollInterval,
+                              RefreshStore store, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this(maxEntries, resultTtl, timeout, pollInterval, store, objectMapper, meterRegistry, System::nanoTime);
+    }
+
+    RefreshCoordinator(int maxEntries, Duration resultTtl, Duration timeout, Duration pollInterval,
+                       RefreshStore store, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                       LongSupplier nanoClock) {
+        this.maxEntries = maxEntries;
+        this.resultTtlNanos = resultTtl.toNanos();
+        this.resultTtl = resultTtl;
+        this.timeout = timeout;
+        this.pollInterval = pollInterval;
+        this.store = store;
+        this.objectMapper = objectMapper;
+        this.nanoClock = nanoClock;
+        this.refreshes = Counter.builder("gateway.token.refresh")
+                .tag("outcome", "success").register(meterRegistry);
+        this.failures = Counter.builder("gateway.token.refresh")
+                .tag("outcome", "failure").register(meterRegistry);
+        this.joinedInFlight = Counter.builder("gateway.token.refresh.deduplicated")
+                .tag("source", "in-flight").register(meterRegistry);
+        this.reusedResult = Counter.builder("gateway.token.refresh.deduplicated")
+                .tag("source", "recent-result").register(meterRegistry);
+        this.otherReplica = Counter.builder("gateway.token.refresh.deduplicated")
+                .tag("source", "other-replica").register(meterRegistry);
+        this.evictions = Counter.builder("gateway.token.refresh.evictions").register(meterRegistry);
+        Gauge.builder("gateway.token.refresh.entries", entries, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * Result of the refresh grant for this token: an in-flight or recent one
+     * if there is one, otherwise the one started by the given supplier
+     * @param cookies response headers for tokens another replica obtained
+     */
+    public Mono<AuthServiceResult<TokenDto>> refresh(String refreshToken,
+                                                    Supplier<Mono<AuthServiceResult<TokenDto>>> refresher,
+                                                    Function<TokenDto, HttpHeaders> cookies) {
+        String key = hash(refreshToken);
+        long now = nanoClock.getAsLong();
+        Entry[] created = new Entry[1];
+        Entry entry = entries.compute(key, (k, existing) -> {
+            if (existing != null && !existing.isStale(now)) {
+                return existing;
+            }
+            created[0] = new Entry(k, now, () -> coordinate(k, refreshToken, refresher, cookies));
+            return created[0];
+        });
+
+        if (entry != created[0]) {
+            (entry.isSettled() ? reusedResult : joinedInFlight).increment();
+        } else if (entries.size() > maxEntries) {
+            evict(now);
+        }
+        return entry.result;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * One grant across the replicas: adopt the tokens another replica
+     * published, else take the lease and call Keycloak, else wait for the
+     * lease holder and look again
+     */
+    private Mono<AuthServiceResult<TokenDto>> coordinate(String key, String refreshToken,
+                                                         Supplier<Mono<AuthServiceResult<TokenDto>>> refresher,
+                                                         Function<TokenDto, HttpHeaders> cookies) {
+        return store.result(key)
+                .onErrorResume(error -> {
+                    log.warn("Refresh store lookup failed: {}", error.toString());
+                    return Mono.empty();
+                })
+                .flatMap(sealed -> {
+                    TokenDto tokens = open(key, refreshToken, sealed);
+                    if (tokens == null) {
+                        return redeem(key, refreshToken, refresher);
+                    }
+                    otherReplica.increment();
+                    return Mono.just(new AuthServiceResult<>(cookies.apply(tokens), tokens, HttpStatus.OK));
+                })
+                .switchIfEmpty(Mono.defer(() -> store.acquire(key, timeout)
+                        .onErrorResume(error -> {
+                            log.warn("Refresh store unavailable, refreshing without a lease: {}", error.toString());
+                            return Mono.just(true);
+                        })
+                        .flatMap(acquired -> acquired
+                                ? redeem(key, refreshToken, refresher)
+                                : Mono.delay(pollInterval)
+                                        .then(Mono.defer(() -> coordinate(key, refreshToken, refresher, cookies))))));
+    }
+
+    /**
+     * Call Keycloak under the lease; publish the tokens on success, release the lease otherwise
+     */
+    private Mono<AuthServiceResult<TokenDto>> redeem(String key, String refreshToken,
+                                                     Supplier<Mono<AuthServiceResult<TokenDto>>> refresher) {
+        return Mono.defer(refresher)
+                .onErrorResume(error -> quietly(store.release(key)).then(Mono.error(error)))
+                .flatMap(result -> {
+                    if (!isSuccess(result)) {
+                        return quietly(store.release(key)).thenReturn(result);
+                    }
+                    refreshes.increment();
+                    return quietly(store.publish(key, seal(key, refreshToken, result.getBody()), resultTtl))
+                            .thenReturn(result);
+                });
+    }
+
+    /**
+     * Store writes are best effort, the caller already has its tokens
+     */
+    private Mono<Void> quietly(Mono<Void> write) {
+        return write.onErrorResume(error -> {
+            log.warn("Refresh store update failed: {}", error.toString());
+            return Mono.empty();
+        });
+    }
+
+    private byte[] seal(String key, String refreshToken, TokenDto tokens) {
+        try {
+            byte[] plaintext = objectMapper.writeValueAsBytes(tokens);
+            return cipher(refreshToken).seal(plaintext, key.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not serialize refreshed tokens", e);
+        }
+    }
+
+    /**
+     * @return the tokens, or null if they cannot be opened with this refresh token;
+     * the caller then redeems the token itself and overwrites the result
+     */
+    private TokenDto open(String key, String refreshToken, byte[] sealed) {
+        try {
+            byte[] plaintext = cipher(refreshToken).open(sealed, key.getBytes(StandardCharsets.UTF_8));
+            return objectMapper.readValue(plaintext, TokenDto.class);
+        } catch (GeneralSecurityException | IOException e) {
+            log.warn("Discarding unreadable refresh result: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Keyed by the refresh token, so only holders of that token can read the result
+     */
+    private static SessionCipher cipher(String refreshToken) {
+        return new SessionCipher(digest("refresh-result:" + refreshToken));
+    }
+
+    private static boolean isSuccess(AuthServiceResult<TokenDto> result) {
+        return result != null && result.getStatus().is2xxSuccessful() && result.getBody() != null;
+    }
+
+    private void settle(String key, Entry entry, AuthServiceResult<TokenDto> result) {
+        if (isSuccess(result)) {
+            entry.expiresAtNanos = nanoClock.getAsLong() + resultTtlNanos;
+        } else {
+            failures.increment();
+            entries.remove(key, entry);
+        }
+    }
+
+    private void evict(long now) {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            int before = entries.size();
+            entries.entrySet().removeIf(e -> e.getValue().isStale(now));
+            int excess = entries.size() - maxEntries * 9 / 10;
+            if (excess > 0) {
+                List<Map.Entry<String, Entry>> oldest = entries.entrySet().stream()
+                        .sorted(Comparator.comparingLong(e -> e.getValue().createdAtNanos))
+                        .limit(excess)
+                        .toList();
+                oldest.forEach(e -> entries.remove(e.getKey(), e.getValue()));
+            }
+            evictions.increment(before - entries.size());
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    static String hash(String refreshToken) {
+        return HexFormat.of().formatHex(digest(refreshToken));
+    }
+
+    private static byte[] digest(String value) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private final class Entry {
+        private final long createdAtNanos;
+        private final Mono<AuthServiceResult<TokenDto>> result;
+        /**
+         * Set once the grant succeeded; until then the entry is in flight
+         */
+        private volatile long expiresAtNanos = Long.MAX_VALUE;
+
+        /**
+         * Built inside the map update so no caller can see an entry without its result;
+         * the grant itself starts on first subscription
+         */
+        private Entry(String key, long createdAtNanos, Supplier<Mono<AuthServiceResult<TokenDto>>> refresher) {
+            this.createdAtNanos = createdAtNanos;
+            this.result = Mono.defer(refresher)
+                    .timeout(timeout)
+                    .doOnSuccess(outcome -> settle(key, this, outcome))
+                    .doOnError(error -> {
+                        failures.increment();
+                        entries.remove(key, this);
+                    })
+                    .cache();
+        }
+
+        boolean isSettled() {
+            return expiresAtNanos != Long.MAX_VALUE;
+        }
+
+        /**
+         * Expired result, or an in-flight call older than the timeout that never settled
+         */
+        boolean isStale(long now) {
+            return isSettled() ? now >= expiresAtNanos : now - createdAtNanos > timeout.toNanos();
+        }
+    }
+}
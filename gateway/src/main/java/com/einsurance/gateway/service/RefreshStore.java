@@ -0,0 +1,39 @@
+package com.einsurance.gateway.service;
+
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Refresh state shared by the gateway replicas, so a refresh token is
+ * redeemed once across the cluster instead of once per replica.
+ * Implementations only see a SHA-256 of the refresh token and results
+ * sealed with a key derived from the token itself.
+ * Only the in-memory store ships with the gateway, and it coordinates the
+ * requests of one replica. Cross-replica de-duplication needs a RefreshStore
+ * bean backed by a store all replicas share, which is not provided; without
+ * one, each replica redeems a refresh token on its own.
+ */
+public interface RefreshStore {
+
+    /**
+     * Take the lease on redeeming this token
+     * @return false while another replica holds an unexpired lease or a result is published
+     */
+    Mono<Boolean> acquire(String key, Duration lease);
+
+    /**
+     * Give up the lease after a failed grant, so a waiting replica may try
+     */
+    Mono<Void> release(String key);
+
+    /**
+     * Replace the lease with the sealed tokens of a successful grant, kept for ttl
+     */
+    Mono<Void> publish(String key, byte[] sealed, Duration ttl);
+
+    /**
+     * Sealed tokens published for this token, empty if there are none (yet)
+     */
+    Mono<byte[]> result(String key);
+}
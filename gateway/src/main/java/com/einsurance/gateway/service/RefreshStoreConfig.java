@@ -0,0 +1,22 @@
+package com.einsurance.gateway.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Wires the refresh store. The in-memory store only coordinates the
+ * requests of one replica; no shared store is provided, so running several
+ * replicas needs a RefreshStore bean of the deployment's own to de-duplicate
+ * grants across them. The in-memory store backs off when one is present.
+ */
+@Configuration
+public class RefreshStoreConfig {
+
+    @Bean
+    @ConditionalOnMissingBean(RefreshStore.class)
+    public RefreshStore inMemoryRefreshStore(@Value("${gateway.token-refresh.max-entries:10000}") int maxEntries) {
+        return new InMemoryRefreshStore(maxEntries);
+    }
+}
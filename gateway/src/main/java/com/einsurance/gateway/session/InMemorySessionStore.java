@@ -0,0 +1,121 @@
+package com.einsurance.gateway.session;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Session store local to one gateway replica.
+ * Bounded like the rate limiter: beyond maxSessions, expired sessions and
+ * then the least recently used ones are evicted by a single caller.
+ */
+public class InMemorySessionStore implements SessionStore {
+
+    private final ConcurrentHashMap<String, Slot> sessions = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+    private final int maxSessions;
+    private final Clock clock;
+    private final Counter evictions;
+
+    public InMemorySessionStore(int maxSessions, MeterRegistry meterRegistry) {
+        this(maxSessions, meterRegistry, Clock.systemUTC());
+    }
+
+    InMemorySessionStore(int maxSessions, MeterRegistry meterRegistry, Clock clock) {
+        this.maxSessions = maxSessions;
+        this.clock = clock;
+        this.evictions = Counter.builder("gateway.sessions.evictions").register(meterRegistry);
+        Gauge.builder("gateway.sessions.active", sessions, Map::size).register(meterRegistry);
+    }
+
+    @Override
+    public Mono<SessionRecord> find(String key) {
+        return Mono.fromSupplier(() -> {
+            Slot slot = sessions.get(key);
+            if (slot == null) {
+                return null;
+            }
+            if (!slot.record.expiresAt().isAfter(clock.instant())) {
+                sessions.remove(key, slot);
+                return null;
+            }
+            slot.lastAccess = clock.millis();
+            return slot.record;
+        });
+    }
+
+    @Override
+    public Mono<Void> save(SessionRecord record) {
+        return Mono.fromRunnable(() -> {
+            sessions.put(record.key(), new Slot(record, clock.millis()));
+            if (sessions.size() > maxSessions) {
+                evict();
+            }
+        });
+    }
+
+    @Override
+    public Mono<Boolean> replace(String key, long expectedVersion, SessionRecord next) {
+        return Mono.fromSupplier(() -> {
+            boolean[] replaced = new boolean[1];
+            sessions.computeIfPresent(key, (k, slot) -> {
+                if (slot.record.version() != expectedVersion) {
+                    return slot;
+                }
+                replaced[0] = true;
+                return new Slot(next, clock.millis());
+            });
+            return replaced[0];
+        });
+    }
+
+    @Override
+    public Mono<Void> delete(String key) {
+        return Mono.fromRunnable(() -> sessions.remove(key));
+    }
+
+    public int size() {
+        return sessions.size();
+    }
+
+    private void evict() {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            int before = sessions.size();
+            Instant now = clock.instant();
+            sessions.entrySet().removeIf(entry -> !entry.getValue().record.expiresAt().isAfter(now));
+            int excess = sessions.size() - maxSessions * 9 / 10;
+            if (excess > 0) {
+                List<Map.Entry<String, Slot>> oldest = sessions.entrySet().stream()
+                        .sorted(Comparator.comparingLong(entry -> entry.getValue().lastAccess))
+                        .limit(excess)
+                        .toList();
+                oldest.forEach(entry -> sessions.remove(entry.getKey(), entry.getValue()));
+            }
+            evictions.increment(before - sessions.size());
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    private static final class Slot {
+        private final SessionRecord record;
+        private volatile long lastAccess;
+
+        private Slot(SessionRecord record, long lastAccess) {
+            this.record = record;
+            this.lastAccess = lastAccess;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.einsurance.gateway.session;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+
+/**
+ * AES-GCM sealing of stored sessions.
+ * The session id is bound as associated data, so a record copied under
+ * another session's key fails to open.
+ */
+public class SessionCipher {
+
+    private static final String TRANSFORMATION = "AES/GCM/NoPadding";
+    private static final int IV_LENGTH = 12;
+    private static final int TAG_BITS = 128;
+    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+
+    private final SecretKeySpec key;
+
+    public SessionCipher(byte[] key) {
+        if (key.length != 16 && key.length != 24 && key.length != 32) {
+            throw new IllegalArgumentException("Session encryption key must be 16, 24 or 32 bytes");
+        }
+        this.key = new SecretKeySpec(key, "AES");
+    }
+
+    static byte[] randomKey() {
+        byte[] key = new byte[32];
+        SECURE_RANDOM.nextBytes(key);
+        return key;
+    }
+
+    /**
+     * @return IV followed by ciphertext and tag
+     */
+    public byte[] seal(byte[] plaintext, byte[] associatedData) {
+        try {
+            byte[] iv = new byte[IV_LENGTH];
+            SECURE_RANDOM.nextBytes(iv);
+            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+            cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, iv));
+            cipher.updateAAD(associatedData);
+            byte[] ciphertext = cipher.doFinal(plaintext);
+            return ByteBuffer.allocate(IV_LENGTH + ciphertext.length).put(iv).put(ciphertext).array();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not encrypt session", e);
+        }
+    }
+
+    /**
+     * @throws GeneralSecurityException if the record was tampered with or sealed under another key or id
+     */
+    public byte[] open(byte[] sealed, byte[] associatedData) throws GeneralSecurityException {
+        if (sealed.length < IV_LENGTH) {
+            throw new GeneralSecurityException("Sealed session too short");
+        }
+        Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+        cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, sealed, 0, IV_LENGTH));
+        cipher.updateAAD(associatedData);
+        return cipher.doFinal(sealed, IV_LENGTH, sealed.length - IV_LENGTH);
+    }
+}
@@ -0,0 +1,43 @@
+package com.einsurance.gateway.session;
+
+import com.einsurance.gateway.utils.CookieUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Base64;
+
+/**
+ * Wires the BFF session manager. The in-memory store backs off when another
+ * SessionStore bean is present.
+ */
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(SessionProperties.class)
+public class SessionConfig {
+
+    @Bean
+    @ConditionalOnMissingBean(SessionStore.class)
+    public SessionStore inMemorySessionStore(SessionProperties properties, MeterRegistry meterRegistry) {
+        return new InMemorySessionStore(properties.getMaxSessions(), meterRegistry);
+    }
+
+    @Bean
+    public SessionManager sessionManager(SessionProperties properties, SessionStore sessionStore,
+                                         CookieUtils cookieUtils, ObjectMapper objectMapper) {
+        byte[] key;
+        if (properties.getEncryptionKey() != null && !properties.getEncryptionKey().isBlank()) {
+            key = Base64.getDecoder().decode(properties.getEncryptionKey());
+        } else {
+            if (properties.getMode() == SessionProperties.Mode.SERVER) {
+                log.warn("gateway.session.encryption-key is not set, sessions will not survive a restart");
+            }
+            key = SessionCipher.randomKey();
+        }
+        return new SessionManager(properties, sessionStore, new SessionCipher(key), cookieUtils, objectMapper);
+    }
+}
@@ -0,0 +1,171 @@
+package com.einsurance.gateway.session;
+
+import com.einsurance.gateway.dto.TokenDto;
+import com.einsurance.gateway.session.SessionStore.SessionRecord;
+import com.einsurance.gateway.utils.CookieUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpCookie;
+import org.springframework.http.ResponseCookie;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.function.Function;
+
+/**
+ * Server-side BFF sessions: an opaque, random session id in a cookie,
+ * mapped to the user's tokens in the SessionStore.
+ * Records are stored under a SHA-256 of the session id and sealed with
+ * AES-GCM, so the store alone yields neither usable cookies nor tokens.
+ * Refreshes are compare-and-set on the record version: when two replicas
+ * refresh the same session, the loser adopts the winner's tokens instead
+ * of overwriting them with a grant Keycloak may already have revoked.
+ */
+@Slf4j
+public class SessionManager {
+
+    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+
+    private final SessionProperties properties;
+    private final SessionStore store;
+    private final SessionCipher cipher;
+    private final CookieUtils cookieUtils;
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+
+    public SessionManager(SessionProperties properties, SessionStore store, SessionCipher cipher,
+                          CookieUtils cookieUtils, ObjectMapper objectMapper) {
+        this(properties, store, cipher, cookieUtils, objectMapper, Clock.systemUTC());
+    }
+
+    SessionManager(SessionProperties properties, SessionStore store, SessionCipher cipher,
+                   CookieUtils cookieUtils, ObjectMapper objectMapper, Clock clock) {
+        this.properties = properties;
+        this.store = store;
+        this.cipher = cipher;
+        this.cookieUtils = cookieUtils;
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+    }
+
+    public boolean isEnabled() {
+        return properties.getMode() == SessionProperties.Mode.SERVER;
+    }
+
+    public String cookieName() {
+        return properties.getCookieName();
+    }
+
+    /**
+     * Session id cookie of the request, or null
+     */
+    public String readSessionId(ServerWebExchange exchange) {
+        HttpCookie cookie = exchange.getRequest().getCookies().getFirst(properties.getCookieName());
+        return cookie != null && !cookie.getValue().isBlank() ? cookie.getValue() : null;
+    }
+
+    /**
+     * Store the tokens of a new login
+     * @return the cookie carrying the new session id
+     */
+    public Mono<ResponseCookie> create(TokenDto tokens) {
+        byte[] random = new byte[32];
+        SECURE_RANDOM.nextBytes(random);
+        String sessionId = Base64.getUrlEncoder().withoutPadding().encodeToString(random);
+        TokenSession session = TokenSession.from(tokens, clock.instant());
+        return store.save(seal(sessionId, 0, session))
+                .thenReturn(cookieUtils.createCookie(properties.getCookieName(), sessionId,
+                        (int) Duration.between(clock.instant(), session.sessionExpiry()).toSeconds()));
+    }
+
+    /**
+     * Live session for an id; empty if unknown, expired or unreadable
+     */
+    public Mono<LoadedSession> find(String sessionId) {
+        if (sessionId == null) {
+            return Mono.empty();
+        }
+        return store.find(keyOf(sessionId)).mapNotNull(record -> open(sessionId, record));
+    }
+
+    /**
+     * Renew the tokens of a session with a refresh grant and store them if
+     * the session has not changed meanwhile. If it has, or the grant is
+     * refused (another replica may have rotated the refresh token), the
+     * newer stored session is returned instead; empty if there is none.
+     */
+    public Mono<TokenSession> refresh(String sessionId, LoadedSession current,
+                                      Function<String, Mono<TokenDto>> refreshGrant) {
+        String key = keyOf(sessionId);
+        return refreshGrant.apply(current.tokens().refreshToken())
+                .flatMap(tokens -> {
+                    TokenSession renewed = current.tokens().renewedWith(tokens, clock.instant());
+                    return store.replace(key, current.version(), seal(sessionId, current.version() + 1, renewed))
+                            .filter(Boolean::booleanValue)
+                            .map(replaced -> renewed);
+                })
+                .switchIfEmpty(Mono.defer(() -> find(sessionId)
+                        .filter(stored -> stored.version() > current.version())
+                        .map(LoadedSession::tokens)));
+    }
+
+    public Mono<Void> delete(String sessionId) {
+        return sessionId != null ? store.delete(keyOf(sessionId)) : Mono.empty();
+    }
+
+    private SessionRecord seal(String sessionId, long version, TokenSession session) {
+        try {
+            byte[] sealed = cipher.seal(objectMapper.writeValueAsBytes(session), associatedData(sessionId));
+            return new SessionRecord(keyOf(sessionId), version, sealed, session.sessionExpiry());
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not serialize session", e);
+        }
+    }
+
+    private LoadedSession open(String sessionId, SessionRecord record) {
+        if (!record.expiresAt().isAfter(clock.instant())) {
+            return null;
+        }
+        try {
+            byte[] json = cipher.open(record.sealed(), associatedData(sessionId));
+            return new LoadedSession(record.version(), objectMapper.readValue(json, TokenSession.class));
+        } catch (GeneralSecurityException | IOException e) {
+            log.warn("Discarding unreadable session record: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static byte[] associatedData(String sessionId) {
+        return sessionId.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    static String keyOf(String sessionId) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                    .digest(sessionId.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * A decrypted session and the store version it was read at
+     */
+    public record LoadedSession(long version, TokenSession tokens) {
+
+        public boolean accessTokenValidAt(Instant instant) {
+            return tokens.accessTokenExpiry().isAfter(instant);
+        }
+    }
+}
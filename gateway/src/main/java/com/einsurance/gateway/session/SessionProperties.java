@@ -0,0 +1,33 @@
+package com.einsurance.gateway.session;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * BFF session settings, bound from gateway.session.*
+ * In COOKIE mode (the default) the tokens travel in the AT/RT/IT cookies.
+ * In SERVER mode the browser only holds an opaque session id cookie and the
+ * tokens stay in a gateway-side SessionStore, encrypted.
+ */
+@Data
+@ConfigurationProperties(prefix = "gateway.session")
+public class SessionProperties {
+
+    public enum Mode { COOKIE, SERVER }
+
+    private Mode mode = Mode.COOKIE;
+
+    private String cookieName = "SID";
+
+    /**
+     * Upper bound of the in-memory store; least recently used sessions are evicted beyond it
+     */
+    private int maxSessions = 100_000;
+
+    /**
+     * Base64 AES key (16, 24 or 32 bytes) sealing the stored tokens. Replicas
+     * sharing a store need the same key; without one a random key is generated
+     * and sessions do not survive a restart.
+     */
+    private String encryptionKey;
+}
@@ -0,0 +1,34 @@
+package com.einsurance.gateway.session;
+
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+/**
+ * Storage for sealed BFF sessions.
+ * Implementations only ever see a hash of the session id and the encrypted
+ * tokens. The in-memory store is used unless another SessionStore bean is
+ * defined, e.g. one backed by a store shared by all gateway replicas.
+ */
+public interface SessionStore {
+
+    Mono<SessionRecord> find(String key);
+
+    Mono<Void> save(SessionRecord record);
+
+    /**
+     * Replace a session only if it is still at the expected version
+     * @return false if it changed in the meantime or no longer exists
+     */
+    Mono<Boolean> replace(String key, long expectedVersion, SessionRecord next);
+
+    Mono<Void> delete(String key);
+
+    /**
+     * @param key hash of the session id
+     * @param sealed encrypted TokenSession
+     * @param expiresAt after which the record may be dropped
+     */
+    record SessionRecord(String key, long version, byte[] sealed, Instant expiresAt) {
+    }
+}
@@ -0,0 +1,41 @@
+package com.einsurance.gateway.session;
+
+import com.einsurance.gateway.dto.TokenDto;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Tokens of one BFF session, as held (encrypted) in the session store
+ * @param accessExpiresAt epoch seconds
+ * @param refreshExpiresAt epoch seconds, also the lifetime of the session
+ */
+public record TokenSession(String accessToken, String refreshToken, String idToken,
+                           long accessExpiresAt, long refreshExpiresAt) {
+
+    static TokenSession from(TokenDto tokens, Instant now) {
+        return new TokenSession(tokens.getAccessToken(), tokens.getRefreshToken(), tokens.getIdToken(),
+                now.getEpochSecond() + Optional.ofNullable(tokens.getExpiresIn()).orElse(20),
+                now.getEpochSecond() + Optional.ofNullable(tokens.getRefreshExpiresIn()).orElse(3600));
+    }
+
+    /**
+     * Session after a refresh grant; tokens Keycloak did not rotate are kept
+     */
+    TokenSession renewedWith(TokenDto tokens, Instant now) {
+        TokenSession renewed = from(tokens, now);
+        return new TokenSession(renewed.accessToken(),
+                renewed.refreshToken() != null ? renewed.refreshToken() : refreshToken,
+                renewed.idToken() != null ? renewed.idToken() : idToken,
+                renewed.accessExpiresAt(),
+                tokens.getRefreshExpiresIn() != null ? renewed.refreshExpiresAt() : refreshExpiresAt);
+    }
+
+    public Instant accessTokenExpiry() {
+        return Instant.ofEpochSecond(accessExpiresAt);
+    }
+
+    public Instant sessionExpiry() {
+        return Instant.ofEpochSecond(refreshExpiresAt);
+    }
+}
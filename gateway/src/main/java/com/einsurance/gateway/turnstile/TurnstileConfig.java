@@ -0,0 +1,42 @@
+package com.einsurance.gateway.turnstile;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.channel.ChannelOption;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Wires the Turnstile verifier with its own connection pool, so slow
+ * verifications cannot take connections from the routes or Keycloak calls
+ */
+@Configuration
+@EnableConfigurationProperties(TurnstileProperties.class)
+public class TurnstileConfig {
+
+    @Bean
+    public TurnstileVerifier turnstileVerifier(TurnstileProperties properties, WebClient.Builder webClientBuilder,
+                                               MeterRegistry meterRegistry) {
+        return new TurnstileVerifier(properties, verifierClient(webClientBuilder, properties), meterRegistry);
+    }
+
+    static WebClient verifierClient(WebClient.Builder webClientBuilder, TurnstileProperties properties) {
+        TurnstileProperties.Client settings = properties.getClient();
+        ConnectionProvider pool = ConnectionProvider.builder("turnstile")
+                .maxConnections(settings.getMaxConnections())
+                .pendingAcquireTimeout(settings.getPendingAcquireTimeout())
+                .maxIdleTime(settings.getMaxIdleTime())
+                .build();
+        HttpClient httpClient = HttpClient.create(pool)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) settings.getConnectTimeout().toMillis())
+                .responseTimeout(settings.getTimeout());
+        return webClientBuilder.clone()
+                .baseUrl(properties.getVerifyUrl())
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+}
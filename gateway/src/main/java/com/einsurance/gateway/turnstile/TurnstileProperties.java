@@ -0,0 +1,75 @@
+package com.einsurance.gateway.turnstile;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Cloudflare Turnstile verification, bound from turnstile.*
+ */
+@Data
+@ConfigurationProperties(prefix = "turnstile")
+public class TurnstileProperties {
+
+    public enum FailMode { CLOSED, OPEN }
+
+    private String secret;
+
+    /**
+     * Base URL of the siteverify endpoint; point it at a stand-in verifier for local runs and tests
+     */
+    private String verifyUrl = "https://challenges.cloudflare.com";
+
+    private String cookieName = "human";
+
+    private long cookieMaxAgeHours = 24;
+
+    /**
+     * What to answer when the verifier cannot be reached or its breaker is open:
+     * CLOSED rejects the challenge, OPEN lets the user through
+     */
+    private FailMode failMode = FailMode.CLOSED;
+
+    private Client client = new Client();
+
+    private Breaker breaker = new Breaker();
+
+    private Cache cache = new Cache();
+
+    @Data
+    public static class Client {
+        private int maxConnections = 50;
+        /**
+         * How long a verification may wait for a pooled connection
+         */
+        private Duration pendingAcquireTimeout = Duration.ofSeconds(1);
+        private Duration maxIdleTime = Duration.ofSeconds(30);
+        private Duration connectTimeout = Duration.ofSeconds(1);
+        /**
+         * Hard limit for one verification, connection included
+         */
+        private Duration timeout = Duration.ofSeconds(3);
+    }
+
+    @Data
+    public static class Breaker {
+        /**
+         * Consecutive failures (errors, 5xx, timeouts) that open the breaker
+         */
+        private int failureThreshold = 5;
+        /**
+         * How long the breaker stays open before one trial call is let through
+         */
+        private Duration openDuration = Duration.ofSeconds(30);
+    }
+
+    @Data
+    public static class Cache {
+        /**
+         * How long a successful verification is reused for the same token and client IP
+         */
+        private Duration ttl = Duration.ofMinutes(2);
+        private int maxEntries = 10_000;
+    }
+}
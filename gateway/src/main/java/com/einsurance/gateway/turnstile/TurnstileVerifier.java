@@ -0,0 +1,268 @@
+package com.einsurance.gateway.turnstile;
+
+import com.einsurance.gateway.metrics.LatencyRecorder;
+import com.einsurance.gateway.turnstile.TurnstileProperties.FailMode;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Verifies Turnstile tokens against the siteverify endpoint.
+ * Identical verifications (same token and client IP) share one call while it
+ * is in flight, and a successful one is reused for cache.ttl: Turnstile tokens
+ * are single-use, so without this a double-submitted form fails with
+ * timeout-or-duplicate. Entries are keyed by a SHA-256, never the token itself.
+ * Consecutive verifier failures open a breaker; while it is open, and for
+ * verifier errors, the answer follows turnstile.fail-mode.
+ */
+@Slf4j
+public class TurnstileVerifier {
+
+    public enum Outcome {
+        VERIFIED,
+        REJECTED,
+        /**
+         * Verifier unavailable, challenge rejected (fail-closed)
+         */
+        UNAVAILABLE,
+        /**
+         * Verifier unavailable, challenge let through (fail-open)
+         */
+        BYPASSED;
+
+        public boolean isPassed() {
+            return this == VERIFIED || this == BYPASSED;
+        }
+    }
+
+    public record Verification(Outcome outcome, String errorCodes) {
+    }
+
+    private static final String SITEVERIFY_PATH = "/turnstile/v0/siteverify";
+
+    private final TurnstileProperties properties;
+    private final WebClient webClient;
+    private final LongSupplier nanoClock;
+    private final LatencyRecorder latencyRecorder;
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+    private final Breaker breaker;
+    private final Map<Outcome, Counter> outcomes = new EnumMap<>(Outcome.class);
+    private final Counter deduplicated;
+    private final Counter evictions;
+
+    public TurnstileVerifier(TurnstileProperties properties, WebClient webClient, MeterRegistry meterRegistry) {
+        this(properties, webClient, meterRegistry, System::nanoTime);
+    }
+
+    TurnstileVerifier(TurnstileProperties properties, WebClient webClient, MeterRegistry meterRegistry,
+                      LongSupplier nanoClock) {
+        this.properties = properties;
+        this.webClient = webClient;
+        this.nanoClock = nanoClock;
+        this.latencyRecorder = new LatencyRecorder(meterRegistry);
+        this.breaker = new Breaker();
+        for (Outcome outcome : Outcome.values()) {
+            outcomes.put(outcome, Counter.builder("gateway.turnstile.verifications")
+                    .tag("outcome", outcome.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+        this.deduplicated = Counter.builder("gateway.turnstile.deduplicated").register(meterRegistry);
+        this.evictions = Counter.builder("gateway.turnstile.cache.evictions").register(meterRegistry);
+        Gauge.builder("gateway.turnstile.cache.entries", entries, Map::size).register(meterRegistry);
+        Gauge.builder("gateway.turnstile.breaker.open", breaker, b -> b.isOpen(nanoClock.getAsLong()) ? 1 : 0)
+                .register(meterRegistry);
+    }
+
+    public Mono<Verification> verify(String token, String remoteIp) {
+        String key = hash(token + "|" + (remoteIp != null ? remoteIp : ""));
+        long now = nanoClock.getAsLong();
+        Entry[] created = new Entry[1];
+        Entry entry = entries.compute(key, (k, existing) -> {
+            if (existing != null && !existing.isStale(now)) {
+                return existing;
+            }
+            created[0] = new Entry(k, now, token, remoteIp);
+            return created[0];
+        });
+
+        if (entry != created[0]) {
+            deduplicated.increment();
+        } else if (entries.size() > properties.getCache().getMaxEntries()) {
+            evict(now);
+        }
+        return entry.result;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private Mono<Verification> callVerifier(String token, String remoteIp) {
+        if (!breaker.tryAcquire(nanoClock.getAsLong())) {
+            return Mono.just(unavailable("breaker open"));
+        }
+
+        MultiValueMap<String, String> form = new LinkedMultiValueMap<>();
+        form.add("secret", properties.getSecret());
+        form.add("response", token);
+        if (remoteIp != null) {
+            form.add("remoteip", remoteIp);
+        }
+
+        Mono<JsonNode> call = webClient.post()
+                .uri(SITEVERIFY_PATH)
+                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                .body(BodyInserters.fromFormData(form))
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .timeout(properties.getClient().getTimeout());
+        return latencyRecorder.time("gateway.turnstile.requests", Tags.empty(), call,
+                        json -> json.path("success").asBoolean(false) ? "verified" : "rejected")
+                .map(json -> {
+                    breaker.onSuccess();
+                    return json.path("success").asBoolean(false)
+                            ? new Verification(Outcome.VERIFIED, null)
+                            : new Verification(Outcome.REJECTED, json.path("error-codes").toString());
+                })
+                .onErrorResume(error -> {
+                    breaker.onFailure(nanoClock.getAsLong());
+                    return Mono.just(unavailable(error.toString()));
+                });
+    }
+
+    private Verification unavailable(String reason) {
+        log.warn("Turnstile verifier unavailable ({}), failing {}", reason, properties.getFailMode());
+        return new Verification(properties.getFailMode() == FailMode.OPEN ? Outcome.BYPASSED : Outcome.UNAVAILABLE,
+                null);
+    }
+
+    private void settle(String key, Entry entry, Verification verification) {
+        outcomes.get(verification.outcome()).increment();
+        if (verification.outcome() == Outcome.VERIFIED) {
+            entry.expiresAtNanos = nanoClock.getAsLong() + properties.getCache().getTtl().toNanos();
+        } else {
+            entries.remove(key, entry);
+        }
+    }
+
+    private void evict(long now) {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            int before = entries.size();
+            entries.entrySet().removeIf(e -> e.getValue().isStale(now));
+            int excess = entries.size() - properties.getCache().getMaxEntries() * 9 / 10;
+            if (excess > 0) {
+                List<Map.Entry<String, Entry>> oldest = entries.entrySet().stream()
+                        .sorted(Comparator.comparingLong(e -> e.getValue().createdAtNanos))
+                        .limit(excess)
+                        .toList();
+                oldest.forEach(e -> entries.remove(e.getKey(), e.getValue()));
+            }
+            evictions.increment(before - entries.size());
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    static String hash(String value) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                    .digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private final class Entry {
+        private final long createdAtNanos;
+        private final Mono<Verification> result;
+        /**
+         * Set once the token was verified; until then the entry is in flight
+         */
+        private volatile long expiresAtNanos = Long.MAX_VALUE;
+
+        private Entry(String key, long createdAtNanos, String token, String remoteIp) {
+            this.createdAtNanos = createdAtNanos;
+            this.result = Mono.defer(() -> callVerifier(token, remoteIp))
+                    .doOnSuccess(verification -> settle(key, this, verification))
+                    .cache();
+        }
+
+        /**
+         * Expired result, or an in-flight call older than the timeout that never settled
+         */
+        boolean isStale(long now) {
+            return expiresAtNanos != Long.MAX_VALUE
+                    ? now >= expiresAtNanos
+                    : now - createdAtNanos > properties.getClient().getTimeout().toNanos();
+        }
+    }
+
+    /**
+     * Consecutive-failure breaker: opens after failure-threshold failures, then
+     * lets a single trial call through once open-duration has passed
+     */
+    private final class Breaker {
+        private final AtomicInteger failures = new AtomicInteger();
+        private final AtomicBoolean trialInFlight = new AtomicBoolean();
+        private volatile long openUntilNanos;
+        private volatile boolean open;
+
+        boolean tryAcquire(long now) {
+            if (!open) {
+                return true;
+            }
+            return now >= openUntilNanos && trialInFlight.compareAndSet(false, true);
+        }
+
+        boolean isOpen(long now) {
+            return open && now < openUntilNanos;
+        }
+
+        void onSuccess() {
+            failures.set(0);
+            if (open) {
+                log.info("Turnstile verifier recovered, closing breaker");
+            }
+            open = false;
+            trialInFlight.set(false);
+        }
+
+        void onFailure(long now) {
+            if (trialInFlight.get() || failures.incrementAndGet() >= properties.getBreaker().getFailureThreshold()) {
+                if (!open) {
+                    log.warn("Turnstile verifier failed {} times in a row, opening breaker for {}",
+                            failures.get(), properties.getBreaker().getOpenDuration());
+                }
+                openUntilNanos = now + properties.getBreaker().getOpenDuration().toNanos();
+                open = true;
+                trialInFlight.set(false);
+            }
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.einsurance.gateway.utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Reads claims from a JWT payload without verifying the signature.
+ * Only for gateway-side decisions (bucketing, refresh timing); the services
+ * downstream verify every token they accept.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JwtUtils {
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Subject claim, or null for malformed tokens
+     */
+    public String subject(String jwt) {
+        JsonNode sub = payload(jwt).get("sub");
+        return sub != null && sub.isTextual() ? sub.asText() : null;
+    }
+
+    /**
+     * Expiry claim, or null for malformed tokens or tokens without one
+     */
+    public Instant expiresAt(String jwt) {
+        JsonNode exp = payload(jwt).get("exp");
+        return exp != null && exp.canConvertToLong() ? Instant.ofEpochSecond(exp.asLong()) : null;
+    }
+
+    private JsonNode payload(String jwt) {
+        if (jwt == null) {
+            return objectMapper.missingNode();
+        }
+        int firstDot = jwt.indexOf('.');
+        int secondDot = jwt.indexOf('.', firstDot + 1);
+        if (firstDot < 0 || secondDot < 0) {
+            return objectMapper.missingNode();
+        }
+        try {
+            byte[] payload = Base64.getUrlDecoder().decode(jwt.substring(firstDot + 1, secondDot));
+            return objectMapper.readTree(new String(payload, StandardCharsets.UTF_8));
+        } catch (Exception e) {
+            log.debug("Could not read JWT payload: {}", e.getMessage());
+            return objectMapper.missingNode();
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.einsurance.gateway.coalescing;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RequestCoalescingFilter
+ */
+class RequestCoalescingFilterTest {
+
+    private static final String BODY = "{\"templates\":[\"auto\",\"home\"]}";
+
+    private CoalescingProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private RequestCoalescingFilter filter;
+    private Sinks.Empty<Void> upstream;
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+
+    /**
+     * Stands in for the routing filters: answers once the test releases upstream
+     */
+    private final GatewayFilterChain chain = exchange -> {
+        upstreamCalls.incrementAndGet();
+        return upstream.asMono().then(Mono.defer(() -> {
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.OK);
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            return response.writeWith(Mono.just(response.bufferFactory()
+                    .wrap(BODY.getBytes(StandardCharsets.UTF_8))));
+        }));
+    };
+
+    @BeforeEach
+    void setUp() {
+        properties = new CoalescingProperties();
+        CoalescingProperties.RouteSettings policyRoute = new CoalescingProperties.RouteSettings();
+        policyRoute.setPaths(List.of("/api/policies/templates/**"));
+        properties.getRoutes().put("policy-service", policyRoute);
+        properties.setWaitTimeout(Duration.ofSeconds(2));
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new RequestCoalescingFilter(properties, meterRegistry);
+        upstream = Sinks.empty();
+    }
+
+    @Test
+    void filter_SharesOneUpstreamCall_BetweenIdenticalConcurrentGets() {
+        // Given
+        MockServerWebExchange first = get("/api/policies/templates", "token-a");
+        MockServerWebExchange second = get("/api/policies/templates", "token-a");
+        Mono<Void> firstDone = filter.filter(first, chain).cache();
+        Mono<Void> secondDone = filter.filter(second, chain).cache();
+        firstDone.subscribe();
+        secondDone.subscribe();
+
+        // When
+        upstream.tryEmitEmpty();
+        firstDone.block(Duration.ofSeconds(2));
+        secondDone.block(Duration.ofSeconds(2));
+
+        // Then
+        assertEquals(1, upstreamCalls.get());
+        assertEquals(BODY, first.getResponse().getBodyAsString().block());
+        assertEquals(BODY, second.getResponse().getBodyAsString().block());
+        assertEquals(HttpStatus.OK, second.getResponse().getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, second.getResponse().getHeaders().getContentType());
+        assertEquals(0.5, filter.coalescingRatio());
+    }
+
+    @Test
+    void filter_DoesNotShare_BetweenDifferentCredentials() {
+        // Given
+        Mono<Void> first = filter.filter(get("/api/policies/templates", "token-a"), chain).cache();
+        Mono<Void> second = filter.filter(get("/api/policies/templates", "token-b"), chain).cache();
+        first.subscribe();
+        second.subscribe();
+
+        // When
+        upstream.tryEmitEmpty();
+        first.block(Duration.ofSeconds(2));
+        second.block(Duration.ofSeconds(2));
+
+        // Then
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    @Test
+    void filter_DoesNotCoalesce_CompletedCalls() {
+        // Given
+        upstream.tryEmitEmpty();
+        filter.filter(get("/api/policies/templates", "token-a"), chain).block();
+
+        // When
+        filter.filter(get("/api/policies/templates", "token-a"), chain).block();
+
+        // Then
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    @Test
+    void filter_Bypasses_UnlistedPathsAndNonGetRequests() {
+        // Given
+        upstream.tryEmitEmpty();
+
+        // When
+        filter.filter(get("/api/policies/my-policies", "token-a"), chain).block();
+        filter.filter(exchange(MockServerHttpRequest.post("/api/policies/templates"), "policy-service"), chain).block();
+
+        // Then
+        assertEquals(2, upstreamCalls.get());
+        assertEquals(0.0, filter.coalescingRatio());
+    }
+
+    @Test
+    void filter_WaitingRequestCallsUpstream_WhenResponseTooLargeToShare() {
+        // Given
+        properties.setMaxBodySize(DataSize.ofBytes(8));
+        filter = new RequestCoalescingFilter(properties, new SimpleMeterRegistry());
+        MockServerWebExchange second = get("/api/policies/templates", "token-a");
+        Mono<Void> first = filter.filter(get("/api/policies/templates", "token-a"), chain).cache();
+        Mono<Void> secondDone = filter.filter(second, chain).cache();
+        first.subscribe();
+        secondDone.subscribe();
+
+        // When
+        upstream.tryEmitEmpty();
+        first.block(Duration.ofSeconds(2));
+        secondDone.block(Duration.ofSeconds(2));
+
+        // Then
+        assertEquals(2, upstreamCalls.get());
+        assertEquals(BODY, second.getResponse().getBodyAsString().block());
+    }
+
+    @Test
+    void filter_WaitingRequestCallsUpstream_WhenSharedCallFails() {
+        // Given
+        AtomicInteger calls = new AtomicInteger();
+        GatewayFilterChain failingOnce = exchange -> calls.incrementAndGet() == 1
+                ? upstream.asMono().then(Mono.error(new IllegalStateException("connection reset")))
+                : chain.filter(exchange);
+        MockServerWebExchange second = get("/api/policies/templates", "token-a");
+        Mono<Void> first = filter.filter(get("/api/policies/templates", "token-a"), failingOnce).cache();
+        Mono<Void> secondDone = filter.filter(second, failingOnce).cache();
+        first.subscribe(null, error -> { });
+        secondDone.subscribe();
+
+        // When
+        upstream.tryEmitEmpty();
+
+        // Then
+        assertThrows(IllegalStateException.class, () -> first.block(Duration.ofSeconds(2)));
+        secondDone.block(Duration.ofSeconds(2));
+        assertEquals(2, calls.get());
+        assertEquals(BODY, second.getResponse().getBodyAsString().block());
+        assertEquals(1.0, meterRegistry.get("gateway.coalescing.fallbacks").counter().count());
+    }
+
+    private MockServerWebExchange get(String path, String token) {
+        return exchange(MockServerHttpRequest.get(path).header(HttpHeaders.AUTHORIZATION, "Bearer " + token),
+                "policy-service");
+    }
+
+    private static MockServerWebExchange exchange(MockServerHttpRequest.BaseBuilder<?> request, String routeId) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, Route.async()
+                .id(routeId)
+                .uri(URI.create("http://localhost:8082"))
+                .predicate(e -> true)
+                .build());
+        return exchange;
+    }
+}
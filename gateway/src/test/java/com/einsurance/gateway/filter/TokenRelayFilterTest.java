@@ -0,0 +1,228 @@
+package com.einsurance.gateway.filter;
+
+import com.einsurance.gateway.dto.TokenDto;
+import com.einsurance.gateway.metrics.LatencyRecorder;
+import com.einsurance.gateway.service.AuthService;
+import com.einsurance.gateway.service.AuthServiceResult;
+import com.einsurance.gateway.session.SessionManager;
+import com.einsurance.gateway.session.SessionManager.LoadedSession;
+import com.einsurance.gateway.session.TokenSession;
+import com.einsurance.gateway.utils.CookieUtils;
+import com.einsurance.gateway.utils.JwtUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpCookie;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for TokenRelayFilter
+ */
+@ExtendWith(MockitoExtension.class)
+class TokenRelayFilterTest {
+
+    @Mock
+    private AuthService authService;
+
+    @Mock
+    private CookieUtils cookieUtils;
+
+    @Mock
+    private SessionManager sessionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private TokenRelayFilter filter;
+    private final AtomicReference<String> relayedAuthorization = new AtomicReference<>();
+
+    /**
+     * Stands in for the proxied call: records the token and commits the response
+     */
+    private final GatewayFilterChain chain = exchange -> {
+        relayedAuthorization.set(exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION));
+        return exchange.getResponse().setComplete();
+    };
+
+    @BeforeEach
+    void setUp() {
+        filter = new TokenRelayFilter(authService, cookieUtils, new JwtUtils(new ObjectMapper()), sessionManager,
+                new LatencyRecorder(meterRegistry));
+        ReflectionTestUtils.setField(filter, "proactiveRefreshWindow", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(filter, "proactiveRefreshMaxWait", Duration.ofSeconds(2));
+    }
+
+    @Test
+    void filter_RelaysAccessToken_WithoutRefresh_WhenFarFromExpiry() {
+        // Given
+        String accessToken = jwt(Instant.now().plusSeconds(240));
+
+        // When
+        filter.filter(exchange(accessToken, "rt-1"), chain).block();
+
+        // Then
+        assertEquals("Bearer " + accessToken, relayedAuthorization.get());
+        verifyNoInteractions(authService);
+    }
+
+    @Test
+    void filter_RefreshesInBackground_AndAttachesCookies_WhenCloseToExpiry() {
+        // Given
+        String accessToken = jwt(Instant.now().plusSeconds(10));
+        HttpHeaders refreshedCookies = new HttpHeaders();
+        refreshedCookies.add(HttpHeaders.SET_COOKIE, "AT=new-access; Path=/");
+        refreshedCookies.add(HttpHeaders.SET_COOKIE, "RT=new-refresh; Path=/");
+        when(authService.refreshAccessToken(eq("rt-1"), any()))
+                .thenReturn(Mono.just(new AuthServiceResult<>(refreshedCookies, new TokenDto(), HttpStatus.OK)));
+        MockServerWebExchange exchange = exchange(accessToken, "rt-1");
+
+        // When
+        filter.filter(exchange, chain).block();
+
+        // Then - proxied with the still valid token, new cookies on this response
+        assertEquals("Bearer " + accessToken, relayedAuthorization.get());
+        assertEquals(List.of("AT=new-access; Path=/", "RT=new-refresh; Path=/"),
+                exchange.getResponse().getHeaders().get(HttpHeaders.SET_COOKIE));
+    }
+
+    @Test
+    void filter_KeepsResponse_WhenBackgroundRefreshFails() {
+        // Given
+        String accessToken = jwt(Instant.now().plusSeconds(10));
+        when(authService.refreshAccessToken(anyString(), any()))
+                .thenReturn(Mono.error(new IllegalStateException("Keycloak unavailable")));
+        MockServerWebExchange exchange = exchange(accessToken, "rt-1");
+
+        // When
+        filter.filter(exchange, chain).block();
+
+        // Then
+        assertEquals("Bearer " + accessToken, relayedAuthorization.get());
+        assertNull(exchange.getResponse().getStatusCode());
+        assertFalse(exchange.getResponse().getHeaders().containsKey(HttpHeaders.SET_COOKIE));
+    }
+
+    @Test
+    void filter_RefreshesOnRequestPath_WhenAccessTokenAlreadyExpired() {
+        // Given
+        String expired = jwt(Instant.now().minusSeconds(5));
+        TokenDto tokens = new TokenDto();
+        tokens.setAccessToken("fresh-access");
+        when(authService.refreshAccessToken(eq("rt-1"), any()))
+                .thenReturn(Mono.just(new AuthServiceResult<>(new HttpHeaders(), tokens, HttpStatus.OK)));
+
+        // When
+        filter.filter(exchange(expired, "rt-1"), chain).block();
+
+        // Then
+        assertEquals("Bearer fresh-access", relayedAuthorization.get());
+    }
+
+    @Test
+    void filter_RecordsAuthPhaseTimers() {
+        // Given
+        String expired = jwt(Instant.now().minusSeconds(5));
+        TokenDto tokens = new TokenDto();
+        tokens.setAccessToken("fresh-access");
+        when(authService.refreshAccessToken(eq("rt-1"), any()))
+                .thenReturn(Mono.just(new AuthServiceResult<>(new HttpHeaders(), tokens, HttpStatus.OK)));
+
+        // When
+        filter.filter(exchange(expired, "rt-1"), chain).block();
+
+        // Then
+        assertEquals(1, phaseCount("cookie-read", "expired"));
+        assertEquals(1, phaseCount("refresh", "success"));
+        assertEquals(1, meterRegistry.get(TokenRelayFilter.PHASE_TIMER)
+                .tags("phase", "relay", "route", "none", "outcome", "success").timer().count());
+    }
+
+    @Test
+    void filter_Returns401_WhenNoTokens() {
+        // Given
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/claims/my-claims"));
+
+        // When
+        filter.filter(exchange, chain).block();
+
+        // Then
+        assertEquals(HttpStatus.UNAUTHORIZED, exchange.getResponse().getStatusCode());
+        assertNull(relayedAuthorization.get());
+    }
+
+    @Test
+    void filter_RelaysStoredToken_InServerSessionMode() {
+        // Given
+        LoadedSession session = new LoadedSession(1, new TokenSession("stored-access", "rt-1", "it-1",
+                Instant.now().plusSeconds(240).getEpochSecond(), Instant.now().plusSeconds(3600).getEpochSecond()));
+        when(sessionManager.isEnabled()).thenReturn(true);
+        when(sessionManager.readSessionId(any())).thenReturn("sid-1");
+        when(sessionManager.find("sid-1")).thenReturn(Mono.just(session));
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/claims/my-claims")
+                .cookie(new HttpCookie("SID", "sid-1")));
+
+        // When
+        filter.filter(exchange, chain).block();
+
+        // Then
+        assertEquals("Bearer stored-access", relayedAuthorization.get());
+        verifyNoInteractions(authService);
+    }
+
+    @Test
+    void filter_RefreshesSession_WhenStoredTokenExpired() {
+        // Given
+        LoadedSession session = new LoadedSession(1, new TokenSession("old-access", "rt-1", "it-1",
+                Instant.now().minusSeconds(5).getEpochSecond(), Instant.now().plusSeconds(3600).getEpochSecond()));
+        TokenSession renewed = new TokenSession("fresh-access", "rt-2", "it-1",
+                Instant.now().plusSeconds(300).getEpochSecond(), Instant.now().plusSeconds(3600).getEpochSecond());
+        when(sessionManager.isEnabled()).thenReturn(true);
+        when(sessionManager.readSessionId(any())).thenReturn("sid-1");
+        when(sessionManager.find("sid-1")).thenReturn(Mono.just(session));
+        when(authService.refreshSession(eq("sid-1"), eq(session), any())).thenReturn(Mono.just(renewed));
+
+        // When
+        filter.filter(MockServerWebExchange.from(MockServerHttpRequest.get("/api/claims/my-claims")), chain).block();
+
+        // Then - no token cookie reaches the browser
+        assertEquals("Bearer fresh-access", relayedAuthorization.get());
+    }
+
+    private long phaseCount(String phase, String outcome) {
+        return meterRegistry.get(TokenRelayFilter.PHASE_TIMER).tags("phase", phase, "outcome", outcome).timer().count();
+    }
+
+    private static MockServerWebExchange exchange(String accessToken, String refreshToken) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/api/claims/my-claims")
+                .cookie(new HttpCookie("AT", accessToken), new HttpCookie("RT", refreshToken)));
+    }
+
+    private static String jwt(Instant expiresAt) {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        String header = encoder.encodeToString("{\"alg\":\"RS256\"}".getBytes(StandardCharsets.UTF_8));
+        String payload = encoder.encodeToString(("{\"sub\":\"user-1\",\"exp\":" + expiresAt.getEpochSecond() + "}")
+                .getBytes(StandardCharsets.UTF_8));
+        return header + "." + payload + ".signature";
+    }
+}
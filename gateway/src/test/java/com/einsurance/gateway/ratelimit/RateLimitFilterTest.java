@@ -0,0 +1,218 @@
+package com.einsurance.gateway.ratelimit;
+
+import com.einsurance.gateway.ratelimit.RateLimitProperties.Bandwidth;
+import com.einsurance.gateway.ratelimit.RateLimitProperties.Policy;
+import com.einsurance.gateway.utils.JwtUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpCookie;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RateLimitFilter
+ */
+class RateLimitFilterTest {
+
+    private RateLimitProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private RateLimitFilter filter;
+    private final AtomicInteger forwarded = new AtomicInteger();
+    private final GatewayFilterChain chain = exchange -> {
+        forwarded.incrementAndGet();
+        return Mono.empty();
+    };
+    private final WebFilterChain webChain = exchange -> {
+        forwarded.incrementAndGet();
+        return Mono.empty();
+    };
+
+    @BeforeEach
+    void setUp() {
+        properties = new RateLimitProperties();
+        properties.getDefaults().setIp(bandwidth(100));
+
+        Policy claimSubmission = new Policy();
+        claimSubmission.setMethods(List.of("POST"));
+        claimSubmission.setPaths(List.of("/api/claims"));
+        claimSubmission.setUser(bandwidth(2));
+        properties.getPolicies().put("claim-submission", claimSubmission);
+
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new RateLimitFilter(properties,
+                new RateLimiter(properties, () -> 1, meterRegistry), new JwtUtils(new ObjectMapper()), meterRegistry);
+    }
+
+    @Test
+    void filter_RejectsWith429AndRetryAfter_WhenUserExceedsRoutePolicy() {
+        // Given
+        filter.filter(claimSubmission("alice", "10.0.0.1"), chain).block();
+        filter.filter(claimSubmission("alice", "10.0.0.1"), chain).block();
+
+        // When
+        MockServerWebExchange exchange = claimSubmission("alice", "10.0.0.1");
+        filter.filter(exchange, chain).block();
+
+        // Then
+        assertEquals(2, forwarded.get());
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, exchange.getResponse().getStatusCode());
+        assertEquals("30", exchange.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals(1.0, meterRegistry.get("gateway.ratelimit.rejected")
+                .tags("policy", "claim-submission", "scope", "user").counter().count());
+    }
+
+    @Test
+    void filter_LimitsEachUserSeparately() {
+        // Given
+        filter.filter(claimSubmission("alice", "10.0.0.1"), chain).block();
+        filter.filter(claimSubmission("alice", "10.0.0.1"), chain).block();
+
+        // When
+        MockServerWebExchange exchange = claimSubmission("bob", "10.0.0.1");
+        filter.filter(exchange, chain).block();
+
+        // Then
+        assertEquals(3, forwarded.get());
+        assertNull(exchange.getResponse().getStatusCode());
+        assertEquals("1", exchange.getResponse().getHeaders().getFirst(RateLimitFilter.REMAINING_HEADER));
+    }
+
+    @Test
+    void filter_AppliesOnlyDefaultPolicy_ToOtherRequests() {
+        // When
+        for (int i = 0; i < 5; i++) {
+            filter.filter(MockServerWebExchange.from(MockServerHttpRequest.get("/api/claims")
+                    .header(HttpHeaders.AUTHORIZATION, bearer("alice"))
+                    .remoteAddress(new InetSocketAddress("10.0.0.1", 50000))), chain).block();
+        }
+
+        // Then
+        assertEquals(5, forwarded.get());
+    }
+
+    @Test
+    void filter_PassesEverything_WhenDisabled() {
+        // Given
+        properties.setEnabled(false);
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            filter.filter(claimSubmission("alice", "10.0.0.1"), chain).block();
+        }
+
+        // Then
+        assertEquals(5, forwarded.get());
+    }
+
+    @Test
+    void filter_IdentifiesUser_FromAccessTokenCookie() {
+        // Given
+        filter.filter(claimSubmissionWithCookie("alice", "10.0.0.1"), chain).block();
+        filter.filter(claimSubmissionWithCookie("alice", "10.0.0.2"), chain).block();
+
+        // When
+        MockServerWebExchange exchange = claimSubmissionWithCookie("alice", "10.0.0.3");
+        filter.filter(exchange, chain).block();
+
+        // Then
+        assertEquals(2, forwarded.get());
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, exchange.getResponse().getStatusCode());
+    }
+
+    @Test
+    void localFilter_LimitsGatewayEndpoints() {
+        // Given
+        Policy login = new Policy();
+        login.setRouteId(LocalRateLimitFilter.ROUTE_ID);
+        login.setPaths(List.of("/api/v1/bff/login"));
+        login.setIp(bandwidth(1));
+        properties.getPolicies().put("bff-login", login);
+        RateLimitFilter routedFilter = new RateLimitFilter(properties,
+                new RateLimiter(properties, () -> 1, meterRegistry), new JwtUtils(new ObjectMapper()), meterRegistry);
+        LocalRateLimitFilter localFilter = new LocalRateLimitFilter(properties, routedFilter);
+        localFilter.filter(login("10.0.0.1"), webChain).block();
+
+        // When
+        MockServerWebExchange exchange = login("10.0.0.1");
+        localFilter.filter(exchange, webChain).block();
+
+        // Then
+        assertEquals(1, forwarded.get());
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, exchange.getResponse().getStatusCode());
+        assertEquals(1.0, meterRegistry.get("gateway.ratelimit.rejected")
+                .tags("policy", "bff-login", "scope", "ip").counter().count());
+    }
+
+    @Test
+    void localFilter_LeavesRoutedPathsToGlobalFilter() {
+        // Given
+        properties.getDefaults().setIp(bandwidth(1));
+        LocalRateLimitFilter localFilter = new LocalRateLimitFilter(properties, new RateLimitFilter(properties,
+                new RateLimiter(properties, () -> 1, meterRegistry), new JwtUtils(new ObjectMapper()), meterRegistry));
+
+        // When
+        for (int i = 0; i < 3; i++) {
+            localFilter.filter(claimSubmission("alice", "10.0.0.1"), webChain).block();
+        }
+
+        // Then
+        assertEquals(3, forwarded.get());
+    }
+
+    @Test
+    void subject_IsNull_ForMissingOrMalformedTokens() {
+        // When / Then
+        assertEquals("alice", filter.subject(bearer("alice")));
+        assertNull(filter.subject(null));
+        assertNull(filter.subject("Basic YWxpY2U6c2VjcmV0"));
+        assertNull(filter.subject("Bearer not-a-jwt"));
+        assertNull(filter.subject("Bearer a.%%%.c"));
+    }
+
+    private MockServerWebExchange claimSubmission(String user, String ip) {
+        return MockServerWebExchange.from(MockServerHttpRequest.post("/api/claims")
+                .header(HttpHeaders.AUTHORIZATION, bearer(user))
+                .remoteAddress(new InetSocketAddress(ip, 50000)));
+    }
+
+    private MockServerWebExchange claimSubmissionWithCookie(String user, String ip) {
+        return MockServerWebExchange.from(MockServerHttpRequest.post("/api/claims")
+                .cookie(new HttpCookie("AT", bearer(user).substring("Bearer ".length())))
+                .remoteAddress(new InetSocketAddress(ip, 50000)));
+    }
+
+    private MockServerWebExchange login(String ip) {
+        return MockServerWebExchange.from(MockServerHttpRequest.post("/api/v1/bff/login")
+                .remoteAddress(new InetSocketAddress(ip, 50000)));
+    }
+
+    private static String bearer(String subject) {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        String header = encoder.encodeToString("{\"alg\":\"RS256\"}".getBytes(StandardCharsets.UTF_8));
+        String payload = encoder.encodeToString(("{\"sub\":\"" + subject + "\"}").getBytes(StandardCharsets.UTF_8));
+        return "Bearer " + header + "." + payload + ".signature";
+    }
+
+    private static Bandwidth bandwidth(long perMinute) {
+        Bandwidth bandwidth = new Bandwidth();
+        bandwidth.setCapacity(perMinute);
+        bandwidth.setRefillPeriod(Duration.ofMinutes(1));
+        return bandwidth;
+    }
+}
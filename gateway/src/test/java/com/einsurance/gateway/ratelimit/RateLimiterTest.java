@@ -0,0 +1,122 @@
+package com.einsurance.gateway.ratelimit;
+
+import com.einsurance.gateway.ratelimit.RateLimitProperties.Bandwidth;
+import com.einsurance.gateway.ratelimit.TokenBucket.Probe;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RateLimiter
+ */
+class RateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+    private final AtomicInteger replicas = new AtomicInteger(1);
+    private RateLimitProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private RateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        properties = new RateLimitProperties();
+        properties.setMaxKeys(100);
+        meterRegistry = new SimpleMeterRegistry();
+        rateLimiter = new RateLimiter(properties, replicas::get, meterRegistry, clock::get);
+    }
+
+    @Test
+    void tryConsume_AllowsBurstUpToCapacity_ThenRejects() {
+        // Given
+        Bandwidth limit = bandwidth(3, 1, Duration.ofSeconds(10));
+
+        // When / Then
+        assertEquals(2, rateLimiter.tryConsume("user-1", limit).remaining());
+        assertEquals(1, rateLimiter.tryConsume("user-1", limit).remaining());
+        assertEquals(0, rateLimiter.tryConsume("user-1", limit).remaining());
+        Probe rejected = rateLimiter.tryConsume("user-1", limit);
+        assertFalse(rejected.allowed());
+        assertEquals(Duration.ofSeconds(10).toNanos(), rejected.nanosToWait());
+    }
+
+    @Test
+    void tryConsume_RefillsOverTime() {
+        // Given
+        Bandwidth limit = bandwidth(2, 1, Duration.ofSeconds(10));
+        rateLimiter.tryConsume("user-1", limit);
+        rateLimiter.tryConsume("user-1", limit);
+        assertFalse(rateLimiter.tryConsume("user-1", limit).allowed());
+
+        // When
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        // Then
+        assertTrue(rateLimiter.tryConsume("user-1", limit).allowed());
+        assertFalse(rateLimiter.tryConsume("user-1", limit).allowed());
+    }
+
+    @Test
+    void tryConsume_KeepsSeparateBucketsPerKey() {
+        // Given
+        Bandwidth limit = bandwidth(1, 1, Duration.ofMinutes(1));
+        assertTrue(rateLimiter.tryConsume("user-1", limit).allowed());
+
+        // When / Then
+        assertFalse(rateLimiter.tryConsume("user-1", limit).allowed());
+        assertTrue(rateLimiter.tryConsume("user-2", limit).allowed());
+    }
+
+    @Test
+    void tryConsume_DividesLimitAcrossReplicas() {
+        // Given
+        replicas.set(2);
+        Bandwidth limit = bandwidth(4, 4, Duration.ofSeconds(1));
+
+        // When
+        int allowed = 0;
+        for (int i = 0; i < 4; i++) {
+            if (rateLimiter.tryConsume("route", limit).allowed()) {
+                allowed++;
+            }
+        }
+
+        // Then
+        assertEquals(2, allowed);
+    }
+
+    @Test
+    void tryConsume_EvictsLeastRecentlyUsedBuckets_BeyondMaxKeys() {
+        // Given
+        Bandwidth limit = bandwidth(1, 1, Duration.ofHours(1));
+        assertTrue(rateLimiter.tryConsume("hot", limit).allowed());
+        for (int i = 0; i < 99; i++) {
+            clock.addAndGet(1_000);
+            rateLimiter.tryConsume("ip-" + i, limit);
+            rateLimiter.tryConsume("hot", limit);
+        }
+
+        // When - one key too many
+        clock.addAndGet(1_000);
+        rateLimiter.tryConsume("ip-99", limit);
+
+        // Then
+        assertEquals(90, rateLimiter.size());
+        assertFalse(rateLimiter.tryConsume("hot", limit).allowed(), "recently used bucket survives");
+        assertTrue(rateLimiter.tryConsume("ip-0", limit).allowed(), "oldest bucket was evicted");
+        assertTrue(meterRegistry.get("gateway.ratelimit.evictions").counter().count() > 0);
+    }
+
+    private static Bandwidth bandwidth(long capacity, long refillTokens, Duration refillPeriod) {
+        Bandwidth bandwidth = new Bandwidth();
+        bandwidth.setCapacity(capacity);
+        bandwidth.setRefillTokens(refillTokens);
+        bandwidth.setRefillPeriod(refillPeriod);
+        return bandwidth;
+    }
+}
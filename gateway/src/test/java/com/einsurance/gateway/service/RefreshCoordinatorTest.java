@@ -0,0 +1,220 @@
+package com.einsurance.gateway.service;
+
+import com.einsurance.gateway.dto.TokenDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RefreshCoordinator
+ */
+class RefreshCoordinatorTest {
+
+    private static final Function<TokenDto, HttpHeaders> COOKIES = tokens -> {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(HttpHeaders.SET_COOKIE, "AT=" + tokens.getAccessToken());
+        return headers;
+    };
+
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicInteger grants = new AtomicInteger();
+    private SimpleMeterRegistry meterRegistry;
+    private InMemoryRefreshStore store;
+    private RefreshCoordinator coordinator;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        store = new InMemoryRefreshStore(3, clock::get);
+        coordinator = replica(meterRegistry);
+    }
+
+    @Test
+    void refresh_SharesOneGrant_BetweenConcurrentRequests() {
+        // Given
+        Sinks.One<AuthServiceResult<TokenDto>> keycloak = Sinks.one();
+        Mono<AuthServiceResult<TokenDto>> first = coordinator.refresh("rt-1", () -> grant(keycloak.asMono()), COOKIES);
+        Mono<AuthServiceResult<TokenDto>> second = coordinator.refresh("rt-1", () -> grant(keycloak.asMono()), COOKIES);
+        first.subscribe();
+        second.subscribe();
+
+        // When
+        keycloak.tryEmitValue(success("at-2"));
+
+        // Then
+        assertEquals("at-2", first.block().getBody().getAccessToken());
+        assertEquals("at-2", second.block().getBody().getAccessToken());
+        assertEquals(1, grants.get());
+        assertEquals(1.0, meterRegistry.get("gateway.token.refresh.deduplicated")
+                .tag("source", "in-flight").counter().count());
+    }
+
+    @Test
+    void refresh_ReusesRecentResult_UntilItExpires() {
+        // Given
+        coordinator.refresh("rt-1", () -> grant(Mono.just(success("at-2"))), COOKIES).block();
+
+        // When
+        clock.addAndGet(Duration.ofSeconds(14).toNanos());
+        AuthServiceResult<TokenDto> reused = coordinator.refresh("rt-1",
+                () -> grant(Mono.just(success("at-3"))), COOKIES).block();
+        clock.addAndGet(Duration.ofSeconds(1).toNanos());
+        AuthServiceResult<TokenDto> renewed = coordinator.refresh("rt-1",
+                () -> grant(Mono.just(success("at-4"))), COOKIES).block();
+
+        // Then
+        assertEquals("at-2", reused.getBody().getAccessToken());
+        assertEquals("at-4", renewed.getBody().getAccessToken());
+        assertEquals(2, grants.get());
+    }
+
+    @Test
+    void refresh_DoesNotKeepFailedResults() {
+        // Given
+        AuthServiceResult<TokenDto> rejected = new AuthServiceResult<>(new HttpHeaders(), null, HttpStatus.UNAUTHORIZED);
+        coordinator.refresh("rt-1", () -> grant(Mono.just(rejected)), COOKIES).block();
+        assertThrows(IllegalStateException.class, () -> coordinator.refresh("rt-1",
+                () -> grant(Mono.error(new IllegalStateException("Keycloak unavailable"))), COOKIES).block());
+
+        // When
+        AuthServiceResult<TokenDto> retried = coordinator.refresh("rt-1",
+                () -> grant(Mono.just(success("at-2"))), COOKIES).block();
+
+        // Then
+        assertEquals("at-2", retried.getBody().getAccessToken());
+        assertEquals(3, grants.get());
+        assertEquals(2.0, meterRegistry.get("gateway.token.refresh").tag("outcome", "failure").counter().count());
+    }
+
+    @Test
+    void refresh_StartsNewGrant_WhenInFlightCallOutlivedTimeout() {
+        // Given
+        coordinator.refresh("rt-1", () -> grant(Mono.never()), COOKIES).subscribe();
+
+        // When
+        clock.addAndGet(Duration.ofSeconds(11).toNanos());
+        AuthServiceResult<TokenDto> result = coordinator.refresh("rt-1",
+                () -> grant(Mono.just(success("at-2"))), COOKIES).block();
+
+        // Then
+        assertEquals("at-2", result.getBody().getAccessToken());
+        assertEquals(2, grants.get());
+    }
+
+    @Test
+    void refresh_StaysBounded() {
+        // When
+        for (int i = 0; i < 10; i++) {
+            clock.addAndGet(1_000);
+            coordinator.refresh("rt-" + i, () -> grant(Mono.just(success("at"))), COOKIES).block();
+        }
+
+        // Then
+        assertTrue(coordinator.size() <= 3);
+    }
+
+    @Test
+    void refresh_AdoptsTokens_PublishedByAnotherReplica() {
+        // Given
+        RefreshCoordinator otherReplica = replica(new SimpleMeterRegistry());
+        otherReplica.refresh("rt-1", () -> grant(Mono.just(success("at-2"))), COOKIES).block();
+
+        // When
+        AuthServiceResult<TokenDto> adopted = coordinator.refresh("rt-1",
+                () -> grant(Mono.just(success("at-3"))), COOKIES).block();
+
+        // Then
+        assertEquals("at-2", adopted.getBody().getAccessToken());
+        assertEquals("AT=at-2", adopted.getHeaders().getFirst(HttpHeaders.SET_COOKIE));
+        assertEquals(1, grants.get());
+        assertEquals(1.0, meterRegistry.get("gateway.token.refresh.deduplicated")
+                .tag("source", "other-replica").counter().count());
+    }
+
+    @Test
+    void refresh_WaitsForLeaseHolder_OnAnotherReplica() {
+        // Given
+        Sinks.One<AuthServiceResult<TokenDto>> keycloak = Sinks.one();
+        RefreshCoordinator otherReplica = replica(new SimpleMeterRegistry());
+        otherReplica.refresh("rt-1", () -> grant(keycloak.asMono()), COOKIES).subscribe();
+        Mono<AuthServiceResult<TokenDto>> waiting = coordinator.refresh("rt-1",
+                () -> grant(Mono.just(success("at-3"))), COOKIES).cache();
+        waiting.subscribe();
+
+        // When
+        keycloak.tryEmitValue(success("at-2"));
+
+        // Then
+        assertEquals("at-2", waiting.block(Duration.ofSeconds(5)).getBody().getAccessToken());
+        assertEquals(1, grants.get());
+    }
+
+    @Test
+    void refresh_TakesOver_WhenLeaseHolderFails() {
+        // Given
+        Sinks.One<AuthServiceResult<TokenDto>> keycloak = Sinks.one();
+        RefreshCoordinator otherReplica = replica(new SimpleMeterRegistry());
+        otherReplica.refresh("rt-1", () -> grant(keycloak.asMono()), COOKIES).subscribe(result -> {}, error -> {});
+        Mono<AuthServiceResult<TokenDto>> waiting = coordinator.refresh("rt-1",
+                () -> grant(Mono.just(success("at-3"))), COOKIES).cache();
+        waiting.subscribe();
+
+        // When
+        keycloak.tryEmitError(new IllegalStateException("Keycloak unavailable"));
+
+        // Then
+        assertEquals("at-3", waiting.block(Duration.ofSeconds(5)).getBody().getAccessToken());
+        assertEquals(2, grants.get());
+    }
+
+    @Test
+    void refresh_PublishesOnlySealedTokens() {
+        // When
+        coordinator.refresh("rt-1", () -> grant(Mono.just(success("at-2"))), COOKIES).block();
+
+        // Then
+        byte[] sealed = store.result(RefreshCoordinator.hash("rt-1")).block();
+        assertNotNull(sealed);
+        assertFalse(new String(sealed, StandardCharsets.ISO_8859_1).contains("at-2"));
+    }
+
+    @Test
+    void hash_DoesNotExposeToken() {
+        // When
+        String key = RefreshCoordinator.hash("eyJhbGciOiJIUzI1NiJ9.refresh");
+
+        // Then
+        assertEquals(64, key.length());
+        assertFalse(key.contains("refresh"));
+        assertEquals(key, RefreshCoordinator.hash("eyJhbGciOiJIUzI1NiJ9.refresh"));
+    }
+
+    private RefreshCoordinator replica(SimpleMeterRegistry registry) {
+        return new RefreshCoordinator(3, Duration.ofSeconds(15), Duration.ofSeconds(10), Duration.ofMillis(10),
+                store, new ObjectMapper(), registry, clock::get);
+    }
+
+    private Mono<AuthServiceResult<TokenDto>> grant(Mono<AuthServiceResult<TokenDto>> keycloak) {
+        grants.incrementAndGet();
+        return keycloak;
+    }
+
+    private static AuthServiceResult<TokenDto> success(String accessToken) {
+        TokenDto tokens = new TokenDto();
+        tokens.setAccessToken(accessToken);
+        return new AuthServiceResult<>(new HttpHeaders(), tokens, HttpStatus.OK);
+    }
+}
@@ -0,0 +1,208 @@
+package com.einsurance.gateway.session;
+
+import com.einsurance.gateway.dto.TokenDto;
+import com.einsurance.gateway.session.SessionManager.LoadedSession;
+import com.einsurance.gateway.utils.CookieUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseCookie;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SessionManager
+ */
+class SessionManagerTest {
+
+    private static final Instant NOW = Instant.parse("2025-03-01T10:00:00Z");
+    private static final byte[] KEY = SessionCipher.randomKey();
+
+    private SessionProperties properties;
+    private InMemorySessionStore store;
+    private SessionManager manager;
+
+    @BeforeEach
+    void setUp() {
+        properties = new SessionProperties();
+        properties.setMode(SessionProperties.Mode.SERVER);
+        store = new InMemorySessionStore(100, new SimpleMeterRegistry(), tickingClock());
+        manager = managerAt(NOW);
+    }
+
+    @Test
+    void create_StoresSession_UnderOpaqueCookie() {
+        // When
+        ResponseCookie cookie = manager.create(tokens("access-1", "refresh-1")).block();
+
+        // Then
+        assertNotNull(cookie);
+        assertEquals("SID", cookie.getName());
+        assertTrue(cookie.isHttpOnly());
+        assertEquals(3600, cookie.getMaxAge().toSeconds());
+        LoadedSession session = manager.find(cookie.getValue()).block();
+        assertNotNull(session);
+        assertEquals("access-1", session.tokens().accessToken());
+        assertEquals("refresh-1", session.tokens().refreshToken());
+        assertEquals("id-token", session.tokens().idToken());
+        assertTrue(session.accessTokenValidAt(NOW.plusSeconds(299)));
+        assertFalse(session.accessTokenValidAt(NOW.plusSeconds(300)));
+    }
+
+    @Test
+    void create_KeepsTokensEncryptedAtRest() {
+        // When
+        String sessionId = manager.create(tokens("access-secret", "refresh-secret")).block().getValue();
+
+        // Then - the store is keyed by a hash and holds no readable token
+        assertNull(store.find(sessionId).block());
+        byte[] sealed = store.find(SessionManager.keyOf(sessionId)).block().sealed();
+        String stored = new String(sealed, StandardCharsets.ISO_8859_1);
+        assertFalse(stored.contains("access-secret"));
+        assertFalse(stored.contains("refresh-secret"));
+
+        // A different key cannot open it
+        SessionManager otherKey = new SessionManager(properties, store, new SessionCipher(SessionCipher.randomKey()),
+                new CookieUtils(), new ObjectMapper(), clockAt(NOW));
+        assertNull(otherKey.find(sessionId).block());
+    }
+
+    @Test
+    void refresh_StoresRenewedTokens() {
+        // Given
+        String sessionId = manager.create(tokens("access-1", "refresh-1")).block().getValue();
+        LoadedSession current = manager.find(sessionId).block();
+
+        // When
+        TokenSession renewed = manager.refresh(sessionId, current,
+                refreshToken -> Mono.just(tokens("access-2", null))).block();
+
+        // Then - refresh token was not rotated, so it is kept
+        assertEquals("access-2", renewed.accessToken());
+        assertEquals("refresh-1", renewed.refreshToken());
+        LoadedSession stored = manager.find(sessionId).block();
+        assertEquals(current.version() + 1, stored.version());
+        assertEquals("access-2", stored.tokens().accessToken());
+    }
+
+    @Test
+    void refresh_AdoptsNewerSession_WhenAnotherRefreshWon() {
+        // Given - two callers read the same version
+        String sessionId = manager.create(tokens("access-1", "refresh-1")).block().getValue();
+        LoadedSession first = manager.find(sessionId).block();
+        LoadedSession second = manager.find(sessionId).block();
+        manager.refresh(sessionId, first, refreshToken -> Mono.just(tokens("access-winner", "refresh-winner"))).block();
+
+        // When - the loser's grant is refused, as Keycloak already rotated the refresh token
+        AtomicInteger grants = new AtomicInteger();
+        TokenSession adopted = manager.refresh(sessionId, second, refreshToken -> {
+            grants.incrementAndGet();
+            return Mono.empty();
+        }).block();
+
+        // Then
+        assertEquals(1, grants.get());
+        assertEquals("access-winner", adopted.accessToken());
+        assertEquals("refresh-winner", manager.find(sessionId).block().tokens().refreshToken());
+    }
+
+    @Test
+    void refresh_DoesNotOverwriteNewerSession_WhenGrantRacesAnother() {
+        // Given
+        String sessionId = manager.create(tokens("access-1", "refresh-1")).block().getValue();
+        LoadedSession stale = manager.find(sessionId).block();
+        manager.refresh(sessionId, stale, refreshToken -> Mono.just(tokens("access-winner", "refresh-winner"))).block();
+
+        // When
+        TokenSession result = manager.refresh(sessionId, stale,
+                refreshToken -> Mono.just(tokens("access-loser", "refresh-loser"))).block();
+
+        // Then
+        assertEquals("access-winner", result.accessToken());
+        assertEquals("access-winner", manager.find(sessionId).block().tokens().accessToken());
+    }
+
+    @Test
+    void find_ReturnsEmpty_WhenSessionExpiredOrDeleted() {
+        // Given
+        String expiring = manager.create(tokens("access-1", "refresh-1")).block().getValue();
+        String deleted = manager.create(tokens("access-2", "refresh-2")).block().getValue();
+
+        // When
+        manager.delete(deleted).block();
+
+        // Then
+        assertNull(manager.find(deleted).block());
+        assertNull(manager.find(null).block());
+        assertNull(managerAt(NOW.plusSeconds(3600)).find(expiring).block());
+    }
+
+    @Test
+    void store_EvictsLeastRecentlyUsed_BeyondMaxSessions() {
+        // Given
+        String first = manager.create(tokens("access-0", "refresh-0")).block().getValue();
+        for (int i = 1; i < 100; i++) {
+            manager.create(tokens("access-" + i, "refresh-" + i)).block();
+        }
+        assertEquals(100, store.size());
+
+        // When
+        manager.create(tokens("access-100", "refresh-100")).block();
+
+        // Then
+        assertEquals(90, store.size());
+        assertNull(manager.find(first).block());
+    }
+
+    private SessionManager managerAt(Instant instant) {
+        return new SessionManager(properties, store, new SessionCipher(KEY), new CookieUtils(),
+                new ObjectMapper(), clockAt(instant));
+    }
+
+    private static Clock clockAt(Instant instant) {
+        return Clock.fixed(instant, ZoneOffset.UTC);
+    }
+
+    /**
+     * Advances a millisecond per read, so store access times are distinct
+     */
+    private static Clock tickingClock() {
+        AtomicLong millis = new AtomicLong(NOW.toEpochMilli());
+        return new Clock() {
+            @Override
+            public ZoneId getZone() {
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(ZoneId zone) {
+                return this;
+            }
+
+            @Override
+            public Instant instant() {
+                return Instant.ofEpochMilli(millis.getAndIncrement());
+            }
+        };
+    }
+
+    private static TokenDto tokens(String accessToken, String refreshToken) {
+        TokenDto tokens = new TokenDto();
+        tokens.setAccessToken(accessToken);
+        tokens.setRefreshToken(refreshToken);
+        tokens.setIdToken("id-token");
+        tokens.setExpiresIn(300);
+        tokens.setRefreshExpiresIn(3600);
+        return tokens;
+    }
+}
@@ -0,0 +1,175 @@
+package com.einsurance.gateway.turnstile;
+
+import com.einsurance.gateway.turnstile.TurnstileProperties.FailMode;
+import com.einsurance.gateway.turnstile.TurnstileVerifier.Outcome;
+import com.einsurance.gateway.turnstile.TurnstileVerifier.Verification;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TurnstileVerifier, run against a local stand-in verifier
+ */
+class TurnstileVerifierTest {
+
+    private final AtomicInteger calls = new AtomicInteger();
+    private final AtomicReference<String> response = new AtomicReference<>("{\"success\":true}");
+    private final AtomicReference<HttpResponseStatus> status = new AtomicReference<>(HttpResponseStatus.OK);
+    private final AtomicReference<Duration> delay = new AtomicReference<>(Duration.ZERO);
+    private final AtomicLong nanos = new AtomicLong();
+
+    private DisposableServer standIn;
+    private TurnstileProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        standIn = HttpServer.create()
+                .port(0)
+                .route(routes -> routes.post("/turnstile/v0/siteverify", (request, reply) -> request.receive()
+                        .aggregate()
+                        .then(Mono.delay(delay.get()))
+                        .then(Mono.defer(() -> {
+                            calls.incrementAndGet();
+                            return reply.status(status.get())
+                                    .header("Content-Type", "application/json")
+                                    .sendString(Mono.just(response.get()))
+                                    .then();
+                        }))))
+                .bindNow();
+
+        properties = new TurnstileProperties();
+        properties.setSecret("test-secret");
+        properties.setVerifyUrl("http://localhost:" + standIn.port());
+        properties.getClient().setTimeout(Duration.ofMillis(500));
+        properties.getBreaker().setFailureThreshold(2);
+        properties.getBreaker().setOpenDuration(Duration.ofSeconds(30));
+    }
+
+    @AfterEach
+    void tearDown() {
+        standIn.disposeNow();
+    }
+
+    @Test
+    void verify_ReusesSuccessfulVerification_ForSameTokenAndIp() {
+        // Given
+        TurnstileVerifier verifier = verifier();
+
+        // When
+        Verification first = verifier.verify("token-1", "10.0.0.1").block();
+        Verification duplicate = verifier.verify("token-1", "10.0.0.1").block();
+        Verification otherIp = verifier.verify("token-1", "10.0.0.2").block();
+
+        // Then
+        assertEquals(Outcome.VERIFIED, first.outcome());
+        assertEquals(Outcome.VERIFIED, duplicate.outcome());
+        assertEquals(Outcome.VERIFIED, otherIp.outcome());
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void verify_CallsVerifierAgain_AfterCacheTtl() {
+        // Given
+        TurnstileVerifier verifier = verifier();
+        verifier.verify("token-1", "10.0.0.1").block();
+
+        // When
+        nanos.addAndGet(properties.getCache().getTtl().toNanos());
+        verifier.verify("token-1", "10.0.0.1").block();
+
+        // Then
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void verify_DoesNotCacheRejections() {
+        // Given
+        response.set("{\"success\":false,\"error-codes\":[\"invalid-input-response\"]}");
+        TurnstileVerifier verifier = verifier();
+
+        // When
+        Verification first = verifier.verify("bad-token", "10.0.0.1").block();
+        verifier.verify("bad-token", "10.0.0.1").block();
+
+        // Then
+        assertEquals(Outcome.REJECTED, first.outcome());
+        assertTrue(first.errorCodes().contains("invalid-input-response"));
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void verify_FailsClosed_WhenVerifierTimesOut() {
+        // Given
+        delay.set(Duration.ofSeconds(2));
+        TurnstileVerifier verifier = verifier();
+
+        // When
+        long started = System.nanoTime();
+        Verification verification = verifier.verify("token-1", "10.0.0.1").block();
+
+        // Then
+        assertEquals(Outcome.UNAVAILABLE, verification.outcome());
+        assertFalse(verification.outcome().isPassed());
+        assertTrue(Duration.ofNanos(System.nanoTime() - started).compareTo(Duration.ofSeconds(2)) < 0);
+    }
+
+    @Test
+    void verify_FailsOpen_WhenConfigured() {
+        // Given
+        status.set(HttpResponseStatus.SERVICE_UNAVAILABLE);
+        properties.setFailMode(FailMode.OPEN);
+        TurnstileVerifier verifier = verifier();
+
+        // When
+        Verification verification = verifier.verify("token-1", "10.0.0.1").block();
+
+        // Then
+        assertEquals(Outcome.BYPASSED, verification.outcome());
+        assertTrue(verification.outcome().isPassed());
+    }
+
+    @Test
+    void verify_OpensBreaker_AfterConsecutiveFailures_AndRecovers() {
+        // Given
+        status.set(HttpResponseStatus.BAD_GATEWAY);
+        TurnstileVerifier verifier = verifier();
+        verifier.verify("token-1", "10.0.0.1").block();
+        verifier.verify("token-2", "10.0.0.1").block();
+
+        // When - open: answered without calling the verifier
+        Verification whileOpen = verifier.verify("token-3", "10.0.0.1").block();
+
+        // Then
+        assertEquals(Outcome.UNAVAILABLE, whileOpen.outcome());
+        assertEquals(2, calls.get());
+
+        // When - after open-duration a trial call goes through and closes it
+        status.set(HttpResponseStatus.OK);
+        nanos.addAndGet(properties.getBreaker().getOpenDuration().toNanos());
+        Verification trial = verifier.verify("token-4", "10.0.0.1").block();
+        Verification next = verifier.verify("token-5", "10.0.0.1").block();
+
+        // Then
+        assertEquals(Outcome.VERIFIED, trial.outcome());
+        assertEquals(Outcome.VERIFIED, next.outcome());
+        assertEquals(4, calls.get());
+    }
+
+    private TurnstileVerifier verifier() {
+        return new TurnstileVerifier(properties, TurnstileConfig.verifierClient(WebClient.builder(), properties),
+                new SimpleMeterRegistry(), nanos::get);
+    }
+}
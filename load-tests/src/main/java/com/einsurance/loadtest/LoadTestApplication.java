@@ -0,0 +1,68 @@
+package com.einsurance.loadtest;
+
+import com.einsurance.loadtest.driver.ApiClient;
+import com.einsurance.loadtest.driver.LoadDriver;
+import com.einsurance.loadtest.driver.LoadReport;
+import com.einsurance.loadtest.driver.Scenarios;
+import com.einsurance.loadtest.stack.LocalStack;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Load Test Application
+ * Boots the services against local stand-ins, drives the configured
+ * scenario mix at a fixed rate and writes throughput and latency
+ * percentiles per scenario and endpoint. Build the services first, then:
+ *   mvn -B package -DskipTests
+ *   java -jar load-tests/target/load-tests-1.0.0-SNAPSHOT.jar --loadtest.load.rps=50
+ */
+@Slf4j
+@SpringBootApplication
+@EnableConfigurationProperties(LoadTestProperties.class)
+@RequiredArgsConstructor
+public class LoadTestApplication implements CommandLineRunner {
+
+    private final LoadTestProperties properties;
+    private final ObjectMapper objectMapper;
+
+    public static void main(String[] args) {
+        System.exit(SpringApplication.exit(SpringApplication.run(LoadTestApplication.class, args)));
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+        Path projectDir = projectDir();
+        Path outputDir = projectDir.resolve(properties.getOutputDir());
+        LoadReport report = new LoadReport();
+
+        try (LocalStack stack = new LocalStack(properties, projectDir).start()) {
+            ApiClient api = new ApiClient(objectMapper, report, properties.getLoad().getRequestTimeout());
+            Scenarios scenarios = new Scenarios(api, stack.stripe(), stack.tokenUrl(), stack.serviceUrls(),
+                    properties.getLoad().getCustomers(), properties.getLoad().getAdmins());
+            new LoadDriver(scenarios, report, properties.getLoad(), properties.getMix()).run();
+        }
+
+        report.writeCsv(outputDir.resolve("report.csv"));
+        String rendered = report.render();
+        Files.writeString(outputDir.resolve("report.txt"), rendered);
+        log.info("Results (also in {}):\n{}", outputDir, rendered);
+    }
+
+    private Path projectDir() {
+        if (!properties.getProjectDir().isBlank()) {
+            return Path.of(properties.getProjectDir()).toAbsolutePath();
+        }
+        Path workingDir = Path.of("").toAbsolutePath();
+        return workingDir.getFileName() != null && workingDir.getFileName().toString().equals("load-tests")
+                ? workingDir.getParent()
+                : workingDir;
+    }
+}
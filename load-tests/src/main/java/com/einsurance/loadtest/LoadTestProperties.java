@@ -0,0 +1,124 @@
+package com.einsurance.loadtest;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Load test run, bound from loadtest.*
+ */
+@Data
+@ConfigurationProperties(prefix = "loadtest")
+public class LoadTestProperties {
+
+    /**
+     * Repository root holding the built service modules; the parent of the working directory when run from load-tests
+     */
+    private String projectDir = "";
+
+    /**
+     * Report files (CSV and text) and service logs, relative to projectDir
+     */
+    private String outputDir = "load-tests/target/results";
+
+    /**
+     * false drives a stack that is already running at the service ports below
+     */
+    private boolean startStack = true;
+
+    private Load load = new Load();
+
+    private Mix mix = new Mix();
+
+    private Postgres postgres = new Postgres();
+
+    private Keycloak keycloak = new Keycloak();
+
+    private Stripe stripe = new Stripe();
+
+    /**
+     * Started in this order; config-server first, the services import their configuration from it
+     */
+    private Map<String, Service> services = new LinkedHashMap<>();
+
+    private Duration startupTimeout = Duration.ofMinutes(3);
+
+    /**
+     * Extra arguments for every service JVM, e.g. -Xmx512m
+     */
+    private List<String> jvmArgs = List.of("-Xmx512m");
+
+    @Data
+    public static class Load {
+        /**
+         * Scenario starts per second, independent of how fast responses come back
+         */
+        private double rps = 20;
+        /**
+         * Results from this period are discarded
+         */
+        private Duration warmup = Duration.ofSeconds(20);
+        private Duration duration = Duration.ofMinutes(2);
+        /**
+         * Scenarios running at once; starts beyond this are counted as shed
+         */
+        private int maxConcurrency = 200;
+        /**
+         * Customer identities, registered in user-service on first use
+         */
+        private int customers = 200;
+        private int admins = 5;
+        private Duration requestTimeout = Duration.ofSeconds(10);
+    }
+
+    /**
+     * Relative weights of the scenarios
+     */
+    @Data
+    public static class Mix {
+        private int browse = 60;
+        private int purchase = 15;
+        private int claim = 15;
+        private int review = 10;
+    }
+
+    @Data
+    public static class Postgres {
+        private int port = 15432;
+    }
+
+    @Data
+    public static class Keycloak {
+        /**
+         * 0 picks a free port
+         */
+        private int port = 0;
+        private String realm = "e-insurance";
+    }
+
+    @Data
+    public static class Stripe {
+        private int port = 0;
+        /**
+         * Must match stripe.webhook-secret of payment-service
+         */
+        private String webhookSecret = "whsec_loadtest";
+    }
+
+    @Data
+    public static class Service {
+        private int port;
+        /**
+         * Runnable jar, relative to projectDir
+         */
+        private String jar;
+        /**
+         * Database created in the embedded PostgreSQL and handed to the service; empty for none
+         */
+        private String database;
+    }
+}
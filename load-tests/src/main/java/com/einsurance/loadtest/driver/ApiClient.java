@@ -0,0 +1,138 @@
+package com.einsurance.loadtest.driver;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+/**
+ * Timed JSON calls against the services.
+ * Every call is recorded in the report under its endpoint name, the method
+ * and route template ("GET /api/claims/{id}"), so calls to different ids
+ * aggregate into one row.
+ */
+@Slf4j
+public class ApiClient {
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final LoadReport report;
+    private final Duration timeout;
+
+    public ApiClient(ObjectMapper objectMapper, LoadReport report, Duration timeout) {
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(2))
+                .executor(Executors.newCachedThreadPool())
+                .build();
+        this.objectMapper = objectMapper;
+        this.report = report;
+        this.timeout = timeout;
+    }
+
+    public Response get(String endpoint, String url, String token) {
+        return send(endpoint, request(url, token).GET().build());
+    }
+
+    public Response post(String endpoint, String url, String token, Object body) {
+        return send(endpoint, request(url, token).POST(json(body)).build());
+    }
+
+    public Response put(String endpoint, String url, String token, Object body) {
+        return send(endpoint, request(url, token).PUT(json(body)).build());
+    }
+
+    /**
+     * POST a raw body with extra headers, e.g. a signed webhook
+     */
+    public Response postRaw(String endpoint, String url, String body, Map<String, String> headers) {
+        HttpRequest.Builder builder = request(url, null).POST(HttpRequest.BodyPublishers.ofString(body));
+        headers.forEach(builder::header);
+        return send(endpoint, builder.build());
+    }
+
+    /**
+     * POST a form without recording it, for setup calls such as fetching tokens
+     */
+    public JsonNode postForm(String url, String form) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .timeout(timeout)
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(form))
+                .build();
+        HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IOException("POST " + url + " returned " + response.statusCode());
+        }
+        return objectMapper.readTree(response.body());
+    }
+
+    private Response send(String endpoint, HttpRequest request) {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            report.endpoint(endpoint, response.statusCode(), System.nanoTime() - start);
+            return new Response(response.statusCode(), parse(response.body()));
+        } catch (IOException e) {
+            report.endpoint(endpoint, -1, System.nanoTime() - start);
+            log.debug("{} failed: {}", endpoint, e.toString());
+            return new Response(-1, MissingNode.getInstance());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new Response(-1, MissingNode.getInstance());
+        }
+    }
+
+    private HttpRequest.Builder request(String url, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url))
+                .timeout(timeout)
+                .header("Accept", "application/json")
+                .header("Content-Type", "application/json");
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private HttpRequest.BodyPublisher json(Object body) {
+        try {
+            return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Cannot serialize request body", e);
+        }
+    }
+
+    private JsonNode parse(byte[] body) {
+        if (body.length == 0) {
+            return MissingNode.getInstance();
+        }
+        try {
+            return objectMapper.readTree(body);
+        } catch (IOException e) {
+            return MissingNode.getInstance();
+        }
+    }
+
+    /**
+     * Status and parsed body; data() is the ApiResponse payload
+     */
+    public record Response(int status, JsonNode body) {
+
+        public boolean ok() {
+            return status >= 200 && status < 300;
+        }
+
+        public JsonNode data() {
+            return body.path("data");
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.einsurance.loadtest.driver;
+
+import com.einsurance.loadtest.LoadTestProperties;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop load: scenarios start at a fixed rate whether or not earlier
+ * ones have finished, so a slow stack shows up as growing latency instead
+ * of silently lowering the offered load (coordinated omission). Start
+ * times follow a fixed schedule; a start that falls behind is made up
+ * immediately and its scenario latency counts from when it was due.
+ */
+@Slf4j
+public class LoadDriver {
+
+    private final Scenarios scenarios;
+    private final LoadReport report;
+    private final LoadTestProperties.Load load;
+    private final List<Scenarios.Kind> weighted;
+
+    public LoadDriver(Scenarios scenarios, LoadReport report, LoadTestProperties.Load load, LoadTestProperties.Mix mix) {
+        if (load.getRps() <= 0) {
+            throw new IllegalArgumentException("loadtest.load.rps must be positive");
+        }
+        this.scenarios = scenarios;
+        this.report = report;
+        this.load = load;
+        this.weighted = weighted(mix);
+    }
+
+    public void run() throws InterruptedException {
+        ExecutorService executor = Executors.newCachedThreadPool();
+        Semaphore slots = new Semaphore(load.getMaxConcurrency());
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / load.getRps());
+        long begin = System.nanoTime();
+        long measureFrom = begin + load.getWarmup().toNanos();
+        long end = measureFrom + load.getDuration().toNanos();
+        boolean measuring = false;
+        log.info(String.format(Locale.ROOT, "Offering %.1f scenarios/s: %ds warmup, %ds measured",
+                load.getRps(), load.getWarmup().toSeconds(), load.getDuration().toSeconds()));
+
+        try {
+            for (long due = begin; due < end; due += intervalNanos) {
+                long wait = due - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+                if (!measuring && due >= measureFrom) {
+                    report.start();
+                    measuring = true;
+                    log.info("Warmup done, measuring");
+                }
+                if (!slots.tryAcquire()) {
+                    report.shed();
+                    continue;
+                }
+                Scenarios.Kind kind = weighted.get(ThreadLocalRandom.current().nextInt(weighted.size()));
+                long scheduled = due;
+                executor.execute(() -> {
+                    try {
+                        boolean completed = run(kind);
+                        report.scenario(kind.name().toLowerCase(Locale.ROOT), completed, System.nanoTime() - scheduled);
+                    } finally {
+                        slots.release();
+                    }
+                });
+            }
+        } finally {
+            report.stop();
+            executor.shutdown();
+            if (!executor.awaitTermination(load.getRequestTimeout().multipliedBy(4).toMillis(), TimeUnit.MILLISECONDS)) {
+                executor.shutdownNow();
+            }
+        }
+        if (report.shedCount() > 0) {
+            log.warn("{} scenario starts shed at max-concurrency {}; the stack did not keep up with the offered rate",
+                    report.shedCount(), load.getMaxConcurrency());
+        }
+    }
+
+    private boolean run(Scenarios.Kind kind) {
+        try {
+            return scenarios.run(kind);
+        } catch (RuntimeException e) {
+            log.debug("{} scenario failed: {}", kind, e.toString());
+            return false;
+        }
+    }
+
+    /**
+     * One entry per unit of weight, for picking by uniform index
+     */
+    static List<Scenarios.Kind> weighted(LoadTestProperties.Mix mix) {
+        List<Scenarios.Kind> kinds = new ArrayList<>();
+        add(kinds, Scenarios.Kind.BROWSE, mix.getBrowse());
+        add(kinds, Scenarios.Kind.PURCHASE, mix.getPurchase());
+        add(kinds, Scenarios.Kind.CLAIM, mix.getClaim());
+        add(kinds, Scenarios.Kind.REVIEW, mix.getReview());
+        if (kinds.isEmpty()) {
+            throw new IllegalArgumentException("loadtest.mix needs at least one positive weight");
+        }
+        return kinds;
+    }
+
+    private static void add(List<Scenarios.Kind> kinds, Scenarios.Kind kind, int weight) {
+        for (int i = 0; i < weight; i++) {
+            kinds.add(kind);
+        }
+    }
+}
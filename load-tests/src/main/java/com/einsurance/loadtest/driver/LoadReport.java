@@ -0,0 +1,182 @@
+package com.einsurance.loadtest.driver;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Throughput and latency percentiles per endpoint and per scenario.
+ * Latencies go into HdrHistograms at microsecond resolution; nothing is
+ * recorded until start() so warmup traffic stays out of the figures.
+ * Scenario latency is measured from the moment the scenario was due to
+ * start, so time spent waiting for a free slot is included.
+ */
+public class LoadReport {
+
+    private static final long MAX_MICROS = TimeUnit.MINUTES.toMicros(5);
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final Map<String, Stats> endpoints = new ConcurrentHashMap<>();
+    private final Map<String, Stats> scenarios = new ConcurrentHashMap<>();
+    private final LongAdder shed = new LongAdder();
+    private volatile boolean recording;
+    private volatile long startedNanos;
+    private volatile long stoppedNanos;
+
+    public void start() {
+        endpoints.clear();
+        scenarios.clear();
+        shed.reset();
+        startedNanos = System.nanoTime();
+        recording = true;
+    }
+
+    public void stop() {
+        recording = false;
+        stoppedNanos = System.nanoTime();
+    }
+
+    /**
+     * @param status HTTP status, or -1 when no response arrived (connect error, timeout)
+     */
+    public void endpoint(String endpoint, int status, long nanos) {
+        if (recording) {
+            endpoints.computeIfAbsent(endpoint, name -> new Stats()).record(status, nanos);
+        }
+    }
+
+    public void scenario(String scenario, boolean completed, long nanos) {
+        if (recording) {
+            scenarios.computeIfAbsent(scenario, name -> new Stats()).record(completed ? 200 : -1, nanos);
+        }
+    }
+
+    /**
+     * A scenario not started because max-concurrency scenarios were already running
+     */
+    public void shed() {
+        if (recording) {
+            shed.increment();
+        }
+    }
+
+    public long shedCount() {
+        return shed.sum();
+    }
+
+    public String render() {
+        Duration elapsed = elapsed();
+        StringBuilder out = new StringBuilder();
+        out.append(String.format(Locale.ROOT, "Measured %ds, %d scenario starts shed%n%n",
+                elapsed.toSeconds(), shed.sum()));
+        table(out, "Scenario", scenarios, elapsed);
+        out.append('\n');
+        table(out, "Endpoint", endpoints, elapsed);
+        return out.toString();
+    }
+
+    public void writeCsv(Path file) throws IOException {
+        Duration elapsed = elapsed();
+        List<String> lines = new ArrayList<>();
+        lines.add("kind,name,count,rps,client_errors,server_errors,failures,p50_ms,p90_ms,p99_ms,p999_ms,max_ms");
+        rows("scenario", scenarios, elapsed, lines);
+        rows("endpoint", endpoints, elapsed, lines);
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Files.write(file, lines);
+    }
+
+    private void table(StringBuilder out, String title, Map<String, Stats> stats, Duration elapsed) {
+        out.append(String.format(Locale.ROOT, "%-55s %8s %8s %6s %6s %6s %9s %9s %9s %9s %9s%n",
+                title, "count", "rps", "4xx", "5xx", "fail", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"));
+        sorted(stats).forEach(entry -> {
+            Stats s = entry.getValue();
+            Histogram h = s.latencies.copy();
+            out.append(String.format(Locale.ROOT, "%-55s %8d %8.1f %6d %6d %6d %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                    entry.getKey(), h.getTotalCount(), rate(h.getTotalCount(), elapsed),
+                    s.clientErrors.sum(), s.serverErrors.sum(), s.failures.sum(),
+                    millis(h, PERCENTILES[0]), millis(h, PERCENTILES[1]), millis(h, PERCENTILES[2]),
+                    millis(h, PERCENTILES[3]), h.getMaxValue() / 1000.0));
+        });
+    }
+
+    private void rows(String kind, Map<String, Stats> stats, Duration elapsed, List<String> lines) {
+        sorted(stats).forEach(entry -> {
+            Stats s = entry.getValue();
+            Histogram h = s.latencies.copy();
+            lines.add(String.format(Locale.ROOT, "%s,\"%s\",%d,%.2f,%d,%d,%d,%.2f,%.2f,%.2f,%.2f,%.2f",
+                    kind, entry.getKey(), h.getTotalCount(), rate(h.getTotalCount(), elapsed),
+                    s.clientErrors.sum(), s.serverErrors.sum(), s.failures.sum(),
+                    millis(h, PERCENTILES[0]), millis(h, PERCENTILES[1]), millis(h, PERCENTILES[2]),
+                    millis(h, PERCENTILES[3]), h.getMaxValue() / 1000.0));
+        });
+    }
+
+    Stats endpointStats(String endpoint) {
+        return endpoints.get(endpoint);
+    }
+
+    private Duration elapsed() {
+        long end = recording ? System.nanoTime() : stoppedNanos;
+        return Duration.ofNanos(Math.max(1, end - startedNanos));
+    }
+
+    private static List<Map.Entry<String, Stats>> sorted(Map<String, Stats> stats) {
+        return stats.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey(Comparator.comparing(LoadReport::path)))
+                .toList();
+    }
+
+    /**
+     * Sort "GET /api/x" and "POST /api/x" together
+     */
+    private static String path(String endpoint) {
+        int space = endpoint.indexOf(' ');
+        return space >= 0 ? endpoint.substring(space + 1) + endpoint.substring(0, space) : endpoint;
+    }
+
+    private static double rate(long count, Duration elapsed) {
+        return count / (elapsed.toNanos() / 1e9);
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    static final class Stats {
+        private final ConcurrentHistogram latencies = new ConcurrentHistogram(1, MAX_MICROS, 3);
+        private final LongAdder clientErrors = new LongAdder();
+        private final LongAdder serverErrors = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+
+        void record(int status, long nanos) {
+            latencies.recordValue(Math.min(MAX_MICROS, Math.max(1, nanos / 1000)));
+            if (status < 0) {
+                failures.increment();
+            } else if (status >= 500) {
+                serverErrors.increment();
+            } else if (status >= 400) {
+                clientErrors.increment();
+            }
+        }
+
+        long count() {
+            return latencies.getTotalCount();
+        }
+
+        long errors() {
+            return clientErrors.sum() + serverErrors.sum() + failures.sum();
+        }
+    }
+}
@@ -0,0 +1,282 @@
+package com.einsurance.loadtest.driver;
+
+import com.einsurance.loadtest.stub.StubKeycloak;
+import com.einsurance.loadtest.stub.StubStripe;
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The user journeys the load is made of.
+ * Each scenario is a sequence of calls one user makes, and stops at the
+ * first call that fails; the report shows both the failing endpoint and
+ * the failed scenario.
+ * - browse: anonymous catalog reads
+ * - purchase: initiate, checkout, Stripe webhook, confirmation
+ * - claim: a policy holder files a claim and looks it up
+ * - review: an admin approves or rejects the oldest pending claim
+ */
+@Slf4j
+public class Scenarios {
+
+    public enum Kind { BROWSE, PURCHASE, CLAIM, REVIEW }
+
+    private final ApiClient api;
+    private final StubStripe stripe;
+    private final String tokenUrl;
+    private final String userService;
+    private final String policyService;
+    private final String paymentService;
+    private final String claimsService;
+    private final List<Identity> customers = new ArrayList<>();
+    private final List<Identity> admins = new ArrayList<>();
+    /**
+     * Customers with an active policy, appended by completed purchases
+     */
+    private final List<Holding> holdings = new ArrayList<>();
+    private volatile List<JsonNode> templates = List.of();
+
+    public Scenarios(ApiClient api, StubStripe stripe, String tokenUrl, Map<String, String> serviceUrls,
+                     int customerCount, int adminCount) {
+        this.api = api;
+        this.stripe = stripe;
+        this.tokenUrl = tokenUrl;
+        this.userService = serviceUrls.get("user-service");
+        this.policyService = serviceUrls.get("policy-service");
+        this.paymentService = serviceUrls.get("payment-service");
+        this.claimsService = serviceUrls.get("claims-service");
+        for (int i = 0; i < customerCount; i++) {
+            customers.add(new Identity("customer" + i));
+        }
+        for (int i = 0; i < adminCount; i++) {
+            admins.add(new Identity("admin" + i));
+        }
+    }
+
+    /**
+     * @return whether every call of the scenario succeeded
+     */
+    public boolean run(Kind kind) {
+        return switch (kind) {
+            case BROWSE -> browse();
+            case PURCHASE -> purchase(pick(customers));
+            case CLAIM -> {
+                Holding holding = pickHolding();
+                // No policy bought yet (early in the run): buy one instead
+                yield holding != null ? claim(holding) : purchase(pick(customers));
+            }
+            case REVIEW -> review(pick(admins));
+        };
+    }
+
+    boolean browse() {
+        ApiClient.Response active = api.get("GET /api/policies/templates/active",
+                policyService + "/api/policies/templates/active", null);
+        if (!active.ok()) {
+            return false;
+        }
+        List<JsonNode> listed = new ArrayList<>();
+        active.data().forEach(listed::add);
+        if (listed.isEmpty()) {
+            return true;
+        }
+        templates = listed;
+        JsonNode template = listed.get(ThreadLocalRandom.current().nextInt(listed.size()));
+
+        ApiClient.Response detail = api.get("GET /api/policies/templates/{id}",
+                policyService + "/api/policies/templates/" + template.path("id").asText(), null);
+        if (!detail.ok()) {
+            return false;
+        }
+        return api.get("GET /api/policies/templates/type/{type}/paginated",
+                policyService + "/api/policies/templates/type/" + template.path("type").asText()
+                        + "/paginated?page=0&size=10", null).ok();
+    }
+
+    boolean purchase(Identity customer) {
+        String token = token(customer);
+        if (token == null || !register(customer, token)) {
+            return false;
+        }
+        UUID templateId = anyTemplateId();
+        if (templateId == null) {
+            return false;
+        }
+
+        ApiClient.Response initiated = api.post("POST /api/policies/purchase/initiate",
+                policyService + "/api/policies/purchase/initiate", token, Map.of("policyTemplateId", templateId));
+        if (!initiated.ok()) {
+            return false;
+        }
+        String policyId = initiated.data().path("id").asText();
+
+        // The webhook handler confirms the policy named in the session metadata, so the
+        // checkout is opened for the customer policy just initiated
+        ApiClient.Response checkout = api.post("POST /api/payments/create-checkout-session",
+                paymentService + "/api/payments/create-checkout-session", token, Map.of("policyTemplateId", policyId));
+        if (!checkout.ok()) {
+            return false;
+        }
+        String sessionId = checkout.data().path("sessionId").asText();
+        String transactionId = checkout.data().path("transactionId").asText();
+
+        StubStripe.SignedWebhook webhook = stripe.completed(sessionId);
+        ApiClient.Response delivered = api.postRaw("POST /api/payments/webhook",
+                paymentService + "/api/payments/webhook", webhook.payload(),
+                Map.of("Stripe-Signature", webhook.signature(), "Content-Type", "application/json"));
+        if (!delivered.ok()) {
+            return false;
+        }
+
+        // payment-service's own confirmation carries no caller token from the webhook
+        // request and is refused; the customer's session confirms, as the storefront would
+        ApiClient.Response confirmed = api.post("POST /api/policies/purchase/confirm/{policyId}",
+                policyService + "/api/policies/purchase/confirm/" + policyId + "?transactionId=" + transactionId,
+                token, Map.of());
+        if (!confirmed.ok()) {
+            return false;
+        }
+        synchronized (holdings) {
+            holdings.add(new Holding(customer, policyId));
+        }
+        return api.get("GET /api/policies/my-policies/active",
+                policyService + "/api/policies/my-policies/active", token).ok();
+    }
+
+    boolean claim(Holding holding) {
+        String token = token(holding.customer());
+        if (token == null) {
+            return false;
+        }
+        ApiClient.Response submitted = api.post("POST /api/claims", claimsService + "/api/claims", token, Map.of(
+                "customerPolicyId", holding.policyId(),
+                "amount", BigDecimal.valueOf(ThreadLocalRandom.current().nextInt(100, 5000)),
+                "description", "Water damage in the kitchen after a pipe burst",
+                "incidentDate", LocalDate.now().minusDays(ThreadLocalRandom.current().nextInt(1, 30)).toString()));
+        if (!submitted.ok()) {
+            return false;
+        }
+        if (!api.get("GET /api/claims/my-claims", claimsService + "/api/claims/my-claims", token).ok()) {
+            return false;
+        }
+        return api.get("GET /api/claims/{id}",
+                claimsService + "/api/claims/" + submitted.data().path("id").asText(), token).ok();
+    }
+
+    boolean review(Identity admin) {
+        String token = token(admin);
+        if (token == null) {
+            return false;
+        }
+        ApiClient.Response pending = api.get("GET /api/claims/pending",
+                claimsService + "/api/claims/pending?page=0&size=10", token);
+        if (!pending.ok()) {
+            return false;
+        }
+        JsonNode content = pending.data().path("content");
+        if (content.isEmpty()) {
+            return true;
+        }
+        // Spread concurrent reviewers over the page to limit collisions on one claim
+        JsonNode claim = content.get(ThreadLocalRandom.current().nextInt(content.size()));
+        boolean approve = ThreadLocalRandom.current().nextInt(4) > 0;
+        ApiClient.Response reviewed = api.put("PUT /api/claims/{id}/review",
+                claimsService + "/api/claims/" + claim.path("id").asText() + "/review", token, Map.of(
+                        "status", approve ? "APPROVED" : "REJECTED",
+                        "adminNotes", approve ? "Covered by policy terms" : "Incident outside coverage"));
+        // Another reviewer got there first
+        return reviewed.ok() || reviewed.status() == 400 || reviewed.status() == 409;
+    }
+
+    /**
+     * Password grant at the Keycloak stand-in, once per identity
+     */
+    private String token(Identity identity) {
+        String token = identity.token;
+        if (token != null) {
+            return token;
+        }
+        try {
+            String form = "grant_type=password&client_id=e-insurance-frontend&username="
+                    + URLEncoder.encode(identity.username, StandardCharsets.UTF_8) + "&password=loadtest";
+            token = api.postForm(tokenUrl, form).path("access_token").asText(null);
+            identity.token = token;
+            return token;
+        } catch (IOException e) {
+            log.warn("Token request for {} failed: {}", identity.username, e.getMessage());
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    /**
+     * First-login registration in user-service; 409 means an earlier run or scenario did it
+     */
+    private boolean register(Identity customer, String token) {
+        if (customer.registered.get()) {
+            return true;
+        }
+        ApiClient.Response registered = api.post("POST /api/users/register", userService + "/api/users/register",
+                token, Map.of(
+                        "keycloakId", StubKeycloak.subjectOf(customer.username).toString(),
+                        "email", customer.username + "@loadtest.local",
+                        "firstName", "Load",
+                        "lastName", "Test " + customer.username,
+                        "phone", "+38761000000",
+                        "address", "Zmaja od Bosne 8, Sarajevo",
+                        "dateOfBirth", "1988-04-12"));
+        if (registered.ok() || registered.status() == 409) {
+            customer.registered.set(true);
+            return api.get("GET /api/users/me", userService + "/api/users/me", token).ok();
+        }
+        return false;
+    }
+
+    private UUID anyTemplateId() {
+        List<JsonNode> known = templates;
+        if (known.isEmpty()) {
+            browse();
+            known = templates;
+        }
+        if (known.isEmpty()) {
+            return null;
+        }
+        return UUID.fromString(known.get(ThreadLocalRandom.current().nextInt(known.size())).path("id").asText());
+    }
+
+    private Holding pickHolding() {
+        synchronized (holdings) {
+            return holdings.isEmpty() ? null : holdings.get(ThreadLocalRandom.current().nextInt(holdings.size()));
+        }
+    }
+
+    private static Identity pick(List<Identity> identities) {
+        return identities.get(ThreadLocalRandom.current().nextInt(identities.size()));
+    }
+
+    static final class Identity {
+        private final String username;
+        private final AtomicBoolean registered = new AtomicBoolean();
+        private volatile String token;
+
+        Identity(String username) {
+            this.username = username;
+        }
+    }
+
+    record Holding(Identity customer, String policyId) {
+    }
+}
@@ -0,0 +1,123 @@
+package com.einsurance.loadtest.stack;
+
+import com.einsurance.loadtest.LoadTestProperties;
+import com.einsurance.loadtest.stub.StubKeycloak;
+import com.einsurance.loadtest.stub.StubStripe;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Everything the services need on one machine: the embedded PostgreSQL,
+ * the Keycloak and Stripe stand-ins and the services themselves.
+ * Each service is pointed at them through command line arguments, which
+ * take precedence over what it imports from config-server. Eureka is off;
+ * the services call each other at their configured localhost ports.
+ * With start-stack false only the stand-ins run and the driver targets a
+ * stack that was started separately against them.
+ */
+@Slf4j
+public class LocalStack implements AutoCloseable {
+
+    private static final String CONFIG_SERVER = "config-server";
+
+    private final LoadTestProperties properties;
+    private final Path projectDir;
+    private EmbeddedDatabase database;
+    private StubKeycloak keycloak;
+    private StubStripe stripe;
+    private ServiceProcesses processes;
+
+    public LocalStack(LoadTestProperties properties, Path projectDir) {
+        this.properties = properties;
+        this.projectDir = projectDir;
+    }
+
+    public LocalStack start() throws IOException, SQLException, InterruptedException {
+        keycloak = new StubKeycloak(properties.getKeycloak().getPort(), properties.getKeycloak().getRealm()).start();
+        stripe = new StubStripe(properties.getStripe().getPort(), properties.getStripe().getWebhookSecret()).start();
+        if (!properties.isStartStack()) {
+            log.info("start-stack is false, driving the services already running at the configured ports");
+            return this;
+        }
+
+        List<String> databases = properties.getServices().values().stream()
+                .map(LoadTestProperties.Service::getDatabase)
+                .filter(Objects::nonNull)
+                .filter(name -> !name.isBlank())
+                .toList();
+        database = EmbeddedDatabase.start(properties.getPostgres().getPort(), databases);
+
+        processes = new ServiceProcesses(projectDir.resolve(properties.getOutputDir()).resolve("logs"),
+                properties.getJvmArgs());
+        for (Map.Entry<String, LoadTestProperties.Service> entry : properties.getServices().entrySet()) {
+            String name = entry.getKey();
+            LoadTestProperties.Service service = entry.getValue();
+            processes.start(name, projectDir.resolve(service.getJar()), service.getPort(),
+                    CONFIG_SERVER.equals(name) ? List.of() : arguments(service),
+                    Map.of(), properties.getStartupTimeout());
+        }
+        return this;
+    }
+
+    public String tokenUrl() {
+        return keycloak.tokenUrl();
+    }
+
+    public StubStripe stripe() {
+        return stripe;
+    }
+
+    /**
+     * Base URL per service name
+     */
+    public Map<String, String> serviceUrls() {
+        Map<String, String> urls = new LinkedHashMap<>();
+        properties.getServices().forEach((name, service) -> urls.put(name, "http://localhost:" + service.getPort()));
+        return urls;
+    }
+
+    private List<String> arguments(LoadTestProperties.Service service) {
+        List<String> args = new ArrayList<>();
+        args.add("--spring.config.import=configserver:http://localhost:"
+                + properties.getServices().get(CONFIG_SERVER).getPort());
+        args.add("--eureka.client.enabled=false");
+        args.add("--keycloak.auth-server-url=" + keycloak.baseUrl());
+        args.add("--keycloak.realm=" + properties.getKeycloak().getRealm());
+        args.add("--keycloak.jwk-set-uri=" + keycloak.baseUrl() + "/realms/" + properties.getKeycloak().getRealm()
+                + "/protocol/openid-connect/certs");
+        args.add("--stripe.api-base=" + stripe.baseUrl());
+        args.add("--stripe.webhook-secret=" + properties.getStripe().getWebhookSecret());
+        if (service.getDatabase() != null && !service.getDatabase().isBlank()) {
+            args.add("--spring.datasource.url=" + database.jdbcUrl(service.getDatabase()));
+        }
+        return args;
+    }
+
+    @Override
+    public void close() {
+        if (processes != null) {
+            processes.close();
+        }
+        if (database != null) {
+            try {
+                database.close();
+            } catch (IOException e) {
+                log.warn("Could not stop embedded PostgreSQL: {}", e.getMessage());
+            }
+        }
+        if (stripe != null) {
+            stripe.close();
+        }
+        if (keycloak != null) {
+            keycloak.close();
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.einsurance.loadtest.stack;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs each service from its runnable jar in a JVM of its own, as deployed.
+ * Output goes to one log file per service; a service counts as started once
+ * its actuator health endpoint answers 200. Processes are stopped in reverse
+ * start order.
+ */
+@Slf4j
+public class ServiceProcesses implements AutoCloseable {
+
+    private static final Duration STOP_TIMEOUT = Duration.ofSeconds(20);
+
+    private final Path logDir;
+    private final List<String> jvmArgs;
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(1))
+            .build();
+    private final List<Started> started = new ArrayList<>();
+
+    public ServiceProcesses(Path logDir, List<String> jvmArgs) {
+        this.logDir = logDir;
+        this.jvmArgs = jvmArgs;
+    }
+
+    /**
+     * Start a service and block until it is healthy
+     */
+    public void start(String name, Path jar, int port, List<String> args, Map<String, String> env, Duration timeout)
+            throws IOException, InterruptedException {
+        if (!Files.isRegularFile(jar)) {
+            throw new IllegalStateException(name + " jar not found at " + jar + "; build with mvn -B package -DskipTests");
+        }
+        Files.createDirectories(logDir);
+        Path logFile = logDir.resolve(name + ".log");
+
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmArgs);
+        command.add("-jar");
+        command.add(jar.toString());
+        command.add("--server.port=" + port);
+        command.addAll(args);
+
+        ProcessBuilder builder = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(logFile.toFile());
+        builder.environment().putAll(env);
+        log.info("Starting {} on port {} (log: {})", name, port, logFile);
+        Process process = builder.start();
+        started.add(new Started(name, process));
+
+        awaitHealthy(name, process, port, timeout);
+    }
+
+    private void awaitHealthy(String name, Process process, int port, Duration timeout) throws InterruptedException {
+        HttpRequest health = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/actuator/health"))
+                .timeout(Duration.ofSeconds(2))
+                .build();
+        Instant deadline = Instant.now().plus(timeout);
+        while (Instant.now().isBefore(deadline)) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException(name + " exited with " + process.exitValue() + "; see its log in " + logDir);
+            }
+            try {
+                if (httpClient.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    log.info("{} is up", name);
+                    return;
+                }
+            } catch (IOException e) {
+                // Not listening yet
+            }
+            Thread.sleep(1000);
+        }
+        throw new IllegalStateException(name + " not healthy within " + timeout + "; see its log in " + logDir);
+    }
+
+    @Override
+    public void close() {
+        for (int i = started.size() - 1; i >= 0; i--) {
+            Started service = started.get(i);
+            service.process().destroy();
+            try {
+                if (!service.process().waitFor(STOP_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+                    log.warn("{} did not stop within {}, killing it", service.name(), STOP_TIMEOUT);
+                    service.process().destroyForcibly();
+                }
+            } catch (InterruptedException e) {
+                service.process().destroyForcibly();
+                Thread.currentThread().interrupt();
+            }
+        }
+        started.clear();
+    }
+
+    private record Started(String name, Process process) {
+    }
+}
@@ -0,0 +1,170 @@
+package com.einsurance.loadtest.stub;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.jsonwebtoken.Jwts;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+
+/**
+ * Stand-in for the Keycloak endpoints the services and the load driver use.
+ * Serves the realm's JWKS, which JwtUtil fetches to verify tokens, and a
+ * password-grant token endpoint issuing RS256 access tokens shaped like
+ * Keycloak's. Any password is accepted; users named admin* get the ADMIN
+ * realm role, everyone else CUSTOMER. The subject is derived from the
+ * username, so a user keeps one identity across runs.
+ */
+@Slf4j
+public class StubKeycloak implements AutoCloseable {
+
+    private static final Duration TOKEN_LIFETIME = Duration.ofHours(2);
+
+    private final String realm;
+    private final KeyPair keyPair;
+    private final HttpServer server;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public StubKeycloak(int port, String realm) throws IOException {
+        this.realm = realm;
+        this.keyPair = generateKeyPair();
+        this.server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+        server.createContext(realmPath() + "/protocol/openid-connect/certs", this::certs);
+        server.createContext(realmPath() + "/protocol/openid-connect/token", this::token);
+        server.setExecutor(Executors.newCachedThreadPool());
+    }
+
+    public StubKeycloak start() {
+        server.start();
+        log.info("Keycloak stand-in for realm {} on {}", realm, baseUrl());
+        return this;
+    }
+
+    public String baseUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    public String tokenUrl() {
+        return baseUrl() + realmPath() + "/protocol/openid-connect/token";
+    }
+
+    /**
+     * Keycloak user id the stand-in assigns to a username
+     */
+    public static UUID subjectOf(String username) {
+        return UUID.nameUUIDFromBytes(("loadtest:" + username).getBytes(StandardCharsets.UTF_8));
+    }
+
+    String issue(String username) {
+        Instant now = Instant.now();
+        String role = username.startsWith("admin") ? "ADMIN" : "CUSTOMER";
+        return Jwts.builder()
+                .header().keyId("loadtest").and()
+                .subject(subjectOf(username).toString())
+                .issuer(baseUrl() + realmPath())
+                .issuedAt(Date.from(now))
+                .expiration(Date.from(now.plus(TOKEN_LIFETIME)))
+                .claim("typ", "Bearer")
+                .claim("azp", "e-insurance-frontend")
+                .claim("preferred_username", username)
+                .claim("email", username + "@loadtest.local")
+                .claim("realm_access", Map.of("roles", List.of(role, "offline_access")))
+                .signWith(keyPair.getPrivate())
+                .compact();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void certs(HttpExchange exchange) throws IOException {
+        RSAPublicKey key = (RSAPublicKey) keyPair.getPublic();
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        Map<String, Object> jwk = Map.of(
+                "kid", "loadtest",
+                "kty", "RSA",
+                "alg", "RS256",
+                "use", "sig",
+                "n", encoder.encodeToString(unsigned(key.getModulus())),
+                "e", encoder.encodeToString(unsigned(key.getPublicExponent())));
+        respond(exchange, 200, Map.of("keys", List.of(jwk)));
+    }
+
+    private void token(HttpExchange exchange) throws IOException {
+        if (!"POST".equals(exchange.getRequestMethod())) {
+            respond(exchange, 405, Map.of("error", "invalid_request"));
+            return;
+        }
+        Map<String, String> form = parseForm(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+        String username = form.get("username");
+        if (!"password".equals(form.get("grant_type")) || username == null || username.isBlank()) {
+            respond(exchange, 400, Map.of("error", "unsupported_grant_type"));
+            return;
+        }
+        respond(exchange, 200, Map.of(
+                "access_token", issue(username),
+                "token_type", "Bearer",
+                "expires_in", TOKEN_LIFETIME.toSeconds()));
+    }
+
+    private void respond(HttpExchange exchange, int status, Object body) throws IOException {
+        byte[] bytes = objectMapper.writeValueAsBytes(body);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private String realmPath() {
+        return "/realms/" + realm;
+    }
+
+    static Map<String, String> parseForm(String body) {
+        Map<String, String> form = new HashMap<>();
+        for (String pair : body.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                form.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return form;
+    }
+
+    private static KeyPair generateKeyPair() {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(2048);
+            return generator.generateKeyPair();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("RSA not available", e);
+        }
+    }
+
+    private static byte[] unsigned(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        return bytes[0] == 0 ? Arrays.copyOfRange(bytes, 1, bytes.length) : bytes;
+    }
+}
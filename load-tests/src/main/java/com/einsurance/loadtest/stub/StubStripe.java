@@ -0,0 +1,179 @@
+package com.einsurance.loadtest.stub;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stripe.Stripe;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+
+/**
+ * Stand-in for the Stripe API calls payment-service makes, plus the webhook
+ * Stripe would send once the customer pays. Checkout sessions are created
+ * and retrieved from memory (payment-service points stripe.api-base here);
+ * completed() builds a checkout.session.completed event signed with the
+ * webhook secret exactly as Stripe signs it, for the driver to deliver.
+ */
+@Slf4j
+public class StubStripe implements AutoCloseable {
+
+    private static final String SESSIONS_PATH = "/v1/checkout/sessions";
+
+    private final String webhookSecret;
+    private final HttpServer server;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, Map<String, Object>> sessions = new ConcurrentHashMap<>();
+
+    public StubStripe(int port, String webhookSecret) throws IOException {
+        this.webhookSecret = webhookSecret;
+        this.server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+        server.createContext(SESSIONS_PATH, this::sessions);
+        server.setExecutor(Executors.newCachedThreadPool());
+    }
+
+    public StubStripe start() {
+        server.start();
+        log.info("Stripe stand-in on {}", baseUrl());
+        return this;
+    }
+
+    public String baseUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    /**
+     * Mark a session paid and return the webhook Stripe would send for it
+     */
+    public SignedWebhook completed(String sessionId) {
+        Map<String, Object> session = sessions.get(sessionId);
+        if (session == null) {
+            throw new IllegalArgumentException("Unknown checkout session " + sessionId);
+        }
+        session.put("status", "complete");
+        session.put("payment_status", "paid");
+
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("id", "evt_" + random());
+        event.put("object", "event");
+        event.put("api_version", Stripe.API_VERSION);
+        event.put("created", Instant.now().getEpochSecond());
+        event.put("livemode", false);
+        event.put("pending_webhooks", 1);
+        event.put("type", "checkout.session.completed");
+        event.put("data", Map.of("object", session));
+        try {
+            String payload = objectMapper.writeValueAsString(event);
+            return new SignedWebhook(payload, sign(payload, Instant.now().getEpochSecond()));
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not serialize webhook event", e);
+        }
+    }
+
+    /**
+     * Stripe-Signature header: HMAC-SHA256 over "timestamp.payload" keyed with the endpoint secret
+     */
+    String sign(String payload, long timestamp) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(webhookSecret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            byte[] digest = mac.doFinal((timestamp + "." + payload).getBytes(StandardCharsets.UTF_8));
+            return "t=" + timestamp + ",v1=" + HexFormat.of().formatHex(digest);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 not available", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void sessions(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        if ("POST".equals(exchange.getRequestMethod()) && path.equals(SESSIONS_PATH)) {
+            Map<String, String> form = StubKeycloak.parseForm(
+                    new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            Map<String, Object> session = newSession(form);
+            sessions.put((String) session.get("id"), session);
+            respond(exchange, 200, session);
+        } else if ("GET".equals(exchange.getRequestMethod()) && path.startsWith(SESSIONS_PATH + "/")) {
+            Map<String, Object> session = sessions.get(path.substring(SESSIONS_PATH.length() + 1));
+            if (session == null) {
+                respond(exchange, 404, Map.of("error", Map.of(
+                        "type", "invalid_request_error",
+                        "code", "resource_missing",
+                        "message", "No such checkout.session")));
+            } else {
+                respond(exchange, 200, session);
+            }
+        } else {
+            respond(exchange, 404, Map.of("error", Map.of(
+                    "type", "invalid_request_error",
+                    "message", "Unrecognized request URL (" + exchange.getRequestMethod() + ": " + path + ")")));
+        }
+    }
+
+    private Map<String, Object> newSession(Map<String, String> form) {
+        String id = "cs_test_" + random();
+        Map<String, String> metadata = new LinkedHashMap<>();
+        form.forEach((key, value) -> {
+            if (key.startsWith("metadata[") && key.endsWith("]")) {
+                metadata.put(key.substring("metadata[".length(), key.length() - 1), value);
+            }
+        });
+        long amount = Long.parseLong(form.getOrDefault("line_items[0][price_data][unit_amount]", "0"));
+
+        Map<String, Object> session = new ConcurrentHashMap<>();
+        session.put("id", id);
+        session.put("object", "checkout.session");
+        session.put("mode", form.getOrDefault("mode", "payment"));
+        session.put("status", "open");
+        session.put("payment_status", "unpaid");
+        session.put("amount_total", amount);
+        session.put("currency", form.getOrDefault("line_items[0][price_data][currency]", "eur"));
+        session.put("payment_intent", "pi_" + random());
+        session.put("payment_method_types", List.of("card"));
+        session.put("metadata", metadata);
+        session.put("success_url", form.getOrDefault("success_url", ""));
+        session.put("cancel_url", form.getOrDefault("cancel_url", ""));
+        session.put("url", baseUrl() + "/pay/" + id);
+        session.put("created", Instant.now().getEpochSecond());
+        session.put("livemode", false);
+        return session;
+    }
+
+    private void respond(HttpExchange exchange, int status, Object body) throws IOException {
+        byte[] bytes = objectMapper.writeValueAsBytes(body);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.getResponseHeaders().add("Request-Id", "req_" + random());
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static String random() {
+        return UUID.randomUUID().toString().replace("-", "");
+    }
+
+    /**
+     * Webhook body and its Stripe-Signature header
+     */
+    public record SignedWebhook(String payload, String signature) {
+    }
+}
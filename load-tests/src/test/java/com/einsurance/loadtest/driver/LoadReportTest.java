@@ -0,0 +1,102 @@
+package com.einsurance.loadtest.driver;
+
+import com.einsurance.loadtest.LoadTestProperties;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for LoadReport and the scenario mix of LoadDriver
+ */
+class LoadReportTest {
+
+    @Test
+    void endpoint_BeforeStart_IsNotRecorded() {
+        // Given
+        LoadReport report = new LoadReport();
+
+        // When
+        report.endpoint("GET /api/claims/{id}", 200, TimeUnit.MILLISECONDS.toNanos(5));
+        report.shed();
+
+        // Then
+        assertNull(report.endpointStats("GET /api/claims/{id}"));
+        assertEquals(0, report.shedCount());
+    }
+
+    @Test
+    void endpoint_CountsStatusClassesSeparately() {
+        // Given
+        LoadReport report = new LoadReport();
+        report.start();
+
+        // When
+        report.endpoint("POST /api/claims", 201, TimeUnit.MILLISECONDS.toNanos(10));
+        report.endpoint("POST /api/claims", 409, TimeUnit.MILLISECONDS.toNanos(10));
+        report.endpoint("POST /api/claims", 503, TimeUnit.MILLISECONDS.toNanos(10));
+        report.endpoint("POST /api/claims", -1, TimeUnit.SECONDS.toNanos(10));
+        report.stop();
+
+        // Then
+        LoadReport.Stats stats = report.endpointStats("POST /api/claims");
+        assertEquals(4, stats.count());
+        assertEquals(3, stats.errors());
+    }
+
+    @Test
+    void writeCsv_WritesOneRowPerScenarioAndEndpoint() throws Exception {
+        // Given
+        LoadReport report = new LoadReport();
+        report.start();
+        report.scenario("browse", true, TimeUnit.MILLISECONDS.toNanos(30));
+        report.endpoint("GET /api/policies/templates/active", 200, TimeUnit.MILLISECONDS.toNanos(8));
+        report.endpoint("GET /api/policies/templates/{id}", 200, TimeUnit.MILLISECONDS.toNanos(4));
+        report.stop();
+        Path file = Files.createTempDirectory("load-report").resolve("report.csv");
+
+        // When
+        report.writeCsv(file);
+
+        // Then
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(4, lines.size());
+        assertTrue(lines.get(1).startsWith("scenario,\"browse\",1,"));
+        assertTrue(lines.get(2).startsWith("endpoint,\"GET /api/policies/templates/active\",1,"));
+    }
+
+    @Test
+    void weighted_RepeatsEachScenarioByItsWeight() {
+        // Given
+        LoadTestProperties.Mix mix = new LoadTestProperties.Mix();
+        mix.setBrowse(3);
+        mix.setPurchase(1);
+        mix.setClaim(0);
+        mix.setReview(2);
+
+        // When
+        List<Scenarios.Kind> kinds = LoadDriver.weighted(mix);
+
+        // Then
+        assertEquals(6, kinds.size());
+        assertEquals(3, kinds.stream().filter(Scenarios.Kind.BROWSE::equals).count());
+        assertFalse(kinds.contains(Scenarios.Kind.CLAIM));
+    }
+
+    @Test
+    void weighted_AllZero_IsRejected() {
+        // Given
+        LoadTestProperties.Mix mix = new LoadTestProperties.Mix();
+        mix.setBrowse(0);
+        mix.setPurchase(0);
+        mix.setClaim(0);
+        mix.setReview(0);
+
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> LoadDriver.weighted(mix));
+    }
+}
@@ -0,0 +1,97 @@
+package com.einsurance.loadtest.stub;
+
+import com.stripe.exception.SignatureVerificationException;
+import com.stripe.model.Event;
+import com.stripe.model.checkout.Session;
+import com.stripe.net.Webhook;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for StubStripe
+ */
+class StubStripeTest {
+
+    private static final String SECRET = "whsec_test";
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private StubStripe stripe;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        stripe = new StubStripe(0, SECRET).start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        stripe.close();
+    }
+
+    @Test
+    void completed_WebhookPassesStripeSignatureVerification() throws Exception {
+        // Given
+        String sessionId = createSession();
+
+        // When
+        StubStripe.SignedWebhook webhook = stripe.completed(sessionId);
+
+        // Then
+        Event event = Webhook.constructEvent(webhook.payload(), webhook.signature(), SECRET);
+        assertEquals("checkout.session.completed", event.getType());
+        Session session = (Session) event.getDataObjectDeserializer().getObject().orElseThrow();
+        assertEquals(sessionId, session.getId());
+        assertEquals("paid", session.getPaymentStatus());
+        assertEquals("policy-1", session.getMetadata().get("policyId"));
+        assertEquals(12_500L, session.getAmountTotal());
+    }
+
+    @Test
+    void completed_SignatureWithOtherSecret_IsRejected() throws Exception {
+        // Given
+        StubStripe.SignedWebhook webhook = stripe.completed(createSession());
+
+        // When / Then
+        assertThrows(SignatureVerificationException.class,
+                () -> Webhook.constructEvent(webhook.payload(), webhook.signature(), "whsec_other"));
+    }
+
+    @Test
+    void completed_UnknownSession_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> stripe.completed("cs_test_missing"));
+    }
+
+    @Test
+    void retrieve_UnknownSession_Returns404() throws Exception {
+        // When
+        HttpResponse<String> response = httpClient.send(
+                HttpRequest.newBuilder(URI.create(stripe.baseUrl() + "/v1/checkout/sessions/cs_test_missing")).build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        // Then
+        assertEquals(404, response.statusCode());
+        assertTrue(response.body().contains("resource_missing"));
+    }
+
+    private String createSession() throws Exception {
+        String form = "mode=payment"
+                + "&line_items[0][price_data][unit_amount]=12500"
+                + "&line_items[0][price_data][currency]=eur"
+                + "&metadata[policyId]=policy-1";
+        HttpResponse<String> response = httpClient.send(
+                HttpRequest.newBuilder(URI.create(stripe.baseUrl() + "/v1/checkout/sessions"))
+                        .header("Content-Type", "application/x-www-form-urlencoded")
+                        .POST(HttpRequest.BodyPublishers.ofString(form))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, response.statusCode());
+        return Session.GSON.fromJson(response.body(), Session.class).getId();
+    }
+}
@@ -0,0 +1,30 @@
+package com.einsurance.notification;
+
+import com.einsurance.common.config.OpenApiConfig;
+import com.einsurance.common.config.SecurityConfig;
+import com.einsurance.common.exception.GlobalExceptionHandler;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Notification Service Application
+ * Consumes domain events in batches and delivers customer notifications
+ */
+@SpringBootApplication
+@ComponentScan(basePackages = {
+    "com.einsurance.notification",
+    "com.einsurance.common"
+})
+@Import({
+    SecurityConfig.class,
+    OpenApiConfig.class,
+    GlobalExceptionHandler.class
+})
+public class NotificationServiceApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(NotificationServiceApplication.class, args);
+    }
+}
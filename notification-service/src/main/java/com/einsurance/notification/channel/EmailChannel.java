@@ -0,0 +1,119 @@
+package com.einsurance.notification.channel;
+
+import com.einsurance.common.client.UserServiceClient;
+import com.einsurance.common.dto.UserContactDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Sends notifications by email.
+ * Producers only know the recipient's user ID, so addresses the event does
+ * not carry are looked up in user-service, one call per batch. A batch goes
+ * out over a single SMTP connection; per-message failures reported by the
+ * mail server, and recipients without an address, are returned as failed.
+ */
+@Slf4j
+public class EmailChannel implements NotificationChannel {
+
+    public static final String NAME = "email";
+
+    private final JavaMailSender mailSender;
+    private final UserServiceClient userServiceClient;
+    private final String from;
+
+    public EmailChannel(JavaMailSender mailSender, UserServiceClient userServiceClient, String from) {
+        this.mailSender = mailSender;
+        this.userServiceClient = userServiceClient;
+        this.from = from;
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public List<RenderedNotification> deliver(List<RenderedNotification> batch) {
+        Map<UUID, String> addresses = lookUpAddresses(batch);
+        List<RenderedNotification> failed = new ArrayList<>();
+        Map<SimpleMailMessage, RenderedNotification> messages = new IdentityHashMap<>(batch.size());
+        for (RenderedNotification notification : batch) {
+            String recipient = notification.getEvent().getRecipientEmail();
+            if (isBlank(recipient)) {
+                recipient = addresses.get(notification.getEvent().getRecipientUserId());
+            }
+            if (isBlank(recipient)) {
+                log.warn("No email address for user {}, event {} not sent",
+                        notification.getEvent().getRecipientUserId(), notification.getEvent().getEventId());
+                failed.add(notification);
+                continue;
+            }
+            SimpleMailMessage message = new SimpleMailMessage();
+            message.setFrom(from);
+            message.setTo(recipient);
+            message.setSubject(notification.getSubject());
+            message.setText(notification.getBody());
+            messages.put(message, notification);
+        }
+
+        if (messages.isEmpty()) {
+            return failed;
+        }
+
+        try {
+            mailSender.send(messages.keySet().toArray(SimpleMailMessage[]::new));
+            return failed;
+        } catch (MailSendException e) {
+            if (e.getFailedMessages().isEmpty()) {
+                throw e;
+            }
+            int unaddressed = failed.size();
+            for (Object message : e.getFailedMessages().keySet()) {
+                RenderedNotification notification = messages.get(message);
+                if (notification != null) {
+                    failed.add(notification);
+                }
+            }
+            log.warn("{} of {} emails failed in batch", failed.size() - unaddressed, messages.size());
+            return failed;
+        }
+    }
+
+    /**
+     * Addresses of active recipients whose event carries none
+     */
+    private Map<UUID, String> lookUpAddresses(List<RenderedNotification> batch) {
+        Set<UUID> userIds = new LinkedHashSet<>();
+        for (RenderedNotification notification : batch) {
+            if (isBlank(notification.getEvent().getRecipientEmail())) {
+                userIds.add(notification.getEvent().getRecipientUserId());
+            }
+        }
+        if (userIds.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<UUID, String> addresses = new HashMap<>(userIds.size());
+        for (UserContactDto contact : userServiceClient.getContacts(userIds).values()) {
+            if (!Boolean.FALSE.equals(contact.getActive())) {
+                addresses.put(contact.getUserId(), contact.getEmail());
+            }
+        }
+        return addresses;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
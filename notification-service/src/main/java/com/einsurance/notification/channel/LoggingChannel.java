@@ -0,0 +1,31 @@
+package com.einsurance.notification.channel;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+
+/**
+ * Writes notifications to the log instead of sending them.
+ * Default channel for local runs.
+ */
+@Slf4j
+public class LoggingChannel implements NotificationChannel {
+
+    public static final String NAME = "log";
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public List<RenderedNotification> deliver(List<RenderedNotification> batch) {
+        for (RenderedNotification notification : batch) {
+            log.info("NOTIFY to=user:{} event={} subject=\"{}\"",
+                    notification.getEvent().getRecipientUserId(),
+                    notification.getEvent().getEventType(),
+                    notification.getSubject());
+        }
+        return List.of();
+    }
+}
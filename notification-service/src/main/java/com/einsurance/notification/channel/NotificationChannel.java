@@ -0,0 +1,23 @@
+package com.einsurance.notification.channel;
+
+import java.util.List;
+
+/**
+ * Delivery channel for rendered notifications.
+ * Any NotificationChannel bean is picked up and addressed by its name()
+ * in notifications.routing.*.
+ */
+public interface NotificationChannel {
+
+    /**
+     * Routing name, e.g. "email" or "log"
+     */
+    String name();
+
+    /**
+     * Deliver a batch in one go where the transport allows it
+     * @return the notifications that could not be delivered (empty when all succeeded);
+     *         throwing means the whole batch failed
+     */
+    List<RenderedNotification> deliver(List<RenderedNotification> batch);
+}
@@ -0,0 +1,17 @@
+package com.einsurance.notification.channel;
+
+import com.einsurance.common.dto.NotificationEvent;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Notification ready for delivery: rendered text plus the event it came from
+ */
+@Value
+@Builder
+public class RenderedNotification {
+    NotificationEvent event;
+    String subject;
+    String body;
+    int attempt;
+}
@@ -0,0 +1,35 @@
+package com.einsurance.notification.config;
+
+import com.einsurance.common.client.UserServiceClient;
+import com.einsurance.notification.channel.EmailChannel;
+import com.einsurance.notification.channel.LoggingChannel;
+import com.einsurance.notification.channel.NotificationChannel;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.mail.javamail.JavaMailSender;
+
+/**
+ * Notification channel wiring.
+ * The log channel is always available; email is enabled with
+ * notifications.channels.email.enabled and needs user-service for addresses. Further channels are added by
+ * declaring NotificationChannel beans.
+ */
+@Configuration
+@EnableConfigurationProperties(NotificationProperties.class)
+public class NotificationConfig {
+
+    @Bean
+    public NotificationChannel loggingChannel() {
+        return new LoggingChannel();
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "notifications.channels.email", name = "enabled", havingValue = "true")
+    public NotificationChannel emailChannel(JavaMailSender mailSender, UserServiceClient userServiceClient,
+                                            @Value("${notifications.channels.email.from:no-reply@e-insurance.com}") String from) {
+        return new EmailChannel(mailSender, userServiceClient, from);
+    }
+}
@@ -0,0 +1,104 @@
+package com.einsurance.notification.config;
+
+import com.einsurance.common.dto.NotificationEvent.EventType;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Notification pipeline settings, bound from notifications.*
+ */
+@Data
+@ConfigurationProperties(prefix = "notifications")
+public class NotificationProperties {
+
+    private final Queue queue = new Queue();
+
+    private final Consumer consumer = new Consumer();
+
+    private final RateLimit rateLimit = new RateLimit();
+
+    private final Routing routing = new Routing();
+
+    private final Retry retry = new Retry();
+
+    @Data
+    public static class Queue {
+
+        /**
+         * Events awaiting delivery beyond which submissions are rejected
+         */
+        private int capacity = 10_000;
+
+        /**
+         * How long a consumer owns a batch before it becomes due again; longer than a batch takes
+         */
+        private Duration lease = Duration.ofMinutes(5);
+
+        /**
+         * How long delivered and dropped events are kept to recognise resends as duplicates
+         */
+        private Duration retention = Duration.ofDays(7);
+    }
+
+    @Data
+    public static class Consumer {
+
+        /**
+         * Worker threads draining the queue; defaults to one per core
+         */
+        private int workers = Runtime.getRuntime().availableProcessors();
+
+        private int batchSize = 100;
+
+        /**
+         * How long an idle worker waits for the first event of a batch
+         */
+        private Duration pollTimeout = Duration.ofMillis(500);
+    }
+
+    @Data
+    public static class RateLimit {
+
+        private boolean enabled = true;
+
+        /**
+         * Burst a single recipient may receive at once
+         */
+        private int capacity = 5;
+
+        /**
+         * Sustained rate per recipient
+         */
+        private double tokensPerMinute = 1.0;
+
+        /**
+         * Recipients tracked at once; least recently active buckets are evicted first
+         */
+        private int maxRecipients = 50_000;
+    }
+
+    @Data
+    public static class Routing {
+
+        /**
+         * Channel used when an event type has no explicit route
+         */
+        private String defaultChannel = "log";
+
+        private Map<EventType, String> channels = new EnumMap<>(EventType.class);
+    }
+
+    @Data
+    public static class Retry {
+
+        private int maxAttempts = 5;
+
+        private Duration initialBackoff = Duration.ofSeconds(2);
+
+        private Duration maxBackoff = Duration.ofMinutes(5);
+    }
+}
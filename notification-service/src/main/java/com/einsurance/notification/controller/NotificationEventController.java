@@ -0,0 +1,46 @@
+package com.einsurance.notification.controller;
+
+import com.einsurance.common.dto.ApiResponse;
+import com.einsurance.common.dto.NotificationBatchReceipt;
+import com.einsurance.common.dto.NotificationEvent;
+import com.einsurance.notification.service.NotificationIngestService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST controller for notification event ingestion
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/notifications")
+@RequiredArgsConstructor
+@Validated
+@Tag(name = "Notifications", description = "APIs for submitting notification events")
+@SecurityRequirement(name = "bearerAuth")
+public class NotificationEventController {
+
+    private final NotificationIngestService ingestService;
+
+    @PostMapping("/events")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    @PreAuthorize("hasAnyRole('ADMIN', 'SERVICE')")
+    @Operation(summary = "Submit events", description = "Queue a batch of domain events for notification delivery")
+    public ApiResponse<NotificationBatchReceipt> submitEvents(
+            @RequestBody @NotEmpty @Size(max = 1000) List<@Valid NotificationEvent> events) {
+        log.debug("Received {} notification events", events.size());
+        NotificationBatchReceipt receipt = ingestService.submit(events);
+        return ApiResponse.success("Events queued", receipt);
+    }
+}
@@ -0,0 +1,190 @@
+package com.einsurance.notification.service;
+
+import com.einsurance.common.dto.NotificationEvent;
+import com.einsurance.notification.config.NotificationProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Notification queue in the service's Postgres database (notification_queue).
+ * Duplicates are detected by the primary key, so a producer's resend is
+ * recognised for as long as the settled row is retained. Consumers lease
+ * due rows with FOR UPDATE SKIP LOCKED, so replicas never share a row.
+ * Events enqueued on this replica wake an idle consumer at once; events
+ * enqueued elsewhere are picked up within the consumer's poll timeout.
+ */
+@Slf4j
+@Component
+public class JdbcNotificationQueue implements NotificationQueue {
+
+    private static final String INSERT = "INSERT INTO notification_queue (event_id, event) VALUES (?, ?::jsonb) " +
+            "ON CONFLICT (event_id) DO NOTHING";
+
+    private static final String LEASE = "UPDATE notification_queue " +
+            "SET next_attempt_at = now() + ? * INTERVAL '1 millisecond', updated_at = now() " +
+            "WHERE event_id IN (SELECT event_id FROM notification_queue " +
+            "WHERE status = 'PENDING' AND next_attempt_at <= now() " +
+            "ORDER BY next_attempt_at LIMIT ? FOR UPDATE SKIP LOCKED) " +
+            "RETURNING event, attempts";
+
+    private static final String RESCHEDULE = "UPDATE notification_queue " +
+            "SET attempts = ?, next_attempt_at = now() + ? * INTERVAL '1 millisecond', updated_at = now() " +
+            "WHERE event_id = ? AND status = 'PENDING'";
+
+    private static final String SETTLE = "UPDATE notification_queue SET status = ?, attempts = ?, updated_at = now() " +
+            "WHERE event_id = ? AND status = 'PENDING'";
+
+    private static final String PURGE = "DELETE FROM notification_queue " +
+            "WHERE status <> 'PENDING' AND updated_at < now() - ? * INTERVAL '1 millisecond'";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final NotificationProperties.Queue settings;
+    private final Object arrivals = new Object();
+    private final ScheduledExecutorService housekeeping;
+
+    public JdbcNotificationQueue(DataSource dataSource, ObjectMapper objectMapper,
+                                 NotificationProperties properties, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.objectMapper = objectMapper;
+        this.settings = properties.getQueue();
+        this.housekeeping = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "notification-queue-purge");
+            thread.setDaemon(true);
+            return thread;
+        });
+        housekeeping.scheduleWithFixedDelay(this::purgeSafely, 1, 60, TimeUnit.MINUTES);
+
+        Gauge.builder("notifications.queue.size", this, NotificationQueue::pending)
+                .description("Notifications waiting for delivery")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Set<UUID> enqueue(List<NotificationEvent> events) {
+        if (events.isEmpty()) {
+            return Set.of();
+        }
+        List<Object[]> rows = new ArrayList<>(events.size());
+        for (NotificationEvent event : events) {
+            rows.add(new Object[] {event.getEventId(), toJson(event)});
+        }
+        int[] counts = jdbcTemplate.batchUpdate(INSERT, rows);
+
+        Set<UUID> stored = new LinkedHashSet<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                stored.add(events.get(i).getEventId());
+            }
+        }
+        if (!stored.isEmpty()) {
+            synchronized (arrivals) {
+                arrivals.notifyAll();
+            }
+        }
+        return stored;
+    }
+
+    @Override
+    public List<QueuedNotification> takeBatch(int maxSize, Duration timeout) throws InterruptedException {
+        List<QueuedNotification> batch = lease(maxSize);
+        if (!batch.isEmpty()) {
+            return batch;
+        }
+        synchronized (arrivals) {
+            arrivals.wait(Math.max(1, timeout.toMillis()));
+        }
+        return lease(maxSize);
+    }
+
+    @Override
+    public void offerLater(QueuedNotification notification, Duration delay) {
+        jdbcTemplate.update(RESCHEDULE, notification.attempt(), delay.toMillis(), notification.event().getEventId());
+    }
+
+    @Override
+    public void markDelivered(List<QueuedNotification> notifications) {
+        if (notifications.isEmpty()) {
+            return;
+        }
+        List<Object[]> rows = new ArrayList<>(notifications.size());
+        for (QueuedNotification notification : notifications) {
+            rows.add(new Object[] {"DELIVERED", notification.attempt(), notification.event().getEventId()});
+        }
+        jdbcTemplate.batchUpdate(SETTLE, rows);
+    }
+
+    @Override
+    public void markDropped(QueuedNotification notification) {
+        jdbcTemplate.update(SETTLE, "DROPPED", notification.attempt(), notification.event().getEventId());
+    }
+
+    @Override
+    public int pending() {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM notification_queue WHERE status = 'PENDING'", Integer.class);
+        return count != null ? count : 0;
+    }
+
+    /**
+     * Delete settled rows older than the retention period
+     * @return rows deleted
+     */
+    public int purgeExpired() {
+        return jdbcTemplate.update(PURGE, settings.getRetention().toMillis());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        housekeeping.shutdownNow();
+    }
+
+    private List<QueuedNotification> lease(int maxSize) {
+        return jdbcTemplate.query(LEASE, (rs, rowNum) -> new QueuedNotification(
+                fromJson(rs.getString("event")), rs.getInt("attempts")), settings.getLease().toMillis(), maxSize);
+    }
+
+    private void purgeSafely() {
+        try {
+            int purged = purgeExpired();
+            if (purged > 0) {
+                log.debug("Purged {} settled notifications", purged);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Purging settled notifications failed: {}", e.getMessage());
+        }
+    }
+
+    private String toJson(NotificationEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot serialize notification event " + event.getEventId(), e);
+        }
+    }
+
+    private NotificationEvent fromJson(String json) {
+        try {
+            return objectMapper.readValue(json, NotificationEvent.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot read queued notification event", e);
+        }
+    }
+}
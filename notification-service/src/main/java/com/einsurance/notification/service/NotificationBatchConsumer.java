@@ -0,0 +1,92 @@
+package com.einsurance.notification.service;
+
+import com.einsurance.notification.config.NotificationProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Worker threads that drain the queue in batches.
+ * A worker blocks only while the queue is empty; once an event arrives it
+ * takes everything else already waiting (up to batch-size), so load is
+ * amortised across a batch instead of paid per event.
+ */
+@Slf4j
+@Component
+public class NotificationBatchConsumer implements SmartLifecycle {
+
+    private final NotificationQueue queue;
+    private final NotificationProcessor processor;
+    private final NotificationProperties.Consumer settings;
+    private final List<Thread> workers = new ArrayList<>();
+
+    private volatile boolean running;
+
+    public NotificationBatchConsumer(NotificationQueue queue,
+                                     NotificationProcessor processor,
+                                     NotificationProperties properties) {
+        this.queue = queue;
+        this.processor = processor;
+        this.settings = properties.getConsumer();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        for (int i = 0; i < settings.getWorkers(); i++) {
+            Thread worker = new Thread(this::consume, "notification-consumer-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+        log.info("Started {} notification consumers (batch size {})", settings.getWorkers(), settings.getBatchSize());
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        for (Thread worker : workers) {
+            worker.interrupt();
+        }
+        for (Thread worker : workers) {
+            try {
+                worker.join(settings.getPollTimeout().toMillis() * 2);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        workers.clear();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void consume() {
+        while (running) {
+            try {
+                List<QueuedNotification> batch = queue.takeBatch(settings.getBatchSize(), settings.getPollTimeout());
+                if (!batch.isEmpty()) {
+                    processor.process(batch);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                // Leased rows come back when the lease expires; pause so an unreachable database is not hammered
+                log.error("Notification batch failed", e);
+                try {
+                    Thread.sleep(settings.getPollTimeout().toMillis());
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.einsurance.notification.service;
+
+import com.einsurance.common.dto.NotificationBatchReceipt;
+import com.einsurance.common.dto.NotificationEvent;
+import com.einsurance.notification.config.NotificationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Accepts event batches from producers.
+ * Events are stored in the queue before the batch is acknowledged.
+ * Duplicates (an eventId the queue already holds or recently settled) are
+ * acknowledged but not queued again; events beyond the queue's capacity are
+ * reported back as rejected so the producer keeps them in its outbox and
+ * resends later.
+ */
+@Slf4j
+@Service
+public class NotificationIngestService {
+
+    private final NotificationQueue queue;
+    private final int capacity;
+
+    private final Counter acceptedCounter;
+    private final Counter duplicateCounter;
+    private final Counter rejectedCounter;
+
+    public NotificationIngestService(NotificationQueue queue,
+                                     NotificationProperties properties,
+                                     MeterRegistry meterRegistry) {
+        this.queue = queue;
+        this.capacity = properties.getQueue().getCapacity();
+
+        this.acceptedCounter = Counter.builder("notifications.events").tag("outcome", "accepted").register(meterRegistry);
+        this.duplicateCounter = Counter.builder("notifications.events").tag("outcome", "duplicate").register(meterRegistry);
+        this.rejectedCounter = Counter.builder("notifications.events").tag("outcome", "rejected").register(meterRegistry);
+    }
+
+    /**
+     * Queue a batch of events for delivery
+     */
+    public NotificationBatchReceipt submit(List<NotificationEvent> events) {
+        int room = Math.max(0, capacity - queue.pending());
+        List<NotificationEvent> admitted = events.subList(0, Math.min(room, events.size()));
+        List<UUID> rejected = events.subList(admitted.size(), events.size()).stream()
+                .map(NotificationEvent::getEventId)
+                .toList();
+
+        Set<UUID> stored = queue.enqueue(admitted);
+        int duplicates = admitted.size() - stored.size();
+
+        acceptedCounter.increment(stored.size());
+        duplicateCounter.increment(duplicates);
+        rejectedCounter.increment(rejected.size());
+        if (!rejected.isEmpty()) {
+            log.warn("Notification queue full, rejected {} of {} events", rejected.size(), events.size());
+        }
+
+        return NotificationBatchReceipt.builder()
+                .accepted(stored.size())
+                .duplicates(duplicates)
+                .rejectedEventIds(rejected)
+                .build();
+    }
+}
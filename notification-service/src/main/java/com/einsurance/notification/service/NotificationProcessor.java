@@ -0,0 +1,207 @@
+package com.einsurance.notification.service;
+
+import com.einsurance.common.dto.NotificationEvent;
+import com.einsurance.notification.channel.NotificationChannel;
+import com.einsurance.notification.channel.RenderedNotification;
+import com.einsurance.notification.config.NotificationProperties;
+import com.einsurance.notification.template.NotificationTemplate;
+import com.einsurance.notification.template.TemplateRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Turns a batch of queued events into deliveries.
+ * Each event is rate limited per recipient, rendered from its precompiled
+ * template and grouped by channel, so every channel receives one call per batch.
+ * Delivered notifications are settled in the queue; failed ones go back
+ * with exponential backoff until retry.max-attempts, after which they are
+ * dropped and counted.
+ */
+@Slf4j
+@Component
+public class NotificationProcessor {
+
+    private static final String DEFAULT_RECIPIENT_NAME = "customer";
+
+    private final TemplateRegistry templateRegistry;
+    private final RecipientRateLimiter rateLimiter;
+    private final NotificationQueue queue;
+    private final NotificationProperties properties;
+    private final Map<String, NotificationChannel> channels;
+    private final Map<NotificationEvent.EventType, NotificationChannel> routes;
+
+    private final Map<String, Counter> deliveredCounters;
+    private final Counter rateLimitedCounter;
+    private final Counter retriedCounter;
+    private final Counter droppedCounter;
+    private final Timer batchTimer;
+
+    public NotificationProcessor(TemplateRegistry templateRegistry,
+                                 RecipientRateLimiter rateLimiter,
+                                 NotificationQueue queue,
+                                 List<NotificationChannel> channels,
+                                 NotificationProperties properties,
+                                 MeterRegistry meterRegistry) {
+        this.templateRegistry = templateRegistry;
+        this.rateLimiter = rateLimiter;
+        this.queue = queue;
+        this.properties = properties;
+        this.channels = channels.stream()
+                .collect(Collectors.toMap(NotificationChannel::name, Function.identity()));
+        this.routes = resolveRoutes(properties.getRouting());
+
+        this.deliveredCounters = new HashMap<>();
+        for (String name : this.channels.keySet()) {
+            deliveredCounters.put(name, Counter.builder("notifications.delivered")
+                    .tag("channel", name)
+                    .register(meterRegistry));
+        }
+        this.rateLimitedCounter = Counter.builder("notifications.deferred")
+                .tag("reason", "rate_limited")
+                .register(meterRegistry);
+        this.retriedCounter = Counter.builder("notifications.deferred")
+                .tag("reason", "delivery_failed")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("notifications.dropped")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("notifications.batch.duration")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * Process one batch taken from the queue
+     */
+    public void process(List<QueuedNotification> batch) {
+        Timer.Sample sample = Timer.start();
+
+        Map<NotificationChannel, List<RenderedNotification>> byChannel = new IdentityHashMap<>();
+        Map<RenderedNotification, QueuedNotification> sources = new IdentityHashMap<>(batch.size());
+
+        for (QueuedNotification item : batch) {
+            NotificationEvent event = item.event();
+
+            // Retries already spent their token on the first attempt
+            if (item.attempt() == 0) {
+                Duration wait = rateLimiter.tryAcquire(event.getRecipientUserId());
+                if (!wait.isZero()) {
+                    rateLimitedCounter.increment();
+                    queue.offerLater(item, wait);
+                    continue;
+                }
+            }
+
+            RenderedNotification rendered = render(item);
+            sources.put(rendered, item);
+            byChannel.computeIfAbsent(routes.get(event.getEventType()), channel -> new ArrayList<>())
+                    .add(rendered);
+        }
+
+        byChannel.forEach((channel, notifications) -> deliver(channel, notifications, sources));
+        sample.stop(batchTimer);
+    }
+
+    private void deliver(NotificationChannel channel,
+                         List<RenderedNotification> notifications,
+                         Map<RenderedNotification, QueuedNotification> sources) {
+        List<RenderedNotification> failed;
+        try {
+            failed = channel.deliver(notifications);
+        } catch (RuntimeException e) {
+            log.warn("Channel '{}' failed a batch of {}: {}", channel.name(), notifications.size(), e.getMessage());
+            failed = notifications;
+        }
+
+        Set<RenderedNotification> failedSet = Collections.newSetFromMap(new IdentityHashMap<>());
+        failedSet.addAll(failed);
+        List<QueuedNotification> delivered = new ArrayList<>(notifications.size() - failedSet.size());
+        for (RenderedNotification notification : notifications) {
+            if (!failedSet.contains(notification)) {
+                delivered.add(sources.get(notification));
+            }
+        }
+        queue.markDelivered(delivered);
+        deliveredCounters.get(channel.name()).increment(delivered.size());
+        for (RenderedNotification notification : failedSet) {
+            retryOrDrop(sources.get(notification));
+        }
+    }
+
+    private void retryOrDrop(QueuedNotification item) {
+        QueuedNotification next = item.nextAttempt();
+        if (next.attempt() >= properties.getRetry().getMaxAttempts()) {
+            queue.markDropped(next);
+            droppedCounter.increment();
+            log.error("Dropping {} notification {} for user {} after {} attempts",
+                    item.event().getEventType(), item.event().getEventId(),
+                    item.event().getRecipientUserId(), next.attempt());
+            return;
+        }
+        retriedCounter.increment();
+        queue.offerLater(next, backoffFor(next.attempt()));
+    }
+
+    private RenderedNotification render(QueuedNotification item) {
+        NotificationEvent event = item.event();
+        NotificationTemplate template = templateRegistry.get(event.getEventType());
+
+        Map<String, String> payload = event.getPayload() != null ? event.getPayload() : Map.of();
+        Map<String, String> values = new HashMap<>(payload.size() + 2);
+        values.putAll(payload);
+        values.put("recipientName", event.getRecipientName() != null ? event.getRecipientName() : DEFAULT_RECIPIENT_NAME);
+        values.put("eventType", event.getEventType().name());
+
+        return RenderedNotification.builder()
+                .event(event)
+                .subject(template.renderSubject(values))
+                .body(template.renderBody(values))
+                .attempt(item.attempt())
+                .build();
+    }
+
+    /**
+     * Exponential backoff with equal jitter, capped at retry.max-backoff
+     */
+    Duration backoffFor(int attempt) {
+        long initialMillis = properties.getRetry().getInitialBackoff().toMillis();
+        long maxMillis = properties.getRetry().getMaxBackoff().toMillis();
+
+        int exponent = Math.min(Math.max(attempt - 1, 0), 30);
+        long delay = Math.min(maxMillis, initialMillis << exponent);
+        long half = delay / 2;
+        return Duration.ofMillis(half + ThreadLocalRandom.current().nextLong(delay - half + 1));
+    }
+
+    /**
+     * Resolve every event type to a channel up front, failing fast on unknown channel names
+     */
+    private Map<NotificationEvent.EventType, NotificationChannel> resolveRoutes(NotificationProperties.Routing routing) {
+        Map<NotificationEvent.EventType, NotificationChannel> resolved = new EnumMap<>(NotificationEvent.EventType.class);
+        for (NotificationEvent.EventType eventType : NotificationEvent.EventType.values()) {
+            String name = routing.getChannels().getOrDefault(eventType, routing.getDefaultChannel());
+            NotificationChannel channel = channels.get(name);
+            if (channel == null) {
+                throw new IllegalStateException("Event type " + eventType + " is routed to unknown channel '" +
+                        name + "'; available: " + channels.keySet());
+            }
+            resolved.put(eventType, channel);
+        }
+        return resolved;
+    }
+}
@@ -0,0 +1,50 @@
+package com.einsurance.notification.service;
+
+import com.einsurance.common.dto.NotificationEvent;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Durable queue between ingestion and the batch consumers.
+ * An event is stored before ingestion acknowledges it and stays until it is
+ * settled as delivered or dropped. A batch handed to a consumer is leased:
+ * whatever the consumer does not settle or defer (e.g. because it crashed)
+ * becomes due again when the lease expires, so delivery is at-least-once.
+ */
+public interface NotificationQueue {
+
+    /**
+     * Store events not seen before and wake an idle consumer
+     * @return IDs of the events stored; the others were duplicates
+     */
+    Set<UUID> enqueue(List<NotificationEvent> events);
+
+    /**
+     * Wait up to timeout for due notifications and lease up to maxSize of them
+     * @return an empty list if nothing became due within the timeout
+     */
+    List<QueuedNotification> takeBatch(int maxSize, Duration timeout) throws InterruptedException;
+
+    /**
+     * Make a leased notification due again after a delay, with its attempt count
+     */
+    void offerLater(QueuedNotification notification, Duration delay);
+
+    /**
+     * Settle leased notifications as delivered
+     */
+    void markDelivered(List<QueuedNotification> notifications);
+
+    /**
+     * Settle a leased notification that ran out of attempts
+     */
+    void markDropped(QueuedNotification notification);
+
+    /**
+     * Notifications waiting for delivery, leased ones included
+     */
+    int pending();
+}
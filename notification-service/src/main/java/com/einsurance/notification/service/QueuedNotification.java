@@ -0,0 +1,17 @@
+package com.einsurance.notification.service;
+
+import com.einsurance.common.dto.NotificationEvent;
+
+/**
+ * Event waiting in the delivery queue, with the number of failed deliveries so far
+ */
+public record QueuedNotification(NotificationEvent event, int attempt) {
+
+    public static QueuedNotification first(NotificationEvent event) {
+        return new QueuedNotification(event, 0);
+    }
+
+    public QueuedNotification nextAttempt() {
+        return new QueuedNotification(event, attempt + 1);
+    }
+}
@@ -0,0 +1,99 @@
+package com.einsurance.notification.service;
+
+import com.einsurance.notification.config.NotificationProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket per recipient, so a burst of events for one customer
+ * (e.g. several claims reviewed at once) cannot flood their inbox.
+ * Buckets live in an access-ordered map capped at maxRecipients; the least
+ * recently active recipient is evicted first, and an evicted recipient
+ * simply starts again with a full bucket.
+ */
+@Component
+public class RecipientRateLimiter {
+
+    private static final long NANOS_PER_MINUTE = Duration.ofMinutes(1).toNanos();
+
+    private final boolean enabled;
+    private final int capacity;
+    private final double tokensPerNano;
+    private final LongSupplier nanoClock;
+    private final Map<UUID, Bucket> buckets;
+
+    @Autowired
+    public RecipientRateLimiter(NotificationProperties properties) {
+        this(properties.getRateLimit(), System::nanoTime);
+    }
+
+    RecipientRateLimiter(NotificationProperties.RateLimit rateLimit, LongSupplier nanoClock) {
+        this.enabled = rateLimit.isEnabled();
+        this.capacity = rateLimit.getCapacity();
+        this.tokensPerNano = rateLimit.getTokensPerMinute() / NANOS_PER_MINUTE;
+        this.nanoClock = nanoClock;
+
+        int maxRecipients = rateLimit.getMaxRecipients();
+        this.buckets = new LinkedHashMap<>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Bucket> eldest) {
+                return size() > maxRecipients;
+            }
+        };
+    }
+
+    /**
+     * Take a token for the recipient
+     * @return Duration.ZERO if granted, otherwise how long until the next token is available
+     */
+    public Duration tryAcquire(UUID recipientId) {
+        if (!enabled) {
+            return Duration.ZERO;
+        }
+
+        long now = nanoClock.getAsLong();
+        synchronized (buckets) {
+            Bucket bucket = buckets.computeIfAbsent(recipientId, id -> new Bucket(capacity, now));
+            bucket.refill(now, capacity, tokensPerNano);
+            if (bucket.tokens >= 1.0) {
+                bucket.tokens -= 1.0;
+                return Duration.ZERO;
+            }
+            return Duration.ofNanos((long) Math.ceil((1.0 - bucket.tokens) / tokensPerNano));
+        }
+    }
+
+    /**
+     * Number of recipients currently tracked
+     */
+    public int trackedRecipients() {
+        synchronized (buckets) {
+            return buckets.size();
+        }
+    }
+
+    private static final class Bucket {
+
+        private double tokens;
+        private long lastRefillNanos;
+
+        private Bucket(double tokens, long now) {
+            this.tokens = tokens;
+            this.lastRefillNanos = now;
+        }
+
+        private void refill(long now, int capacity, double tokensPerNano) {
+            long elapsed = now - lastRefillNanos;
+            if (elapsed > 0) {
+                tokens = Math.min(capacity, tokens + elapsed * tokensPerNano);
+                lastRefillNanos = now;
+            }
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.einsurance.notification.template;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Text template parsed once into literal and {{variable}} segments.
+ * Rendering is a single pass over the segments with no parsing,
+ * regex or reflection, so it is cheap enough to run per message.
+ */
+public final class CompiledTemplate {
+
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+
+    private final String[] literals;
+    private final String[] variables;
+    private final int literalLength;
+
+    private CompiledTemplate(String[] literals, String[] variables, int literalLength) {
+        this.literals = literals;
+        this.variables = variables;
+        this.literalLength = literalLength;
+    }
+
+    /**
+     * Parse a template source
+     * @throws IllegalArgumentException if a placeholder is not closed
+     */
+    public static CompiledTemplate compile(String source) {
+        List<String> literals = new ArrayList<>();
+        List<String> variables = new ArrayList<>();
+        int literalLength = 0;
+        int position = 0;
+
+        while (true) {
+            int open = source.indexOf(OPEN, position);
+            if (open < 0) {
+                break;
+            }
+            int close = source.indexOf(CLOSE, open + OPEN.length());
+            if (close < 0) {
+                throw new IllegalArgumentException("Unclosed placeholder at offset " + open);
+            }
+            String literal = source.substring(position, open);
+            literals.add(literal);
+            literalLength += literal.length();
+            variables.add(source.substring(open + OPEN.length(), close).trim());
+            position = close + CLOSE.length();
+        }
+
+        String tail = source.substring(position);
+        literals.add(tail);
+        literalLength += tail.length();
+
+        return new CompiledTemplate(literals.toArray(String[]::new), variables.toArray(String[]::new), literalLength);
+    }
+
+    /**
+     * Render with the given variables; missing variables render as empty text
+     */
+    public String render(Map<String, String> values) {
+        StringBuilder out = new StringBuilder(literalLength + variables.length * 16);
+        for (int i = 0; i < variables.length; i++) {
+            out.append(literals[i]);
+            String value = values.get(variables[i]);
+            if (value != null) {
+                out.append(value);
+            }
+        }
+        out.append(literals[variables.length]);
+        return out.toString();
+    }
+
+    /**
+     * Names of the variables referenced by this template
+     */
+    public List<String> variables() {
+        return List.of(variables);
+    }
+}
@@ -0,0 +1,33 @@
+package com.einsurance.notification.template;
+
+import java.util.Map;
+
+/**
+ * Subject and body templates for one event type
+ */
+public record NotificationTemplate(CompiledTemplate subject, CompiledTemplate body) {
+
+    /**
+     * Parse the template file format: a "Subject: ..." line, a blank line, then the body
+     */
+    public static NotificationTemplate parse(String source) {
+        String normalized = source.replace("\r\n", "\n");
+        int lineEnd = normalized.indexOf('\n');
+        String firstLine = lineEnd < 0 ? normalized : normalized.substring(0, lineEnd);
+        if (!firstLine.startsWith("Subject:")) {
+            throw new IllegalArgumentException("Template must start with a 'Subject:' line");
+        }
+
+        String subject = firstLine.substring("Subject:".length()).trim();
+        String body = lineEnd < 0 ? "" : normalized.substring(lineEnd + 1).strip();
+        return new NotificationTemplate(CompiledTemplate.compile(subject), CompiledTemplate.compile(body));
+    }
+
+    public String renderSubject(Map<String, String> values) {
+        return subject.render(values);
+    }
+
+    public String renderBody(Map<String, String> values) {
+        return body.render(values);
+    }
+}
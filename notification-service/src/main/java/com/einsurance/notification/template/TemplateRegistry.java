@@ -0,0 +1,65 @@
+package com.einsurance.notification.template;
+
+import com.einsurance.common.dto.NotificationEvent.EventType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Loads and compiles every notification template at startup.
+ * A missing or malformed template fails the application start instead
+ * of the first delivery of that event type.
+ */
+@Slf4j
+@Component
+public class TemplateRegistry {
+
+    private static final String TEMPLATE_LOCATION = "templates/notifications/";
+
+    private final Map<EventType, NotificationTemplate> templates;
+
+    public TemplateRegistry() {
+        this(loadFromClasspath());
+    }
+
+    public TemplateRegistry(Map<EventType, NotificationTemplate> templates) {
+        this.templates = new EnumMap<>(templates);
+    }
+
+    /**
+     * Get the compiled template for an event type
+     */
+    public NotificationTemplate get(EventType eventType) {
+        NotificationTemplate template = templates.get(eventType);
+        if (template == null) {
+            throw new IllegalStateException("No notification template for event type: " + eventType);
+        }
+        return template;
+    }
+
+    private static Map<EventType, NotificationTemplate> loadFromClasspath() {
+        Map<EventType, NotificationTemplate> templates = new EnumMap<>(EventType.class);
+        for (EventType eventType : EventType.values()) {
+            String fileName = eventType.name().toLowerCase(Locale.ROOT).replace('_', '-') + ".txt";
+            Resource resource = new ClassPathResource(TEMPLATE_LOCATION + fileName);
+            try {
+                String source = resource.getContentAsString(StandardCharsets.UTF_8);
+                templates.put(eventType, NotificationTemplate.parse(source));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Missing notification template: " + TEMPLATE_LOCATION + fileName, e);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalStateException("Invalid notification template " + fileName + ": " + e.getMessage(), e);
+            }
+        }
+        log.info("Compiled {} notification templates", templates.size());
+        return templates;
+    }
+}
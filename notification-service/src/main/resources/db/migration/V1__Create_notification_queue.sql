@@ -0,0 +1,36 @@
+-- Notification Service - Durable delivery queue
+-- File location: notification-service/src/main/resources/db/migration/V1__Create_notification_queue.sql
+
+-- Events are stored here before ingestion acknowledges them, so a crash or
+-- restart loses nothing. Consumers lease due rows with FOR UPDATE SKIP LOCKED;
+-- a leased row that is never settled becomes due again when the lease expires.
+-- Settled rows are kept for notifications.queue.retention so a producer's
+-- resend is recognised as a duplicate, then purged.
+CREATE TABLE notification_queue (
+    event_id UUID PRIMARY KEY,
+    event JSONB NOT NULL,
+
+    -- Delivery state
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    attempts INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT chk_notification_queue_status CHECK (status IN ('PENDING', 'DELIVERED', 'DROPPED')),
+    CONSTRAINT chk_notification_queue_attempts CHECK (attempts >= 0)
+);
+
+-- Consumer poll: status = 'PENDING' AND next_attempt_at <= now ORDER BY next_attempt_at.
+-- Settled rows drop out of the index, so it stays as small as the backlog.
+CREATE INDEX idx_notification_queue_due
+    ON notification_queue(next_attempt_at)
+    WHERE status = 'PENDING';
+
+-- Retention purge of settled rows
+CREATE INDEX idx_notification_queue_settled
+    ON notification_queue(updated_at)
+    WHERE status <> 'PENDING';
+
+COMMENT ON TABLE notification_queue IS 'Accepted notification events awaiting or recently finished delivery';
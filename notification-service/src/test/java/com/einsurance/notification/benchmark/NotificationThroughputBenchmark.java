@@ -0,0 +1,175 @@
+package com.einsurance.notification.benchmark;
+
+import com.einsurance.common.dto.NotificationEvent;
+import com.einsurance.common.dto.NotificationEvent.EventType;
+import com.einsurance.notification.channel.NotificationChannel;
+import com.einsurance.notification.channel.RenderedNotification;
+import com.einsurance.notification.config.NotificationProperties;
+import com.einsurance.notification.service.NotificationProcessor;
+import com.einsurance.notification.service.NotificationQueue;
+import com.einsurance.notification.service.QueuedNotification;
+import com.einsurance.notification.service.RecipientRateLimiter;
+import com.einsurance.notification.template.CompiledTemplate;
+import com.einsurance.notification.template.TemplateRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-threaded throughput of the notification pipeline.
+ * Each invocation pushes one consumer batch through rate limiting, template
+ * rendering and channel routing into a no-op channel and queue; with one
+ * benchmark thread the score reads directly as messages/sec per core.
+ *
+ * Run with:
+ *   mvn -pl notification-service test-compile exec:java \
+ *       -Dexec.classpathScope=test \
+ *       -Dexec.mainClass=com.einsurance.notification.benchmark.NotificationThroughputBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(1)
+public class NotificationThroughputBenchmark {
+
+    private static final int BATCH_SIZE = 100;
+    private static final int RECIPIENTS = 10_000;
+
+    private NotificationProcessor processor;
+    private List<List<QueuedNotification>> batches;
+    private CompiledTemplate template;
+    private Map<String, String> values;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        NotificationProperties properties = new NotificationProperties();
+        // Generous limit: measure the bucket bookkeeping, not deferrals
+        properties.getRateLimit().setCapacity(Integer.MAX_VALUE);
+        properties.getRateLimit().setMaxRecipients(RECIPIENTS);
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        processor = new NotificationProcessor(
+                new TemplateRegistry(),
+                new RecipientRateLimiter(properties),
+                new DiscardingQueue(),
+                List.of(new DiscardingChannel()),
+                properties,
+                meterRegistry);
+
+        List<UUID> recipients = new ArrayList<>(RECIPIENTS);
+        for (int i = 0; i < RECIPIENTS; i++) {
+            recipients.add(UUID.randomUUID());
+        }
+
+        EventType[] eventTypes = EventType.values();
+        batches = new ArrayList<>();
+        for (int b = 0; b < 64; b++) {
+            List<QueuedNotification> batch = new ArrayList<>(BATCH_SIZE);
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                int n = b * BATCH_SIZE + i;
+                batch.add(QueuedNotification.first(NotificationEvent.builder()
+                        .eventId(UUID.randomUUID())
+                        .eventType(eventTypes[n % eventTypes.length])
+                        .recipientUserId(recipients.get(n % RECIPIENTS))
+                        .recipientName("Customer " + n)
+                        .payload(Map.of(
+                                "claimNumber", "CLM-2025-" + n,
+                                "policyNumber", "POL-" + n,
+                                "policyName", "Comprehensive Auto",
+                                "amount", "1250.00",
+                                "currency", "EUR",
+                                "status", "APPROVED",
+                                "expiryDate", "2026-12-31",
+                                "daysRemaining", "7"))
+                        .build()));
+            }
+            batches.add(batch);
+        }
+
+        template = CompiledTemplate.compile("Your claim {{claimNumber}} for {{amount}} {{currency}} is {{status}}.");
+        values = batches.get(0).get(0).event().getPayload();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void processBatch() {
+        processor.process(batches.get(next++ & 63));
+    }
+
+    @Benchmark
+    public void renderTemplate(Blackhole blackhole) {
+        blackhole.consume(template.render(values));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(NotificationThroughputBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+
+    /**
+     * Settles nothing, so the score excludes the queue's database round trips
+     */
+    static class DiscardingQueue implements NotificationQueue {
+
+        @Override
+        public Set<UUID> enqueue(List<NotificationEvent> events) {
+            return Set.of();
+        }
+
+        @Override
+        public List<QueuedNotification> takeBatch(int maxSize, Duration timeout) {
+            return List.of();
+        }
+
+        @Override
+        public void offerLater(QueuedNotification notification, Duration delay) {
+        }
+
+        @Override
+        public void markDelivered(List<QueuedNotification> notifications) {
+        }
+
+        @Override
+        public void markDropped(QueuedNotification notification) {
+        }
+
+        @Override
+        public int pending() {
+            return 0;
+        }
+    }
+
+    /**
+     * Accepts everything and does nothing, so the score excludes transport cost
+     */
+    static class DiscardingChannel implements NotificationChannel {
+
+        @Override
+        public String name() {
+            return "log";
+        }
+
+        @Override
+        public List<RenderedNotification> deliver(List<RenderedNotification> batch) {
+            return List.of();
+        }
+    }
+}
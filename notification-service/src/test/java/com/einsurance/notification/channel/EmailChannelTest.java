@@ -0,0 +1,99 @@
+package com.einsurance.notification.channel;
+
+import com.einsurance.common.client.UserServiceClient;
+import com.einsurance.common.dto.NotificationEvent;
+import com.einsurance.common.dto.NotificationEvent.EventType;
+import com.einsurance.common.dto.UserContactDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for EmailChannel
+ */
+@ExtendWith(MockitoExtension.class)
+class EmailChannelTest {
+
+    @Mock
+    private JavaMailSender mailSender;
+
+    @Mock
+    private UserServiceClient userServiceClient;
+
+    private EmailChannel channel;
+
+    @BeforeEach
+    void setUp() {
+        channel = new EmailChannel(mailSender, userServiceClient, "no-reply@e-insurance.com");
+    }
+
+    @Test
+    void deliver_LooksUpAddressesOncePerBatch() {
+        // Given
+        RenderedNotification first = notification(UUID.randomUUID(), null);
+        RenderedNotification second = notification(UUID.randomUUID(), null);
+        UUID firstUser = first.getEvent().getRecipientUserId();
+        UUID secondUser = second.getEvent().getRecipientUserId();
+        when(userServiceClient.getContacts(Set.of(firstUser, secondUser))).thenReturn(Map.of(
+                firstUser, contact(firstUser, "jane@example.com"),
+                secondUser, contact(secondUser, "john@example.com")));
+
+        // When
+        List<RenderedNotification> failed = channel.deliver(List.of(first, second));
+
+        // Then
+        assertTrue(failed.isEmpty());
+        ArgumentCaptor<SimpleMailMessage[]> sent = ArgumentCaptor.forClass(SimpleMailMessage[].class);
+        verify(mailSender).send(sent.capture());
+        assertEquals(2, sent.getValue().length);
+        verify(userServiceClient, times(1)).getContacts(any());
+    }
+
+    @Test
+    void deliver_ReportsRecipientWithoutAddressAsFailed() {
+        // Given
+        RenderedNotification unknown = notification(UUID.randomUUID(), null);
+        RenderedNotification addressed = notification(UUID.randomUUID(), "jane@example.com");
+        when(userServiceClient.getContacts(Set.of(unknown.getEvent().getRecipientUserId()))).thenReturn(Map.of());
+
+        // When
+        List<RenderedNotification> failed = channel.deliver(List.of(unknown, addressed));
+
+        // Then
+        assertEquals(List.of(unknown), failed);
+        ArgumentCaptor<SimpleMailMessage[]> sent = ArgumentCaptor.forClass(SimpleMailMessage[].class);
+        verify(mailSender).send(sent.capture());
+        assertArrayEquals(new String[] {"jane@example.com"}, sent.getValue()[0].getTo());
+    }
+
+    private static RenderedNotification notification(UUID userId, String email) {
+        return RenderedNotification.builder()
+                .event(NotificationEvent.builder()
+                        .eventId(UUID.randomUUID())
+                        .eventType(EventType.CLAIM_SUBMITTED)
+                        .recipientUserId(userId)
+                        .recipientEmail(email)
+                        .build())
+                .subject("Claim received")
+                .body("We received your claim")
+                .build();
+    }
+
+    private static UserContactDto contact(UUID userId, String email) {
+        return UserContactDto.builder().userId(userId).email(email).active(true).build();
+    }
+}
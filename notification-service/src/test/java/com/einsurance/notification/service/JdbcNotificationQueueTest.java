@@ -0,0 +1,173 @@
+package com.einsurance.notification.service;
+
+import com.einsurance.common.dto.NotificationEvent;
+import com.einsurance.common.dto.NotificationEvent.EventType;
+import com.einsurance.notification.config.NotificationProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests JdbcNotificationQueue against an embedded PostgreSQL
+ */
+class JdbcNotificationQueueTest {
+
+    private static EmbeddedPostgres postgres;
+    private static DataSource dataSource;
+
+    private NotificationProperties properties;
+    private JdbcNotificationQueue queue;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void startDatabase() throws Exception {
+        postgres = EmbeddedPostgres.start();
+        dataSource = postgres.getPostgresDatabase();
+        Flyway.configure().dataSource(dataSource).locations("classpath:db/migration").load().migrate();
+    }
+
+    @AfterAll
+    static void stopDatabase() throws Exception {
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("TRUNCATE notification_queue");
+        properties = new NotificationProperties();
+        queue = new JdbcNotificationQueue(dataSource, new ObjectMapper().findAndRegisterModules(), properties,
+                new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        queue.shutdown();
+    }
+
+    @Test
+    void enqueue_StoresEventsAndSkipsDuplicates() {
+        // Given
+        NotificationEvent event = event();
+        queue.enqueue(List.of(event));
+
+        // When
+        Set<UUID> stored = queue.enqueue(List.of(event, event()));
+
+        // Then
+        assertEquals(1, stored.size());
+        assertFalse(stored.contains(event.getEventId()));
+        assertEquals(2, queue.pending());
+    }
+
+    @Test
+    void takeBatch_LeasesDueEventsOnlyOnce() throws InterruptedException {
+        // Given
+        NotificationEvent event = event();
+        queue.enqueue(List.of(event));
+
+        // When
+        List<QueuedNotification> first = queue.takeBatch(10, Duration.ofMillis(50));
+        List<QueuedNotification> second = queue.takeBatch(10, Duration.ofMillis(50));
+
+        // Then - the stored event round-trips, and a leased row is not handed out again
+        assertEquals(1, first.size());
+        assertEquals(event, first.get(0).event());
+        assertEquals(0, first.get(0).attempt());
+        assertTrue(second.isEmpty());
+    }
+
+    @Test
+    void takeBatch_ReturnsUnsettledEventAgain_WhenLeaseExpires() throws InterruptedException {
+        // Given - a consumer leased the event and crashed before settling it
+        properties.getQueue().setLease(Duration.ofMillis(100));
+        queue.enqueue(List.of(event()));
+        assertEquals(1, queue.takeBatch(10, Duration.ofMillis(50)).size());
+
+        // When
+        Thread.sleep(150);
+        List<QueuedNotification> redelivered = queue.takeBatch(10, Duration.ofMillis(50));
+
+        // Then
+        assertEquals(1, redelivered.size());
+    }
+
+    @Test
+    void offerLater_KeepsAttemptCountAndDelaysEvent() throws InterruptedException {
+        // Given
+        queue.enqueue(List.of(event()));
+        QueuedNotification leased = queue.takeBatch(10, Duration.ofMillis(50)).get(0);
+
+        // When
+        queue.offerLater(leased.nextAttempt(), Duration.ofMillis(100));
+
+        // Then
+        assertTrue(queue.takeBatch(10, Duration.ofMillis(10)).isEmpty());
+        Thread.sleep(150);
+        List<QueuedNotification> retried = queue.takeBatch(10, Duration.ofMillis(50));
+        assertEquals(1, retried.size());
+        assertEquals(1, retried.get(0).attempt());
+    }
+
+    @Test
+    void markDelivered_SettlesEventButStillDetectsResend() throws InterruptedException {
+        // Given
+        NotificationEvent event = event();
+        queue.enqueue(List.of(event));
+        List<QueuedNotification> batch = queue.takeBatch(10, Duration.ofMillis(50));
+
+        // When
+        queue.markDelivered(batch);
+
+        // Then
+        assertEquals(0, queue.pending());
+        assertTrue(queue.enqueue(List.of(event)).isEmpty());
+    }
+
+    @Test
+    void purgeExpired_DeletesOnlySettledEventsPastRetention() throws InterruptedException {
+        // Given
+        properties.getQueue().setRetention(Duration.ofMinutes(1));
+        queue.enqueue(List.of(event(), event()));
+        List<QueuedNotification> batch = queue.takeBatch(1, Duration.ofMillis(50));
+        queue.markDropped(batch.get(0));
+        jdbcTemplate.update("UPDATE notification_queue SET updated_at = now() - INTERVAL '2 minutes' " +
+                "WHERE status <> 'PENDING'");
+
+        // When
+        int purged = queue.purgeExpired();
+
+        // Then
+        assertEquals(1, purged);
+        assertEquals(1, queue.pending());
+    }
+
+    private static NotificationEvent event() {
+        return NotificationEvent.builder()
+                .eventId(UUID.randomUUID())
+                .eventType(EventType.CLAIM_SUBMITTED)
+                .recipientUserId(UUID.randomUUID())
+                .occurredAt(LocalDateTime.of(2025, 3, 1, 10, 15, 30))
+                .payload(Map.of("claimNumber", "CLM-2025-ABC123"))
+                .build();
+    }
+}
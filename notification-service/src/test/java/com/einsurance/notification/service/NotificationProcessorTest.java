@@ -0,0 +1,180 @@
+package com.einsurance.notification.service;
+
+import com.einsurance.common.dto.NotificationBatchReceipt;
+import com.einsurance.common.dto.NotificationEvent;
+import com.einsurance.common.dto.NotificationEvent.EventType;
+import com.einsurance.notification.channel.NotificationChannel;
+import com.einsurance.notification.channel.RenderedNotification;
+import com.einsurance.notification.config.NotificationProperties;
+import com.einsurance.notification.template.TemplateRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for NotificationProcessor and NotificationIngestService
+ */
+@ExtendWith(MockitoExtension.class)
+class NotificationProcessorTest {
+
+    @Mock
+    private NotificationQueue queue;
+
+    @Mock
+    private RecipientRateLimiter rateLimiter;
+
+    @Mock
+    private NotificationChannel logChannel;
+
+    @Mock
+    private NotificationChannel emailChannel;
+
+    private NotificationProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private NotificationProcessor processor;
+
+    @BeforeEach
+    void setUp() {
+        properties = new NotificationProperties();
+        properties.getRouting().getChannels().put(EventType.PAYMENT_FAILED, "email");
+        properties.getRetry().setMaxAttempts(3);
+        meterRegistry = new SimpleMeterRegistry();
+
+        when(logChannel.name()).thenReturn("log");
+        when(emailChannel.name()).thenReturn("email");
+        lenient().when(rateLimiter.tryAcquire(any())).thenReturn(Duration.ZERO);
+
+        processor = new NotificationProcessor(new TemplateRegistry(), rateLimiter, queue,
+                List.of(logChannel, emailChannel), properties, meterRegistry);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void process_RendersAndRoutesByEventType() {
+        // Given
+        QueuedNotification claim = QueuedNotification.first(event(EventType.CLAIM_SUBMITTED,
+                Map.of("claimNumber", "CLM-2025-ABC123", "amount", "5000.00")));
+        QueuedNotification payment = QueuedNotification.first(event(EventType.PAYMENT_FAILED,
+                Map.of("amount", "120.00", "currency", "EUR", "failureReason", "card_declined")));
+        when(logChannel.deliver(any())).thenReturn(List.of());
+        when(emailChannel.deliver(any())).thenReturn(List.of());
+
+        // When
+        processor.process(List.of(claim, payment));
+
+        // Then
+        ArgumentCaptor<List<RenderedNotification>> logBatch = ArgumentCaptor.forClass(List.class);
+        verify(logChannel).deliver(logBatch.capture());
+        assertEquals(1, logBatch.getValue().size());
+        assertEquals("We received your claim CLM-2025-ABC123", logBatch.getValue().get(0).getSubject());
+        assertTrue(logBatch.getValue().get(0).getBody().contains("Hello Ana"));
+
+        ArgumentCaptor<List<RenderedNotification>> emailBatch = ArgumentCaptor.forClass(List.class);
+        verify(emailChannel).deliver(emailBatch.capture());
+        assertTrue(emailBatch.getValue().get(0).getBody().contains("card_declined"));
+
+        assertEquals(1.0, meterRegistry.counter("notifications.delivered", "channel", "log").count());
+        assertEquals(1.0, meterRegistry.counter("notifications.delivered", "channel", "email").count());
+        verify(queue).markDelivered(List.of(claim));
+        verify(queue).markDelivered(List.of(payment));
+    }
+
+    @Test
+    void process_DefersNotification_WhenRecipientRateLimited() {
+        // Given
+        QueuedNotification item = QueuedNotification.first(event(EventType.CLAIM_SUBMITTED, Map.of()));
+        when(rateLimiter.tryAcquire(any())).thenReturn(Duration.ofSeconds(30));
+
+        // When
+        processor.process(List.of(item));
+
+        // Then
+        verify(queue).offerLater(item, Duration.ofSeconds(30));
+        verify(logChannel, never()).deliver(any());
+    }
+
+    @Test
+    void process_RetriesWithBackoff_WhenChannelFails() {
+        // Given
+        QueuedNotification item = QueuedNotification.first(event(EventType.CLAIM_SUBMITTED, Map.of()));
+        when(logChannel.deliver(any())).thenThrow(new IllegalStateException("SMTP down"));
+
+        // When
+        processor.process(List.of(item));
+
+        // Then
+        verify(queue).offerLater(eq(item.nextAttempt()), any(Duration.class));
+        verify(queue).markDelivered(List.of());
+        assertEquals(0.0, meterRegistry.counter("notifications.delivered", "channel", "log").count());
+    }
+
+    @Test
+    void process_DropsNotification_AfterMaxAttempts() {
+        // Given
+        QueuedNotification item = new QueuedNotification(event(EventType.CLAIM_SUBMITTED, Map.of()), 2);
+        when(logChannel.deliver(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        processor.process(List.of(item));
+
+        // Then
+        verify(queue, never()).offerLater(any(), any());
+        verify(queue).markDropped(item.nextAttempt());
+        verify(rateLimiter, never()).tryAcquire(any());
+        assertEquals(1.0, meterRegistry.counter("notifications.dropped").count());
+    }
+
+    @Test
+    void constructor_ThrowsException_WhenRouteUsesUnknownChannel() {
+        // Given
+        properties.getRouting().getChannels().put(EventType.POLICY_EXPIRING, "sms");
+
+        // When / Then
+        assertThrows(IllegalStateException.class, () -> new NotificationProcessor(new TemplateRegistry(),
+                rateLimiter, queue, List.of(logChannel, emailChannel), properties, meterRegistry));
+    }
+
+    @Test
+    void submit_SkipsDuplicatesAndReportsRejected() {
+        // Given - room for two more events
+        properties.getQueue().setCapacity(10);
+        NotificationIngestService ingestService = new NotificationIngestService(queue, properties, meterRegistry);
+        NotificationEvent first = event(EventType.POLICY_PURCHASED, Map.of());
+        NotificationEvent overflow = event(EventType.POLICY_PURCHASED, Map.of());
+        when(queue.pending()).thenReturn(8);
+        when(queue.enqueue(List.of(first, first))).thenReturn(Set.of(first.getEventId()));
+
+        // When
+        NotificationBatchReceipt receipt = ingestService.submit(List.of(first, first, overflow));
+
+        // Then
+        assertEquals(1, receipt.getAccepted());
+        assertEquals(1, receipt.getDuplicates());
+        assertEquals(List.of(overflow.getEventId()), receipt.getRejectedEventIds());
+    }
+
+    private NotificationEvent event(EventType eventType, Map<String, String> payload) {
+        return NotificationEvent.builder()
+                .eventId(UUID.randomUUID())
+                .eventType(eventType)
+                .recipientUserId(UUID.randomUUID())
+                .recipientEmail("ana@example.com")
+                .recipientName("Ana")
+                .payload(payload)
+                .build();
+    }
+}
@@ -0,0 +1,102 @@
+package com.einsurance.notification.service;
+
+import com.einsurance.notification.config.NotificationProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RecipientRateLimiter
+ */
+class RecipientRateLimiterTest {
+
+    private AtomicLong clock;
+    private NotificationProperties.RateLimit settings;
+
+    @BeforeEach
+    void setUp() {
+        clock = new AtomicLong(0);
+        settings = new NotificationProperties.RateLimit();
+        settings.setCapacity(2);
+        settings.setTokensPerMinute(1.0);
+        settings.setMaxRecipients(3);
+    }
+
+    @Test
+    void tryAcquire_AllowsBurstUpToCapacity() {
+        // Given
+        RecipientRateLimiter limiter = new RecipientRateLimiter(settings, clock::get);
+        UUID recipient = UUID.randomUUID();
+
+        // When / Then
+        assertEquals(Duration.ZERO, limiter.tryAcquire(recipient));
+        assertEquals(Duration.ZERO, limiter.tryAcquire(recipient));
+
+        Duration wait = limiter.tryAcquire(recipient);
+        assertEquals(Duration.ofMinutes(1), wait);
+    }
+
+    @Test
+    void tryAcquire_RefillsOverTime() {
+        // Given
+        RecipientRateLimiter limiter = new RecipientRateLimiter(settings, clock::get);
+        UUID recipient = UUID.randomUUID();
+        limiter.tryAcquire(recipient);
+        limiter.tryAcquire(recipient);
+
+        // When
+        clock.addAndGet(Duration.ofSeconds(30).toNanos());
+        Duration halfway = limiter.tryAcquire(recipient);
+        clock.addAndGet(Duration.ofSeconds(30).toNanos());
+        Duration refilled = limiter.tryAcquire(recipient);
+
+        // Then
+        assertEquals(Duration.ofSeconds(30), halfway);
+        assertEquals(Duration.ZERO, refilled);
+    }
+
+    @Test
+    void tryAcquire_LimitsEachRecipientIndependently() {
+        // Given
+        RecipientRateLimiter limiter = new RecipientRateLimiter(settings, clock::get);
+        UUID busy = UUID.randomUUID();
+        limiter.tryAcquire(busy);
+        limiter.tryAcquire(busy);
+
+        // When / Then
+        assertFalse(limiter.tryAcquire(busy).isZero());
+        assertTrue(limiter.tryAcquire(UUID.randomUUID()).isZero());
+    }
+
+    @Test
+    void tryAcquire_EvictsLeastRecentlyActiveRecipients() {
+        // Given
+        RecipientRateLimiter limiter = new RecipientRateLimiter(settings, clock::get);
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            limiter.tryAcquire(UUID.randomUUID());
+        }
+
+        // Then
+        assertEquals(3, limiter.trackedRecipients());
+    }
+
+    @Test
+    void tryAcquire_AlwaysAllows_WhenDisabled() {
+        // Given
+        settings.setEnabled(false);
+        RecipientRateLimiter limiter = new RecipientRateLimiter(settings, clock::get);
+        UUID recipient = UUID.randomUUID();
+
+        // When / Then
+        for (int i = 0; i < 10; i++) {
+            assertEquals(Duration.ZERO, limiter.tryAcquire(recipient));
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.einsurance.notification.template;
+
+import com.einsurance.common.dto.NotificationEvent.EventType;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CompiledTemplate and TemplateRegistry
+ */
+class CompiledTemplateTest {
+
+    @Test
+    void render_SubstitutesVariables() {
+        // Given
+        CompiledTemplate template = CompiledTemplate.compile("Claim {{claimNumber}} is {{ status }}.");
+
+        // When
+        String result = template.render(Map.of("claimNumber", "CLM-1", "status", "APPROVED"));
+
+        // Then
+        assertEquals("Claim CLM-1 is APPROVED.", result);
+        assertEquals(List.of("claimNumber", "status"), template.variables());
+    }
+
+    @Test
+    void render_LeavesMissingVariablesEmpty() {
+        // Given
+        CompiledTemplate template = CompiledTemplate.compile("Notes: {{adminNotes}}");
+
+        // When
+        String result = template.render(Map.of());
+
+        // Then
+        assertEquals("Notes: ", result);
+    }
+
+    @Test
+    void compile_ThrowsException_WhenPlaceholderUnclosed() {
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> CompiledTemplate.compile("Hello {{name"));
+    }
+
+    @Test
+    void parse_SplitsSubjectAndBody() {
+        // Given
+        NotificationTemplate template = NotificationTemplate.parse("Subject: Hi {{name}}\n\nBody for {{name}}\n");
+
+        // When
+        String subject = template.renderSubject(Map.of("name", "Ana"));
+        String body = template.renderBody(Map.of("name", "Ana"));
+
+        // Then
+        assertEquals("Hi Ana", subject);
+        assertEquals("Body for Ana", body);
+    }
+
+    @Test
+    void templateRegistry_CompilesTemplateForEveryEventType() {
+        // When
+        TemplateRegistry registry = new TemplateRegistry();
+
+        // Then
+        for (EventType eventType : EventType.values()) {
+            assertNotNull(registry.get(eventType));
+        }
+    }
+}
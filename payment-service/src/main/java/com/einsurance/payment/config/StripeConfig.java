@@ -23,9 +23,19 @@ public class StripeConfig {
     @Value("${stripe.webhook-secret}")
     private String webhookSecret;
 
+    /**
+     * Alternative Stripe API base URL, e.g. the stub used by the load tests; empty for api.stripe.com
+     */
+    @Value("${stripe.api-base:}")
+    private String apiBase;
+
     @PostConstruct
     public void init() {
         Stripe.apiKey = secretKey;
+        if (apiBase != null && !apiBase.isBlank()) {
+            Stripe.overrideApiBase(apiBase);
+            log.warn("Stripe API calls go to {}", apiBase);
+        }
         log.info("Stripe SDK initialized successfully");
         // Log environment mode without exposing keys
         boolean isTestMode = secretKey != null && secretKey.startsWith("sk_test");
@@ -0,0 +1,66 @@
+package com.einsurance.payment.notification;
+
+import com.einsurance.common.client.NotificationServiceClient;
+import com.einsurance.common.dto.NotificationEvent;
+import com.einsurance.common.event.DomainEventListener;
+import com.einsurance.common.event.PaymentEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Forwards failed payments from the domain event log to the notification
+ * service. The domain event id is reused as the notification id, so a batch
+ * redelivered after a failure is de-duplicated by the notification service.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "einsurance.clients.services.notification-service", name = "url")
+public class PaymentNotificationListener implements DomainEventListener<PaymentEvent> {
+
+    private final NotificationServiceClient notificationServiceClient;
+
+    @Override
+    public String consumerGroup() {
+        return "payment-notifications";
+    }
+
+    @Override
+    public Class<PaymentEvent> eventType() {
+        return PaymentEvent.class;
+    }
+
+    @Override
+    public void onEvents(List<PaymentEvent> events) {
+        List<NotificationEvent> notifications = events.stream()
+                .filter(event -> event.getType() == PaymentEvent.Type.FAILED)
+                .map(PaymentNotificationListener::failed)
+                .toList();
+        if (notifications.isEmpty()) {
+            return;
+        }
+        notificationServiceClient.publish(notifications);
+        log.debug("Forwarded {} payment failure notifications", notifications.size());
+    }
+
+    private static NotificationEvent failed(PaymentEvent event) {
+        Map<String, String> payload = new LinkedHashMap<>();
+        payload.put("policyName", event.getPolicyName());
+        payload.put("amount", event.getAmount() != null ? event.getAmount().toPlainString() : null);
+        payload.put("currency", event.getCurrency());
+        payload.put("failureReason", event.getFailureReason());
+        return NotificationEvent.builder()
+                .eventId(event.getEventId())
+                .eventType(NotificationEvent.EventType.PAYMENT_FAILED)
+                .recipientUserId(event.getUserId())
+                .occurredAt(event.getOccurredAt())
+                .payload(payload)
+                .build();
+    }
+}
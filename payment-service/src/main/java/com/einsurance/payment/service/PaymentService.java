@@ -1,8 +1,11 @@
 package com.einsurance.payment.service;
 
+import com.einsurance.common.client.PolicyServiceClient;
 import com.einsurance.common.dto.CheckoutSessionResponse;
 import com.einsurance.common.dto.PageResponse;
 import com.einsurance.common.dto.TransactionDto;
+import com.einsurance.common.event.DomainEventPublisher;
+import com.einsurance.common.event.PaymentEvent;
 import com.einsurance.common.exception.PaymentException;
 import com.einsurance.common.exception.ResourceNotFoundException;
 import com.einsurance.common.security.SecurityUtil;
@@ -19,7 +22,6 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.reactive.function.client.WebClient;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -37,10 +39,16 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class PaymentService {
 
+    /**
+     * Transaction metadata key of the purchased policy's name, for notifications
+     */
+    private static final String POLICY_NAME_KEY = "policyName";
+
     private final TransactionRepository transactionRepository;
     private final TransactionMapper transactionMapper;
     private final StripeService stripeService;
-    private final WebClient.Builder webClientBuilder;
+    private final PolicyServiceClient policyServiceClient;
+    private final DomainEventPublisher domainEventPublisher;
 
     /**
      * Create checkout session for policy purchase
@@ -62,6 +70,7 @@ public class PaymentService {
                 .amount(amount)
                 .currency("EUR")
                 .status(TransactionStatus.PENDING)
+                .metadata(policyName != null ? new HashMap<>(Map.of(POLICY_NAME_KEY, policyName)) : null)
                 .build();
 
         Transaction savedTransaction = transactionRepository.save(transaction);
@@ -79,6 +88,7 @@ public class PaymentService {
         savedTransaction.setStripeSessionId(stripeSession.getId());
         savedTransaction.setStripePaymentIntentId(stripeSession.getPaymentIntent());
         transactionRepository.save(savedTransaction);
+        domainEventPublisher.publish(paymentEvent(PaymentEvent.Type.INITIATED, savedTransaction));
 
         log.info("Checkout session created: transaction={}, stripeSession={}", 
                 savedTransaction.getId(), stripeSession.getId());
@@ -111,6 +121,7 @@ public class PaymentService {
         transaction.setPaymentMethod(stripeSession.getPaymentMethodTypes().get(0));
 
         transactionRepository.save(transaction);
+        domainEventPublisher.publish(paymentEvent(PaymentEvent.Type.COMPLETED, transaction));
 
         log.info("Payment processed successfully: transaction={}, policy={}", 
                 transaction.getId(), customerPolicyId);
@@ -131,6 +142,7 @@ public class PaymentService {
 
         transaction.markAsFailed(reason);
         transactionRepository.save(transaction);
+        domainEventPublisher.publish(paymentEvent(PaymentEvent.Type.FAILED, transaction));
 
         log.info("Payment marked as failed: transaction={}", transaction.getId());
     }
@@ -240,15 +252,7 @@ public class PaymentService {
         log.info("Confirming policy purchase: {} with transaction: {}", policyId, transactionId);
 
         try {
-            WebClient webClient = webClientBuilder.baseUrl("lb://policy-service").build();
-
-            webClient.post()
-                    .uri("/api/policies/{policyId}/confirm", policyId)
-                    .bodyValue(Map.of("transactionId", transactionId))
-                    .retrieve()
-                    .bodyToMono(Void.class)
-                    .block();
-
+            policyServiceClient.confirmPurchase(policyId, transactionId);
             log.info("Policy purchase confirmed successfully");
         } catch (Exception e) {
             log.error("Failed to confirm policy purchase", e);
@@ -279,10 +283,31 @@ public class PaymentService {
             transactionRepository.save(transaction);
             log.debug("Marked transaction as failed: {}", transaction.getId());
         }
+        domainEventPublisher.publishAll(staleTransactions.stream()
+                .map(transaction -> paymentEvent(PaymentEvent.Type.FAILED, transaction))
+                .toList());
 
         log.info("Cleaned up {} stale transactions", staleTransactions.size());
     }
 
+    /**
+     * Build the lifecycle event for a transaction's current state
+     */
+    private PaymentEvent paymentEvent(PaymentEvent.Type type, Transaction transaction) {
+        Object policyName = transaction.getMetadata() != null ? transaction.getMetadata().get(POLICY_NAME_KEY) : null;
+        return PaymentEvent.builder()
+                .type(type)
+                .transactionId(transaction.getId())
+                .userId(transaction.getUserId())
+                .customerPolicyId(transaction.getCustomerPolicyId())
+                .policyName(policyName != null ? policyName.toString() : null)
+                .amount(transaction.getAmount())
+                .currency(transaction.getCurrency())
+                .status(transaction.getStatus().name())
+                .failureReason(transaction.getFailureReason())
+                .build();
+    }
+
     /**
      * Helper method to build PageResponse
      */
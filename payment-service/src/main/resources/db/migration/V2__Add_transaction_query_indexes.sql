@@ -0,0 +1,16 @@
+-- Payment Service - Composite and partial indexes for hot queries
+-- File location: payment-service/src/main/resources/db/migration/V2__Add_transaction_query_indexes.sql
+
+-- findStaleTransactions: status IN ('PENDING', 'PROCESSING') AND created_at < :cutoffTime.
+-- In-flight transactions are a small fraction of the table, so a partial index stays tiny.
+CREATE INDEX idx_transactions_in_flight_created_at
+    ON transactions(created_at)
+    WHERE status IN ('PENDING', 'PROCESSING');
+
+-- findCompletedByUserId / sumCompletedTransactionsByUser
+CREATE INDEX idx_transactions_completed_user
+    ON transactions(user_id, completed_at DESC)
+    WHERE status = 'COMPLETED';
+
+COMMENT ON INDEX idx_transactions_in_flight_created_at IS 'Partial index for the stale transaction cleanup job';
+COMMENT ON INDEX idx_transactions_completed_user IS 'Partial index for completed payment history per user';
@@ -0,0 +1,153 @@
+package com.einsurance.payment.repository;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Query plan tests for TransactionRepository hot queries.
+ * Runs the Flyway migrations against an embedded PostgreSQL, seeds a realistic
+ * status distribution and fails if a query falls back to a sequential scan.
+ * The SQL mirrors the JPQL in TransactionRepository.
+ */
+class TransactionQueryPlanTest {
+
+    private static final int TRANSACTION_ROWS = 50_000;
+    private static final int DISTINCT_USERS = 5_000;
+
+    private static EmbeddedPostgres postgres;
+    private static DataSource dataSource;
+
+    @BeforeAll
+    static void startDatabase() throws Exception {
+        postgres = EmbeddedPostgres.start();
+        dataSource = postgres.getPostgresDatabase();
+
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            // Mirrors database-scripts/init_databases.sql
+            statement.execute("CREATE EXTENSION IF NOT EXISTS \"uuid-ossp\"");
+            statement.execute("""
+                    CREATE OR REPLACE FUNCTION update_updated_at_column()
+                    RETURNS TRIGGER AS $$
+                    BEGIN
+                        NEW.updated_at = CURRENT_TIMESTAMP;
+                        RETURN NEW;
+                    END;
+                    $$ LANGUAGE plpgsql""");
+        }
+
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                .baselineOnMigrate(true)
+                .baselineVersion("0")
+                .load()
+                .migrate();
+
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            // ~2% still in flight, the rest settled
+            statement.execute("""
+                    INSERT INTO transactions (user_id, customer_policy_id, amount, status,
+                                              stripe_session_id, created_at, completed_at)
+                    SELECT ('00000000-0000-0000-0000-' || lpad((i %% %d)::text, 12, '0'))::uuid,
+                           uuid_generate_v4(),
+                           100 + (i %% 900),
+                           CASE WHEN i %% 100 = 0 THEN 'PENDING'
+                                WHEN i %% 100 = 1 THEN 'PROCESSING'
+                                WHEN i %% 100 < 10 THEN 'FAILED'
+                                ELSE 'COMPLETED' END,
+                           'cs_test_' || i,
+                           CURRENT_TIMESTAMP - (i || ' minutes')::interval,
+                           CASE WHEN i %% 100 >= 10
+                                THEN CURRENT_TIMESTAMP - (i || ' minutes')::interval END
+                    FROM generate_series(1, %d) AS i""".formatted(DISTINCT_USERS, TRANSACTION_ROWS));
+            statement.execute("ANALYZE transactions");
+        }
+    }
+
+    @AfterAll
+    static void stopDatabase() throws Exception {
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @Test
+    void findStaleTransactions_UsesIndex() throws Exception {
+        // Given
+        String sql = "SELECT * FROM transactions t WHERE t.status IN ('PENDING', 'PROCESSING') " +
+                "AND t.created_at < ?";
+
+        // When
+        String plan = explain(sql, Timestamp.valueOf(LocalDateTime.now().minusHours(24)));
+
+        // Then
+        assertNoSequentialScan(plan);
+        assertTrue(plan.contains("idx_transactions_in_flight_created_at"), plan);
+    }
+
+    @Test
+    void findCompletedByUserId_UsesIndex() throws Exception {
+        // Given
+        String sql = "SELECT * FROM transactions t WHERE t.user_id = ? " +
+                "AND t.status = 'COMPLETED' ORDER BY t.completed_at DESC";
+
+        // When
+        String plan = explain(sql, userId(42));
+
+        // Then
+        assertNoSequentialScan(plan);
+    }
+
+    @Test
+    void findByStripeSessionId_UsesIndex() throws Exception {
+        // Given
+        String sql = "SELECT * FROM transactions t WHERE t.stripe_session_id = ?";
+
+        // When
+        String plan = explain(sql, "cs_test_42");
+
+        // Then
+        assertNoSequentialScan(plan);
+    }
+
+    private static UUID userId(int index) {
+        return UUID.fromString(String.format("00000000-0000-0000-0000-%012d", index));
+    }
+
+    private static String explain(String sql, Object... parameters) throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("EXPLAIN (FORMAT JSON) " + sql)) {
+            for (int i = 0; i < parameters.length; i++) {
+                statement.setObject(i + 1, parameters[i]);
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                StringBuilder plan = new StringBuilder();
+                while (resultSet.next()) {
+                    plan.append(resultSet.getString(1));
+                }
+                return plan.toString();
+            }
+        }
+    }
+
+    private static void assertNoSequentialScan(String plan) {
+        assertFalse(plan.contains("\"Node Type\": \"Seq Scan\""),
+                () -> "Query regressed to a sequential scan:\n" + plan);
+    }
+}
@@ -1,6 +1,9 @@
 package com.einsurance.payment.service;
 
+import com.einsurance.common.client.PolicyServiceClient;
 import com.einsurance.common.dto.CheckoutSessionResponse;
+import com.einsurance.common.event.DomainEventPublisher;
+import com.einsurance.common.event.PaymentEvent;
 import com.einsurance.common.exception.ResourceNotFoundException;
 import com.einsurance.payment.entity.Transaction;
 import com.einsurance.payment.entity.Transaction.TransactionStatus;
@@ -13,7 +16,6 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.web.reactive.function.client.WebClient;
 
 import java.math.BigDecimal;
 import java.util.Optional;
@@ -21,6 +23,7 @@ import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 /**
@@ -39,7 +42,10 @@ class PaymentServiceTest {
     private StripeService stripeService;
 
     @Mock
-    private WebClient.Builder webClientBuilder;
+    private PolicyServiceClient policyServiceClient;
+
+    @Mock
+    private DomainEventPublisher domainEventPublisher;
 
     @InjectMocks
     private PaymentService paymentService;
@@ -85,6 +91,7 @@ class PaymentServiceTest {
         verify(transactionRepository, times(1)).save(any(Transaction.class));
         assertEquals(TransactionStatus.COMPLETED, testTransaction.getStatus());
         assertEquals(customerPolicyId, testTransaction.getCustomerPolicyId());
+        verify(policyServiceClient, times(1)).confirmPurchase(customerPolicyId, testTransaction.getId());
     }
 
     @Test
@@ -120,6 +127,9 @@ class PaymentServiceTest {
         verify(transactionRepository, times(1)).save(any(Transaction.class));
         assertEquals(TransactionStatus.FAILED, testTransaction.getStatus());
         assertEquals(reason, testTransaction.getFailureReason());
+        verify(domainEventPublisher).publish(argThat(event -> event instanceof PaymentEvent paymentEvent
+                && paymentEvent.getType() == PaymentEvent.Type.FAILED
+                && reason.equals(paymentEvent.getFailureReason())));
     }
 
     @Test
@@ -0,0 +1,70 @@
+package com.einsurance.policy.notification;
+
+import com.einsurance.common.client.NotificationServiceClient;
+import com.einsurance.common.dto.NotificationEvent;
+import com.einsurance.common.event.DomainEventListener;
+import com.einsurance.common.event.PolicyEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Forwards activated policies from the domain event log to the notification
+ * service as "policy purchased" notifications.
+ * The domain event id is reused as the notification id, so a batch
+ * redelivered after a failure is de-duplicated by the notification service.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "einsurance.clients.services.notification-service", name = "url")
+public class PolicyNotificationListener implements DomainEventListener<PolicyEvent> {
+
+    private final NotificationServiceClient notificationServiceClient;
+
+    @Override
+    public String consumerGroup() {
+        return "policy-notifications";
+    }
+
+    @Override
+    public Class<PolicyEvent> eventType() {
+        return PolicyEvent.class;
+    }
+
+    @Override
+    public void onEvents(List<PolicyEvent> events) {
+        List<NotificationEvent> notifications = events.stream()
+                .filter(event -> event.getType() == PolicyEvent.Type.ACTIVATED)
+                .map(PolicyNotificationListener::purchased)
+                .toList();
+        if (notifications.isEmpty()) {
+            return;
+        }
+        notificationServiceClient.publish(notifications);
+        log.debug("Forwarded {} policy purchase notifications", notifications.size());
+    }
+
+    private static NotificationEvent purchased(PolicyEvent event) {
+        Map<String, String> payload = new LinkedHashMap<>();
+        payload.put("policyNumber", event.getPolicyNumber());
+        payload.put("policyName", event.getPolicyName());
+        payload.put("startDate", String.valueOf(event.getStartDate()));
+        payload.put("expiryDate", String.valueOf(event.getExpiryDate()));
+        if (event.getTotalAmount() != null) {
+            payload.put("amount", event.getTotalAmount().toPlainString());
+        }
+        return NotificationEvent.builder()
+                .eventId(event.getEventId())
+                .eventType(NotificationEvent.EventType.POLICY_PURCHASED)
+                .recipientUserId(event.getUserId())
+                .occurredAt(event.getOccurredAt())
+                .payload(payload)
+                .build();
+    }
+}
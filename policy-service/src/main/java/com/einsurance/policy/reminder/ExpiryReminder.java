@@ -0,0 +1,30 @@
+package com.einsurance.policy.reminder;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * A reminder due for one policy at one tier
+ */
+@Value
+@Builder
+public class ExpiryReminder {
+    UUID policyId;
+    UUID userId;
+    String policyNumber;
+    String policyName;
+    LocalDate expiryDate;
+    int tierDays;
+    long daysRemaining;
+
+    /**
+     * Stable event ID: a resend of the same reminder is recognised as a duplicate downstream
+     */
+    public UUID eventId() {
+        return UUID.nameUUIDFromBytes((policyId + ":" + tierDays + ":" + expiryDate).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,34 @@
+package com.einsurance.policy.reminder;
+
+import com.einsurance.common.client.NotificationServiceClient;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Expiry reminder wiring.
+ * Selects the publisher from reminders.publisher.type unless the
+ * application provides its own ExpiryReminderPublisher bean.
+ */
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(ExpiryReminderProperties.class)
+public class ExpiryReminderConfig {
+
+    @Bean
+    @ConditionalOnMissingBean(ExpiryReminderPublisher.class)
+    public ExpiryReminderPublisher expiryReminderPublisher(ExpiryReminderProperties properties,
+                                                           ObjectProvider<NotificationServiceClient> notificationServiceClient) {
+        ExpiryReminderProperties.Publisher publisher = properties.getPublisher();
+        log.info("Expiry reminders will be published through '{}'", publisher.getType());
+
+        return switch (publisher.getType()) {
+            case "log" -> new LoggingExpiryReminderPublisher();
+            case "notification-service" -> new NotificationServiceReminderPublisher(notificationServiceClient.getObject());
+            default -> throw new IllegalStateException("Unknown expiry reminder publisher: " + publisher.getType());
+        };
+    }
+}
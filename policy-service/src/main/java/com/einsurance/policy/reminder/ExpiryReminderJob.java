@@ -0,0 +1,209 @@
+package com.einsurance.policy.reminder;
+
+import com.einsurance.common.dto.NotificationEvent;
+import com.einsurance.policy.repository.CustomerPolicyRepository;
+import com.einsurance.policy.repository.ExpiringPolicyView;
+import com.einsurance.policy.repository.ExpiryReminderRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Daily expiry reminder run.
+ * Streams active policies expiring within the largest tier in keyset-ordered
+ * chunks. Each chunk is one transaction: reminders are de-duplicated against
+ * policy_reminders_sent, the new ones are published as a batch, and the
+ * checkpoint cursor moves past the chunk. Memory use is one chunk regardless
+ * of how many policies qualify.
+ * Only the replica holding the lease runs. If it dies, the lease expires and
+ * the next replica to poll resumes from the last committed chunk.
+ */
+@Slf4j
+@Component
+public class ExpiryReminderJob {
+
+    static final String JOB_NAME = "policy-expiry-reminders";
+
+    private static final UUID MIN_UUID = new UUID(0L, 0L);
+
+    private final CustomerPolicyRepository customerPolicyRepository;
+    private final ExpiryReminderRepository reminderRepository;
+    private final ExpiryReminderPublisher publisher;
+    private final ExpiryReminderProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final List<Integer> tiersAscending;
+    private final String owner;
+
+    public ExpiryReminderJob(CustomerPolicyRepository customerPolicyRepository,
+                             ExpiryReminderRepository reminderRepository,
+                             ExpiryReminderPublisher publisher,
+                             ExpiryReminderProperties properties,
+                             TransactionTemplate transactionTemplate) {
+        this.customerPolicyRepository = customerPolicyRepository;
+        this.reminderRepository = reminderRepository;
+        this.publisher = publisher;
+        this.properties = properties;
+        this.transactionTemplate = transactionTemplate;
+        this.tiersAscending = properties.getTiers().stream().sorted().distinct().toList();
+        this.owner = ManagementFactory.getRuntimeMXBean().getName() + "/" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    /**
+     * Polls frequently so a run abandoned by a dead replica is picked up soon;
+     * once today's run has completed, each poll is a single lease update
+     */
+    @Scheduled(cron = "${reminders.cron:0 */15 * * * *}")
+    public void runScheduled() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            run(LocalDate.now());
+        } catch (RuntimeException e) {
+            log.error("Expiry reminder run failed, will resume from checkpoint on next poll", e);
+        }
+    }
+
+    /**
+     * Run (or resume) the reminder pass for a given day
+     * @return false if another replica holds the lease or the day is already done
+     */
+    public boolean run(LocalDate runDate) {
+        LocalDateTime now = LocalDateTime.now();
+        if (!reminderRepository.tryAcquireLease(JOB_NAME, owner, now, now.plus(properties.getLease()))) {
+            log.debug("Expiry reminder run is owned by another replica");
+            return false;
+        }
+
+        boolean completed = false;
+        try {
+            ReminderCheckpoint checkpoint = reminderRepository.loadCheckpoint(JOB_NAME);
+            if (checkpoint.isCompletedFor(runDate)) {
+                return false;
+            }
+
+            LocalDate cursorDate;
+            UUID cursorId;
+            long published;
+            if (checkpoint.isResumableFor(runDate)) {
+                cursorDate = checkpoint.getLastExpiryDate();
+                cursorId = checkpoint.getLastPolicyId();
+                published = checkpoint.getPublishedCount();
+                log.info("Resuming expiry reminder run for {} after {} policies", runDate, checkpoint.getProcessedCount());
+            } else {
+                reminderRepository.startRun(JOB_NAME, owner, runDate);
+                cursorDate = runDate.minusDays(1);
+                cursorId = MIN_UUID;
+                published = 0;
+                log.info("Starting expiry reminder run for {}", runDate);
+            }
+
+            LocalDate lastDay = runDate.plusDays(tiersAscending.get(tiersAscending.size() - 1));
+            while (true) {
+                List<ExpiringPolicyView> chunk = customerPolicyRepository.findExpiringSoonAfter(
+                        runDate, lastDay, cursorDate, cursorId, properties.getChunkSize());
+                if (chunk.isEmpty()) {
+                    break;
+                }
+
+                Integer chunkPublished = transactionTemplate.execute(status -> processChunk(runDate, chunk));
+                published += chunkPublished != null ? chunkPublished : 0;
+
+                ExpiringPolicyView last = chunk.get(chunk.size() - 1);
+                cursorDate = last.getExpiryDate();
+                cursorId = last.getId();
+
+                if (chunk.size() < properties.getChunkSize()) {
+                    break;
+                }
+            }
+
+            int purged = reminderRepository.purgeExpiredBefore(runDate.minusDays(properties.getRetentionDays()));
+            reminderRepository.completeRun(JOB_NAME, owner);
+            completed = true;
+            log.info("Expiry reminder run for {} completed: {} reminders published, {} old records purged",
+                    runDate, published, purged);
+            return true;
+        } finally {
+            if (!completed) {
+                reminderRepository.releaseLease(JOB_NAME, owner);
+            }
+        }
+    }
+
+    /**
+     * De-duplicate, publish and checkpoint one chunk; runs in a single transaction
+     */
+    private int processChunk(LocalDate runDate, List<ExpiringPolicyView> chunk) {
+        List<ExpiryReminder> due = new ArrayList<>(chunk.size());
+        for (ExpiringPolicyView policy : chunk) {
+            long daysRemaining = ChronoUnit.DAYS.between(runDate, policy.getExpiryDate());
+            Integer tier = tierFor(daysRemaining);
+            if (tier != null) {
+                due.add(ExpiryReminder.builder()
+                        .policyId(policy.getId())
+                        .userId(policy.getUserId())
+                        .policyNumber(policy.getPolicyNumber())
+                        .policyName(policy.getPolicyName())
+                        .expiryDate(policy.getExpiryDate())
+                        .tierDays(tier)
+                        .daysRemaining(daysRemaining)
+                        .build());
+            }
+        }
+
+        List<ExpiryReminder> reserved = reminderRepository.reserve(due);
+        if (!reserved.isEmpty()) {
+            publisher.publish(reserved.stream().map(this::toEvent).toList());
+        }
+
+        ExpiringPolicyView last = chunk.get(chunk.size() - 1);
+        boolean advanced = reminderRepository.advance(JOB_NAME, owner, last.getExpiryDate(), last.getId(),
+                chunk.size(), reserved.size(), LocalDateTime.now().plus(properties.getLease()));
+        if (!advanced) {
+            // Rolls back this chunk; the replica that took over will redo it
+            throw new IllegalStateException("Lost expiry reminder lease to another replica");
+        }
+        return reserved.size();
+    }
+
+    /**
+     * Most urgent tier a policy qualifies for, or null if it is outside every tier
+     */
+    Integer tierFor(long daysRemaining) {
+        if (daysRemaining < 0) {
+            return null;
+        }
+        for (Integer tier : tiersAscending) {
+            if (daysRemaining <= tier) {
+                return tier;
+            }
+        }
+        return null;
+    }
+
+    private NotificationEvent toEvent(ExpiryReminder reminder) {
+        return NotificationEvent.builder()
+                .eventId(reminder.eventId())
+                .eventType(NotificationEvent.EventType.POLICY_EXPIRING)
+                .recipientUserId(reminder.getUserId())
+                .occurredAt(LocalDateTime.now())
+                .payload(Map.of(
+                        "policyNumber", reminder.getPolicyNumber(),
+                        "policyName", reminder.getPolicyName(),
+                        "expiryDate", reminder.getExpiryDate().toString(),
+                        "daysRemaining", String.valueOf(reminder.getDaysRemaining()),
+                        "tierDays", String.valueOf(reminder.getTierDays())))
+                .build();
+    }
+}
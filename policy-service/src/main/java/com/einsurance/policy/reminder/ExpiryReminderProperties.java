@@ -0,0 +1,50 @@
+package com.einsurance.policy.reminder;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Expiry reminder engine settings, bound from reminders.*
+ */
+@Data
+@ConfigurationProperties(prefix = "reminders")
+public class ExpiryReminderProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Days before expiry at which a reminder is sent. A policy gets the most
+     * urgent tier it qualifies for, so a missed day never sends a stale tier.
+     */
+    private List<Integer> tiers = List.of(30, 7, 1);
+
+    /**
+     * Policies read, de-duplicated and published per transaction
+     */
+    private int chunkSize = 500;
+
+    /**
+     * How long a replica owns the run without making progress before another may take over
+     */
+    private Duration lease = Duration.ofMinutes(10);
+
+    /**
+     * Sent-reminder rows are kept this long after the policy's expiry date
+     */
+    private int retentionDays = 30;
+
+    private final Publisher publisher = new Publisher();
+
+    @Data
+    public static class Publisher {
+
+        /**
+         * "log" or "notification-service"; the latter is reached through
+         * einsurance.clients.services.notification-service
+         */
+        private String type = "log";
+    }
+}
@@ -0,0 +1,18 @@
+package com.einsurance.policy.reminder;
+
+import com.einsurance.common.dto.NotificationEvent;
+
+import java.util.List;
+
+/**
+ * Destination for expiry reminder events.
+ * Called inside the chunk transaction: throwing rolls back the chunk's
+ * de-duplication rows and checkpoint, so the chunk is retried on the next run.
+ */
+public interface ExpiryReminderPublisher {
+
+    /**
+     * Publish one chunk of reminder events
+     */
+    void publish(List<NotificationEvent> events);
+}
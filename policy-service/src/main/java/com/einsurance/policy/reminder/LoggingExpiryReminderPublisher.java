@@ -0,0 +1,23 @@
+package com.einsurance.policy.reminder;
+
+import com.einsurance.common.dto.NotificationEvent;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+
+/**
+ * Logs reminder events instead of sending them. Default for local runs.
+ */
+@Slf4j
+public class LoggingExpiryReminderPublisher implements ExpiryReminderPublisher {
+
+    @Override
+    public void publish(List<NotificationEvent> events) {
+        for (NotificationEvent event : events) {
+            log.info("Expiry reminder for user {}: policy {} expires in {} days",
+                    event.getRecipientUserId(),
+                    event.getPayload().get("policyNumber"),
+                    event.getPayload().get("daysRemaining"));
+        }
+    }
+}
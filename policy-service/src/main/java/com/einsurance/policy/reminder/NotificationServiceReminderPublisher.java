@@ -0,0 +1,26 @@
+package com.einsurance.policy.reminder;
+
+import com.einsurance.common.client.NotificationServiceClient;
+import com.einsurance.common.dto.NotificationBatchReceipt;
+import com.einsurance.common.dto.NotificationEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+
+/**
+ * Posts reminder chunks to the notification service's batch endpoint.
+ * Events the service could not queue are treated as a failed chunk.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class NotificationServiceReminderPublisher implements ExpiryReminderPublisher {
+
+    private final NotificationServiceClient notificationServiceClient;
+
+    @Override
+    public void publish(List<NotificationEvent> events) {
+        NotificationBatchReceipt receipt = notificationServiceClient.publish(events);
+        log.debug("Published {} expiry reminders ({} duplicates)", receipt.getAccepted(), receipt.getDuplicates());
+    }
+}
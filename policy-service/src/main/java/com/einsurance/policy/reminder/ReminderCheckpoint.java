@@ -0,0 +1,51 @@
+package com.einsurance.policy.reminder;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Persisted progress of a reminder run: which day it is for and the
+ * keyset cursor of the last chunk committed
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReminderCheckpoint {
+
+    private String jobName;
+    private LocalDate runDate;
+    private RunStatus status;
+    private LocalDate lastExpiryDate;
+    private UUID lastPolicyId;
+    private long processedCount;
+    private long publishedCount;
+
+    /**
+     * Run status enumeration
+     */
+    public enum RunStatus {
+        IDLE,
+        RUNNING,
+        COMPLETED
+    }
+
+    /**
+     * Check if this checkpoint is an unfinished run for the given day
+     */
+    public boolean isResumableFor(LocalDate date) {
+        return status == RunStatus.RUNNING && date.equals(runDate) && lastExpiryDate != null;
+    }
+
+    /**
+     * Check if the run for the given day has already finished
+     */
+    public boolean isCompletedFor(LocalDate date) {
+        return status == RunStatus.COMPLETED && date.equals(runDate);
+    }
+}
@@ -33,6 +33,27 @@ public interface CustomerPolicyRepository extends JpaRepository<CustomerPolicy,
            "AND cp.expiryDate BETWEEN CURRENT_DATE AND :expiryDate")
     List<CustomerPolicy> findExpiringSoon(@Param("expiryDate") LocalDate expiryDate);
 
+    /**
+     * Keyset-paged form of findExpiringSoon for the reminder engine.
+     * Returns the next chunk after the (afterExpiryDate, afterId) cursor, ordered by (expiry_date, id),
+     * so each chunk is a bounded index range scan regardless of how far the run has progressed.
+     */
+    @Query(value = "SELECT cp.id AS id, cp.user_id AS userId, cp.policy_number AS policyNumber, " +
+           "pt.name AS policyName, cp.expiry_date AS expiryDate " +
+           "FROM customer_policies cp " +
+           "JOIN policy_templates pt ON pt.id = cp.policy_template_id " +
+           "WHERE cp.status = 'ACTIVE' " +
+           "AND cp.expiry_date BETWEEN :fromDate AND :toDate " +
+           "AND (cp.expiry_date, cp.id) > (:afterExpiryDate, :afterId) " +
+           "ORDER BY cp.expiry_date, cp.id " +
+           "LIMIT :limit",
+           nativeQuery = true)
+    List<ExpiringPolicyView> findExpiringSoonAfter(@Param("fromDate") LocalDate fromDate,
+                                                   @Param("toDate") LocalDate toDate,
+                                                   @Param("afterExpiryDate") LocalDate afterExpiryDate,
+                                                   @Param("afterId") UUID afterId,
+                                                   @Param("limit") int limit);
+
     @Query("SELECT cp FROM CustomerPolicy cp WHERE cp.status = 'ACTIVE' " +
            "AND cp.expiryDate < CURRENT_DATE")
     List<CustomerPolicy> findExpiredPolicies();
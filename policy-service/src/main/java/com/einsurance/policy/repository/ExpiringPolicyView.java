@@ -0,0 +1,20 @@
+package com.einsurance.policy.repository;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Projection of an active policy close to expiry, as read by the reminder engine
+ */
+public interface ExpiringPolicyView {
+
+    UUID getId();
+
+    UUID getUserId();
+
+    String getPolicyNumber();
+
+    String getPolicyName();
+
+    LocalDate getExpiryDate();
+}
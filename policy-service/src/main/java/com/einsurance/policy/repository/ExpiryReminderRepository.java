@@ -0,0 +1,159 @@
+package com.einsurance.policy.repository;
+
+import com.einsurance.policy.reminder.ExpiryReminder;
+import com.einsurance.policy.reminder.ReminderCheckpoint;
+import com.einsurance.policy.reminder.ReminderCheckpoint.RunStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * JDBC access to the reminder de-duplication and checkpoint tables.
+ * Plain JDBC because both tables are driven by set-based statements
+ * (bulk insert with ON CONFLICT, conditional lease updates) rather than entities.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ExpiryReminderRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Record reminders as sent in one statement
+     * @return the reminders that were not already recorded, i.e. the ones to publish
+     */
+    public List<ExpiryReminder> reserve(List<ExpiryReminder> reminders) {
+        if (reminders.isEmpty()) {
+            return List.of();
+        }
+
+        Set<String> inserted = new HashSet<>(jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    "INSERT INTO policy_reminders_sent (customer_policy_id, tier_days, expiry_date) " +
+                    "SELECT * FROM unnest(?::uuid[], ?::int[], ?::date[]) " +
+                    "ON CONFLICT DO NOTHING " +
+                    "RETURNING customer_policy_id, tier_days");
+            Object[] policyIds = new Object[reminders.size()];
+            Object[] tiers = new Object[reminders.size()];
+            Object[] expiryDates = new Object[reminders.size()];
+            for (int i = 0; i < reminders.size(); i++) {
+                ExpiryReminder reminder = reminders.get(i);
+                policyIds[i] = reminder.getPolicyId();
+                tiers[i] = reminder.getTierDays();
+                expiryDates[i] = Date.valueOf(reminder.getExpiryDate());
+            }
+            Array policyIdArray = connection.createArrayOf("uuid", policyIds);
+            Array tierArray = connection.createArrayOf("int4", tiers);
+            Array expiryDateArray = connection.createArrayOf("date", expiryDates);
+            statement.setArray(1, policyIdArray);
+            statement.setArray(2, tierArray);
+            statement.setArray(3, expiryDateArray);
+            return statement;
+        }, (rs, rowNum) -> rs.getObject("customer_policy_id", UUID.class) + ":" + rs.getInt("tier_days")));
+
+        List<ExpiryReminder> reserved = new ArrayList<>(inserted.size());
+        for (ExpiryReminder reminder : reminders) {
+            if (inserted.contains(reminder.getPolicyId() + ":" + reminder.getTierDays())) {
+                reserved.add(reminder);
+            }
+        }
+        return reserved;
+    }
+
+    /**
+     * Delete reminder records of policies that expired before the given date
+     */
+    public int purgeExpiredBefore(LocalDate date) {
+        return jdbcTemplate.update("DELETE FROM policy_reminders_sent WHERE expiry_date < ?", Date.valueOf(date));
+    }
+
+    /**
+     * Take or renew the job lease if it is free, expired or already ours
+     */
+    public boolean tryAcquireLease(String jobName, String owner, LocalDateTime now, LocalDateTime leaseUntil) {
+        return jdbcTemplate.update(
+                "UPDATE reminder_job_checkpoints SET lease_owner = ?, lease_until = ?, updated_at = ? " +
+                "WHERE job_name = ? AND (lease_owner IS NULL OR lease_owner = ? OR lease_until < ?)",
+                owner, Timestamp.valueOf(leaseUntil), Timestamp.valueOf(now),
+                jobName, owner, Timestamp.valueOf(now)) == 1;
+    }
+
+    /**
+     * Give up the lease so another replica can run without waiting for it to expire
+     */
+    public void releaseLease(String jobName, String owner) {
+        jdbcTemplate.update(
+                "UPDATE reminder_job_checkpoints SET lease_owner = NULL, lease_until = NULL " +
+                "WHERE job_name = ? AND lease_owner = ?",
+                jobName, owner);
+    }
+
+    /**
+     * Load the checkpoint of a job
+     */
+    public ReminderCheckpoint loadCheckpoint(String jobName) {
+        return jdbcTemplate.queryForObject(
+                "SELECT job_name, run_date, status, last_expiry_date, last_policy_id, processed_count, published_count " +
+                "FROM reminder_job_checkpoints WHERE job_name = ?",
+                (rs, rowNum) -> ReminderCheckpoint.builder()
+                        .jobName(rs.getString("job_name"))
+                        .runDate(rs.getObject("run_date", LocalDate.class))
+                        .status(RunStatus.valueOf(rs.getString("status")))
+                        .lastExpiryDate(rs.getObject("last_expiry_date", LocalDate.class))
+                        .lastPolicyId(rs.getObject("last_policy_id", UUID.class))
+                        .processedCount(rs.getLong("processed_count"))
+                        .publishedCount(rs.getLong("published_count"))
+                        .build(),
+                jobName);
+    }
+
+    /**
+     * Start a fresh run for the given day, discarding any previous cursor
+     */
+    public boolean startRun(String jobName, String owner, LocalDate runDate) {
+        return jdbcTemplate.update(
+                "UPDATE reminder_job_checkpoints SET run_date = ?, status = 'RUNNING', " +
+                "last_expiry_date = NULL, last_policy_id = NULL, processed_count = 0, published_count = 0, " +
+                "updated_at = CURRENT_TIMESTAMP " +
+                "WHERE job_name = ? AND lease_owner = ?",
+                Date.valueOf(runDate), jobName, owner) == 1;
+    }
+
+    /**
+     * Move the cursor past a committed chunk and extend the lease
+     * @return false if the lease was lost to another replica, in which case nothing is updated
+     */
+    public boolean advance(String jobName, String owner, LocalDate lastExpiryDate, UUID lastPolicyId,
+                           int processed, int published, LocalDateTime leaseUntil) {
+        return jdbcTemplate.update(
+                "UPDATE reminder_job_checkpoints SET last_expiry_date = ?, last_policy_id = ?, " +
+                "processed_count = processed_count + ?, published_count = published_count + ?, " +
+                "lease_until = ?, updated_at = CURRENT_TIMESTAMP " +
+                "WHERE job_name = ? AND lease_owner = ?",
+                Date.valueOf(lastExpiryDate), lastPolicyId, processed, published,
+                Timestamp.valueOf(leaseUntil), jobName, owner) == 1;
+    }
+
+    /**
+     * Mark the run finished and release the lease
+     */
+    public void completeRun(String jobName, String owner) {
+        jdbcTemplate.update(
+                "UPDATE reminder_job_checkpoints SET status = 'COMPLETED', lease_owner = NULL, lease_until = NULL, " +
+                "updated_at = CURRENT_TIMESTAMP " +
+                "WHERE job_name = ? AND lease_owner = ?",
+                jobName, owner);
+    }
+}
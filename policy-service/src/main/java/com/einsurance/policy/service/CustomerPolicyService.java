@@ -2,6 +2,8 @@ package com.einsurance.policy.service;
 
 import com.einsurance.common.dto.CustomerPolicyDto;
 import com.einsurance.common.dto.PageResponse;
+import com.einsurance.common.event.DomainEventPublisher;
+import com.einsurance.common.event.PolicyEvent;
 import com.einsurance.common.exception.PolicyException;
 import com.einsurance.common.exception.ResourceNotFoundException;
 import com.einsurance.common.security.SecurityUtil;
@@ -37,6 +39,7 @@ public class CustomerPolicyService {
     private final CustomerPolicyRepository customerPolicyRepository;
     private final PolicyTemplateRepository policyTemplateRepository;
     private final CustomerPolicyMapper customerPolicyMapper;
+    private final DomainEventPublisher domainEventPublisher;
 
     /**
      * Initiate policy purchase (before payment)
@@ -77,6 +80,7 @@ public class CustomerPolicyService {
         customerPolicy.setPolicyNumber(generatePolicyNumber());
 
         CustomerPolicy savedPolicy = customerPolicyRepository.save(customerPolicy);
+        domainEventPublisher.publish(policyEvent(PolicyEvent.Type.PURCHASE_INITIATED, savedPolicy));
         log.info("Policy purchase initiated with ID: {}", savedPolicy.getId());
 
         return customerPolicyMapper.toDto(savedPolicy);
@@ -96,6 +100,7 @@ public class CustomerPolicyService {
         policy.setStatus(PolicyStatus.ACTIVE);
 
         CustomerPolicy confirmedPolicy = customerPolicyRepository.save(policy);
+        domainEventPublisher.publish(policyEvent(PolicyEvent.Type.ACTIVATED, confirmedPolicy));
         log.info("Policy purchase confirmed: {}", policyId);
 
         return customerPolicyMapper.toDto(confirmedPolicy);
@@ -234,6 +239,7 @@ public class CustomerPolicyService {
 
         policy.setStatus(PolicyStatus.CANCELLED);
         customerPolicyRepository.save(policy);
+        domainEventPublisher.publish(policyEvent(PolicyEvent.Type.CANCELLED, policy));
 
         log.info("Policy cancelled successfully: {}", policyId);
     }
@@ -254,6 +260,7 @@ public class CustomerPolicyService {
 
         policy.setStatus(PolicyStatus.SUSPENDED);
         customerPolicyRepository.save(policy);
+        domainEventPublisher.publish(policyEvent(PolicyEvent.Type.SUSPENDED, policy));
 
         log.info("Policy suspended successfully: {}", policyId);
     }
@@ -278,6 +285,7 @@ public class CustomerPolicyService {
 
         policy.setStatus(PolicyStatus.ACTIVE);
         customerPolicyRepository.save(policy);
+        domainEventPublisher.publish(policyEvent(PolicyEvent.Type.REACTIVATED, policy));
 
         log.info("Policy reactivated successfully: {}", policyId);
     }
@@ -328,10 +336,31 @@ public class CustomerPolicyService {
             customerPolicyRepository.save(policy);
             log.debug("Policy expired: {}", policy.getPolicyNumber());
         }
+        domainEventPublisher.publishAll(expiredPolicies.stream()
+                .map(policy -> policyEvent(PolicyEvent.Type.EXPIRED, policy))
+                .toList());
 
         log.info("Updated {} expired policies", expiredPolicies.size());
     }
 
+    /**
+     * Build the lifecycle event for a policy's current state
+     */
+    private PolicyEvent policyEvent(PolicyEvent.Type type, CustomerPolicy policy) {
+        return PolicyEvent.builder()
+                .type(type)
+                .policyId(policy.getId())
+                .policyNumber(policy.getPolicyNumber())
+                .userId(policy.getUserId())
+                .policyTemplateId(policy.getPolicyTemplate() != null ? policy.getPolicyTemplate().getId() : null)
+                .policyName(policy.getPolicyTemplate() != null ? policy.getPolicyTemplate().getName() : null)
+                .status(policy.getStatus().name())
+                .startDate(policy.getStartDate())
+                .expiryDate(policy.getExpiryDate())
+                .totalAmount(policy.getTotalAmount())
+                .build();
+    }
+
     /**
      * Generate unique policy number
      */
@@ -0,0 +1,20 @@
+-- Policy Service - Composite and partial indexes for hot queries
+-- File location: policy-service/src/main/resources/db/migration/V2__Add_customer_policy_query_indexes.sql
+
+-- hasActivePolicyForTemplate: user_id + policy_template_id with status = 'ACTIVE' AND expiry_date >= CURRENT_DATE.
+-- findActiveByUserId / countActiveByUserId use the same leading column.
+CREATE INDEX idx_customer_policies_active_user_template
+    ON customer_policies(user_id, policy_template_id, expiry_date)
+    WHERE status = 'ACTIVE';
+
+-- findExpiredPolicies / findExpiringSoon: status = 'ACTIVE' with a range on expiry_date.
+CREATE INDEX idx_customer_policies_active_expiry
+    ON customer_policies(expiry_date)
+    WHERE status = 'ACTIVE';
+
+-- findByUserId sorted by purchase date (my policies list)
+CREATE INDEX idx_customer_policies_user_purchase_date
+    ON customer_policies(user_id, purchase_date DESC);
+
+COMMENT ON INDEX idx_customer_policies_active_user_template IS 'Partial index for active-policy checks per user and template';
+COMMENT ON INDEX idx_customer_policies_active_expiry IS 'Partial index for expiry and reminder scans';
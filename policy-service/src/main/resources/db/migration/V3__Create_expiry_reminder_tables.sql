@@ -0,0 +1,47 @@
+-- Policy Service - Expiry reminder engine
+-- File location: policy-service/src/main/resources/db/migration/V3__Create_expiry_reminder_tables.sql
+
+-- One row per reminder sent. expiry_date is part of the key so a renewed
+-- policy (new expiry date) gets a fresh set of reminders.
+CREATE TABLE policy_reminders_sent (
+    customer_policy_id UUID NOT NULL,
+    tier_days INTEGER NOT NULL,
+    expiry_date DATE NOT NULL,
+    sent_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    PRIMARY KEY (customer_policy_id, tier_days, expiry_date),
+    CONSTRAINT chk_reminder_tier_positive CHECK (tier_days > 0)
+);
+
+-- Purge of reminders for policies that have already expired
+CREATE INDEX idx_policy_reminders_sent_expiry_date ON policy_reminders_sent(expiry_date);
+
+-- Progress of the daily reminder run. The lease lets exactly one replica run
+-- at a time; the keyset cursor lets another replica resume after a crash.
+CREATE TABLE reminder_job_checkpoints (
+    job_name VARCHAR(50) PRIMARY KEY,
+    run_date DATE,
+    status VARCHAR(20) NOT NULL DEFAULT 'IDLE',
+    last_expiry_date DATE,
+    last_policy_id UUID,
+    processed_count BIGINT NOT NULL DEFAULT 0,
+    published_count BIGINT NOT NULL DEFAULT 0,
+    lease_owner VARCHAR(100),
+    lease_until TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT chk_reminder_job_status CHECK (status IN ('IDLE', 'RUNNING', 'COMPLETED'))
+);
+
+INSERT INTO reminder_job_checkpoints (job_name) VALUES ('policy-expiry-reminders');
+
+-- Keyset scan for findExpiringSoonAfter: (expiry_date, id) > cursor ORDER BY expiry_date, id.
+-- The narrower idx_customer_policies_active_expiry stays for the expired-policy sweep,
+-- which the planner prefers it for.
+CREATE INDEX idx_customer_policies_active_expiry_id
+    ON customer_policies(expiry_date, id)
+    WHERE status = 'ACTIVE';
+
+COMMENT ON TABLE policy_reminders_sent IS 'Expiry reminders already published, for de-duplication';
+COMMENT ON TABLE reminder_job_checkpoints IS 'Lease and keyset checkpoint of the expiry reminder run';
+COMMENT ON INDEX idx_customer_policies_active_expiry_id IS 'Keyset index for the expiry reminder run';
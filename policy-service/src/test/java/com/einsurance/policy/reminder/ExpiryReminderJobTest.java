@@ -0,0 +1,229 @@
+package com.einsurance.policy.reminder;
+
+import com.einsurance.common.dto.NotificationEvent;
+import com.einsurance.policy.reminder.ReminderCheckpoint.RunStatus;
+import com.einsurance.policy.repository.CustomerPolicyRepository;
+import com.einsurance.policy.repository.ExpiringPolicyView;
+import com.einsurance.policy.repository.ExpiryReminderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ExpiryReminderJob
+ */
+@ExtendWith(MockitoExtension.class)
+class ExpiryReminderJobTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 3, 1);
+
+    @Mock
+    private CustomerPolicyRepository customerPolicyRepository;
+
+    @Mock
+    private ExpiryReminderRepository reminderRepository;
+
+    @Mock
+    private ExpiryReminderPublisher publisher;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private ExpiryReminderProperties properties;
+    private ExpiryReminderJob job;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ExpiryReminderProperties();
+        properties.setChunkSize(2);
+        job = new ExpiryReminderJob(customerPolicyRepository, reminderRepository, publisher, properties, transactionTemplate);
+
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        lenient().when(reminderRepository.tryAcquireLease(eq(ExpiryReminderJob.JOB_NAME), anyString(), any(), any()))
+                .thenReturn(true);
+        lenient().when(reminderRepository.advance(any(), any(), any(), any(), anyInt(), anyInt(), any()))
+                .thenReturn(true);
+        lenient().when(reminderRepository.reserve(any()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void tierFor_PicksMostUrgentQualifyingTier() {
+        // When / Then
+        assertEquals(30, job.tierFor(30));
+        assertEquals(30, job.tierFor(8));
+        assertEquals(7, job.tierFor(7));
+        assertEquals(7, job.tierFor(2));
+        assertEquals(1, job.tierFor(1));
+        assertEquals(1, job.tierFor(0));
+        assertNull(job.tierFor(31));
+        assertNull(job.tierFor(-1));
+    }
+
+    @Test
+    void run_PublishesRemindersChunkByChunk() {
+        // Given
+        when(reminderRepository.loadCheckpoint(ExpiryReminderJob.JOB_NAME)).thenReturn(idleCheckpoint());
+        ExpiringPolicyView first = policy(TODAY.plusDays(1));
+        ExpiringPolicyView second = policy(TODAY.plusDays(7));
+        ExpiringPolicyView third = policy(TODAY.plusDays(20));
+        when(customerPolicyRepository.findExpiringSoonAfter(eq(TODAY), eq(TODAY.plusDays(30)), any(), any(), eq(2)))
+                .thenReturn(List.of(first, second))
+                .thenReturn(List.of(third));
+
+        // When
+        boolean completed = job.run(TODAY);
+
+        // Then
+        assertTrue(completed);
+        verify(reminderRepository).startRun(eq(ExpiryReminderJob.JOB_NAME), anyString(), eq(TODAY));
+        verify(customerPolicyRepository).findExpiringSoonAfter(TODAY, TODAY.plusDays(30),
+                TODAY.minusDays(1), new UUID(0L, 0L), 2);
+        verify(customerPolicyRepository).findExpiringSoonAfter(TODAY, TODAY.plusDays(30),
+                second.getExpiryDate(), second.getId(), 2);
+        verify(publisher, times(2)).publish(any());
+        verify(reminderRepository).completeRun(eq(ExpiryReminderJob.JOB_NAME), anyString());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void run_PublishesOnlyRemindersNotSentBefore() {
+        // Given
+        when(reminderRepository.loadCheckpoint(ExpiryReminderJob.JOB_NAME)).thenReturn(idleCheckpoint());
+        ExpiringPolicyView alreadySent = policy(TODAY.plusDays(7));
+        ExpiringPolicyView fresh = policy(TODAY.plusDays(1));
+        when(customerPolicyRepository.findExpiringSoonAfter(any(), any(), any(), any(), anyInt()))
+                .thenReturn(List.of(fresh, alreadySent))
+                .thenReturn(List.of());
+        when(reminderRepository.reserve(any())).thenAnswer(invocation -> ((List<ExpiryReminder>) invocation.getArgument(0))
+                .stream().filter(reminder -> reminder.getPolicyId().equals(fresh.getId())).toList());
+
+        // When
+        job.run(TODAY);
+
+        // Then
+        ArgumentCaptor<List<NotificationEvent>> events = ArgumentCaptor.forClass(List.class);
+        verify(publisher).publish(events.capture());
+        assertEquals(1, events.getValue().size());
+        NotificationEvent event = events.getValue().get(0);
+        assertEquals(NotificationEvent.EventType.POLICY_EXPIRING, event.getEventType());
+        assertEquals("1", event.getPayload().get("daysRemaining"));
+        assertEquals("1", event.getPayload().get("tierDays"));
+    }
+
+    @Test
+    void run_ResumesFromCheckpoint() {
+        // Given
+        UUID lastPolicyId = UUID.randomUUID();
+        when(reminderRepository.loadCheckpoint(ExpiryReminderJob.JOB_NAME)).thenReturn(ReminderCheckpoint.builder()
+                .jobName(ExpiryReminderJob.JOB_NAME)
+                .runDate(TODAY)
+                .status(RunStatus.RUNNING)
+                .lastExpiryDate(TODAY.plusDays(12))
+                .lastPolicyId(lastPolicyId)
+                .processedCount(1_000_000)
+                .build());
+        when(customerPolicyRepository.findExpiringSoonAfter(any(), any(), any(), any(), anyInt())).thenReturn(List.of());
+
+        // When
+        job.run(TODAY);
+
+        // Then
+        verify(reminderRepository, never()).startRun(any(), any(), any());
+        verify(customerPolicyRepository).findExpiringSoonAfter(TODAY, TODAY.plusDays(30),
+                TODAY.plusDays(12), lastPolicyId, 2);
+    }
+
+    @Test
+    void run_Skips_WhenLeaseHeldByAnotherReplica() {
+        // Given
+        when(reminderRepository.tryAcquireLease(any(), any(), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(false);
+
+        // When
+        boolean ran = job.run(TODAY);
+
+        // Then
+        assertFalse(ran);
+        verify(customerPolicyRepository, never()).findExpiringSoonAfter(any(), any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void run_Skips_WhenTodayAlreadyCompleted() {
+        // Given
+        when(reminderRepository.loadCheckpoint(ExpiryReminderJob.JOB_NAME)).thenReturn(ReminderCheckpoint.builder()
+                .runDate(TODAY)
+                .status(RunStatus.COMPLETED)
+                .build());
+
+        // When
+        boolean ran = job.run(TODAY);
+
+        // Then
+        assertFalse(ran);
+        verify(customerPolicyRepository, never()).findExpiringSoonAfter(any(), any(), any(), any(), anyInt());
+        verify(reminderRepository).releaseLease(eq(ExpiryReminderJob.JOB_NAME), anyString());
+    }
+
+    @Test
+    void run_ReleasesLease_WhenPublishFails() {
+        // Given
+        when(reminderRepository.loadCheckpoint(ExpiryReminderJob.JOB_NAME)).thenReturn(idleCheckpoint());
+        when(customerPolicyRepository.findExpiringSoonAfter(any(), any(), any(), any(), anyInt()))
+                .thenReturn(List.of(policy(TODAY.plusDays(7))));
+        doThrow(new IllegalStateException("notification-service unavailable")).when(publisher).publish(any());
+
+        // When / Then
+        assertThrows(IllegalStateException.class, () -> job.run(TODAY));
+        verify(reminderRepository, never()).advance(any(), any(), any(), any(), anyInt(), anyInt(), any());
+        verify(reminderRepository, never()).completeRun(any(), any());
+        verify(reminderRepository).releaseLease(eq(ExpiryReminderJob.JOB_NAME), anyString());
+    }
+
+    @Test
+    void run_Aborts_WhenLeaseLostMidRun() {
+        // Given
+        when(reminderRepository.loadCheckpoint(ExpiryReminderJob.JOB_NAME)).thenReturn(idleCheckpoint());
+        when(customerPolicyRepository.findExpiringSoonAfter(any(), any(), any(), any(), anyInt()))
+                .thenReturn(List.of(policy(TODAY.plusDays(7))));
+        when(reminderRepository.advance(any(), any(), any(), any(), anyInt(), anyInt(), any())).thenReturn(false);
+
+        // When / Then
+        assertThrows(IllegalStateException.class, () -> job.run(TODAY));
+        verify(reminderRepository, never()).completeRun(any(), any());
+    }
+
+    private ReminderCheckpoint idleCheckpoint() {
+        return ReminderCheckpoint.builder()
+                .jobName(ExpiryReminderJob.JOB_NAME)
+                .status(RunStatus.IDLE)
+                .build();
+    }
+
+    private ExpiringPolicyView policy(LocalDate expiryDate) {
+        UUID id = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+        return new ExpiringPolicyView() {
+            public UUID getId() { return id; }
+            public UUID getUserId() { return userId; }
+            public String getPolicyNumber() { return "POL-2025-" + id.toString().substring(0, 6); }
+            public String getPolicyName() { return "Comprehensive Auto"; }
+            public LocalDate getExpiryDate() { return expiryDate; }
+        };
+    }
+}
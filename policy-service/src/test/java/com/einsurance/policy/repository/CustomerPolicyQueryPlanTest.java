@@ -0,0 +1,204 @@
+package com.einsurance.policy.repository;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Query plan tests for CustomerPolicyRepository hot queries.
+ * Runs the Flyway migrations against an embedded PostgreSQL, seeds a realistic
+ * status distribution and fails if a query falls back to a sequential scan.
+ * The SQL mirrors the JPQL in CustomerPolicyRepository.
+ */
+class CustomerPolicyQueryPlanTest {
+
+    private static final int POLICY_ROWS = 50_000;
+    private static final int DISTINCT_USERS = 5_000;
+
+    private static EmbeddedPostgres postgres;
+    private static DataSource dataSource;
+
+    @BeforeAll
+    static void startDatabase() throws Exception {
+        postgres = EmbeddedPostgres.start();
+        dataSource = postgres.getPostgresDatabase();
+
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            // Mirrors database-scripts/init_databases.sql
+            statement.execute("CREATE EXTENSION IF NOT EXISTS \"uuid-ossp\"");
+            statement.execute("""
+                    CREATE OR REPLACE FUNCTION update_updated_at_column()
+                    RETURNS TRIGGER AS $$
+                    BEGIN
+                        NEW.updated_at = CURRENT_TIMESTAMP;
+                        RETURN NEW;
+                    END;
+                    $$ LANGUAGE plpgsql""");
+        }
+
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                .baselineOnMigrate(true)
+                .baselineVersion("0")
+                .load()
+                .migrate();
+
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            // ~40% ACTIVE (a few already past expiry), the rest closed
+            statement.execute("""
+                    INSERT INTO customer_policies (policy_number, user_id, policy_template_id, start_date,
+                                                   expiry_date, status, total_amount)
+                    SELECT 'POL-TEST-' || i,
+                           ('00000000-0000-0000-0000-' || lpad((i %% %d)::text, 12, '0'))::uuid,
+                           t.id,
+                           CURRENT_DATE - 400,
+                           CASE WHEN i %% 5 < 2 THEN CURRENT_DATE + (i %% 400) - 5
+                                ELSE CURRENT_DATE - 1 - (i %% 30) END,
+                           CASE WHEN i %% 5 < 2 THEN 'ACTIVE'
+                                WHEN i %% 5 = 2 THEN 'CANCELLED'
+                                ELSE 'EXPIRED' END,
+                           100 + (i %% 900)
+                    FROM generate_series(1, %d) AS i
+                    JOIN (SELECT id, row_number() OVER (ORDER BY name) - 1 AS n,
+                                 COUNT(*) OVER () AS total
+                          FROM policy_templates) t ON t.n = i %% t.total""".formatted(DISTINCT_USERS, POLICY_ROWS));
+            statement.execute("ANALYZE customer_policies");
+            statement.execute("ANALYZE policy_templates");
+        }
+    }
+
+    @AfterAll
+    static void stopDatabase() throws Exception {
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @Test
+    void hasActivePolicyForTemplate_UsesIndex() throws Exception {
+        // Given
+        String sql = "SELECT COUNT(cp.id) > 0 FROM customer_policies cp " +
+                "WHERE cp.user_id = ? AND cp.policy_template_id = ? " +
+                "AND cp.status = 'ACTIVE' AND cp.expiry_date >= CURRENT_DATE";
+
+        // When
+        String plan = explain(sql, userId(42), UUID.randomUUID());
+
+        // Then
+        assertNoSequentialScan(plan);
+        assertTrue(plan.contains("idx_customer_policies_active_user_template"), plan);
+    }
+
+    @Test
+    void findActiveByUserId_UsesIndex() throws Exception {
+        // Given
+        String sql = "SELECT * FROM customer_policies cp WHERE cp.user_id = ? " +
+                "AND cp.status = 'ACTIVE' AND cp.expiry_date >= CURRENT_DATE";
+
+        // When
+        String plan = explain(sql, userId(42));
+
+        // Then
+        assertNoSequentialScan(plan);
+    }
+
+    @Test
+    void findExpiredPolicies_UsesIndex() throws Exception {
+        // Given
+        String sql = "SELECT * FROM customer_policies cp WHERE cp.status = 'ACTIVE' " +
+                "AND cp.expiry_date < CURRENT_DATE";
+
+        // When
+        String plan = explain(sql);
+
+        // Then
+        assertNoSequentialScan(plan);
+        assertTrue(plan.contains("idx_customer_policies_active_expiry"), plan);
+    }
+
+    @Test
+    void findExpiringSoon_UsesIndex() throws Exception {
+        // Given
+        String sql = "SELECT * FROM customer_policies cp WHERE cp.status = 'ACTIVE' " +
+                "AND cp.expiry_date BETWEEN CURRENT_DATE AND ?";
+
+        // When
+        String plan = explain(sql, Date.valueOf(LocalDate.now().plusDays(7)));
+
+        // Then
+        assertNoSequentialScan(plan);
+    }
+
+    @Test
+    void findExpiringSoonAfter_UsesIndex() throws Exception {
+        // Given: a cursor part-way through the window
+        String sql = "SELECT cp.id, cp.user_id, cp.policy_number, pt.name, cp.expiry_date " +
+                "FROM customer_policies cp JOIN policy_templates pt ON pt.id = cp.policy_template_id " +
+                "WHERE cp.status = 'ACTIVE' AND cp.expiry_date BETWEEN ? AND ? " +
+                "AND (cp.expiry_date, cp.id) > (?, ?) " +
+                "ORDER BY cp.expiry_date, cp.id LIMIT 500";
+
+        // When
+        String plan = explain(sql, Date.valueOf(LocalDate.now()), Date.valueOf(LocalDate.now().plusDays(30)),
+                Date.valueOf(LocalDate.now().plusDays(10)), UUID.randomUUID());
+
+        // Then: the seeded window is small enough that a bitmap scan plus sort can win;
+        // idx_customer_policies_active_expiry_id lets larger windows skip the sort
+        assertNoSequentialScan(plan);
+        assertTrue(plan.contains("idx_customer_policies_active_expiry"), plan);
+    }
+
+    @Test
+    void findByUserIdPage_UsesIndex() throws Exception {
+        // Given
+        String sql = "SELECT * FROM customer_policies cp WHERE cp.user_id = ? " +
+                "ORDER BY cp.purchase_date DESC LIMIT 10 OFFSET 0";
+
+        // When
+        String plan = explain(sql, userId(42));
+
+        // Then
+        assertNoSequentialScan(plan);
+    }
+
+    private static UUID userId(int index) {
+        return UUID.fromString(String.format("00000000-0000-0000-0000-%012d", index));
+    }
+
+    private static String explain(String sql, Object... parameters) throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("EXPLAIN (FORMAT JSON) " + sql)) {
+            for (int i = 0; i < parameters.length; i++) {
+                statement.setObject(i + 1, parameters[i]);
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                StringBuilder plan = new StringBuilder();
+                while (resultSet.next()) {
+                    plan.append(resultSet.getString(1));
+                }
+                return plan.toString();
+            }
+        }
+    }
+
+    private static void assertNoSequentialScan(String plan) {
+        assertFalse(plan.contains("\"Node Type\": \"Seq Scan\""),
+                () -> "Query regressed to a sequential scan:\n" + plan);
+    }
+}
@@ -0,0 +1,174 @@
+package com.einsurance.policy.repository;
+
+import com.einsurance.policy.reminder.ExpiryReminder;
+import com.einsurance.policy.reminder.ReminderCheckpoint;
+import com.einsurance.policy.reminder.ReminderCheckpoint.RunStatus;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests ExpiryReminderRepository SQL against an embedded PostgreSQL
+ */
+class ExpiryReminderRepositoryTest {
+
+    private static final String JOB = "policy-expiry-reminders";
+
+    private static EmbeddedPostgres postgres;
+    private static DataSource dataSource;
+
+    private ExpiryReminderRepository repository;
+
+    @BeforeAll
+    static void startDatabase() throws Exception {
+        postgres = EmbeddedPostgres.start();
+        dataSource = postgres.getPostgresDatabase();
+
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            // Mirrors database-scripts/init_databases.sql
+            statement.execute("CREATE EXTENSION IF NOT EXISTS \"uuid-ossp\"");
+            statement.execute("""
+                    CREATE OR REPLACE FUNCTION update_updated_at_column()
+                    RETURNS TRIGGER AS $$
+                    BEGIN
+                        NEW.updated_at = CURRENT_TIMESTAMP;
+                        RETURN NEW;
+                    END;
+                    $$ LANGUAGE plpgsql""");
+        }
+
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                .baselineOnMigrate(true)
+                .baselineVersion("0")
+                .load()
+                .migrate();
+    }
+
+    @AfterAll
+    static void stopDatabase() throws Exception {
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("DELETE FROM policy_reminders_sent");
+        jdbcTemplate.update("UPDATE reminder_job_checkpoints SET run_date = NULL, status = 'IDLE', " +
+                "last_expiry_date = NULL, last_policy_id = NULL, lease_owner = NULL, lease_until = NULL");
+        repository = new ExpiryReminderRepository(jdbcTemplate);
+    }
+
+    @Test
+    void reserve_ReturnsOnlyRemindersNotSentBefore() {
+        // Given
+        UUID policyId = UUID.randomUUID();
+        LocalDate expiry = LocalDate.now().plusDays(7);
+        ExpiryReminder sevenDay = reminder(policyId, 7, expiry);
+        ExpiryReminder other = reminder(UUID.randomUUID(), 7, expiry);
+        repository.reserve(List.of(sevenDay));
+
+        // When
+        List<ExpiryReminder> reserved = repository.reserve(List.of(sevenDay, other));
+
+        // Then
+        assertEquals(List.of(other), reserved);
+    }
+
+    @Test
+    void reserve_TreatsRenewedPolicyAsNewReminder() {
+        // Given
+        UUID policyId = UUID.randomUUID();
+        repository.reserve(List.of(reminder(policyId, 30, LocalDate.now().plusDays(30))));
+
+        // When
+        List<ExpiryReminder> reserved = repository.reserve(
+                List.of(reminder(policyId, 30, LocalDate.now().plusDays(395))));
+
+        // Then
+        assertEquals(1, reserved.size());
+    }
+
+    @Test
+    void tryAcquireLease_BlocksOtherOwnerUntilExpiry() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        assertTrue(repository.tryAcquireLease(JOB, "replica-a", now, now.plusMinutes(10)));
+
+        // When / Then
+        assertFalse(repository.tryAcquireLease(JOB, "replica-b", now.plusMinutes(5), now.plusMinutes(15)));
+        assertTrue(repository.tryAcquireLease(JOB, "replica-a", now.plusMinutes(5), now.plusMinutes(15)));
+        assertTrue(repository.tryAcquireLease(JOB, "replica-b", now.plusMinutes(16), now.plusMinutes(26)));
+    }
+
+    @Test
+    void advance_PersistsCursor_AndFailsForFormerOwner() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate today = LocalDate.now();
+        UUID lastPolicy = UUID.randomUUID();
+        repository.tryAcquireLease(JOB, "replica-a", now, now.plusMinutes(10));
+        repository.startRun(JOB, "replica-a", today);
+
+        // When
+        boolean advanced = repository.advance(JOB, "replica-a", today.plusDays(3), lastPolicy, 500, 12, now.plusMinutes(10));
+        repository.tryAcquireLease(JOB, "replica-b", now.plusMinutes(30), now.plusMinutes(40));
+        boolean staleAdvance = repository.advance(JOB, "replica-a", today.plusDays(9), UUID.randomUUID(), 500, 3, now);
+
+        // Then
+        assertTrue(advanced);
+        assertFalse(staleAdvance);
+        ReminderCheckpoint checkpoint = repository.loadCheckpoint(JOB);
+        assertEquals(RunStatus.RUNNING, checkpoint.getStatus());
+        assertEquals(today.plusDays(3), checkpoint.getLastExpiryDate());
+        assertEquals(lastPolicy, checkpoint.getLastPolicyId());
+        assertEquals(500, checkpoint.getProcessedCount());
+        assertEquals(12, checkpoint.getPublishedCount());
+        assertTrue(checkpoint.isResumableFor(today));
+    }
+
+    @Test
+    void completeRun_MarksCompletedAndReleasesLease() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        repository.tryAcquireLease(JOB, "replica-a", now, now.plusMinutes(10));
+        repository.startRun(JOB, "replica-a", LocalDate.now());
+
+        // When
+        repository.completeRun(JOB, "replica-a");
+
+        // Then
+        assertTrue(repository.loadCheckpoint(JOB).isCompletedFor(LocalDate.now()));
+        assertTrue(repository.tryAcquireLease(JOB, "replica-b", now, now.plusMinutes(10)));
+    }
+
+    private ExpiryReminder reminder(UUID policyId, int tier, LocalDate expiryDate) {
+        return ExpiryReminder.builder()
+                .policyId(policyId)
+                .userId(UUID.randomUUID())
+                .policyNumber("POL-2025-ABC123")
+                .policyName("Comprehensive Auto")
+                .expiryDate(expiryDate)
+                .tierDays(tier)
+                .daysRemaining(tier)
+                .build();
+    }
+}
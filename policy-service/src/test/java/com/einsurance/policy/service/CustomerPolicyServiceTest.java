@@ -1,8 +1,11 @@
 package com.einsurance.policy.service;
 
 import com.einsurance.common.dto.CustomerPolicyDto;
+import com.einsurance.common.event.DomainEventPublisher;
+import com.einsurance.common.event.PolicyEvent;
 import com.einsurance.common.exception.PolicyException;
 import com.einsurance.common.exception.ResourceNotFoundException;
+import com.einsurance.common.security.UserPrincipal;
 import com.einsurance.policy.entity.CustomerPolicy;
 import com.einsurance.policy.entity.CustomerPolicy.PolicyStatus;
 import com.einsurance.policy.entity.PolicyTemplate;
@@ -10,15 +13,20 @@ import com.einsurance.policy.entity.PolicyTemplate.PolicyType;
 import com.einsurance.policy.mapper.CustomerPolicyMapper;
 import com.einsurance.policy.repository.CustomerPolicyRepository;
 import com.einsurance.policy.repository.PolicyTemplateRepository;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -41,6 +49,9 @@ class CustomerPolicyServiceTest {
     @Mock
     private CustomerPolicyMapper customerPolicyMapper;
 
+    @Mock
+    private DomainEventPublisher domainEventPublisher;
+
     @InjectMocks
     private CustomerPolicyService customerPolicyService;
 
@@ -49,6 +60,11 @@ class CustomerPolicyServiceTest {
     private CustomerPolicyDto testPolicyDto;
     private UUID userId;
 
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
     @BeforeEach
     void setUp() {
         userId = UUID.randomUUID();
@@ -142,11 +158,15 @@ class CustomerPolicyServiceTest {
         assertNotNull(result);
         assertEquals(testPolicyDto.getId(), result.getId());
         verify(customerPolicyRepository, times(1)).save(any(CustomerPolicy.class));
+        verify(domainEventPublisher).publish(argThat(event -> event instanceof PolicyEvent policyEvent
+                && policyEvent.getType() == PolicyEvent.Type.ACTIVATED
+                && policyEvent.getPolicyId().equals(testPolicy.getId())));
     }
 
     @Test
     void cancelPolicy_Success() {
-        // Given
+        // Given - the policy holder is signed in
+        authenticateAs(userId);
         when(customerPolicyRepository.findById(any(UUID.class))).thenReturn(Optional.of(testPolicy));
         when(customerPolicyRepository.save(any(CustomerPolicy.class))).thenReturn(testPolicy);
 
@@ -160,7 +180,8 @@ class CustomerPolicyServiceTest {
 
     @Test
     void cancelPolicy_ThrowsException_WhenAlreadyCancelled() {
-        // Given
+        // Given - the policy holder is signed in
+        authenticateAs(userId);
         testPolicy.setStatus(PolicyStatus.CANCELLED);
         when(customerPolicyRepository.findById(any(UUID.class))).thenReturn(Optional.of(testPolicy));
 
@@ -169,4 +190,13 @@ class CustomerPolicyServiceTest {
                 () -> customerPolicyService.cancelPolicy(testPolicy.getId()));
         verify(customerPolicyRepository, never()).save(any(CustomerPolicy.class));
     }
+
+    private static void authenticateAs(UUID userId) {
+        UserPrincipal principal = UserPrincipal.builder()
+                .userId(userId.toString())
+                .roles(List.of("CUSTOMER"))
+                .build();
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                principal, null, List.of(new SimpleGrantedAuthority("ROLE_CUSTOMER"))));
+    }
 }
@@ -7,6 +7,7 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * User Service Application
@@ -22,6 +23,7 @@ import org.springframework.context.annotation.Import;
     OpenApiConfig.class,
     GlobalExceptionHandler.class
 })
+@EnableScheduling  // Keycloak user sync
 public class UserServiceApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,47 @@
+package com.einsurance.user.cache;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.UUID;
+
+/**
+ * Broadcasts invalidations with pg_notify. The notification joins the
+ * caller's transaction, so PostgreSQL delivers it to every listening
+ * replica on commit and drops it on rollback.
+ */
+public class PostgresUserCacheBroadcast implements UserCacheBroadcast {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String channel;
+
+    public PostgresUserCacheBroadcast(DataSource dataSource, String channel) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.channel = channel;
+    }
+
+    @Override
+    public void publish(UUID id, String keycloakId) {
+        jdbcTemplate.query("SELECT pg_notify(?, ?)", rs -> null, channel, encode(id, keycloakId));
+    }
+
+    static String encode(UUID id, String keycloakId) {
+        return (id != null ? id.toString() : "") + "|" + (keycloakId != null ? keycloakId : "");
+    }
+
+    static Invalidation decode(String payload) {
+        int separator = payload.indexOf('|');
+        if (separator < 0) {
+            throw new IllegalArgumentException("Malformed user cache invalidation: " + payload);
+        }
+        String id = payload.substring(0, separator);
+        String keycloakId = payload.substring(separator + 1);
+        return new Invalidation(id.isEmpty() ? null : UUID.fromString(id), keycloakId.isEmpty() ? null : keycloakId);
+    }
+
+    /**
+     * A changed user; either key may be null
+     */
+    record Invalidation(UUID id, String keycloakId) {
+    }
+}
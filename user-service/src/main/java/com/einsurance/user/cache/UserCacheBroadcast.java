@@ -0,0 +1,17 @@
+package com.einsurance.user.cache;
+
+import java.util.UUID;
+
+/**
+ * Tells the other user-service replicas that a user changed
+ */
+@FunctionalInterface
+public interface UserCacheBroadcast {
+
+    UserCacheBroadcast NONE = (id, keycloakId) -> { };
+
+    /**
+     * Called inside the transaction making the change; delivered only if it commits
+     */
+    void publish(UUID id, String keycloakId);
+}
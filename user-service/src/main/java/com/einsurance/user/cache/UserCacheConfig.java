@@ -0,0 +1,59 @@
+package com.einsurance.user.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * User profile cache wiring.
+ * Invalidations are broadcast through PostgreSQL LISTEN/NOTIFY on the
+ * service's own database when user-cache.broadcast.enabled is set and the
+ * database is PostgreSQL; otherwise each replica relies on its own
+ * invalidations and the TTL.
+ */
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(UserCacheProperties.class)
+public class UserCacheConfig {
+
+    @Bean
+    public UserProfileCache userProfileCache(UserCacheProperties properties, DataSource dataSource,
+                                             ObjectProvider<MeterRegistry> meterRegistry) {
+        MeterRegistry registry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+        if (!broadcasting(properties, dataSource)) {
+            return new UserProfileCache(properties, registry, UserCacheBroadcast.NONE);
+        }
+        log.info("User cache invalidations broadcast on channel {}", properties.getBroadcast().getChannel());
+        return new UserProfileCache(properties, registry,
+                new PostgresUserCacheBroadcast(dataSource, properties.getBroadcast().getChannel()));
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "user-cache.broadcast", name = "enabled", matchIfMissing = true)
+    public UserCacheInvalidationListener userCacheInvalidationListener(UserCacheProperties properties,
+                                                                       DataSource dataSource,
+                                                                       UserProfileCache userProfileCache) {
+        return new UserCacheInvalidationListener(dataSource, properties.getBroadcast().getChannel(), userProfileCache);
+    }
+
+    private static boolean broadcasting(UserCacheProperties properties, DataSource dataSource) {
+        if (!properties.isEnabled() || !properties.getBroadcast().isEnabled()) {
+            return false;
+        }
+        try (Connection connection = dataSource.getConnection()) {
+            return "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName());
+        } catch (SQLException e) {
+            log.warn("Cannot determine the database for user cache broadcasts, not broadcasting: {}", e.getMessage());
+            return false;
+        }
+    }
+}
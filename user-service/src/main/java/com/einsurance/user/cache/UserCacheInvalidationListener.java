@@ -0,0 +1,105 @@
+package com.einsurance.user.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.context.SmartLifecycle;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Holds one connection in LISTEN on the invalidation channel and applies
+ * what the replicas (this one included) broadcast. Notifications sent
+ * while disconnected are lost, so the cache is cleared on every
+ * (re)connect; until then entries still expire after user-cache.ttl.
+ */
+@Slf4j
+public class UserCacheInvalidationListener implements SmartLifecycle {
+
+    private static final int RECEIVE_TIMEOUT_MILLIS = 1_000;
+    private static final long RECONNECT_DELAY_MILLIS = 5_000;
+
+    private final DataSource dataSource;
+    private final String channel;
+    private final UserProfileCache cache;
+    private volatile boolean running;
+    private Thread thread;
+
+    public UserCacheInvalidationListener(DataSource dataSource, String channel, UserProfileCache cache) {
+        this.dataSource = dataSource;
+        this.channel = channel;
+        this.cache = cache;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        thread = new Thread(this::listen, "user-cache-listen");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                if (!connection.isWrapperFor(PGConnection.class)) {
+                    log.info("Database is not PostgreSQL; user cache invalidations are not shared between replicas");
+                    running = false;
+                    return;
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                cache.clear();
+                log.debug("Listening for user cache invalidations on {}", channel);
+
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(RECEIVE_TIMEOUT_MILLIS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            apply(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("LISTEN connection for user cache invalidations failed, reconnecting in {} ms: {}",
+                        RECONNECT_DELAY_MILLIS, e.getMessage());
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MILLIS);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void apply(String payload) {
+        try {
+            PostgresUserCacheBroadcast.Invalidation invalidation = PostgresUserCacheBroadcast.decode(payload);
+            cache.invalidateRemote(invalidation.id(), invalidation.keycloakId());
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring user cache invalidation: {}", e.getMessage());
+        }
+    }
+}
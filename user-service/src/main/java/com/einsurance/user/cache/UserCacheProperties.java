@@ -0,0 +1,34 @@
+package com.einsurance.user.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * User profile cache settings, bound from user-cache.*
+ */
+@Data
+@ConfigurationProperties(prefix = "user-cache")
+public class UserCacheProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Upper bound on how stale a profile can be if an invalidation is lost
+     */
+    private Duration ttl = Duration.ofMinutes(5);
+
+    private int maxEntries = 50_000;
+
+    private Broadcast broadcast = new Broadcast();
+
+    @Data
+    public static class Broadcast {
+        /**
+         * Tell the other replicas about changes through PostgreSQL NOTIFY; ignored on other databases
+         */
+        private boolean enabled = true;
+        private String channel = "user_cache_invalidation";
+    }
+}
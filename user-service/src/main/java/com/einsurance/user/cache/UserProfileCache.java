@@ -0,0 +1,203 @@
+package com.einsurance.user.cache;
+
+import com.einsurance.common.dto.UserDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of user profiles by id and by Keycloak id.
+ * Both keys point at the same entry. Entries live for user-cache.ttl;
+ * changes invalidate them right away, again after commit (a reader may
+ * have reloaded the old row meanwhile) and on the other replicas through
+ * the broadcast. A load that overlaps an invalidation is not cached, so a
+ * stale row read before a commit cannot outlive it. Lookups that find no
+ * user are not cached. Cached profiles are shared; callers must not
+ * modify them.
+ */
+public class UserProfileCache {
+
+    private final UserCacheProperties properties;
+    private final UserCacheBroadcast broadcast;
+    private final LongSupplier nanoClock;
+    private final Map<UUID, Entry> byId = new ConcurrentHashMap<>();
+    private final Map<String, Entry> byKeycloakId = new ConcurrentHashMap<>();
+    /**
+     * Bumped by every invalidation; a load only caches its result if this did not move
+     */
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final Counter localInvalidations;
+    private final Counter remoteInvalidations;
+    private final Counter evictions;
+
+    public UserProfileCache(UserCacheProperties properties, MeterRegistry meterRegistry, UserCacheBroadcast broadcast) {
+        this(properties, meterRegistry, broadcast, System::nanoTime);
+    }
+
+    UserProfileCache(UserCacheProperties properties, MeterRegistry meterRegistry, UserCacheBroadcast broadcast,
+                     LongSupplier nanoClock) {
+        this.properties = properties;
+        this.broadcast = broadcast;
+        this.nanoClock = nanoClock;
+        FunctionCounter.builder("user.cache.requests", hits, LongAdder::sum).tag("result", "hit")
+                .register(meterRegistry);
+        FunctionCounter.builder("user.cache.requests", misses, LongAdder::sum).tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("user.cache.hit.ratio", this, UserProfileCache::hitRatio).register(meterRegistry);
+        Gauge.builder("user.cache.entries", byId, Map::size).register(meterRegistry);
+        this.localInvalidations = Counter.builder("user.cache.invalidations").tag("origin", "local")
+                .register(meterRegistry);
+        this.remoteInvalidations = Counter.builder("user.cache.invalidations").tag("origin", "remote")
+                .register(meterRegistry);
+        this.evictions = Counter.builder("user.cache.evictions").register(meterRegistry);
+    }
+
+    public UserDto getById(UUID id, Supplier<UserDto> loader) {
+        return get(byId.get(id), loader);
+    }
+
+    public UserDto getByKeycloakId(String keycloakId, Supplier<UserDto> loader) {
+        return get(byKeycloakId.get(keycloakId), loader);
+    }
+
+    /**
+     * A user changed in the current transaction: drop it here now and after
+     * commit, and tell the other replicas
+     */
+    public void invalidate(UUID id, String keycloakId) {
+        localInvalidations.increment();
+        evict(id, keycloakId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(id, keycloakId);
+                }
+            });
+        }
+        broadcast.publish(id, keycloakId);
+    }
+
+    /**
+     * Invalidation broadcast by another replica (or echoed back to this one)
+     */
+    void invalidateRemote(UUID id, String keycloakId) {
+        remoteInvalidations.increment();
+        evict(id, keycloakId);
+    }
+
+    /**
+     * Drop everything, e.g. when invalidations may have been missed
+     */
+    public void clear() {
+        generation.incrementAndGet();
+        byId.clear();
+        byKeycloakId.clear();
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    double hitRatio() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    private UserDto get(Entry cached, Supplier<UserDto> loader) {
+        if (!properties.isEnabled()) {
+            return loader.get();
+        }
+        long now = nanoClock.getAsLong();
+        if (cached != null && cached.expiresAtNanos() - now > 0) {
+            hits.increment();
+            return cached.user();
+        }
+        misses.increment();
+        long loadGeneration = generation.get();
+        UserDto user = loader.get();
+        put(user, loadGeneration, now);
+        return user;
+    }
+
+    private void put(UserDto user, long loadGeneration, long now) {
+        if (user.getId() == null || user.getKeycloakId() == null) {
+            return;
+        }
+        Entry entry = new Entry(user, now, now + properties.getTtl().toNanos());
+        byId.put(user.getId(), entry);
+        byKeycloakId.put(user.getKeycloakId(), entry);
+        if (generation.get() != loadGeneration) {
+            // An invalidation ran while loading; the row read may predate it
+            remove(entry);
+        } else if (byId.size() > properties.getMaxEntries()) {
+            evictExcess(now);
+        }
+    }
+
+    private void evict(UUID id, String keycloakId) {
+        generation.incrementAndGet();
+        if (id != null) {
+            Entry entry = byId.get(id);
+            if (entry != null) {
+                remove(entry);
+            }
+        }
+        if (keycloakId != null) {
+            Entry entry = byKeycloakId.get(keycloakId);
+            if (entry != null) {
+                remove(entry);
+            }
+        }
+    }
+
+    private void remove(Entry entry) {
+        byId.remove(entry.user().getId(), entry);
+        byKeycloakId.remove(entry.user().getKeycloakId(), entry);
+    }
+
+    private void evictExcess(long now) {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            int before = byId.size();
+            byId.values().stream()
+                    .filter(entry -> entry.expiresAtNanos() - now <= 0)
+                    .toList()
+                    .forEach(this::remove);
+            int excess = byId.size() - properties.getMaxEntries() * 9 / 10;
+            if (excess > 0) {
+                List<Entry> oldest = byId.values().stream()
+                        .sorted(Comparator.comparingLong(Entry::createdAtNanos))
+                        .limit(excess)
+                        .toList();
+                oldest.forEach(this::remove);
+            }
+            evictions.increment(before - byId.size());
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    private record Entry(UserDto user, long createdAtNanos, long expiresAtNanos) {
+    }
+}
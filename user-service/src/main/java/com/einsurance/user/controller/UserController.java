@@ -1,22 +1,30 @@
 package com.einsurance.user.controller;
 
 import com.einsurance.common.dto.ApiResponse;
+import com.einsurance.common.dto.CursorPageResponse;
 import com.einsurance.common.dto.PageResponse;
+import com.einsurance.common.dto.UserContactDto;
 import com.einsurance.common.dto.UserDto;
 import com.einsurance.common.dto.UserRegistrationRequest;
 import com.einsurance.common.dto.UserUpdateRequest;
+import com.einsurance.user.service.UserImportResult;
+import com.einsurance.user.service.UserImportService;
 import com.einsurance.user.service.UserService;
 import com.einsurance.user.service.UserStatistics;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -26,11 +34,13 @@ import java.util.UUID;
 @RestController
 @RequestMapping("/api/users")
 @RequiredArgsConstructor
+@Validated
 @Tag(name = "User Management", description = "APIs for user profile management")
 @SecurityRequirement(name = "bearerAuth")
 public class UserController {
 
     private final UserService userService;
+    private final UserImportService userImportService;
 
     @PostMapping("/register")
     @ResponseStatus(HttpStatus.CREATED)
@@ -41,6 +51,16 @@ public class UserController {
         return ApiResponse.success("User registered successfully", user);
     }
 
+    @PostMapping("/import")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Import users",
+            description = "Bulk create user profiles of existing customers, reporting the outcome per user (Admin only)")
+    public ApiResponse<UserImportResult> importUsers(@RequestBody List<UserRegistrationRequest> requests) {
+        log.info("Received user import request with {} users", requests.size());
+        UserImportResult result = userImportService.importUsers(requests);
+        return ApiResponse.success("User import completed", result);
+    }
+
     @GetMapping("/me")
     @Operation(summary = "Get current user", description = "Get logged-in user profile")
     public ApiResponse<UserDto> getCurrentUser() {
@@ -104,13 +124,34 @@ public class UserController {
 
     @GetMapping("/search")
     @PreAuthorize("hasRole('ADMIN')")
-    @Operation(summary = "Search users", description = "Search users by name or email (Admin only)")
+    @Operation(summary = "Search users",
+               description = "Search users by name or email, newest users first. " +
+                             "Send cursor (empty for the first page) to get relevance-ranked, " +
+                             "cursor-paged results instead (Admin only)")
     public ApiResponse<PageResponse<UserDto>> searchUsers(
             @RequestParam String term,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size) {
         log.info("Searching users with term: {}", term);
-        PageResponse<UserDto> users = userService.searchUsers(term, page, size);
+        PageResponse<UserDto> users = userService.searchUsersByPage(term, page, size);
+        return ApiResponse.success(users);
+    }
+
+    /**
+     * Cursor-paged search, chosen by sending the cursor parameter so that
+     * existing clients keep the offset-paged response
+     */
+    @GetMapping(value = "/search", params = "cursor")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Search users (cursor paged)",
+               description = "Search users by name or email, ranked by relevance. Send an empty cursor " +
+                             "for the first page, then nextCursor from the previous response (Admin only)")
+    public ApiResponse<CursorPageResponse<UserDto>> searchUsersByCursor(
+            @RequestParam String term,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        log.info("Searching users with term: {} (cursor paged)", term);
+        CursorPageResponse<UserDto> users = userService.searchUsers(term, cursor.isBlank() ? null : cursor, size);
         return ApiResponse.success(users);
     }
 
@@ -159,6 +200,14 @@ public class UserController {
         return ApiResponse.success(user);
     }
 
+    @PostMapping("/contacts")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SERVICE')")
+    @Operation(summary = "Get user contacts", description = "Email and name of up to 1000 users by Keycloak ID (Admin or service)")
+    public ApiResponse<List<UserContactDto>> getContacts(@RequestBody @NotEmpty @Size(max = 1000) List<UUID> keycloakIds) {
+        log.debug("Fetching contacts of {} users", keycloakIds.size());
+        return ApiResponse.success(userService.getContacts(keycloakIds));
+    }
+
     @GetMapping("/email/{email}")
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Get user by email", description = "Find user by email address (Admin only)")
@@ -0,0 +1,289 @@
+package com.einsurance.user.repository;
+
+import com.einsurance.user.sync.KeycloakUser;
+import com.einsurance.user.sync.SyncCheckpoint;
+import com.einsurance.user.sync.SyncCheckpoint.Phase;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * JDBC access to the Keycloak sync staging and checkpoint tables, and the
+ * set-based user updates the sync applies. keycloak_id is compared and
+ * ordered in "C" collation everywhere, which matches String.compareTo for
+ * Keycloak's ASCII ids.
+ */
+@Repository
+@RequiredArgsConstructor
+public class KeycloakSyncRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Take or renew the job lease if it is free, expired or already ours
+     */
+    public boolean tryAcquireLease(String jobName, String owner, LocalDateTime now, LocalDateTime leaseUntil) {
+        return jdbcTemplate.update(
+                "UPDATE user_sync_checkpoints SET lease_owner = ?, lease_until = ?, updated_at = ? " +
+                "WHERE job_name = ? AND (lease_owner IS NULL OR lease_owner = ? OR lease_until < ?)",
+                owner, Timestamp.valueOf(leaseUntil), Timestamp.valueOf(now),
+                jobName, owner, Timestamp.valueOf(now)) == 1;
+    }
+
+    /**
+     * Give up the lease so another replica can run without waiting for it to expire
+     */
+    public void releaseLease(String jobName, String owner) {
+        jdbcTemplate.update(
+                "UPDATE user_sync_checkpoints SET lease_owner = NULL, lease_until = NULL " +
+                "WHERE job_name = ? AND lease_owner = ?",
+                jobName, owner);
+    }
+
+    /**
+     * Load the checkpoint of a job
+     */
+    public SyncCheckpoint loadCheckpoint(String jobName) {
+        return jdbcTemplate.queryForObject(
+                "SELECT job_name, phase, fetch_offset, last_keycloak_id, fetched_count, inserted_count, " +
+                "updated_count, deactivated_count, completed_at " +
+                "FROM user_sync_checkpoints WHERE job_name = ?",
+                (rs, rowNum) -> SyncCheckpoint.builder()
+                        .jobName(rs.getString("job_name"))
+                        .phase(Phase.valueOf(rs.getString("phase")))
+                        .fetchOffset(rs.getInt("fetch_offset"))
+                        .lastKeycloakId(rs.getString("last_keycloak_id"))
+                        .fetchedCount(rs.getLong("fetched_count"))
+                        .insertedCount(rs.getLong("inserted_count"))
+                        .updatedCount(rs.getLong("updated_count"))
+                        .deactivatedCount(rs.getLong("deactivated_count"))
+                        .completedAt(rs.getObject("completed_at", LocalDateTime.class))
+                        .build(),
+                jobName);
+    }
+
+    /**
+     * Start a fresh run, discarding the staged users and cursors of the previous one
+     */
+    public boolean startRun(String jobName, String owner) {
+        boolean started = jdbcTemplate.update(
+                "UPDATE user_sync_checkpoints SET phase = 'FETCHING', fetch_offset = 0, last_keycloak_id = NULL, " +
+                "fetched_count = 0, inserted_count = 0, updated_count = 0, deactivated_count = 0, " +
+                "updated_at = CURRENT_TIMESTAMP " +
+                "WHERE job_name = ? AND lease_owner = ?",
+                jobName, owner) == 1;
+        if (started) {
+            jdbcTemplate.execute("TRUNCATE keycloak_sync_staging");
+        }
+        return started;
+    }
+
+    /**
+     * Stage a page of Keycloak users; re-staging a user overwrites it
+     */
+    public void stage(List<KeycloakUser> users) {
+        Map<String, KeycloakUser> byId = new LinkedHashMap<>();
+        users.forEach(user -> byId.put(user.getId(), user));
+        if (byId.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    "INSERT INTO keycloak_sync_staging (keycloak_id, email, first_name, last_name, enabled) " +
+                    "SELECT * FROM unnest(?::varchar[], ?::varchar[], ?::varchar[], ?::varchar[], ?::boolean[]) " +
+                    "ON CONFLICT (keycloak_id) DO UPDATE SET email = excluded.email, " +
+                    "first_name = excluded.first_name, last_name = excluded.last_name, enabled = excluded.enabled");
+            Object[] ids = new Object[byId.size()];
+            Object[] emails = new Object[byId.size()];
+            Object[] firstNames = new Object[byId.size()];
+            Object[] lastNames = new Object[byId.size()];
+            Object[] enabled = new Object[byId.size()];
+            int i = 0;
+            for (KeycloakUser user : byId.values()) {
+                ids[i] = user.getId();
+                emails[i] = user.getEmail();
+                firstNames[i] = user.getFirstName();
+                lastNames[i] = user.getLastName();
+                enabled[i] = user.isEnabled();
+                i++;
+            }
+            Array idArray = connection.createArrayOf("varchar", ids);
+            Array emailArray = connection.createArrayOf("varchar", emails);
+            Array firstNameArray = connection.createArrayOf("varchar", firstNames);
+            Array lastNameArray = connection.createArrayOf("varchar", lastNames);
+            Array enabledArray = connection.createArrayOf("bool", enabled);
+            statement.setArray(1, idArray);
+            statement.setArray(2, emailArray);
+            statement.setArray(3, firstNameArray);
+            statement.setArray(4, lastNameArray);
+            statement.setArray(5, enabledArray);
+            return statement;
+        });
+    }
+
+    /**
+     * Record a staged page and extend the lease
+     * @return false if the lease was lost to another replica, in which case nothing is updated
+     */
+    public boolean advanceFetch(String jobName, String owner, int nextOffset, int fetched, LocalDateTime leaseUntil) {
+        return jdbcTemplate.update(
+                "UPDATE user_sync_checkpoints SET fetch_offset = ?, fetched_count = fetched_count + ?, " +
+                "lease_until = ?, updated_at = CURRENT_TIMESTAMP " +
+                "WHERE job_name = ? AND lease_owner = ? AND phase = 'FETCHING'",
+                nextOffset, fetched, Timestamp.valueOf(leaseUntil), jobName, owner) == 1;
+    }
+
+    /**
+     * Switch from fetching to merging once every page is staged
+     */
+    public boolean startMerge(String jobName, String owner) {
+        return jdbcTemplate.update(
+                "UPDATE user_sync_checkpoints SET phase = 'MERGING', last_keycloak_id = NULL, " +
+                "updated_at = CURRENT_TIMESTAMP " +
+                "WHERE job_name = ? AND lease_owner = ? AND phase = 'FETCHING'",
+                jobName, owner) == 1;
+    }
+
+    /**
+     * Staged users after the given keycloakId, in keycloakId order
+     */
+    public List<KeycloakUser> findStagedAfter(String keycloakId, int limit) {
+        return jdbcTemplate.query(
+                "SELECT keycloak_id, email, first_name, last_name, enabled FROM keycloak_sync_staging " +
+                "WHERE keycloak_id > ? ORDER BY keycloak_id LIMIT ?",
+                (rs, rowNum) -> KeycloakUser.builder()
+                        .id(rs.getString("keycloak_id"))
+                        .email(rs.getString("email"))
+                        .firstName(rs.getString("first_name"))
+                        .lastName(rs.getString("last_name"))
+                        .enabled(rs.getBoolean("enabled"))
+                        .build(),
+                keycloakId, limit);
+    }
+
+    /**
+     * Users after the given keycloakId, in keycloakId order
+     * Backed by idx_users_keycloak_id_c
+     */
+    public List<SyncedUser> findUsersAfter(String keycloakId, int limit) {
+        return jdbcTemplate.query(
+                "SELECT id, keycloak_id, email, first_name, last_name, is_active FROM users " +
+                "WHERE keycloak_id COLLATE \"C\" > ? ORDER BY keycloak_id COLLATE \"C\" LIMIT ?",
+                (rs, rowNum) -> new SyncedUser(
+                        rs.getObject("id", UUID.class),
+                        rs.getString("keycloak_id"),
+                        rs.getString("email"),
+                        rs.getString("first_name"),
+                        rs.getString("last_name"),
+                        rs.getBoolean("is_active")),
+                keycloakId, limit);
+    }
+
+    /**
+     * Copy the email from Keycloak and fill in missing names, in one statement.
+     * A user whose new email belongs to another user is left alone.
+     * @return keycloakIds of the users that were updated
+     */
+    public List<String> updateProfiles(List<KeycloakUser> users) {
+        if (users.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    "UPDATE users u SET email = t.email, " +
+                    "first_name = coalesce(u.first_name, left(t.first_name, 100)), " +
+                    "last_name = coalesce(u.last_name, left(t.last_name, 100)) " +
+                    "FROM unnest(?::varchar[], ?::varchar[], ?::varchar[], ?::varchar[]) " +
+                    "AS t(keycloak_id, email, first_name, last_name) " +
+                    "WHERE u.keycloak_id = t.keycloak_id " +
+                    "AND NOT EXISTS (SELECT 1 FROM users o WHERE o.email = t.email AND o.keycloak_id <> t.keycloak_id) " +
+                    "RETURNING u.keycloak_id");
+            Object[] ids = new Object[users.size()];
+            Object[] emails = new Object[users.size()];
+            Object[] firstNames = new Object[users.size()];
+            Object[] lastNames = new Object[users.size()];
+            for (int i = 0; i < users.size(); i++) {
+                KeycloakUser user = users.get(i);
+                ids[i] = user.getId();
+                emails[i] = user.getEmail();
+                firstNames[i] = user.getFirstName();
+                lastNames[i] = user.getLastName();
+            }
+            Array idArray = connection.createArrayOf("varchar", ids);
+            Array emailArray = connection.createArrayOf("varchar", emails);
+            Array firstNameArray = connection.createArrayOf("varchar", firstNames);
+            Array lastNameArray = connection.createArrayOf("varchar", lastNames);
+            statement.setArray(1, idArray);
+            statement.setArray(2, emailArray);
+            statement.setArray(3, firstNameArray);
+            statement.setArray(4, lastNameArray);
+            return statement;
+        }, (rs, rowNum) -> rs.getString("keycloak_id"));
+    }
+
+    /**
+     * Deactivate the given users in one statement
+     * @return keycloakIds of the users that were active
+     */
+    public List<String> deactivate(Collection<String> keycloakIds) {
+        if (keycloakIds.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    "UPDATE users SET is_active = false " +
+                    "WHERE keycloak_id = ANY(?::varchar[]) AND is_active " +
+                    "RETURNING keycloak_id");
+            Array idArray = connection.createArrayOf("varchar", keycloakIds.toArray());
+            statement.setArray(1, idArray);
+            return statement;
+        }, (rs, rowNum) -> rs.getString("keycloak_id"));
+    }
+
+    /**
+     * Move the merge cursor past a committed chunk and extend the lease
+     * @return false if the lease was lost to another replica, in which case nothing is updated
+     */
+    public boolean advanceMerge(String jobName, String owner, String lastKeycloakId, int inserted, int updated,
+                                int deactivated, LocalDateTime leaseUntil) {
+        return jdbcTemplate.update(
+                "UPDATE user_sync_checkpoints SET last_keycloak_id = ?, inserted_count = inserted_count + ?, " +
+                "updated_count = updated_count + ?, deactivated_count = deactivated_count + ?, " +
+                "lease_until = ?, updated_at = CURRENT_TIMESTAMP " +
+                "WHERE job_name = ? AND lease_owner = ? AND phase = 'MERGING'",
+                lastKeycloakId, inserted, updated, deactivated, Timestamp.valueOf(leaseUntil),
+                jobName, owner) == 1;
+    }
+
+    /**
+     * Mark the run finished, drop the staged users and release the lease
+     */
+    public void completeRun(String jobName, String owner) {
+        int completed = jdbcTemplate.update(
+                "UPDATE user_sync_checkpoints SET phase = 'COMPLETED', completed_at = CURRENT_TIMESTAMP, " +
+                "lease_owner = NULL, lease_until = NULL, updated_at = CURRENT_TIMESTAMP " +
+                "WHERE job_name = ? AND lease_owner = ?",
+                jobName, owner);
+        if (completed == 1) {
+            jdbcTemplate.execute("TRUNCATE keycloak_sync_staging");
+        }
+    }
+
+    /**
+     * The user columns the sync compares with Keycloak
+     */
+    public record SyncedUser(UUID id, String keycloakId, String email, String firstName, String lastName,
+                             boolean active) {
+    }
+}
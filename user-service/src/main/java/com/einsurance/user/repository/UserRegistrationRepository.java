@@ -0,0 +1,195 @@
+package com.einsurance.user.repository;
+
+import com.einsurance.user.entity.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * JDBC insert path for user registration and bulk import.
+ * On PostgreSQL a registration is one INSERT ... ON CONFLICT DO NOTHING, so
+ * a duplicate (including a concurrent double submit) comes back as "not
+ * inserted" instead of a unique-constraint violation, and a bulk import
+ * inserts a whole chunk in one unnest statement. Other databases (H2 in
+ * tests) get a plain INSERT with the duplicate-key error mapped to the same
+ * result. Ids and timestamps are assigned here, like Hibernate would.
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserRegistrationRepository {
+
+    /**
+     * Mirrors the chk_email_format constraint on users.email, which is stricter than @Email
+     */
+    public static final Pattern EMAIL_FORMAT =
+            Pattern.compile("^[A-Za-z0-9._%+-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$");
+
+    private static final String COLUMNS =
+            "id, keycloak_id, email, first_name, last_name, phone, address, date_of_birth, role, is_active, " +
+            "created_at, updated_at";
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile Boolean postgres;
+
+    /**
+     * Insert a user unless its keycloakId or email is taken
+     * @return false if the user conflicts with an existing one
+     */
+    public boolean insert(User user) {
+        assignGenerated(user, LocalDateTime.now());
+        String sql = "INSERT INTO users (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        Object[] args = {
+                user.getId(), user.getKeycloakId(), user.getEmail(), user.getFirstName(), user.getLastName(),
+                user.getPhone(), user.getAddress(), user.getDateOfBirth(), user.getRole(), user.getIsActive(),
+                user.getCreatedAt(), user.getUpdatedAt()
+        };
+        if (isPostgres()) {
+            return jdbcTemplate.update(sql + " ON CONFLICT DO NOTHING", args) == 1;
+        }
+        try {
+            return jdbcTemplate.update(sql, args) == 1;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Insert users, as active customers, whose keycloakId and email are not taken;
+     * the users must not share a keycloakId or email among themselves
+     * @return keycloakIds of the users that were inserted
+     */
+    public Set<String> insertAll(List<User> users) {
+        if (users.isEmpty()) {
+            return Set.of();
+        }
+        LocalDateTime now = LocalDateTime.now();
+        users.forEach(user -> assignGenerated(user, now));
+        if (!isPostgres()) {
+            Set<String> inserted = new HashSet<>();
+            for (User user : users) {
+                if (insert(user)) {
+                    inserted.add(user.getKeycloakId());
+                }
+            }
+            return inserted;
+        }
+
+        return new HashSet<>(jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    "INSERT INTO users (" + COLUMNS + ") " +
+                    "SELECT id, keycloak_id, email, first_name, last_name, phone, address, date_of_birth, " +
+                    "'CUSTOMER', true, ?, ? " +
+                    "FROM unnest(?::uuid[], ?::varchar[], ?::varchar[], ?::varchar[], ?::varchar[], ?::varchar[], " +
+                    "?::text[], ?::date[]) " +
+                    "AS t(id, keycloak_id, email, first_name, last_name, phone, address, date_of_birth) " +
+                    "ON CONFLICT DO NOTHING " +
+                    "RETURNING keycloak_id");
+            int size = users.size();
+            Object[] ids = new Object[size];
+            Object[] keycloakIds = new Object[size];
+            Object[] emails = new Object[size];
+            Object[] firstNames = new Object[size];
+            Object[] lastNames = new Object[size];
+            Object[] phones = new Object[size];
+            Object[] addresses = new Object[size];
+            Object[] datesOfBirth = new Object[size];
+            for (int i = 0; i < size; i++) {
+                User user = users.get(i);
+                ids[i] = user.getId();
+                keycloakIds[i] = user.getKeycloakId();
+                emails[i] = user.getEmail();
+                firstNames[i] = user.getFirstName();
+                lastNames[i] = user.getLastName();
+                phones[i] = user.getPhone();
+                addresses[i] = user.getAddress();
+                datesOfBirth[i] = user.getDateOfBirth() != null ? Date.valueOf(user.getDateOfBirth()) : null;
+            }
+            Timestamp timestamp = Timestamp.valueOf(now);
+            statement.setTimestamp(1, timestamp);
+            statement.setTimestamp(2, timestamp);
+            Array idArray = connection.createArrayOf("uuid", ids);
+            Array keycloakIdArray = connection.createArrayOf("varchar", keycloakIds);
+            Array emailArray = connection.createArrayOf("varchar", emails);
+            Array firstNameArray = connection.createArrayOf("varchar", firstNames);
+            Array lastNameArray = connection.createArrayOf("varchar", lastNames);
+            Array phoneArray = connection.createArrayOf("varchar", phones);
+            Array addressArray = connection.createArrayOf("text", addresses);
+            Array dateOfBirthArray = connection.createArrayOf("date", datesOfBirth);
+            statement.setArray(3, idArray);
+            statement.setArray(4, keycloakIdArray);
+            statement.setArray(5, emailArray);
+            statement.setArray(6, firstNameArray);
+            statement.setArray(7, lastNameArray);
+            statement.setArray(8, phoneArray);
+            statement.setArray(9, addressArray);
+            statement.setArray(10, dateOfBirthArray);
+            return statement;
+        }, (rs, rowNum) -> rs.getString("keycloak_id")));
+    }
+
+    /**
+     * The keycloakIds and emails among the given ones that are already taken
+     */
+    public Taken findTaken(Collection<String> keycloakIds, Collection<String> emails) {
+        Set<String> takenKeycloakIds = new HashSet<>();
+        Set<String> takenEmails = new HashSet<>();
+        if (keycloakIds.isEmpty() && emails.isEmpty()) {
+            return new Taken(takenKeycloakIds, takenEmails);
+        }
+        // An empty IN list is not valid SQL; no user has an empty keycloakId or email
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("keycloakIds", keycloakIds.isEmpty() ? List.of("") : keycloakIds)
+                .addValue("emails", emails.isEmpty() ? List.of("") : emails);
+        new NamedParameterJdbcTemplate(jdbcTemplate).query(
+                "SELECT keycloak_id, email FROM users WHERE keycloak_id IN (:keycloakIds) OR email IN (:emails)",
+                params,
+                rs -> {
+                    takenKeycloakIds.add(rs.getString("keycloak_id"));
+                    takenEmails.add(rs.getString("email"));
+                });
+        takenKeycloakIds.retainAll(keycloakIds);
+        takenEmails.retainAll(emails);
+        return new Taken(takenKeycloakIds, takenEmails);
+    }
+
+    private static void assignGenerated(User user, LocalDateTime now) {
+        if (user.getId() == null) {
+            user.setId(UUID.randomUUID());
+        }
+        user.prePersist();
+        user.setCreatedAt(now);
+        user.setUpdatedAt(now);
+    }
+
+    private boolean isPostgres() {
+        Boolean result = postgres;
+        if (result == null) {
+            result = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                    "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName()));
+            postgres = result;
+        }
+        return result;
+    }
+
+    /**
+     * Registration keys that already belong to a user
+     */
+    public record Taken(Set<String> keycloakIds, Set<String> emails) {
+    }
+}
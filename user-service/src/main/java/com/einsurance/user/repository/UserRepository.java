@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -23,6 +24,11 @@ public interface UserRepository extends JpaRepository<User, UUID> {
      */
     Optional<User> findByKeycloakId(String keycloakId);
 
+    /**
+     * Find users by Keycloak ID, in one query
+     */
+    List<User> findByKeycloakIdIn(Collection<String> keycloakIds);
+
     /**
      * Find user by email
      */
@@ -59,13 +65,76 @@ public interface UserRepository extends JpaRepository<User, UUID> {
     List<User> findByRoleAndIsActiveTrue(String role);
 
     /**
-     * Search users by name or email
+     * Search users by name or email, ranked by trigram distance (first page)
+     * The inner query walks the GiST trigram index nearest first and stops after
+     * :window matches; only that window is sorted by (distance, id)
+     */
+    @Query(value = "SELECT s.id AS id, s.distance AS distance FROM (" +
+                   "SELECT u.id AS id, u.search_text <-> :term AS distance FROM users u " +
+                   "WHERE u.search_text LIKE :pattern " +
+                   "ORDER BY u.search_text <-> :term " +
+                   "LIMIT :window) s " +
+                   "ORDER BY s.distance, s.id " +
+                   "LIMIT :limit",
+           nativeQuery = true)
+    List<UserSearchHit> searchUsersRanked(@Param("term") String term,
+                                          @Param("pattern") String pattern,
+                                          @Param("window") int window,
+                                          @Param("limit") int limit);
+
+    /**
+     * Search users by name or email, ranked by trigram distance (pages after the given cursor)
+     */
+    @Query(value = "SELECT s.id AS id, s.distance AS distance FROM (" +
+                   "SELECT u.id AS id, u.search_text <-> :term AS distance FROM users u " +
+                   "WHERE u.search_text LIKE :pattern " +
+                   "AND u.search_text <-> :term >= :lastDistance " +
+                   "ORDER BY u.search_text <-> :term " +
+                   "LIMIT :window) s " +
+                   "WHERE s.distance > :lastDistance OR s.id > :lastId " +
+                   "ORDER BY s.distance, s.id " +
+                   "LIMIT :limit",
+           nativeQuery = true)
+    List<UserSearchHit> searchUsersRankedAfter(@Param("term") String term,
+                                               @Param("pattern") String pattern,
+                                               @Param("lastDistance") float lastDistance,
+                                               @Param("lastId") UUID lastId,
+                                               @Param("window") int window,
+                                               @Param("limit") int limit);
+
+    /**
+     * Search users by email prefix (first page)
+     * Backed by the lower(email) "C" collation index
+     */
+    @Query(value = "SELECT u.* FROM users u " +
+                   "WHERE lower(u.email) COLLATE \"C\" LIKE :prefixPattern " +
+                   "ORDER BY lower(u.email) COLLATE \"C\" " +
+                   "LIMIT :limit",
+           nativeQuery = true)
+    List<User> searchUsersByEmailPrefix(@Param("prefixPattern") String prefixPattern,
+                                        @Param("limit") int limit);
+
+    /**
+     * Search users by email prefix (pages after the given email)
+     */
+    @Query(value = "SELECT u.* FROM users u " +
+                   "WHERE lower(u.email) COLLATE \"C\" LIKE :prefixPattern " +
+                   "AND lower(u.email) COLLATE \"C\" > :lastEmail " +
+                   "ORDER BY lower(u.email) COLLATE \"C\" " +
+                   "LIMIT :limit",
+           nativeQuery = true)
+    List<User> searchUsersByEmailPrefixAfter(@Param("prefixPattern") String prefixPattern,
+                                             @Param("lastEmail") String lastEmail,
+                                             @Param("limit") int limit);
+
+    /**
+     * Search users by name or email, newest first, offset paged
+     * Filtered through the GIN trigram index; kept for the deprecated page parameter
      */
-    @Query("SELECT u FROM User u WHERE " +
-           "LOWER(u.firstName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(u.lastName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(u.email) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
-    Page<User> searchUsers(@Param("searchTerm") String searchTerm, Pageable pageable);
+    @Query(value = "SELECT u.* FROM users u WHERE u.search_text LIKE :pattern ORDER BY u.created_at DESC, u.id",
+           countQuery = "SELECT count(*) FROM users u WHERE u.search_text LIKE :pattern",
+           nativeQuery = true)
+    Page<User> searchUsersBySubstring(@Param("pattern") String pattern, Pageable pageable);
 
     /**
      * Find all users with pagination
@@ -0,0 +1,13 @@
+package com.einsurance.user.repository;
+
+import java.util.UUID;
+
+/**
+ * Projection for ranked user search results
+ */
+public interface UserSearchHit {
+
+    UUID getId();
+
+    Float getDistance();
+}
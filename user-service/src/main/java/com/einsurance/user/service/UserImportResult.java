@@ -0,0 +1,46 @@
+package com.einsurance.user.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * DTO for the outcome of a bulk user import, one row per submitted user
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserImportResult {
+    private int created;
+    private int skipped;
+    private int invalid;
+    private List<Row> rows;
+
+    public enum Status {
+        CREATED,
+        DUPLICATE_KEYCLOAK_ID,
+        DUPLICATE_EMAIL,
+        INVALID
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Row {
+        /**
+         * Position of the user in the submitted list
+         */
+        private int index;
+        private String keycloakId;
+        private String email;
+        private Status status;
+        private UUID userId;
+        private String message;
+    }
+}
@@ -0,0 +1,163 @@
+package com.einsurance.user.service;
+
+import com.einsurance.common.dto.UserRegistrationRequest;
+import com.einsurance.common.event.DomainEventPublisher;
+import com.einsurance.common.event.UserEvent;
+import com.einsurance.common.exception.ValidationException;
+import com.einsurance.user.entity.User;
+import com.einsurance.user.mapper.UserMapper;
+import com.einsurance.user.repository.UserRegistrationRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk import of existing customers (admin only).
+ * Rows are validated up front, then inserted in chunks of one statement each;
+ * a row that is invalid or already registered is reported and skipped rather
+ * than failing the import.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserImportService {
+
+    static final int MAX_IMPORT_SIZE = 5000;
+    static final int BATCH_SIZE = 500;
+
+    private final UserRegistrationRepository userRegistrationRepository;
+    private final UserMapper userMapper;
+    private final Validator validator;
+    private final DomainEventPublisher domainEventPublisher;
+
+    /**
+     * Import users as active customers
+     */
+    @Transactional
+    public UserImportResult importUsers(List<UserRegistrationRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new ValidationException("users", "Import must contain at least one user");
+        }
+        if (requests.size() > MAX_IMPORT_SIZE) {
+            throw new ValidationException("users", "Import is limited to " + MAX_IMPORT_SIZE + " users per request");
+        }
+        log.info("Importing {} users", requests.size());
+
+        UserImportResult.Row[] rows = new UserImportResult.Row[requests.size()];
+        Set<String> seenKeycloakIds = new HashSet<>();
+        Set<String> seenEmails = new HashSet<>();
+        List<Integer> pending = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            UserRegistrationRequest request = requests.get(i);
+            String problem = validate(request);
+            if (problem != null) {
+                rows[i] = row(i, request, UserImportResult.Status.INVALID, problem);
+            } else if (!seenKeycloakIds.add(request.getKeycloakId())) {
+                rows[i] = row(i, request, UserImportResult.Status.DUPLICATE_KEYCLOAK_ID, "Repeated in this import");
+            } else if (!seenEmails.add(request.getEmail())) {
+                rows[i] = row(i, request, UserImportResult.Status.DUPLICATE_EMAIL, "Repeated in this import");
+            } else {
+                pending.add(i);
+            }
+        }
+
+        for (int from = 0; from < pending.size(); from += BATCH_SIZE) {
+            insertBatch(requests, pending.subList(from, Math.min(from + BATCH_SIZE, pending.size())), rows);
+        }
+
+        List<UserImportResult.Row> rowList = Arrays.asList(rows);
+        int created = count(rowList, UserImportResult.Status.CREATED);
+        int invalid = count(rowList, UserImportResult.Status.INVALID);
+        log.info("User import finished: {} created, {} skipped, {} invalid",
+                created, rows.length - created - invalid, invalid);
+        return UserImportResult.builder()
+                .created(created)
+                .skipped(rows.length - created - invalid)
+                .invalid(invalid)
+                .rows(rowList)
+                .build();
+    }
+
+    private void insertBatch(List<UserRegistrationRequest> requests, List<Integer> indexes,
+                             UserImportResult.Row[] rows) {
+        List<User> users = new ArrayList<>(indexes.size());
+        for (int index : indexes) {
+            users.add(userMapper.toEntity(requests.get(index)));
+        }
+        Set<String> inserted = userRegistrationRepository.insertAll(users);
+        domainEventPublisher.publishAll(users.stream()
+                .filter(user -> inserted.contains(user.getKeycloakId()))
+                .map(user -> UserEvent.builder()
+                        .type(UserEvent.Type.REGISTERED)
+                        .userId(user.getId())
+                        .keycloakId(user.getKeycloakId())
+                        .email(user.getEmail())
+                        .build())
+                .toList());
+
+        List<User> rejected = users.stream()
+                .filter(user -> !inserted.contains(user.getKeycloakId()))
+                .toList();
+        UserRegistrationRepository.Taken taken = rejected.isEmpty()
+                ? new UserRegistrationRepository.Taken(Set.of(), Set.of())
+                : userRegistrationRepository.findTaken(
+                        rejected.stream().map(User::getKeycloakId).toList(),
+                        rejected.stream().map(User::getEmail).toList());
+
+        for (int i = 0; i < indexes.size(); i++) {
+            int index = indexes.get(i);
+            User user = users.get(i);
+            UserRegistrationRequest request = requests.get(index);
+            if (inserted.contains(user.getKeycloakId())) {
+                rows[index] = row(index, request, UserImportResult.Status.CREATED, null);
+                rows[index].setUserId(user.getId());
+            } else if (taken.keycloakIds().contains(user.getKeycloakId()) || !taken.emails().contains(user.getEmail())) {
+                rows[index] = row(index, request, UserImportResult.Status.DUPLICATE_KEYCLOAK_ID, "Already registered");
+            } else {
+                rows[index] = row(index, request, UserImportResult.Status.DUPLICATE_EMAIL, "Email already in use");
+            }
+        }
+    }
+
+    private String validate(UserRegistrationRequest request) {
+        if (request == null) {
+            return "Missing user";
+        }
+        Set<ConstraintViolation<UserRegistrationRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+        }
+        if (!UserRegistrationRepository.EMAIL_FORMAT.matcher(request.getEmail()).matches()) {
+            return "email: must be a well-formed email address";
+        }
+        return null;
+    }
+
+    private static UserImportResult.Row row(int index, UserRegistrationRequest request,
+                                            UserImportResult.Status status, String message) {
+        return UserImportResult.Row.builder()
+                .index(index)
+                .keycloakId(request != null ? request.getKeycloakId() : null)
+                .email(request != null ? request.getEmail() : null)
+                .status(status)
+                .message(message)
+                .build();
+    }
+
+    private static int count(List<UserImportResult.Row> rows, UserImportResult.Status status) {
+        return (int) rows.stream().filter(row -> row.getStatus() == status).count();
+    }
+}
@@ -1,16 +1,24 @@
 package com.einsurance.user.service;
 
+import com.einsurance.common.dto.CursorPageResponse;
 import com.einsurance.common.dto.PageResponse;
+import com.einsurance.common.dto.UserContactDto;
 import com.einsurance.common.dto.UserDto;
 import com.einsurance.common.dto.UserRegistrationRequest;
 import com.einsurance.common.dto.UserUpdateRequest;
+import com.einsurance.common.event.DomainEventPublisher;
+import com.einsurance.common.event.UserEvent;
 import com.einsurance.common.exception.ResourceAlreadyExistsException;
 import com.einsurance.common.exception.ResourceNotFoundException;
 import com.einsurance.common.exception.UnauthorizedException;
+import com.einsurance.common.exception.ValidationException;
 import com.einsurance.common.security.SecurityUtil;
+import com.einsurance.user.cache.UserProfileCache;
 import com.einsurance.user.entity.User;
 import com.einsurance.user.mapper.UserMapper;
+import com.einsurance.user.repository.UserRegistrationRepository;
 import com.einsurance.user.repository.UserRepository;
+import com.einsurance.user.repository.UserSearchHit;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -20,8 +28,17 @@ import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Collection;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 /**
  * Service layer for User operations
@@ -31,57 +48,86 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class UserService {
 
+    private static final String RANKED_CURSOR_PREFIX = "r:";
+    private static final String EMAIL_CURSOR_PREFIX = "e:";
+    private static final int MAX_SEARCH_PAGE_SIZE = 100;
+    private static final int RANKED_SEARCH_WINDOW = 1000;
+    /**
+     * A local part followed by '@' and no whitespace: "jane@", "jane.doe@exa", a full address
+     */
+    private static final Pattern EMAIL_PREFIX = Pattern.compile("[^@\\s]+@\\S*");
+
     private final UserRepository userRepository;
+    private final UserRegistrationRepository userRegistrationRepository;
     private final UserMapper userMapper;
+    private final UserProfileCache userProfileCache;
+    private final DomainEventPublisher domainEventPublisher;
 
     /**
      * Register a new user (called after Keycloak registration)
+     * One INSERT ... ON CONFLICT; only a conflicting registration (e.g. a
+     * double submit) reads back which key is taken.
      */
     @Transactional
     public UserDto registerUser(UserRegistrationRequest request) {
         log.info("Registering new user with email: {}", request.getEmail());
 
-        // Check if user already exists
-        if (userRepository.existsByKeycloakId(request.getKeycloakId())) {
+        User user = userMapper.toEntity(request);
+        if (!userRegistrationRepository.insert(user)) {
+            UserRegistrationRepository.Taken taken = userRegistrationRepository.findTaken(
+                    List.of(request.getKeycloakId()), List.of(request.getEmail()));
+            if (taken.emails().contains(request.getEmail()) && !taken.keycloakIds().contains(request.getKeycloakId())) {
+                throw new ResourceAlreadyExistsException("User", "email", request.getEmail());
+            }
             throw new ResourceAlreadyExistsException("User", "keycloakId", request.getKeycloakId());
         }
 
-        if (userRepository.existsByEmail(request.getEmail())) {
-            throw new ResourceAlreadyExistsException("User", "email", request.getEmail());
-        }
-
-        // Create new user
-        User user = userMapper.toEntity(request);
-        User savedUser = userRepository.save(user);
+        domainEventPublisher.publish(userEvent(UserEvent.Type.REGISTERED, user));
 
-        log.info("User registered successfully with ID: {}", savedUser.getId());
-        return userMapper.toDto(savedUser);
+        log.info("User registered successfully with ID: {}", user.getId());
+        return userMapper.toDto(user);
     }
 
     /**
      * Get user by ID
+     * Served from the profile cache; not transactional, so a cache hit needs no
+     * connection. On a miss the repository runs its own read-only transaction.
      */
-    @Transactional(readOnly = true)
     public UserDto getUserById(UUID id) {
         log.debug("Fetching user by ID: {}", id);
-        
-        User user = userRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "id", id));
-        
-        return userMapper.toDto(user);
+
+        return userProfileCache.getById(id, () -> userRepository.findById(id)
+                .map(userMapper::toDto)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "id", id)));
     }
 
     /**
      * Get user by Keycloak ID
+     * Served from the profile cache, like getUserById
      */
-    @Transactional(readOnly = true)
     public UserDto getUserByKeycloakId(String keycloakId) {
         log.debug("Fetching user by Keycloak ID: {}", keycloakId);
-        
-        User user = userRepository.findByKeycloakId(keycloakId)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "keycloakId", keycloakId));
-        
-        return userMapper.toDto(user);
+
+        return userProfileCache.getByKeycloakId(keycloakId, () -> userRepository.findByKeycloakId(keycloakId)
+                .map(userMapper::toDto)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "keycloakId", keycloakId)));
+    }
+
+    /**
+     * Contact details of users by Keycloak ID, for other services' notifications
+     */
+    @Transactional(readOnly = true)
+    public List<UserContactDto> getContacts(Collection<UUID> keycloakIds) {
+        List<String> ids = keycloakIds.stream().map(UUID::toString).distinct().toList();
+        return userRepository.findByKeycloakIdIn(ids).stream()
+                .map(user -> UserContactDto.builder()
+                        .userId(UUID.fromString(user.getKeycloakId()))
+                        .email(user.getEmail())
+                        .firstName(user.getFirstName())
+                        .lastName(user.getLastName())
+                        .active(user.getIsActive())
+                        .build())
+                .toList();
     }
 
     /**
@@ -100,7 +146,6 @@ public class UserService {
     /**
      * Get current logged-in user
      */
-    @Transactional(readOnly = true)
     public UserDto getCurrentUser() {
         String keycloakId = SecurityUtil.getCurrentUserIdOrThrow();
         log.debug("Fetching current user with Keycloak ID: {}", keycloakId);
@@ -122,6 +167,8 @@ public class UserService {
         // Update user fields
         userMapper.updateEntityFromDto(request, user);
         User updatedUser = userRepository.save(user);
+        userProfileCache.invalidate(updatedUser.getId(), keycloakId);
+        domainEventPublisher.publish(userEvent(UserEvent.Type.UPDATED, updatedUser));
 
         log.info("User profile updated successfully for ID: {}", updatedUser.getId());
         return userMapper.toDto(updatedUser);
@@ -139,6 +186,8 @@ public class UserService {
 
         userMapper.updateEntityFromDto(request, user);
         User updatedUser = userRepository.save(user);
+        userProfileCache.invalidate(id, updatedUser.getKeycloakId());
+        domainEventPublisher.publish(userEvent(UserEvent.Type.UPDATED, updatedUser));
 
         log.info("User updated successfully by admin: {}", updatedUser.getId());
         return userMapper.toDto(updatedUser);
@@ -174,14 +223,37 @@ public class UserService {
 
     /**
      * Search users by name or email (admin only)
+     * A term that starts like an email address ("jane@", "jane.doe@exa") takes
+     * the email prefix fast path; everything else, including domain fragments
+     * like "@gmail.com" that no prefix can match, is a trigram substring search
+     * ranked by distance. Paginated by keyset cursor.
      */
     @Transactional(readOnly = true)
-    public PageResponse<UserDto> searchUsers(String searchTerm, int page, int size) {
+    public CursorPageResponse<UserDto> searchUsers(String searchTerm, String cursor, int size) {
+        log.debug("Searching users with term: {} - cursor: {}, size: {}", searchTerm, cursor, size);
+
+        String term = normalizeSearchTerm(searchTerm, size);
+        return EMAIL_PREFIX.matcher(term).matches()
+                ? searchUsersByEmailPrefix(term, cursor, size)
+                : searchUsersRanked(term, cursor, size);
+    }
+
+    /**
+     * Offset-paged substring search, newest users first; the default response
+     * of the search endpoint. Every page counts and skips all earlier matches,
+     * so deep pages are cheaper through the cursor-paged searchUsers
+     */
+    @Transactional(readOnly = true)
+    public PageResponse<UserDto> searchUsersByPage(String searchTerm, int page, int size) {
         log.debug("Searching users with term: {} - page: {}, size: {}", searchTerm, page, size);
 
-        Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
-        Page<User> userPage = userRepository.searchUsers(searchTerm, pageable);
-        
+        String term = normalizeSearchTerm(searchTerm, size);
+        if (page < 0) {
+            throw new ValidationException("page", "Page must not be negative");
+        }
+        Page<User> userPage = userRepository.searchUsersBySubstring(
+                "%" + escapeLikePattern(term) + "%", PageRequest.of(page, size));
+
         return buildPageResponse(userPage);
     }
 
@@ -203,6 +275,8 @@ public class UserService {
 
         user.setIsActive(false);
         userRepository.save(user);
+        userProfileCache.invalidate(id, user.getKeycloakId());
+        domainEventPublisher.publish(userEvent(UserEvent.Type.DEACTIVATED, user));
 
         log.info("User deactivated successfully: {}", id);
     }
@@ -219,6 +293,8 @@ public class UserService {
 
         user.setIsActive(true);
         userRepository.save(user);
+        userProfileCache.invalidate(id, user.getKeycloakId());
+        domainEventPublisher.publish(userEvent(UserEvent.Type.ACTIVATED, user));
 
         log.info("User activated successfully: {}", id);
     }
@@ -242,6 +318,8 @@ public class UserService {
         }
 
         userRepository.deleteById(id);
+        userProfileCache.invalidate(id, user.getKeycloakId());
+        domainEventPublisher.publish(userEvent(UserEvent.Type.DELETED, user));
         log.warn("User permanently deleted: {}", id);
     }
 
@@ -265,6 +343,121 @@ public class UserService {
                 .build();
     }
 
+    /**
+     * Email prefix search ordered by email, cursor is the last email returned
+     */
+    private CursorPageResponse<UserDto> searchUsersByEmailPrefix(String term, String cursor, int size) {
+        String prefixPattern = escapeLikePattern(term) + "%";
+
+        List<User> users = cursor == null
+                ? userRepository.searchUsersByEmailPrefix(prefixPattern, size + 1)
+                : userRepository.searchUsersByEmailPrefixAfter(prefixPattern,
+                        decodeCursor(cursor, EMAIL_CURSOR_PREFIX), size + 1);
+
+        boolean hasNext = users.size() > size;
+        List<User> pageUsers = hasNext ? users.subList(0, size) : users;
+
+        String nextCursor = hasNext
+                ? encodeCursor(EMAIL_CURSOR_PREFIX + pageUsers.get(size - 1).getEmail().toLowerCase(Locale.ROOT))
+                : null;
+
+        return buildCursorPageResponse(pageUsers, size, nextCursor);
+    }
+
+    /**
+     * Trigram search ranked by distance, cursor is the last (distance, id) returned.
+     * Each page ranks at most RANKED_SEARCH_WINDOW nearest matches past the cursor,
+     * so a broad term costs the same as a narrow one; a tie group larger than the
+     * window may be cut short, which a more specific term avoids.
+     */
+    private CursorPageResponse<UserDto> searchUsersRanked(String term, String cursor, int size) {
+        String pattern = "%" + escapeLikePattern(term) + "%";
+
+        List<UserSearchHit> hits;
+        if (cursor == null) {
+            hits = userRepository.searchUsersRanked(term, pattern, RANKED_SEARCH_WINDOW, size + 1);
+        } else {
+            String[] position = decodeCursor(cursor, RANKED_CURSOR_PREFIX).split(":", 2);
+            try {
+                hits = userRepository.searchUsersRankedAfter(term, pattern,
+                        Float.parseFloat(position[0]), UUID.fromString(position[1]), RANKED_SEARCH_WINDOW, size + 1);
+            } catch (RuntimeException e) {
+                throw new ValidationException("cursor", "Invalid search cursor");
+            }
+        }
+
+        boolean hasNext = hits.size() > size;
+        List<UserSearchHit> pageHits = hasNext ? hits.subList(0, size) : hits;
+
+        // Load the page by primary key and keep the ranked order
+        Map<UUID, User> usersById = userRepository.findAllById(
+                        pageHits.stream().map(UserSearchHit::getId).toList())
+                .stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        List<User> pageUsers = pageHits.stream()
+                .map(hit -> usersById.get(hit.getId()))
+                .filter(Objects::nonNull)
+                .toList();
+
+        String nextCursor = null;
+        if (hasNext) {
+            UserSearchHit last = pageHits.get(size - 1);
+            nextCursor = encodeCursor(RANKED_CURSOR_PREFIX + last.getDistance() + ":" + last.getId());
+        }
+
+        return buildCursorPageResponse(pageUsers, size, nextCursor);
+    }
+
+    private String normalizeSearchTerm(String searchTerm, int size) {
+        String term = searchTerm.trim().toLowerCase(Locale.ROOT);
+        if (term.isEmpty()) {
+            throw new ValidationException("term", "Search term must not be blank");
+        }
+        if (size < 1 || size > MAX_SEARCH_PAGE_SIZE) {
+            throw new ValidationException("size", "Page size must be between 1 and " + MAX_SEARCH_PAGE_SIZE);
+        }
+        return term;
+    }
+
+    /**
+     * Escape LIKE wildcards so the term is matched literally
+     */
+    private String escapeLikePattern(String term) {
+        return term.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+
+    private String encodeCursor(String position) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String decodeCursor(String cursor, String expectedPrefix) {
+        String position;
+        try {
+            position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("cursor", "Invalid search cursor");
+        }
+        if (!position.startsWith(expectedPrefix)) {
+            throw new ValidationException("cursor", "Search cursor does not match the search term");
+        }
+        return position.substring(expectedPrefix.length());
+    }
+
+    /**
+     * Helper method to build CursorPageResponse
+     */
+    private CursorPageResponse<UserDto> buildCursorPageResponse(List<User> users, int size, String nextCursor) {
+        return CursorPageResponse.<UserDto>builder()
+                .content(userMapper.toDtoList(users))
+                .size(size)
+                .nextCursor(nextCursor)
+                .hasNext(nextCursor != null)
+                .build();
+    }
+
     /**
      * Helper method to build PageResponse
      */
@@ -280,4 +473,16 @@ public class UserService {
                 .isLast(userPage.isLast())
                 .build();
     }
-}
\ No newline at end of file
+
+    /**
+     * Build the lifecycle event for a user's current state
+     */
+    private UserEvent userEvent(UserEvent.Type type, User user) {
+        return UserEvent.builder()
+                .type(type)
+                .userId(user.getId())
+                .keycloakId(user.getKeycloakId())
+                .email(user.getEmail())
+                .build();
+    }
+}
@@ -0,0 +1,145 @@
+package com.einsurance.user.sync;
+
+import com.einsurance.common.exception.ExternalServiceException;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Reads users through the Keycloak admin REST API as the configured
+ * client's service account. Pages use first/max, which Keycloak orders by
+ * username. The access token is reused until shortly before it expires.
+ */
+public class KeycloakAdminUserSource implements KeycloakUserSource {
+
+    private static final String SERVICE_NAME = "keycloak";
+    private static final Duration TOKEN_EXPIRY_MARGIN = Duration.ofSeconds(30);
+
+    private final RestClient restClient;
+    private final KeycloakSyncProperties properties;
+    private String accessToken;
+    private Instant accessTokenExpiresAt = Instant.MIN;
+
+    public KeycloakAdminUserSource(RestClient.Builder restClientBuilder, KeycloakSyncProperties properties) {
+        this.restClient = restClientBuilder.clone().baseUrl(properties.getServerUrl()).build();
+        this.properties = properties;
+    }
+
+    @Override
+    public List<KeycloakUser> fetchPage(int first, int max) {
+        try {
+            List<KeycloakUser> users = restClient.get()
+                    .uri("/admin/realms/{realm}/users?first={first}&max={max}&briefRepresentation=true",
+                            properties.getRealm(), first, max)
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken())
+                    .retrieve()
+                    .body(new ParameterizedTypeReference<>() {});
+            return users != null ? users : List.of();
+        } catch (RestClientException e) {
+            throw new ExternalServiceException(SERVICE_NAME, "failed to list users", e);
+        }
+    }
+
+    /**
+     * Keycloak has no lookup by a list of IDs, so the chunk's IDs are checked
+     * with up to lookup-concurrency requests in flight, all with one token
+     */
+    @Override
+    public Set<String> findExisting(Collection<String> keycloakIds) {
+        if (keycloakIds.isEmpty()) {
+            return Set.of();
+        }
+        String token = accessToken();
+        ExecutorService executor = Executors.newFixedThreadPool(
+                Math.max(1, Math.min(properties.getLookupConcurrency(), keycloakIds.size())));
+        try {
+            Map<String, Future<Boolean>> lookups = new LinkedHashMap<>();
+            for (String keycloakId : keycloakIds) {
+                lookups.put(keycloakId, executor.submit(() -> exists(keycloakId, token)));
+            }
+            Set<String> existing = new HashSet<>();
+            for (Map.Entry<String, Future<Boolean>> lookup : lookups.entrySet()) {
+                if (lookup.getValue().get()) {
+                    existing.add(lookup.getKey());
+                }
+            }
+            return existing;
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof ExternalServiceException cause ? cause
+                    : new ExternalServiceException(SERVICE_NAME, "failed to look up users", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ExternalServiceException(SERVICE_NAME, "interrupted while looking up users", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private boolean exists(String keycloakId, String token) {
+        try {
+            restClient.get()
+                    .uri("/admin/realms/{realm}/users/{id}", properties.getRealm(), keycloakId)
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                    .retrieve()
+                    .toBodilessEntity();
+            return true;
+        } catch (HttpClientErrorException.NotFound e) {
+            return false;
+        } catch (RestClientException e) {
+            throw new ExternalServiceException(SERVICE_NAME, "failed to look up user " + keycloakId, e);
+        }
+    }
+
+    /**
+     * Client credentials token of the sync client; only the job thread calls this
+     */
+    private String accessToken() {
+        if (accessToken != null && Instant.now().isBefore(accessTokenExpiresAt)) {
+            return accessToken;
+        }
+        MultiValueMap<String, String> form = new LinkedMultiValueMap<>();
+        form.add("grant_type", "client_credentials");
+        form.add("client_id", properties.getClientId());
+        form.add("client_secret", properties.getClientSecret());
+        TokenResponse token;
+        try {
+            token = restClient.post()
+                    .uri("/realms/{realm}/protocol/openid-connect/token", properties.getRealm())
+                    .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                    .body(form)
+                    .retrieve()
+                    .body(TokenResponse.class);
+        } catch (RestClientException e) {
+            throw new ExternalServiceException(SERVICE_NAME, "failed to obtain a service account token", e);
+        }
+        if (token == null || token.accessToken() == null) {
+            throw new ExternalServiceException(SERVICE_NAME, "empty token response");
+        }
+        accessToken = token.accessToken();
+        accessTokenExpiresAt = Instant.now().plusSeconds(token.expiresIn()).minus(TOKEN_EXPIRY_MARGIN);
+        return accessToken;
+    }
+
+    private record TokenResponse(@JsonProperty("access_token") String accessToken,
+                                 @JsonProperty("expires_in") long expiresIn) {
+    }
+}
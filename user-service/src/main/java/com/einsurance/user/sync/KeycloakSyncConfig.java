@@ -0,0 +1,24 @@
+package com.einsurance.user.sync;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.RestClient;
+
+/**
+ * Keycloak user sync wiring.
+ * Reads users from the Keycloak admin API unless the application provides
+ * its own KeycloakUserSource bean.
+ */
+@Configuration
+@EnableConfigurationProperties(KeycloakSyncProperties.class)
+public class KeycloakSyncConfig {
+
+    @Bean
+    @ConditionalOnMissingBean(KeycloakUserSource.class)
+    public KeycloakUserSource keycloakUserSource(KeycloakSyncProperties properties,
+                                                 RestClient.Builder restClientBuilder) {
+        return new KeycloakAdminUserSource(restClientBuilder, properties);
+    }
+}
@@ -0,0 +1,292 @@
+package com.einsurance.user.sync;
+
+import com.einsurance.user.cache.UserProfileCache;
+import com.einsurance.user.entity.User;
+import com.einsurance.user.repository.KeycloakSyncRepository;
+import com.einsurance.user.repository.KeycloakSyncRepository.SyncedUser;
+import com.einsurance.user.repository.UserRegistrationRepository;
+import com.einsurance.user.sync.SyncCheckpoint.Phase;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Reconciles users with the Keycloak realm.
+ * A run has two phases, both checkpointed:
+ * - fetch: pages through the Keycloak admin API into keycloak_sync_staging,
+ *   one transaction per page
+ * - merge: walks staging and users side by side in keycloakId order, a
+ *   chunk of each at a time, and applies the differences with one insert,
+ *   one update and one deactivation statement per chunk
+ * Memory use is one page or chunk regardless of realm size. Keycloak users
+ * without a profile get one (enabled users with a valid email only); Keycloak
+ * owns the email and fills in missing names; disabled users, and users no
+ * longer in Keycloak, are deactivated. Profiles are never reactivated, since
+ * an admin may have deactivated them here.
+ * Only the replica holding the lease runs. If it dies, the lease expires and
+ * the next replica to poll resumes from the last committed page or chunk.
+ */
+@Slf4j
+@Component
+public class KeycloakSyncJob {
+
+    static final String JOB_NAME = "keycloak-user-sync";
+
+    private static final String MIN_KEYCLOAK_ID = "";
+    private static final int NAME_LENGTH = 100;
+
+    private final KeycloakUserSource userSource;
+    private final KeycloakSyncRepository syncRepository;
+    private final UserRegistrationRepository registrationRepository;
+    private final UserProfileCache userProfileCache;
+    private final KeycloakSyncProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final String owner;
+
+    public KeycloakSyncJob(KeycloakUserSource userSource,
+                           KeycloakSyncRepository syncRepository,
+                           UserRegistrationRepository registrationRepository,
+                           UserProfileCache userProfileCache,
+                           KeycloakSyncProperties properties,
+                           TransactionTemplate transactionTemplate) {
+        this.userSource = userSource;
+        this.syncRepository = syncRepository;
+        this.registrationRepository = registrationRepository;
+        this.userProfileCache = userProfileCache;
+        this.properties = properties;
+        this.transactionTemplate = transactionTemplate;
+        this.owner = ManagementFactory.getRuntimeMXBean().getName() + "/" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    /**
+     * Polls frequently so a run abandoned by a dead replica is picked up soon;
+     * between runs each poll is a single lease update
+     */
+    @Scheduled(cron = "${keycloak-sync.cron:0 */15 * * * *}")
+    public void runScheduled() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            run();
+        } catch (RuntimeException e) {
+            log.error("Keycloak user sync failed, will resume from checkpoint on next poll", e);
+        }
+    }
+
+    /**
+     * Run (or resume) a sync
+     * @return false if another replica holds the lease or the last run is recent enough
+     */
+    public boolean run() {
+        LocalDateTime now = LocalDateTime.now();
+        if (!syncRepository.tryAcquireLease(JOB_NAME, owner, now, now.plus(properties.getLease()))) {
+            log.debug("Keycloak user sync is owned by another replica");
+            return false;
+        }
+
+        boolean completed = false;
+        try {
+            SyncCheckpoint checkpoint = syncRepository.loadCheckpoint(JOB_NAME);
+            if (checkpoint.isRunning()) {
+                log.info("Resuming Keycloak user sync in phase {}", checkpoint.getPhase());
+            } else if (checkpoint.isFreshAt(now, properties.getInterval())) {
+                return false;
+            } else {
+                transactionTemplate.executeWithoutResult(status -> requireLease(syncRepository.startRun(JOB_NAME, owner)));
+                checkpoint = syncRepository.loadCheckpoint(JOB_NAME);
+                log.info("Starting Keycloak user sync");
+            }
+
+            String cursor = MIN_KEYCLOAK_ID;
+            if (checkpoint.getPhase() == Phase.FETCHING) {
+                fetch(checkpoint.getFetchOffset());
+                requireLease(syncRepository.startMerge(JOB_NAME, owner));
+            } else if (checkpoint.getLastKeycloakId() != null) {
+                cursor = checkpoint.getLastKeycloakId();
+            }
+            while (cursor != null) {
+                cursor = mergeChunk(cursor);
+            }
+
+            syncRepository.completeRun(JOB_NAME, owner);
+            completed = true;
+            SyncCheckpoint done = syncRepository.loadCheckpoint(JOB_NAME);
+            log.info("Keycloak user sync completed: {} Keycloak users, {} profiles created, {} updated, {} deactivated",
+                    done.getFetchedCount(), done.getInsertedCount(), done.getUpdatedCount(), done.getDeactivatedCount());
+            return true;
+        } finally {
+            if (!completed) {
+                syncRepository.releaseLease(JOB_NAME, owner);
+            }
+        }
+    }
+
+    /**
+     * Stage Keycloak pages from the given offset until a short page
+     */
+    private void fetch(int offset) {
+        while (true) {
+            List<KeycloakUser> page = userSource.fetchPage(offset, properties.getPageSize());
+            int nextOffset = offset + page.size();
+            transactionTemplate.executeWithoutResult(status -> {
+                syncRepository.stage(page);
+                requireLease(syncRepository.advanceFetch(JOB_NAME, owner, nextOffset, page.size(), leaseUntil()));
+            });
+            offset = nextOffset;
+            if (page.size() < properties.getPageSize()) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Merge the next chunk after the cursor: reads outside the transaction,
+     * then writes the differences and moves the cursor in one
+     * @return the new cursor, or null once both sides are exhausted
+     */
+    private String mergeChunk(String cursor) {
+        int chunkSize = properties.getChunkSize();
+        List<KeycloakUser> staged = syncRepository.findStagedAfter(cursor, chunkSize);
+        List<SyncedUser> local = syncRepository.findUsersAfter(cursor, chunkSize);
+
+        // Keys above the bound are in a later chunk of the side that was cut off
+        String bound = null;
+        if (staged.size() == chunkSize) {
+            bound = staged.get(staged.size() - 1).getId();
+        }
+        if (local.size() == chunkSize) {
+            String lastLocal = local.get(local.size() - 1).keycloakId();
+            bound = bound == null || lastLocal.compareTo(bound) < 0 ? lastLocal : bound;
+        }
+
+        List<User> inserts = new ArrayList<>();
+        Set<String> insertEmails = new HashSet<>();
+        List<KeycloakUser> updates = new ArrayList<>();
+        List<String> deactivations = new ArrayList<>();
+        List<String> missing = new ArrayList<>();
+        Map<String, SyncedUser> localById = new HashMap<>();
+        int i = 0;
+        int j = 0;
+        while (true) {
+            KeycloakUser keycloakUser = i < staged.size() && withinBound(staged.get(i).getId(), bound)
+                    ? staged.get(i) : null;
+            SyncedUser user = j < local.size() && withinBound(local.get(j).keycloakId(), bound)
+                    ? local.get(j) : null;
+            if (keycloakUser == null && user == null) {
+                break;
+            }
+            int order = keycloakUser == null ? 1 : user == null ? -1 : keycloakUser.getId().compareTo(user.keycloakId());
+            if (order < 0) {
+                if (keycloakUser.isEnabled() && validEmail(keycloakUser.getEmail())
+                        && insertEmails.add(keycloakUser.getEmail())) {
+                    inserts.add(toUser(keycloakUser));
+                }
+                i++;
+            } else if (order > 0) {
+                localById.put(user.keycloakId(), user);
+                if (user.active() && properties.isDeactivateMissing()) {
+                    missing.add(user.keycloakId());
+                }
+                j++;
+            } else {
+                localById.put(user.keycloakId(), user);
+                if (!keycloakUser.isEnabled()) {
+                    if (user.active()) {
+                        deactivations.add(user.keycloakId());
+                    }
+                } else if (needsUpdate(keycloakUser, user)) {
+                    updates.add(updateFor(keycloakUser, user));
+                }
+                i++;
+                j++;
+            }
+        }
+
+        // Absent from the pages may only mean the user moved between pages during the fetch
+        if (!missing.isEmpty()) {
+            Set<String> existing = userSource.findExisting(missing);
+            missing.stream().filter(keycloakId -> !existing.contains(keycloakId)).forEach(deactivations::add);
+        }
+
+        String next = bound;
+        transactionTemplate.executeWithoutResult(status -> {
+            int inserted = registrationRepository.insertAll(inserts).size();
+            List<String> updated = syncRepository.updateProfiles(updates);
+            List<String> deactivated = syncRepository.deactivate(deactivations);
+            updated.forEach(keycloakId -> invalidate(localById.get(keycloakId)));
+            deactivated.forEach(keycloakId -> invalidate(localById.get(keycloakId)));
+            requireLease(syncRepository.advanceMerge(JOB_NAME, owner, next != null ? next : cursor,
+                    inserted, updated.size(), deactivated.size(), leaseUntil()));
+        });
+        return next;
+    }
+
+    private static boolean withinBound(String keycloakId, String bound) {
+        return bound == null || keycloakId.compareTo(bound) <= 0;
+    }
+
+    private static boolean needsUpdate(KeycloakUser keycloakUser, SyncedUser user) {
+        return (validEmail(keycloakUser.getEmail()) && !keycloakUser.getEmail().equals(user.email()))
+                || (user.firstName() == null && keycloakUser.getFirstName() != null)
+                || (user.lastName() == null && keycloakUser.getLastName() != null);
+    }
+
+    /**
+     * Keycloak's values, keeping the current email if Keycloak's would violate the users constraint
+     */
+    private static KeycloakUser updateFor(KeycloakUser keycloakUser, SyncedUser user) {
+        return KeycloakUser.builder()
+                .id(keycloakUser.getId())
+                .email(validEmail(keycloakUser.getEmail()) ? keycloakUser.getEmail() : user.email())
+                .firstName(keycloakUser.getFirstName())
+                .lastName(keycloakUser.getLastName())
+                .enabled(true)
+                .build();
+    }
+
+    private static User toUser(KeycloakUser keycloakUser) {
+        return User.builder()
+                .keycloakId(keycloakUser.getId())
+                .email(keycloakUser.getEmail())
+                .firstName(truncate(keycloakUser.getFirstName()))
+                .lastName(truncate(keycloakUser.getLastName()))
+                .build();
+    }
+
+    private static String truncate(String name) {
+        return name != null && name.length() > NAME_LENGTH ? name.substring(0, NAME_LENGTH) : name;
+    }
+
+    private static boolean validEmail(String email) {
+        return email != null && UserRegistrationRepository.EMAIL_FORMAT.matcher(email).matches();
+    }
+
+    private void invalidate(SyncedUser user) {
+        if (user != null) {
+            userProfileCache.invalidate(user.id(), user.keycloakId());
+        }
+    }
+
+    private LocalDateTime leaseUntil() {
+        return LocalDateTime.now().plus(properties.getLease());
+    }
+
+    private static void requireLease(boolean held) {
+        if (!held) {
+            // Rolls back the current page or chunk; the replica that took over will redo it
+            throw new IllegalStateException("Lost Keycloak user sync lease to another replica");
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.einsurance.user.sync;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Keycloak user sync settings, bound from keycloak-sync.*
+ */
+@Data
+@ConfigurationProperties(prefix = "keycloak-sync")
+public class KeycloakSyncProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * Time between the end of one sync run and the start of the next
+     */
+    private Duration interval = Duration.ofHours(6);
+
+    /**
+     * Users requested per Keycloak admin API call
+     */
+    private int pageSize = 500;
+
+    /**
+     * Users merged and written per transaction
+     */
+    private int chunkSize = 500;
+
+    /**
+     * How long a replica owns the run without making progress before another may take over
+     */
+    private Duration lease = Duration.ofMinutes(10);
+
+    /**
+     * Deactivate profiles whose Keycloak user no longer exists
+     */
+    private boolean deactivateMissing = true;
+
+    /**
+     * Parallel admin API lookups when checking whether users missing from the pages still exist
+     */
+    private int lookupConcurrency = 8;
+
+    private String serverUrl = "http://localhost:9098";
+
+    private String realm = "e-insurance";
+
+    /**
+     * Confidential client whose service account has the realm-management view-users role
+     */
+    private String clientId;
+
+    private String clientSecret;
+}
@@ -0,0 +1,23 @@
+package com.einsurance.user.sync;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The fields of a Keycloak user representation the sync uses
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class KeycloakUser {
+    private String id;
+    private String email;
+    private String firstName;
+    private String lastName;
+    private boolean enabled;
+}
@@ -0,0 +1,24 @@
+package com.einsurance.user.sync;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Where the sync reads Keycloak users from
+ */
+public interface KeycloakUserSource {
+
+    /**
+     * One page of the realm's users, in a stable order
+     * @param first offset of the first user
+     * @param max page size; a shorter page is the last one
+     */
+    List<KeycloakUser> fetchPage(int first, int max);
+
+    /**
+     * Which of the given users still exist; asked once per merged chunk
+     * before deactivating profiles that were missing from the pages
+     */
+    Set<String> findExisting(Collection<String> keycloakIds);
+}
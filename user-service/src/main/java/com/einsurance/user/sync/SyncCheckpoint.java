@@ -0,0 +1,54 @@
+package com.einsurance.user.sync;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Persisted progress of a Keycloak sync run: the phase, the offset of the
+ * next Keycloak page to fetch and the keycloakId the merge has reached
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncCheckpoint {
+
+    private String jobName;
+    private Phase phase;
+    private int fetchOffset;
+    private String lastKeycloakId;
+    private long fetchedCount;
+    private long insertedCount;
+    private long updatedCount;
+    private long deactivatedCount;
+    private LocalDateTime completedAt;
+
+    /**
+     * Run phase enumeration
+     */
+    public enum Phase {
+        IDLE,
+        FETCHING,
+        MERGING,
+        COMPLETED
+    }
+
+    /**
+     * Check if a run is in progress and can be resumed
+     */
+    public boolean isRunning() {
+        return phase == Phase.FETCHING || phase == Phase.MERGING;
+    }
+
+    /**
+     * Check if the last run finished less than the given interval ago
+     */
+    public boolean isFreshAt(LocalDateTime now, Duration interval) {
+        return phase == Phase.COMPLETED && completedAt != null && completedAt.plus(interval).isAfter(now);
+    }
+}
@@ -0,0 +1,18 @@
+-- User Service - Trigram search support
+-- File location: user-service/src/main/resources/db/migration/V2__Add_user_search_indexes.sql
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Normalized search text kept up to date by PostgreSQL on every insert/update
+ALTER TABLE users
+    ADD COLUMN search_text TEXT GENERATED ALWAYS AS (
+        lower(coalesce(first_name, '') || ' ' || coalesce(last_name, '') || ' ' || email)
+    ) STORED;
+
+-- Substring search (LIKE '%term%') and similarity ranking over name and email
+CREATE INDEX idx_users_search_text_trgm ON users USING GIN (search_text gin_trgm_ops);
+
+-- Email prefix fast path (LIKE 'term%') with ordered keyset pagination
+CREATE INDEX idx_users_email_lower_prefix ON users ((lower(email)) COLLATE "C");
+
+COMMENT ON COLUMN users.search_text IS 'Lower-cased first name, last name and email used by admin user search';
@@ -0,0 +1,40 @@
+-- User Service - Keycloak user synchronization
+-- File location: user-service/src/main/resources/db/migration/V3__Create_keycloak_sync_tables.sql
+
+-- Keycloak users copied page by page during a sync run. "C" collation so the
+-- merge with users walks both tables in the same byte order.
+CREATE TABLE keycloak_sync_staging (
+    keycloak_id VARCHAR(255) COLLATE "C" PRIMARY KEY,
+    email VARCHAR(255),
+    first_name VARCHAR(255),
+    last_name VARCHAR(255),
+    enabled BOOLEAN NOT NULL
+);
+
+-- Progress of the sync run. The lease lets exactly one replica run at a time;
+-- the fetch offset and merge cursor let another replica resume after a crash.
+CREATE TABLE user_sync_checkpoints (
+    job_name VARCHAR(50) PRIMARY KEY,
+    phase VARCHAR(20) NOT NULL DEFAULT 'IDLE',
+    fetch_offset INTEGER NOT NULL DEFAULT 0,
+    last_keycloak_id VARCHAR(255) COLLATE "C",
+    fetched_count BIGINT NOT NULL DEFAULT 0,
+    inserted_count BIGINT NOT NULL DEFAULT 0,
+    updated_count BIGINT NOT NULL DEFAULT 0,
+    deactivated_count BIGINT NOT NULL DEFAULT 0,
+    lease_owner VARCHAR(100),
+    lease_until TIMESTAMP,
+    completed_at TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT chk_user_sync_phase CHECK (phase IN ('IDLE', 'FETCHING', 'MERGING', 'COMPLETED'))
+);
+
+INSERT INTO user_sync_checkpoints (job_name) VALUES ('keycloak-user-sync');
+
+-- Keyset scan of users in keycloak_id byte order for the sync merge
+CREATE INDEX idx_users_keycloak_id_c ON users (keycloak_id COLLATE "C");
+
+COMMENT ON TABLE keycloak_sync_staging IS 'Keycloak users fetched by the current sync run';
+COMMENT ON TABLE user_sync_checkpoints IS 'Lease and checkpoint of the Keycloak user sync';
+COMMENT ON INDEX idx_users_keycloak_id_c IS 'Keyset index for the Keycloak user sync merge';
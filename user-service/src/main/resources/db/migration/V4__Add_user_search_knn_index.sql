@@ -0,0 +1,7 @@
+-- User Service - Nearest-neighbour ordering for ranked user search
+-- File location: user-service/src/main/resources/db/migration/V4__Add_user_search_knn_index.sql
+
+-- GIN cannot return rows in distance order, so a broad term ("a", "son") used to
+-- rank every match before the LIMIT. A GiST trigram index walks search_text in
+-- search_text <-> term order and stops after the requested window.
+CREATE INDEX idx_users_search_text_trgm_gist ON users USING GIST (search_text gist_trgm_ops);
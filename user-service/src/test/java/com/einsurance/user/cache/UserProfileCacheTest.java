@@ -0,0 +1,126 @@
+package com.einsurance.user.cache;
+
+import com.einsurance.common.dto.UserDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for UserProfileCache
+ */
+class UserProfileCacheTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final List<UUID> published = new ArrayList<>();
+    private UserCacheProperties properties;
+    private UserProfileCache cache;
+    private UserDto user;
+
+    @BeforeEach
+    void setUp() {
+        properties = new UserCacheProperties();
+        properties.setTtl(Duration.ofSeconds(10));
+        cache = new UserProfileCache(properties, new SimpleMeterRegistry(),
+                (id, keycloakId) -> published.add(id), clock::get);
+        user = user("keycloak-123");
+    }
+
+    @Test
+    void getById_CachesUntilTtl() {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+
+        // When
+        cache.getById(user.getId(), () -> load(loads));
+        cache.getByKeycloakId(user.getKeycloakId(), () -> load(loads));
+        clock.addAndGet(Duration.ofSeconds(11).toNanos());
+        cache.getById(user.getId(), () -> load(loads));
+
+        // Then
+        assertEquals(2, loads.get());
+        assertEquals(1.0 / 3, cache.hitRatio(), 1e-9);
+    }
+
+    @Test
+    void invalidate_EvictsBothKeysAndBroadcasts() {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+        cache.getById(user.getId(), () -> load(loads));
+
+        // When
+        cache.invalidate(user.getId(), user.getKeycloakId());
+        cache.getByKeycloakId(user.getKeycloakId(), () -> load(loads));
+
+        // Then
+        assertEquals(2, loads.get());
+        assertEquals(List.of(user.getId()), published);
+    }
+
+    @Test
+    void getById_DoesNotCacheLoadOverlappingInvalidation() {
+        // Given - another request changes the user while this one is reading it
+        AtomicInteger loads = new AtomicInteger();
+
+        // When
+        cache.getById(user.getId(), () -> {
+            cache.invalidateRemote(user.getId(), user.getKeycloakId());
+            return load(loads);
+        });
+
+        // Then
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void getById_EvictsOldestAboveMaxEntries() {
+        // Given
+        properties.setMaxEntries(10);
+
+        // When
+        for (int i = 0; i < 11; i++) {
+            UserDto next = user("keycloak-" + i);
+            clock.incrementAndGet();
+            cache.getById(next.getId(), () -> next);
+        }
+
+        // Then
+        assertEquals(9, cache.size());
+    }
+
+    @Test
+    void getById_DisabledAlwaysLoads() {
+        // Given
+        properties.setEnabled(false);
+        AtomicInteger loads = new AtomicInteger();
+
+        // When
+        cache.getById(user.getId(), () -> load(loads));
+        cache.getById(user.getId(), () -> load(loads));
+
+        // Then
+        assertEquals(2, loads.get());
+        assertEquals(0, cache.size());
+    }
+
+    private UserDto load(AtomicInteger loads) {
+        loads.incrementAndGet();
+        return user;
+    }
+
+    private static UserDto user(String keycloakId) {
+        return UserDto.builder()
+                .id(UUID.randomUUID())
+                .keycloakId(keycloakId)
+                .email(keycloakId + "@example.com")
+                .build();
+    }
+}
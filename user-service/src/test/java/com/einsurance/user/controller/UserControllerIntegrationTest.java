@@ -1,6 +1,7 @@
 package com.einsurance.user.controller;
 
 import com.einsurance.common.dto.UserRegistrationRequest;
+import com.einsurance.common.security.UserPrincipal;
 import com.einsurance.user.entity.User;
 import com.einsurance.user.repository.UserRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -11,20 +12,25 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.UUID;
 
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 /**
  * Integration tests for UserController
  */
-@SpringBootTest
+@SpringBootTest(properties = "spring.config.location=classpath:/application-test.yml")
 @AutoConfigureMockMvc
 @ActiveProfiles("test")
 class UserControllerIntegrationTest {
@@ -70,6 +76,7 @@ class UserControllerIntegrationTest {
                 .build();
 
         mockMvc.perform(post("/api/users/register")
+                .with(customer("new-keycloak-id"))
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isCreated())
@@ -79,11 +86,52 @@ class UserControllerIntegrationTest {
     }
 
     @Test
-    @WithMockUser(username = "test@example.com", roles = "CUSTOMER")
+    void registerUser_DoubleSubmit_Conflict() throws Exception {
+        UserRegistrationRequest request = UserRegistrationRequest.builder()
+                .keycloakId("new-keycloak-id")
+                .email("newuser@example.com")
+                .build();
+        String body = objectMapper.writeValueAsString(request);
+
+        mockMvc.perform(post("/api/users/register")
+                .with(customer("new-keycloak-id"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isCreated());
+        mockMvc.perform(post("/api/users/register")
+                .with(customer("new-keycloak-id"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.errorCode").value("RESOURCE_ALREADY_EXISTS"));
+    }
+
+    @Test
+    @WithMockUser(username = "admin@example.com", roles = "ADMIN")
+    void importUsers_AsAdmin_ReportsOutcomePerUser() throws Exception {
+        userRepository.save(testUser);
+        List<UserRegistrationRequest> requests = List.of(
+                UserRegistrationRequest.builder().keycloakId("imported-1").email("imported1@example.com").build(),
+                UserRegistrationRequest.builder().keycloakId("imported-2").email("test@example.com").build(),
+                UserRegistrationRequest.builder().keycloakId("imported-3").email("not-an-email").build());
+
+        mockMvc.perform(post("/api/users/import")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(requests)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.created").value(1))
+                .andExpect(jsonPath("$.data.skipped").value(1))
+                .andExpect(jsonPath("$.data.invalid").value(1))
+                .andExpect(jsonPath("$.data.rows[0].status").value("CREATED"))
+                .andExpect(jsonPath("$.data.rows[1].status").value("DUPLICATE_EMAIL"))
+                .andExpect(jsonPath("$.data.rows[2].status").value("INVALID"));
+    }
+
+    @Test
     void getCurrentUser_Success() throws Exception {
         userRepository.save(testUser);
 
-        mockMvc.perform(get("/api/users/me"))
+        mockMvc.perform(get("/api/users/me").with(customer(testUser.getKeycloakId())))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.success").value(true))
                 .andExpect(jsonPath("$.data.email").value("test@example.com"));
@@ -119,4 +167,16 @@ class UserControllerIntegrationTest {
                 .andExpect(jsonPath("$.success").value(true))
                 .andExpect(jsonPath("$.data.totalUsers").isNumber());
     }
-}
\ No newline at end of file
+
+    /**
+     * Authenticated the way JwtAuthenticationFilter does, which is what SecurityUtil reads
+     */
+    private static RequestPostProcessor customer(String keycloakId) {
+        UserPrincipal principal = UserPrincipal.builder()
+                .userId(keycloakId)
+                .roles(List.of("CUSTOMER"))
+                .build();
+        return authentication(new UsernamePasswordAuthenticationToken(
+                principal, null, List.of(new SimpleGrantedAuthority("ROLE_CUSTOMER"))));
+    }
+}
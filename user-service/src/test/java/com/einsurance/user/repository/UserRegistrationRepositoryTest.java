@@ -0,0 +1,124 @@
+package com.einsurance.user.repository;
+
+import com.einsurance.user.entity.User;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for UserRegistrationRepository against an embedded PostgreSQL,
+ * covering the ON CONFLICT paths the H2 test profile cannot run.
+ */
+class UserRegistrationRepositoryTest {
+
+    private static EmbeddedPostgres postgres;
+    private static JdbcTemplate jdbcTemplate;
+
+    private UserRegistrationRepository repository;
+
+    @BeforeAll
+    static void startDatabase() throws Exception {
+        postgres = EmbeddedPostgres.start();
+        jdbcTemplate = new JdbcTemplate(postgres.getPostgresDatabase());
+        // Mirrors database-scripts/init_databases.sql
+        jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS \"uuid-ossp\"");
+        Flyway.configure()
+                .dataSource(postgres.getPostgresDatabase())
+                .locations("classpath:db/migration")
+                .baselineOnMigrate(true)
+                .baselineVersion("0")
+                .load()
+                .migrate();
+    }
+
+    @AfterAll
+    static void stopDatabase() throws Exception {
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM users WHERE keycloak_id <> 'admin-keycloak-id'");
+        repository = new UserRegistrationRepository(jdbcTemplate);
+    }
+
+    @Test
+    void insert_ReturnsFalseOnConflict() {
+        // Given
+        assertTrue(repository.insert(user("kc-1", "one@example.com")));
+
+        // When
+        boolean sameKeycloakId = repository.insert(user("kc-1", "other@example.com"));
+        boolean sameEmail = repository.insert(user("kc-2", "one@example.com"));
+
+        // Then
+        assertFalse(sameKeycloakId);
+        assertFalse(sameEmail);
+        assertEquals(1, count("kc-%"));
+    }
+
+    @Test
+    void insert_StoresAllColumns() {
+        // Given
+        User user = user("kc-1", "one@example.com");
+        user.setDateOfBirth(LocalDate.of(1990, 1, 1));
+
+        // When
+        repository.insert(user);
+
+        // Then
+        assertNotNull(user.getId());
+        assertEquals("one kc-1 one@example.com", jdbcTemplate.queryForObject(
+                "SELECT search_text FROM users WHERE id = ?", String.class, user.getId()));
+        assertEquals(LocalDate.of(1990, 1, 1), jdbcTemplate.queryForObject(
+                "SELECT date_of_birth FROM users WHERE id = ?", LocalDate.class, user.getId()));
+    }
+
+    @Test
+    void insertAll_SkipsTakenUsers() {
+        // Given
+        repository.insert(user("kc-1", "one@example.com"));
+
+        // When
+        Set<String> inserted = repository.insertAll(List.of(
+                user("kc-1", "new@example.com"),
+                user("kc-2", "one@example.com"),
+                user("kc-3", "three@example.com")));
+        UserRegistrationRepository.Taken taken = repository.findTaken(
+                List.of("kc-1", "kc-2"), List.of("new@example.com", "one@example.com"));
+
+        // Then
+        assertEquals(Set.of("kc-3"), inserted);
+        assertEquals(Set.of("kc-1"), taken.keycloakIds());
+        assertEquals(Set.of("one@example.com"), taken.emails());
+        assertEquals(2, count("kc-%"));
+    }
+
+    private int count(String keycloakIdPattern) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM users WHERE keycloak_id LIKE ?",
+                Integer.class, keycloakIdPattern);
+    }
+
+    private static User user(String keycloakId, String email) {
+        return User.builder()
+                .keycloakId(keycloakId)
+                .email(email)
+                .firstName(email.substring(0, email.indexOf('@')))
+                .lastName(keycloakId)
+                .role("CUSTOMER")
+                .isActive(true)
+                .build();
+    }
+}
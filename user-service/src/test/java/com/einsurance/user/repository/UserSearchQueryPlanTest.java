@@ -0,0 +1,208 @@
+package com.einsurance.user.repository;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Query plan tests for UserRepository search queries.
+ * Runs the Flyway migrations against an embedded PostgreSQL, seeds users and
+ * fails if a search query falls back to a sequential scan.
+ * The SQL mirrors the native queries in UserRepository.
+ */
+class UserSearchQueryPlanTest {
+
+    private static final int USER_ROWS = 50_000;
+
+    private static final String RANKED_SQL = "SELECT s.id AS id, s.distance AS distance FROM (" +
+            "SELECT u.id AS id, u.search_text <-> ? AS distance FROM users u " +
+            "WHERE u.search_text LIKE ? ORDER BY u.search_text <-> ? LIMIT 1000) s " +
+            "ORDER BY s.distance, s.id LIMIT 11";
+
+    private static EmbeddedPostgres postgres;
+    private static DataSource dataSource;
+
+    @BeforeAll
+    static void startDatabase() throws Exception {
+        postgres = EmbeddedPostgres.start();
+        dataSource = postgres.getPostgresDatabase();
+
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            // Mirrors database-scripts/init_databases.sql
+            statement.execute("CREATE EXTENSION IF NOT EXISTS \"uuid-ossp\"");
+        }
+
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                .baselineOnMigrate(true)
+                .baselineVersion("0")
+                .load()
+                .migrate();
+
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("""
+                    INSERT INTO users (keycloak_id, email, first_name, last_name, role)
+                    SELECT 'kc-' || i,
+                           'user' || i || '@example' || (i %% 50) || '.com',
+                           (ARRAY['John', 'Jane', 'Amir', 'Lejla', 'Marko', 'Ana', 'Emir', 'Sara'])[1 + i %% 8] || i,
+                           (ARRAY['Doe', 'Smith', 'Hodzic', 'Kovac', 'Babic', 'Petrovic'])[1 + i %% 6],
+                           CASE WHEN i %% 100 = 0 THEN 'ADMIN' ELSE 'CUSTOMER' END
+                    FROM generate_series(1, %d) AS i""".formatted(USER_ROWS));
+            // Flushes the GIN pending list the way autovacuum would in production
+            statement.execute("VACUUM ANALYZE users");
+        }
+    }
+
+    @AfterAll
+    static void stopDatabase() throws Exception {
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @Test
+    void searchUsersRanked_UsesTrigramIndex() throws Exception {
+        // When
+        String plan = explain(RANKED_SQL, "lejla1234", "%lejla1234%", "lejla1234");
+
+        // Then
+        assertNoSequentialScan(plan);
+        assertTrue(plan.contains("idx_users_search_text_trgm"), plan);
+    }
+
+    @Test
+    void searchUsersRanked_BroadTerm_WalksIndexInDistanceOrder() throws Exception {
+        // When - "a" matches every seeded user
+        String plan = explain(RANKED_SQL, "a", "%a%", "a");
+
+        // Then - nearest-first index scan, no sort over all matches
+        assertNoSequentialScan(plan);
+        assertTrue(plan.contains("idx_users_search_text_trgm_gist"), plan);
+        assertTrue(plan.contains("\"Order By\""), plan);
+        assertTrue(plan.contains("\"Presorted Key\""), plan);
+    }
+
+    @Test
+    void searchUsersRankedAfter_BroadTerm_WalksIndexInDistanceOrder() throws Exception {
+        // Given
+        String sql = "SELECT s.id AS id, s.distance AS distance FROM (" +
+                "SELECT u.id AS id, u.search_text <-> ? AS distance FROM users u " +
+                "WHERE u.search_text LIKE ? AND u.search_text <-> ? >= ? " +
+                "ORDER BY u.search_text <-> ? LIMIT 1000) s " +
+                "WHERE s.distance > ? OR s.id > ? ORDER BY s.distance, s.id LIMIT 11";
+
+        // When
+        String plan = explain(sql, "son", "%son%", "son", 0.5f, "son", 0.5f, UUID.randomUUID());
+
+        // Then
+        assertNoSequentialScan(plan);
+        assertTrue(plan.contains("idx_users_search_text_trgm"), plan);
+    }
+
+    @Test
+    void searchUsersRanked_BroadTerm_ReturnsNearestMatchesFirst() throws Exception {
+        // When
+        List<Float> distances = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(RANKED_SQL)) {
+            statement.setString(1, "smith");
+            statement.setString(2, "%smith%");
+            statement.setString(3, "smith");
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    distances.add(resultSet.getFloat("distance"));
+                }
+            }
+        }
+
+        // Then
+        assertEquals(11, distances.size());
+        for (int i = 1; i < distances.size(); i++) {
+            assertTrue(distances.get(i - 1) <= distances.get(i), distances::toString);
+        }
+    }
+
+    @Test
+    void searchUsersByEmailPrefix_UsesIndex() throws Exception {
+        // Given
+        String sql = "SELECT u.* FROM users u WHERE lower(u.email) COLLATE \"C\" LIKE ? " +
+                "ORDER BY lower(u.email) COLLATE \"C\" LIMIT 11";
+
+        // When
+        String plan = explain(sql, "user123@%");
+
+        // Then
+        assertNoSequentialScan(plan);
+        assertTrue(plan.contains("idx_users_email_lower_prefix"), plan);
+    }
+
+    @Test
+    void searchUsersByEmailPrefixAfter_UsesIndex() throws Exception {
+        // Given
+        String sql = "SELECT u.* FROM users u WHERE lower(u.email) COLLATE \"C\" LIKE ? " +
+                "AND lower(u.email) COLLATE \"C\" > ? " +
+                "ORDER BY lower(u.email) COLLATE \"C\" LIMIT 11";
+
+        // When
+        String plan = explain(sql, "user1%", "user1000@example0.com");
+
+        // Then
+        assertNoSequentialScan(plan);
+        assertTrue(plan.contains("idx_users_email_lower_prefix"), plan);
+    }
+
+    @Test
+    void searchText_IsMaintainedOnUpdate() throws Exception {
+        // Given
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.executeUpdate("UPDATE users SET last_name = 'Zukic' WHERE keycloak_id = 'kc-77'");
+
+            // When
+            try (ResultSet resultSet = statement.executeQuery(
+                    "SELECT search_text FROM users WHERE keycloak_id = 'kc-77'")) {
+
+                // Then
+                assertTrue(resultSet.next());
+                assertTrue(resultSet.getString(1).contains("zukic"));
+            }
+        }
+    }
+
+    private static String explain(String sql, Object... parameters) throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("EXPLAIN (FORMAT JSON) " + sql)) {
+            for (int i = 0; i < parameters.length; i++) {
+                statement.setObject(i + 1, parameters[i]);
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                StringBuilder plan = new StringBuilder();
+                while (resultSet.next()) {
+                    plan.append(resultSet.getString(1));
+                }
+                return plan.toString();
+            }
+        }
+    }
+
+    private static void assertNoSequentialScan(String plan) {
+        assertFalse(plan.contains("\"Node Type\": \"Seq Scan\""),
+                () -> "Query regressed to a sequential scan:\n" + plan);
+    }
+}
@@ -1,26 +1,49 @@
 package com.einsurance.user.service;
 
+import com.einsurance.common.dto.CursorPageResponse;
+import com.einsurance.common.dto.PageResponse;
+import com.einsurance.common.dto.UserContactDto;
 import com.einsurance.common.dto.UserDto;
 import com.einsurance.common.dto.UserRegistrationRequest;
 import com.einsurance.common.dto.UserUpdateRequest;
+import com.einsurance.common.event.DomainEventPublisher;
+import com.einsurance.common.event.UserEvent;
 import com.einsurance.common.exception.ResourceAlreadyExistsException;
 import com.einsurance.common.exception.ResourceNotFoundException;
+import com.einsurance.common.exception.ValidationException;
+import com.einsurance.common.security.UserPrincipal;
+import com.einsurance.user.cache.UserCacheBroadcast;
+import com.einsurance.user.cache.UserCacheProperties;
+import com.einsurance.user.cache.UserProfileCache;
 import com.einsurance.user.entity.User;
 import com.einsurance.user.mapper.UserMapper;
+import com.einsurance.user.repository.UserRegistrationRepository;
 import com.einsurance.user.repository.UserRepository;
+import com.einsurance.user.repository.UserSearchHit;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 /**
@@ -32,9 +55,19 @@ class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private UserRegistrationRepository userRegistrationRepository;
+
     @Mock
     private UserMapper userMapper;
 
+    @Mock
+    private DomainEventPublisher domainEventPublisher;
+
+    @Spy
+    private UserProfileCache userProfileCache =
+            new UserProfileCache(new UserCacheProperties(), new SimpleMeterRegistry(), UserCacheBroadcast.NONE);
+
     @InjectMocks
     private UserService userService;
 
@@ -42,6 +75,11 @@ class UserServiceTest {
     private UserDto testUserDto;
     private UserRegistrationRequest registrationRequest;
 
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
     @BeforeEach
     void setUp() {
         testUser = User.builder()
@@ -79,10 +117,8 @@ class UserServiceTest {
     @Test
     void registerUser_Success() {
         // Given
-        when(userRepository.existsByKeycloakId(anyString())).thenReturn(false);
-        when(userRepository.existsByEmail(anyString())).thenReturn(false);
         when(userMapper.toEntity(any(UserRegistrationRequest.class))).thenReturn(testUser);
-        when(userRepository.save(any(User.class))).thenReturn(testUser);
+        when(userRegistrationRepository.insert(testUser)).thenReturn(true);
         when(userMapper.toDto(any(User.class))).thenReturn(testUserDto);
 
         // When
@@ -91,32 +127,38 @@ class UserServiceTest {
         // Then
         assertNotNull(result);
         assertEquals(testUserDto.getEmail(), result.getEmail());
-        verify(userRepository, times(1)).save(any(User.class));
+        verify(userRegistrationRepository, never()).findTaken(any(), any());
+        verify(domainEventPublisher).publish(argThat(event -> event instanceof UserEvent userEvent
+                && userEvent.getType() == UserEvent.Type.REGISTERED
+                && userEvent.getKeycloakId().equals(testUser.getKeycloakId())));
     }
 
     @Test
     void registerUser_ThrowsException_WhenKeycloakIdExists() {
         // Given
-        when(userRepository.existsByKeycloakId(anyString())).thenReturn(true);
+        when(userMapper.toEntity(any(UserRegistrationRequest.class))).thenReturn(testUser);
+        when(userRegistrationRepository.insert(testUser)).thenReturn(false);
+        when(userRegistrationRepository.findTaken(any(), any())).thenReturn(new UserRegistrationRepository.Taken(
+                Set.of("keycloak-123"), Set.of("test@example.com")));
 
         // When & Then
-        assertThrows(ResourceAlreadyExistsException.class, 
+        ResourceAlreadyExistsException exception = assertThrows(ResourceAlreadyExistsException.class,
             () -> userService.registerUser(registrationRequest));
-        
-        verify(userRepository, never()).save(any(User.class));
+        assertTrue(exception.getMessage().contains("keycloakId"));
     }
 
     @Test
     void registerUser_ThrowsException_WhenEmailExists() {
         // Given
-        when(userRepository.existsByKeycloakId(anyString())).thenReturn(false);
-        when(userRepository.existsByEmail(anyString())).thenReturn(true);
+        when(userMapper.toEntity(any(UserRegistrationRequest.class))).thenReturn(testUser);
+        when(userRegistrationRepository.insert(testUser)).thenReturn(false);
+        when(userRegistrationRepository.findTaken(any(), any())).thenReturn(new UserRegistrationRepository.Taken(
+                Set.of(), Set.of("test@example.com")));
 
         // When & Then
-        assertThrows(ResourceAlreadyExistsException.class, 
+        ResourceAlreadyExistsException exception = assertThrows(ResourceAlreadyExistsException.class,
             () -> userService.registerUser(registrationRequest));
-        
-        verify(userRepository, never()).save(any(User.class));
+        assertTrue(exception.getMessage().contains("email"));
     }
 
     @Test
@@ -160,6 +202,42 @@ class UserServiceTest {
         assertEquals(testUserDto.getKeycloakId(), result.getKeycloakId());
     }
 
+    @Test
+    void getUserById_SecondCallServedFromCache() {
+        // Given
+        UUID userId = testUser.getId();
+        when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
+        when(userMapper.toDto(any(User.class))).thenReturn(testUserDto);
+
+        // When
+        userService.getUserById(userId);
+        UserDto result = userService.getUserByKeycloakId(testUser.getKeycloakId());
+
+        // Then - the keycloakId lookup hits the entry loaded by id
+        assertEquals(testUserDto, result);
+        verify(userRepository, times(1)).findById(userId);
+        verify(userRepository, never()).findByKeycloakId(anyString());
+    }
+
+    @Test
+    void updateUserById_InvalidatesCachedProfile() {
+        // Given
+        UUID userId = testUser.getId();
+        when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
+        when(userRepository.findByKeycloakId(testUser.getKeycloakId())).thenReturn(Optional.of(testUser));
+        when(userRepository.save(any(User.class))).thenReturn(testUser);
+        when(userMapper.toDto(any(User.class))).thenReturn(testUserDto);
+        userService.getUserByKeycloakId(testUser.getKeycloakId());
+
+        // When
+        userService.updateUserById(userId, UserUpdateRequest.builder().firstName("Jane").build());
+        userService.getUserByKeycloakId(testUser.getKeycloakId());
+
+        // Then
+        verify(userProfileCache).invalidate(userId, testUser.getKeycloakId());
+        verify(userRepository, times(2)).findByKeycloakId(testUser.getKeycloakId());
+    }
+
     @Test
     void getUserByEmail_Success() {
         // Given
@@ -176,8 +254,9 @@ class UserServiceTest {
 
     @Test
     void deactivateUser_Success() {
-        // Given
+        // Given - an admin other than the user being deactivated
         UUID userId = testUser.getId();
+        authenticateAs("keycloak-admin");
         when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
         when(userRepository.save(any(User.class))).thenReturn(testUser);
 
@@ -187,6 +266,8 @@ class UserServiceTest {
         // Then
         verify(userRepository, times(1)).save(any(User.class));
         assertFalse(testUser.getIsActive());
+        verify(domainEventPublisher).publish(argThat(event -> event instanceof UserEvent userEvent
+                && userEvent.getType() == UserEvent.Type.DEACTIVATED));
     }
 
     @Test
@@ -223,4 +304,156 @@ class UserServiceTest {
         assertEquals(5L, stats.getAdminUsers());
         assertEquals(95L, stats.getCustomerUsers());
     }
-}
\ No newline at end of file
+
+    @Test
+    void searchUsers_EmailTerm_UsesEmailPrefixFastPath() {
+        // Given
+        when(userRepository.searchUsersByEmailPrefix("test@example.com%", 2)).thenReturn(List.of(testUser));
+        when(userMapper.toDtoList(anyList())).thenReturn(List.of(testUserDto));
+
+        // When
+        CursorPageResponse<UserDto> result = userService.searchUsers("Test@Example.com", null, 1);
+
+        // Then
+        assertEquals(1, result.getContent().size());
+        assertFalse(result.isHasNext());
+        assertNull(result.getNextCursor());
+        verify(userRepository, never()).searchUsersRanked(anyString(), anyString(), anyInt(), anyInt());
+    }
+
+    @Test
+    void searchUsers_PartialEmailTerm_UsesEmailPrefixFastPath() {
+        // Given
+        when(userRepository.searchUsersByEmailPrefix("jane.doe@exa%", 11)).thenReturn(List.of(testUser));
+        when(userMapper.toDtoList(anyList())).thenReturn(List.of(testUserDto));
+
+        // When
+        CursorPageResponse<UserDto> result = userService.searchUsers("jane.doe@exa", null, 10);
+
+        // Then
+        assertEquals(1, result.getContent().size());
+        verify(userRepository, never()).searchUsersRanked(anyString(), anyString(), anyInt(), anyInt());
+    }
+
+    @Test
+    void searchUsers_EmailFragment_UsesRankedSearch() {
+        // Given
+        when(userRepository.searchUsersRanked("@gmail.com", "%@gmail.com%", 1000, 11)).thenReturn(List.of());
+        when(userRepository.findAllById(List.of())).thenReturn(List.of());
+        when(userMapper.toDtoList(List.of())).thenReturn(List.of());
+
+        // When
+        userService.searchUsers("@gmail.com", null, 10);
+
+        // Then
+        verify(userRepository, never()).searchUsersByEmailPrefix(anyString(), anyInt());
+    }
+
+    @Test
+    void searchUsers_NameTerm_ReturnsRankedPageWithCursor() {
+        // Given
+        User secondUser = User.builder().id(UUID.randomUUID()).email("jane@example.com").build();
+        UserSearchHit firstHit = searchHit(testUser.getId(), 0.2f);
+        UserSearchHit secondHit = searchHit(secondUser.getId(), 0.5f);
+        when(userRepository.searchUsersRanked("doe", "%doe%", 1000, 2)).thenReturn(List.of(firstHit, secondHit));
+        when(userRepository.findAllById(List.of(testUser.getId()))).thenReturn(List.of(testUser));
+        when(userMapper.toDtoList(List.of(testUser))).thenReturn(List.of(testUserDto));
+
+        // When
+        CursorPageResponse<UserDto> result = userService.searchUsers(" Doe ", null, 1);
+
+        // Then
+        assertEquals(1, result.getContent().size());
+        assertTrue(result.isHasNext());
+        assertNotNull(result.getNextCursor());
+
+        // When - next page continues after the last (distance, id)
+        when(userRepository.searchUsersRankedAfter("doe", "%doe%", 0.2f, testUser.getId(), 1000, 2))
+                .thenReturn(List.of());
+        when(userMapper.toDtoList(List.of())).thenReturn(List.of());
+        CursorPageResponse<UserDto> next = userService.searchUsers("doe", result.getNextCursor(), 1);
+
+        // Then
+        assertTrue(next.getContent().isEmpty());
+        assertFalse(next.isHasNext());
+    }
+
+    @Test
+    void searchUsers_EscapesLikeWildcards() {
+        // Given
+        when(userRepository.searchUsersRanked("50%_off", "%50\\%\\_off%", 1000, 11)).thenReturn(List.of());
+        when(userRepository.findAllById(List.of())).thenReturn(List.of());
+        when(userMapper.toDtoList(List.of())).thenReturn(List.of());
+
+        // When
+        CursorPageResponse<UserDto> result = userService.searchUsers("50%_off", null, 10);
+
+        // Then
+        assertTrue(result.getContent().isEmpty());
+    }
+
+    @Test
+    void searchUsers_ThrowsException_WhenCursorInvalid() {
+        // When & Then
+        assertThrows(ValidationException.class,
+            () -> userService.searchUsers("doe", "not a cursor!", 10));
+        assertThrows(ValidationException.class,
+            () -> userService.searchUsers("doe@", "cjowLjU6YWJj", 10));
+    }
+
+    @Test
+    void searchUsersByPage_ReturnsOffsetPage() {
+        // Given
+        when(userRepository.searchUsersBySubstring("%doe%", PageRequest.of(1, 10)))
+                .thenReturn(new PageImpl<>(List.of(testUser), PageRequest.of(1, 10), 11));
+        when(userMapper.toDtoList(anyList())).thenReturn(List.of(testUserDto));
+
+        // When
+        PageResponse<UserDto> result = userService.searchUsersByPage(" Doe ", 1, 10);
+
+        // Then
+        assertEquals(1, result.getContent().size());
+        assertEquals(11L, result.getTotalElements());
+    }
+
+    @Test
+    void getContacts_LooksUpAllUsersInOneQuery() {
+        // Given
+        UUID keycloakId = UUID.randomUUID();
+        testUser.setKeycloakId(keycloakId.toString());
+        when(userRepository.findByKeycloakIdIn(List.of(keycloakId.toString()))).thenReturn(List.of(testUser));
+
+        // When
+        List<UserContactDto> contacts = userService.getContacts(List.of(keycloakId, keycloakId));
+
+        // Then
+        assertEquals(1, contacts.size());
+        assertEquals(keycloakId, contacts.get(0).getUserId());
+        assertEquals("test@example.com", contacts.get(0).getEmail());
+        assertEquals("John", contacts.get(0).getFirstName());
+        verify(userRepository, times(1)).findByKeycloakIdIn(any());
+    }
+
+    private UserSearchHit searchHit(UUID id, float distance) {
+        return new UserSearchHit() {
+            @Override
+            public UUID getId() {
+                return id;
+            }
+
+            @Override
+            public Float getDistance() {
+                return distance;
+            }
+        };
+    }
+
+    private static void authenticateAs(String keycloakId) {
+        UserPrincipal principal = UserPrincipal.builder()
+                .userId(keycloakId)
+                .roles(List.of("ADMIN"))
+                .build();
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                principal, null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))));
+    }
+}
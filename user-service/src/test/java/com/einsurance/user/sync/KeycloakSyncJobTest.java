@@ -0,0 +1,215 @@
+package com.einsurance.user.sync;
+
+import com.einsurance.user.cache.UserCacheBroadcast;
+import com.einsurance.user.cache.UserCacheProperties;
+import com.einsurance.user.cache.UserProfileCache;
+import com.einsurance.user.repository.KeycloakSyncRepository;
+import com.einsurance.user.repository.UserRegistrationRepository;
+import com.einsurance.user.sync.SyncCheckpoint.Phase;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for KeycloakSyncJob against an embedded PostgreSQL and an in-memory
+ * stand-in for the Keycloak admin API
+ */
+class KeycloakSyncJobTest {
+
+    private static EmbeddedPostgres postgres;
+    private static JdbcTemplate jdbcTemplate;
+
+    private final List<KeycloakUser> keycloakUsers = new ArrayList<>();
+    private final List<Integer> fetchedOffsets = new ArrayList<>();
+    private final Set<String> unlistedUsers = new HashSet<>();
+    private final List<List<String>> existenceChecks = new ArrayList<>();
+    private int failAtOffset = -1;
+    private KeycloakSyncProperties properties;
+    private KeycloakSyncRepository syncRepository;
+
+    @BeforeAll
+    static void startDatabase() throws Exception {
+        postgres = EmbeddedPostgres.start();
+        jdbcTemplate = new JdbcTemplate(postgres.getPostgresDatabase());
+        // Mirrors database-scripts/init_databases.sql
+        jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS \"uuid-ossp\"");
+        Flyway.configure()
+                .dataSource(postgres.getPostgresDatabase())
+                .locations("classpath:db/migration")
+                .baselineOnMigrate(true)
+                .baselineVersion("0")
+                .load()
+                .migrate();
+    }
+
+    @AfterAll
+    static void stopDatabase() throws Exception {
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM users");
+        jdbcTemplate.update("UPDATE user_sync_checkpoints SET phase = 'IDLE', lease_owner = NULL, completed_at = NULL");
+        properties = new KeycloakSyncProperties();
+        properties.setPageSize(2);
+        properties.setChunkSize(2);
+        syncRepository = new KeycloakSyncRepository(jdbcTemplate);
+
+        insertUser("kc-a", "old-a@example.com", "Ana", null);
+        insertUser("kc-b", "b@example.com", "Bob", "Babic");
+        insertUser("kc-c", "c@example.com", "Cem", "Celik");
+        insertUser("kc-f", "f@example.com", "Fay", "Fox");
+        keycloakUsers.add(keycloakUser("kc-a", "a@example.com", "Ana", "Avdic", true));
+        keycloakUsers.add(keycloakUser("kc-b", "b@example.com", "Bob", "Babic", false));
+        keycloakUsers.add(keycloakUser("kc-d", "d@example.com", "Dina", "Dizdar", true));
+        keycloakUsers.add(keycloakUser("kc-e", "e@example.com", "Edin", "Efendic", false));
+        keycloakUsers.add(keycloakUser("kc-f", "f@example.com", "Fay", "Fox", true));
+    }
+
+    @Test
+    void run_InsertsUpdatesAndDeactivates() {
+        // When
+        boolean ran = job().run();
+
+        // Then
+        assertTrue(ran);
+        assertEquals(Map.of("email", "a@example.com", "last_name", "Avdic", "is_active", true), user("kc-a"));
+        assertEquals(false, user("kc-b").get("is_active"));
+        assertEquals(false, user("kc-c").get("is_active"));
+        assertEquals(Map.of("email", "d@example.com", "last_name", "Dizdar", "is_active", true), user("kc-d"));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM users WHERE keycloak_id = 'kc-e'", Integer.class));
+        assertEquals(true, user("kc-f").get("is_active"));
+
+        SyncCheckpoint checkpoint = syncRepository.loadCheckpoint(KeycloakSyncJob.JOB_NAME);
+        assertEquals(Phase.COMPLETED, checkpoint.getPhase());
+        assertEquals(5, checkpoint.getFetchedCount());
+        assertEquals(1, checkpoint.getInsertedCount());
+        assertEquals(1, checkpoint.getUpdatedCount());
+        assertEquals(2, checkpoint.getDeactivatedCount());
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT count(*) FROM keycloak_sync_staging", Integer.class));
+    }
+
+    @Test
+    void run_KeepsUserMissingFromPages_WhenKeycloakStillHasIt() {
+        // Given - kc-c shifted between pages while they were fetched
+        unlistedUsers.add("kc-c");
+
+        // When
+        job().run();
+
+        // Then - one lookup for the chunk's missing users, and kc-c stays active
+        assertEquals(List.of(List.of("kc-c")), existenceChecks);
+        assertEquals(true, user("kc-c").get("is_active"));
+        assertEquals(1, syncRepository.loadCheckpoint(KeycloakSyncJob.JOB_NAME).getDeactivatedCount());
+    }
+
+    @Test
+    void run_ResumesFetchFromCheckpoint() {
+        // Given - Keycloak fails on the second page
+        failAtOffset = 2;
+        assertThrows(IllegalStateException.class, () -> job().run());
+        assertEquals(Phase.FETCHING, syncRepository.loadCheckpoint(KeycloakSyncJob.JOB_NAME).getPhase());
+        failAtOffset = -1;
+        fetchedOffsets.clear();
+
+        // When - another replica picks the run up
+        boolean ran = job().run();
+
+        // Then
+        assertTrue(ran);
+        assertEquals(List.of(2, 4), fetchedOffsets);
+        assertEquals(5, syncRepository.loadCheckpoint(KeycloakSyncJob.JOB_NAME).getFetchedCount());
+        assertEquals("d@example.com", user("kc-d").get("email"));
+    }
+
+    @Test
+    void run_SkipsWhenLastRunIsRecent() {
+        // Given
+        job().run();
+        fetchedOffsets.clear();
+
+        // When
+        boolean ran = job().run();
+
+        // Then
+        assertFalse(ran);
+        assertTrue(fetchedOffsets.isEmpty());
+    }
+
+    private KeycloakSyncJob job() {
+        TransactionTemplate transactionTemplate =
+                new TransactionTemplate(new DataSourceTransactionManager(postgres.getPostgresDatabase()));
+        UserProfileCache cache = new UserProfileCache(new UserCacheProperties(), new SimpleMeterRegistry(),
+                UserCacheBroadcast.NONE);
+        return new KeycloakSyncJob(new InMemoryUserSource(), syncRepository,
+                new UserRegistrationRepository(jdbcTemplate), cache, properties, transactionTemplate);
+    }
+
+    private Map<String, Object> user(String keycloakId) {
+        return jdbcTemplate.queryForMap(
+                "SELECT email, last_name, is_active FROM users WHERE keycloak_id = ?", keycloakId);
+    }
+
+    private static void insertUser(String keycloakId, String email, String firstName, String lastName) {
+        jdbcTemplate.update("INSERT INTO users (keycloak_id, email, first_name, last_name) VALUES (?, ?, ?, ?)",
+                keycloakId, email, firstName, lastName);
+    }
+
+    private static KeycloakUser keycloakUser(String id, String email, String firstName, String lastName,
+                                             boolean enabled) {
+        return KeycloakUser.builder()
+                .id(id)
+                .email(email)
+                .firstName(firstName)
+                .lastName(lastName)
+                .enabled(enabled)
+                .build();
+    }
+
+    /**
+     * Serves keycloakUsers in pages, failing once at failAtOffset; unlistedUsers
+     * exist but are on no page
+     */
+    private class InMemoryUserSource implements KeycloakUserSource {
+
+        @Override
+        public List<KeycloakUser> fetchPage(int first, int max) {
+            if (first == failAtOffset) {
+                throw new IllegalStateException("Keycloak unavailable");
+            }
+            fetchedOffsets.add(first);
+            return keycloakUsers.subList(Math.min(first, keycloakUsers.size()),
+                    Math.min(first + max, keycloakUsers.size()));
+        }
+
+        @Override
+        public Set<String> findExisting(Collection<String> keycloakIds) {
+            existenceChecks.add(List.copyOf(keycloakIds));
+            return Stream.concat(keycloakUsers.stream().map(KeycloakUser::getId), unlistedUsers.stream())
+                    .filter(keycloakIds::contains)
+                    .collect(Collectors.toSet());
+        }
+    }
+}